@@ -0,0 +1,144 @@
+/**
+ * The {@code BenchmarkDatabase} class prepares an in-memory H2 database, running in Oracle
+ * compatibility mode, as a stand-in for the production database during benchmarks.
+ *
+ * <p>Business Logic:</p>
+ * The schema is created by {@code EmbeddedDatabase} from the same {@code database_setup.sql} script
+ * used for Oracle, so the benchmarks exercise the real tables, sequences and indexes. Bills and
+ * reminders are then generated deterministically, so every run of a benchmark sees the same data
+ * for a given row count.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.bench;
+
+import com.paypilot.model.Bill;
+import com.paypilot.repo.BillDAO;
+import com.paypilot.repo.ConnectionPoolConfig;
+import com.paypilot.repo.DBConnection;
+import com.paypilot.repo.EmbeddedDatabase;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+public final class BenchmarkDatabase {
+
+    /**
+     * First ID used for generated bills, above the dummy rows inserted by the setup script.
+     */
+    public static final int FIRST_BILL_ID = 100_000;
+
+    /**
+     * Categories assigned to generated bills, in rotation.
+     */
+    public static final String[] CATEGORIES = {"Utilities", "Communications", "HouseRent", "Groceries", "DebtPayments"};
+
+    private static final String[] STATUSES = {"Pending", "Upcoming", "Paid"};
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final int INSERT_CHUNK = 10_000;
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Points {@code DBConnection} at a fresh in-memory database and creates the schema.
+     *
+     * @param name A name for the database, unique within the JVM.
+     * @throws Exception If the database cannot be created.
+     */
+    public static void start(String name) throws Exception {
+        ConnectionPoolConfig config = EmbeddedDatabase.memory(name);
+        config.setMinSize(1);
+        config.setMaxSize(4);
+        DBConnection.configure(config);
+
+        try (Connection con = DBConnection.getConnection()) {
+            EmbeddedDatabase.bootstrap(con);
+        }
+    }
+
+    /**
+     * Drops the database and closes the connection pool.
+     *
+     * @throws Exception If the database cannot be dropped.
+     */
+    public static void stop() throws Exception {
+        try (Connection con = DBConnection.getConnection(); Statement st = con.createStatement()) {
+            st.execute("DROP ALL OBJECTS");
+        }
+        DBConnection.shutdown();
+    }
+
+    /**
+     * Generates {@code count} bills, with due dates spread over a year around today,
+     * and inserts them through {@code BillDAO.addBills}.
+     *
+     * @param count The number of bills to insert.
+     */
+    public static void seedBills(int count) {
+        BillDAO dao = new BillDAO();
+        List<Bill> chunk = new ArrayList<>(INSERT_CHUNK);
+        for (Bill bill : generateBills(count)) {
+            chunk.add(bill);
+            if (chunk.size() == INSERT_CHUNK) {
+                dao.addBills(chunk);
+                chunk.clear();
+            }
+        }
+        dao.addBills(chunk);
+    }
+
+    /**
+     * Inserts one reminder for each of the first {@code count} generated bills.
+     *
+     * @param count The number of reminders to insert.
+     * @throws Exception If the reminders cannot be inserted.
+     */
+    public static void seedReminders(int count) throws Exception {
+        String sql = "INSERT INTO ReminderSettings (reminder_id, bill_id, reminder_time, message, frequency, active) VALUES (?, ?, ?, ?, ?, ?)";
+        long now = System.currentTimeMillis();
+        try (Connection con = DBConnection.getConnection(); PreparedStatement ps = con.prepareStatement(sql)) {
+            con.setAutoCommit(false);
+            for (int i = 0; i < count; i++) {
+                ps.setInt(1, FIRST_BILL_ID + i);
+                ps.setInt(2, FIRST_BILL_ID + i);
+                ps.setTimestamp(3, new java.sql.Timestamp(now + (i % 30) * DAY_MILLIS));
+                ps.setString(4, "Reminder " + i);
+                ps.setString(5, "Monthly");
+                ps.setString(6, i % 4 == 0 ? "No" : "Yes");
+                ps.addBatch();
+                if ((i + 1) % INSERT_CHUNK == 0) {
+                    ps.executeBatch();
+                    con.commit();
+                }
+            }
+            ps.executeBatch();
+            con.commit();
+        }
+    }
+
+    /**
+     * Generates {@code count} bills in memory, without touching the database.
+     *
+     * @param count The number of bills to generate.
+     * @return The generated bills, with IDs starting at {@link #FIRST_BILL_ID}.
+     */
+    public static List<Bill> generateBills(int count) {
+        Random random = new Random(42);
+        long today = System.currentTimeMillis();
+        List<Bill> bills = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Date due = new Date(today + (random.nextInt(365) - 182) * DAY_MILLIS);
+            bills.add(new Bill(FIRST_BILL_ID + i, "Bill " + i, CATEGORIES[i % CATEGORIES.length], due,
+                    10 + random.nextInt(100_000) / 100.0, "Monthly", null, "Generated", i % 3 == 0,
+                    STATUSES[i % STATUSES.length], random.nextInt(30), null));
+        }
+        return bills;
+    }
+}
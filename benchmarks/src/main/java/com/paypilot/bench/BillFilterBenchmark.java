@@ -0,0 +1,83 @@
+/**
+ * The {@code BillFilterBenchmark} class measures the overdue and upcoming filter chains of
+ * {@code BillManagerService}. The repository is replaced by an in-memory one, so only the
+ * filtering itself is measured.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.bench;
+
+import com.paypilot.model.Bill;
+import com.paypilot.repo.BillManagerRepo;
+import com.paypilot.service.BillManagerService;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class BillFilterBenchmark {
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private BillManagerService service;
+    private Date from;
+    private Date to;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Bill> bills = BenchmarkDatabase.generateBills(rows);
+        service = new BillManagerService();
+        service.br = new BillManagerRepo() {
+            @Override
+            public List<Bill> getOverdueBills() {
+                return bills;
+            }
+
+            @Override
+            public List<Bill> getUpcomingBills() {
+                return bills;
+            }
+        };
+        long now = System.currentTimeMillis();
+        from = new Date(now - 30 * DAY_MILLIS);
+        to = new Date(now + 30 * DAY_MILLIS);
+    }
+
+    @Benchmark
+    public int overdueByCategoryAndDate() {
+        return service.getOverdueBillsService("Utilities", null, to, from).size();
+    }
+
+    @Benchmark
+    public int overdueByName() {
+        return service.getOverdueBillsService(null, "Bill 42", null, null).size();
+    }
+
+    @Benchmark
+    public int upcomingByCategoryAndDate() {
+        return service.getUpcomingBillsService("Communications", null, to, from).size();
+    }
+}
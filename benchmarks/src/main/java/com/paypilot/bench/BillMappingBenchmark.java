@@ -0,0 +1,65 @@
+/**
+ * The {@code BillMappingBenchmark} class measures how fast rows of the {@code Bills} table
+ * are read and mapped to {@code Bill} objects, both into a list and over a streaming cursor.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.bench;
+
+import com.paypilot.repo.BillDAO;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class BillMappingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private BillDAO dao;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkDatabase.start("mapping");
+        BenchmarkDatabase.seedBills(rows);
+        dao = new BillDAO();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BenchmarkDatabase.stop();
+    }
+
+    @Benchmark
+    public int getAllBills() {
+        return dao.getAllBills().size();
+    }
+
+    @Benchmark
+    public long streamAllBills() {
+        try (Stream<?> bills = dao.streamAllBills()) {
+            return bills.count();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * The {@code BillOverviewBenchmark} class measures {@code BillManagerRepo.getBillsOverview},
+ * whose category, date and status filters are evaluated by the database.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.bench;
+
+import com.paypilot.repo.BillManagerRepo;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class BillOverviewBenchmark {
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private BillManagerRepo repo;
+    private Date from;
+    private Date to;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkDatabase.start("overview");
+        BenchmarkDatabase.seedBills(rows);
+        repo = new BillManagerRepo();
+        long now = System.currentTimeMillis();
+        from = new Date(now - 30 * DAY_MILLIS);
+        to = new Date(now + 30 * DAY_MILLIS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BenchmarkDatabase.stop();
+    }
+
+    @Benchmark
+    public int categoryDateAndStatus() {
+        return repo.getBillsOverview("Utilities", from, to, "Pending").size();
+    }
+
+    @Benchmark
+    public int statusOnly() {
+        return repo.getBillsOverview("All", null, null, "Upcoming").size();
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * The {@code ReminderLoadingBenchmark} class measures {@code ReminderSettingsDAO.getAllReminders},
+ * which loads every reminder together with its bill.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.bench;
+
+import com.paypilot.repo.ReminderSettingsDAO;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ReminderLoadingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private ReminderSettingsDAO dao;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkDatabase.start("reminders");
+        BenchmarkDatabase.seedBills(rows);
+        BenchmarkDatabase.seedReminders(rows);
+        dao = new ReminderSettingsDAO();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BenchmarkDatabase.stop();
+    }
+
+    @Benchmark
+    public int getAllReminders() {
+        return dao.getAllReminders().size();
+    }
+}
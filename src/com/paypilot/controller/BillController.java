@@ -2,12 +2,15 @@ package com.paypilot.controller;
 
 import com.paypilot.model.Bill;
 import com.paypilot.model.ReminderSettings;
-import com.paypilot.repo.BillDAOInterface;
-import com.paypilot.repo.BillDAO;
+import com.paypilot.repo.BillPage;
 import com.paypilot.repo.BillRepository;
+import com.paypilot.repo.DaoMetrics;
+import com.paypilot.repo.ExportFormat;
+import com.paypilot.service.BillImportReport;
 import com.paypilot.service.BillService;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Date;
-import java.util.List;
 
 /**
  * The {@code BillController} class manages the interaction between the user interface
@@ -23,6 +26,11 @@ import java.util.List;
  */
 public class BillController {
 
+    /**
+     * Number of bills printed per page by {@link #listAllBills()}.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
     /**
      * Dependency injected {@code BillService} instance to manage bills.
      */
@@ -67,14 +75,72 @@ public class BillController {
         System.out.println("Bill deleted successfully.");
     }
 
+    /**
+     * Handles importing {@code Bill} objects from a CSV file via the {@code BillService} and prints
+     * the outcome, including the first rejected rows.
+     *
+     * @param csvFile The CSV file to import.
+     * @return The {@code BillImportReport} of the import, or {@code null} if the file could not be read.
+     */
+    public BillImportReport importBills(Path csvFile) {
+        try {
+            BillImportReport report = billService.importBillsService(csvFile);
+            System.out.println("Bills imported: " + report);
+            report.getRejects().stream().limit(20).forEach(reject -> System.out.println("  Rejected " + reject));
+            return report;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Handles exporting all {@code Bill} objects to a file via the {@code BillService} and prints
+     * the number of bills written.
+     *
+     * @param file The file to write.
+     * @param format The format to write.
+     * @param gzip Whether to gzip-compress the file.
+     * @return The number of bills exported, or {@code -1} if the export failed.
+     */
+    public long exportBills(Path file, ExportFormat format, boolean gzip) {
+        try {
+            long count = billService.exportBillsService(file, format, gzip);
+            System.out.println("Bills exported: " + count + " to " + file);
+            return count;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
     /**
      * Retrieves and lists all {@code Bill} objects via the {@code BillService} and prints them to the console.
+     * The bills are fetched one page at a time, so only one page is held in memory.
      */
     public void listAllBills() {
-        List<Bill> bills = billService.getAllBillsService();
-        for (Bill bill : bills) {
+        BillPage page = listBillsPage(null, 0, DEFAULT_PAGE_SIZE);
+        while (page.hasMore()) {
+            page = listBillsPage(page.getLastDueDate(), page.getLastBillId(), DEFAULT_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Retrieves one page of {@code Bill} objects via the {@code BillService} and prints them to the console.
+     * Pass {@code null} and {@code 0} for the first page, and the last due date and bill ID of the
+     * returned page for the next one.
+     *
+     * @param afterDueDate The due date of the last bill of the previous page, or {@code null}.
+     * @param afterBillId The ID of the last bill of the previous page, or {@code 0} for the first page.
+     * @param pageSize The maximum number of bills to print.
+     * @return The {@code BillPage} that was printed.
+     */
+    public BillPage listBillsPage(Date afterDueDate, int afterBillId, int pageSize) {
+        BillPage page = billService.getBillsService(afterDueDate, afterBillId, pageSize, null);
+        for (Bill bill : page.getBills()) {
             System.out.println(bill);
         }
+        return page;
     }
 
     /**
@@ -100,8 +166,7 @@ public class BillController {
      */
     public static void main(String[] args) {
         // Setup repository and service for the BillController.
-        BillDAOInterface billDAO = new BillDAO(); // Ensure proper instantiation
-        BillRepository billRepository = new BillRepository(billDAO);
+        BillRepository billRepository = new BillRepository();
         BillService billService = new BillService(billRepository);
         BillController billController = new BillController(billService);
 
@@ -132,5 +197,8 @@ public class BillController {
         // List all bills after the deletion of bill2.
         System.out.println("Listing all bills after deletion:");
         billController.listAllBills();
+
+        // Print the latency of the database calls made by the demo.
+        System.out.println(DaoMetrics.getDefault().dump());
     }
 }
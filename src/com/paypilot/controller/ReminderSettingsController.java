@@ -2,13 +2,19 @@ package com.paypilot.controller;
 
 import com.paypilot.model.ReminderSettings;
 import com.paypilot.model.Bill;
+import com.paypilot.service.NotificationDispatcher;
+import com.paypilot.service.ReminderScheduler;
 import com.paypilot.service.ReminderSettingsService;
-import com.paypilot.repo.ReminderSettingsDAOInterface;
+import com.paypilot.service.StubNotificationChannel;
+import com.paypilot.repo.DaoMetrics;
+import com.paypilot.repo.ExportFormat;
 import com.paypilot.repo.ReminderSettingsRepository;
-import com.paypilot.repo.ReminderSettingsDAO;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The {@code ReminderSettingsController} class manages the interaction between the user interface
@@ -78,6 +84,26 @@ public class ReminderSettingsController {
         }
     }
 
+    /**
+     * Handles exporting all {@code ReminderSettings} objects to a file via the {@code ReminderSettingsService}
+     * and prints the number of reminders written.
+     *
+     * @param file The file to write.
+     * @param format The format to write.
+     * @param gzip Whether to gzip-compress the file.
+     * @return The number of reminders exported, or {@code -1} if the export failed.
+     */
+    public long exportReminders(Path file, ExportFormat format, boolean gzip) {
+        try {
+            long count = reminderSettingsService.exportRemindersService(file, format, gzip);
+            System.out.println("Reminders exported: " + count + " to " + file);
+            return count;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
     /**
      * Retrieves a {@code ReminderSettings} by its ID via the {@code ReminderSettingsService} and prints its details.
      * If the {@code ReminderSettings} is not found, it outputs a 'not found' message.
@@ -100,14 +126,23 @@ public class ReminderSettingsController {
      * @param args Command-line arguments (not used).
      */
     public static void main(String[] args) {
-        // Setup DAO and Repository
-        ReminderSettingsDAOInterface reminderSettingsDAO = new ReminderSettingsDAO(); // Ensure proper instantiation
-        ReminderSettingsRepository reminderSettingsRepository = new ReminderSettingsRepository(reminderSettingsDAO);
+        // Setup Repository
+        ReminderSettingsRepository reminderSettingsRepository = new ReminderSettingsRepository();
 
         // Setup Service and Controller
         ReminderSettingsService reminderSettingsService = new ReminderSettingsService(reminderSettingsRepository);
         ReminderSettingsController reminderSettingsController = new ReminderSettingsController(reminderSettingsService);
 
+        // Fire due reminders in the background while the demo runs, delivering them to stub channels
+        NotificationDispatcher dispatcher = new NotificationDispatcher();
+        dispatcher.registerChannel(new StubNotificationChannel("Email"), 100);
+        dispatcher.registerChannel(new StubNotificationChannel("SMS"), 20);
+        dispatcher.setDefaultChannel("Email");
+        ReminderScheduler reminderScheduler = new ReminderScheduler(dispatcher);
+        int scheduled = reminderSettingsService.attachReminderScheduler(reminderScheduler);
+        System.out.println(scheduled + " active reminders scheduled.");
+        reminderScheduler.start();
+
         // Create a sample Bill object.
         Bill bill = new Bill(1, "Electricity", "Utilities", new Date(), 100.0, "Monthly", null, "N/A", false, "Upcoming", 5, null);
 
@@ -137,5 +172,14 @@ public class ReminderSettingsController {
         // List all reminders after the deletion of reminder2.
         System.out.println("Listing all reminders after deletion:");
         reminderSettingsController.listAllReminders();
+
+        reminderScheduler.shutdown();
+        try {
+            dispatcher.shutdown(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dispatcher.getAllStats().values().forEach(System.out::println);
+        System.out.println(DaoMetrics.getDefault().dump());
     }
 }
@@ -76,6 +76,11 @@ public class Bill {
      */
     private ReminderSettings reminderSettings;
 
+    /**
+     * Identifier of the user who owns the bill, or {@code null} if the bill is not assigned to a user.
+     */
+    private Integer userId;
+
     /**
      * Default constructor.
      */
@@ -284,6 +289,20 @@ public class Bill {
      */
     public void setReminderSettings(ReminderSettings reminderSettings) { this.reminderSettings = reminderSettings; }
 
+    /**
+     * Returns the identifier of the user who owns the bill.
+     *
+     * @return the user's ID, or {@code null} if the bill is not assigned to a user.
+     */
+    public Integer getUserId() { return userId; }
+
+    /**
+     * Sets the identifier of the user who owns the bill.
+     *
+     * @param userId the user's ID to set, or {@code null} for none.
+     */
+    public void setUserId(Integer userId) { this.userId = userId; }
+
     /**
      * Returns a string representation of the {@code Bill} object, including all its fields.
      *
@@ -304,6 +323,7 @@ public class Bill {
                 ", paymentStatus='" + paymentStatus + '\'' +
                 ", overdueDays=" + overdueDays +
                 ", reminderSettings=" + reminderSettings +
+                ", userId=" + userId +
                 '}';
     }
 }
@@ -10,6 +10,8 @@
  */
 package com.paypilot.model;
 
+import java.util.Locale;
+
 public enum BillCategory {
 
     /**
@@ -45,5 +47,29 @@ public enum BillCategory {
     /**
      * Bills for cell phone usage.
      */
-    CELL_PHONE_CHARGES 
+    CELL_PHONE_CHARGES;
+
+    /**
+     * Looks up a category by name, ignoring case, spaces, hyphens and underscores,
+     * so "House Rent", "HouseRent" and "HOUSE_RENT" all give {@code HOUSE_RENT}.
+     * 
+     * @param name The name to look up.
+     * @return The matching {@code BillCategory}, or {@code null} if there is none.
+     */
+    public static BillCategory parse(String name) {
+        if (name == null) {
+            return null;
+        }
+        String key = normalize(name);
+        for (BillCategory category : values()) {
+            if (normalize(category.name()).equals(key)) {
+                return category;
+            }
+        }
+        return null;
+    }
+
+    private static String normalize(String name) {
+        return name.replaceAll("[\\s_-]", "").toUpperCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,96 @@
+/**
+ * The {@code BillFilter} class holds the criteria used to select bills: category, name and
+ * a due-date range. Every criterion is optional; a {@code null} criterion matches every bill.
+ *
+ * <p>Category and name are compared without regard to case. The due-date range is inclusive
+ * on both ends and is only applied when both {@code dateFrom} and {@code dateTo} are set.</p>
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.model;
+
+import java.util.Date;
+
+public class BillFilter {
+
+    /**
+     * Category the bill must belong to (e.g., "Utilities").
+     */
+    private String category;
+
+    /**
+     * Name the bill must have (e.g., "Electricity").
+     */
+    private String name;
+
+    /**
+     * Earliest due date, inclusive.
+     */
+    private Date dateFrom;
+
+    /**
+     * Latest due date, inclusive.
+     */
+    private Date dateTo;
+
+    /**
+     * Default constructor; the resulting filter matches every bill.
+     */
+    public BillFilter() {}
+
+    /**
+     * Constructs a {@code BillFilter} with the given criteria.
+     *
+     * @param category Category the bill must belong to, or {@code null}.
+     * @param name Name the bill must have, or {@code null}.
+     * @param dateFrom Earliest due date, inclusive, or {@code null}.
+     * @param dateTo Latest due date, inclusive, or {@code null}.
+     */
+    public BillFilter(String category, String name, Date dateFrom, Date dateTo) {
+        this.category = category;
+        this.name = name;
+        this.dateFrom = dateFrom;
+        this.dateTo = dateTo;
+    }
+
+    /**
+     * Returns whether the due-date range is applied, which requires both ends to be set.
+     *
+     * @return {@code true} if both {@code dateFrom} and {@code dateTo} are set.
+     */
+    public boolean hasDateRange() { return dateFrom != null && dateTo != null; }
+
+    /**
+     * Returns whether the filter has no criteria and therefore matches every bill.
+     *
+     * @return {@code true} if no criterion is set.
+     */
+    public boolean isEmpty() { return category == null && name == null && !hasDateRange(); }
+
+    public String getCategory() { return category; }
+
+    public void setCategory(String category) { this.category = category; }
+
+    public String getName() { return name; }
+
+    public void setName(String name) { this.name = name; }
+
+    public Date getDateFrom() { return dateFrom; }
+
+    public void setDateFrom(Date dateFrom) { this.dateFrom = dateFrom; }
+
+    public Date getDateTo() { return dateTo; }
+
+    public void setDateTo(Date dateTo) { this.dateTo = dateTo; }
+
+    @Override
+    public String toString() {
+        return "BillFilter{" +
+                "category='" + category + '\'' +
+                ", name='" + name + '\'' +
+                ", dateFrom=" + dateFrom +
+                ", dateTo=" + dateTo +
+                '}';
+    }
+}
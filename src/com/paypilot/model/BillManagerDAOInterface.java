@@ -12,7 +12,10 @@
 
 package com.paypilot.model;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface BillManagerDAOInterface {
 
@@ -27,6 +30,83 @@ public interface BillManagerDAOInterface {
      */
     List<Bill> getAllBills();
 
+    /**
+     * Streams all bills from the database.
+     * This method returns the same bills as {@link #getAllBills()}, but lazily over an
+     * open database cursor, so that callers which only filter or aggregate bills can
+     * process tables of any size in constant memory. The stream holds a database
+     * connection until it is exhausted or closed and should be closed by the caller.
+     * If the bills cannot be read, a {@code com.paypilot.repo.UncheckedSQLException} is thrown
+     * rather than the stream ending early or being empty.
+     * 
+     * @return A lazily fetched Stream of Bill objects representing all bills in the database.
+     */
+    Stream<Bill> streamAllBills();
+
+    /**
+     * Retrieves the bills matching a category, due-date window and payment status.
+     * The implementation is expected to evaluate the criteria in the database so that
+     * only matching rows are returned. A category of "All" matches every category, and
+     * a null criterion is not applied.
+     * 
+     * @param category The category of the bills to retrieve, or "All".
+     * @param fromDate Bills must be due after this date.
+     * @param toDate Bills must be due before this date.
+     * @param status The payment status of the bills to retrieve.
+     * @return A List of Bill objects matching the criteria.
+     */
+    List<Bill> getBillsOverview(String category, Date fromDate, Date toDate, String status);
+
+    /**
+     * Retrieves the bills that are pending or whose due date is before the given date.
+     * 
+     * @param asOf The date against which due dates are compared, normally today.
+     * @return A List of overdue Bill objects.
+     */
+    List<Bill> getOverdueBills(Date asOf);
+
+    /**
+     * Retrieves the bills whose payment status is "Upcoming".
+     * 
+     * @return A List of upcoming Bill objects.
+     */
+    List<Bill> getUpcomingBills();
+
+    /**
+     * Moves the due date of a single bill with a keyed update.
+     * 
+     * @param id The unique identifier of the bill to snooze.
+     * @param snoozeDate The new due date of the bill.
+     * @return true if a bill with the given ID was updated, false otherwise.
+     */
+    boolean snoozeBill(int id, Date snoozeDate);
+
+    /**
+     * Marks a single bill as paid and clears its due date with a keyed update.
+     * 
+     * @param id The unique identifier of the bill to mark as paid.
+     * @return true if a bill with the given ID was updated, false otherwise.
+     */
+    boolean markBillAsPaid(int id);
+
+    /**
+     * Moves the due date of many bills in as few statements as possible.
+     * 
+     * @param ids The unique identifiers of the bills to snooze.
+     * @param snoozeDate The new due date of the bills.
+     * @return The number of bills updated.
+     */
+    int snoozeBills(Collection<Integer> ids, Date snoozeDate);
+
+    /**
+     * Marks many bills as paid in as few statements as possible, for example
+     * when reconciling a bank feed.
+     * 
+     * @param ids The unique identifiers of the bills to mark as paid.
+     * @return The number of bills updated.
+     */
+    int markBillsAsPaid(Collection<Integer> ids);
+
     /**
      * Adds a new bill to the database.
      * This method takes a Bill object that encapsulates all the necessary 
@@ -51,4 +131,61 @@ public interface BillManagerDAOInterface {
      * @return The Bill object corresponding to the provided ID, or null if no bill is found.
      */
     Bill getBillById(int id);
+
+    /**
+     * Retrieves the bills that belong to one user.
+     * The implementation is expected to read only that user's rows, so the cost
+     * depends on the size of the user's data rather than on every tenant's bills.
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @return A List of the user's Bill objects.
+     */
+    List<Bill> getAllBills(int userId);
+
+    /**
+     * Streams the bills that belong to one user.
+     * The stream holds a database connection until it is exhausted or closed.
+     * 
+     * @param userId The ID of the user whose bills are streamed.
+     * @return A lazily fetched Stream of the user's Bill objects.
+     */
+    Stream<Bill> streamAllBills(int userId);
+
+    /**
+     * Retrieves the bills of one user matching a category, due-date window and payment status.
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @param category The category of the bills to retrieve, or "All".
+     * @param fromDate Bills must be due after this date.
+     * @param toDate Bills must be due before this date.
+     * @param status The payment status of the bills to retrieve.
+     * @return A List of the user's Bill objects matching the criteria.
+     */
+    List<Bill> getBillsOverview(int userId, String category, Date fromDate, Date toDate, String status);
+
+    /**
+     * Retrieves the bills of one user that are pending or whose due date is before the given date.
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @param asOf The date against which due dates are compared, normally today.
+     * @return A List of the user's overdue Bill objects.
+     */
+    List<Bill> getOverdueBills(int userId, Date asOf);
+
+    /**
+     * Retrieves the bills of one user whose payment status is "Upcoming".
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @return A List of the user's upcoming Bill objects.
+     */
+    List<Bill> getUpcomingBills(int userId);
+
+    /**
+     * Retrieves a specific bill if it belongs to the given user.
+     * 
+     * @param userId The ID of the user who owns the bill.
+     * @param id The unique identifier of the bill to retrieve.
+     * @return The Bill object, or null if no bill is found or it belongs to another user.
+     */
+    Bill getBillById(int userId, int id);
 }
@@ -10,14 +10,18 @@
 
 package com.paypilot.model;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 import com.paypilot.repo.BillManagerDAO;
+import com.paypilot.repo.DaoMetrics;
 
 public class BillManagerModel {
 
-    // Data Access Object for performing bill-related database operations
-    private BillManagerDAOInterface dao = new BillManagerDAO();
+    // Data Access Object for performing bill-related database operations, measured by DaoMetrics
+    private BillManagerDAOInterface dao = DaoMetrics.getDefault().instrument(BillManagerDAOInterface.class, new BillManagerDAO(), "BillManagerDAO");
 
     /**
      * Retrieves the current list of all bills from the database.
@@ -32,6 +36,138 @@ public class BillManagerModel {
         return dao.getAllBills();
     }
 
+    /**
+     * Streams all bills from the database through the DAO.
+     * This method is the constant-memory counterpart of {@link #getAllBills()}:
+     * bills are fetched from an open cursor as the stream is consumed. The
+     * stream must be closed by the caller once it is no longer needed.
+     * 
+     * @return A lazily fetched Stream of all Bill objects currently stored in the database.
+     */
+    public Stream<Bill> streamAllBills() {
+        return dao.streamAllBills();
+    }
+
+    /**
+     * Retrieves the bills matching a category, due-date window and payment status.
+     * The filtering is delegated to the DAO, which evaluates it in the database.
+     * 
+     * @param category The category of the bills to retrieve, or "All".
+     * @param fromDate Bills must be due after this date.
+     * @param toDate Bills must be due before this date.
+     * @param status The payment status of the bills to retrieve.
+     * @return A List of Bill objects matching the criteria.
+     */
+    public List<Bill> getBillsOverview(String category, Date fromDate, Date toDate, String status) {
+        return dao.getBillsOverview(category, fromDate, toDate, status);
+    }
+
+    /**
+     * Retrieves the bills that are pending or past their due date.
+     * 
+     * @param asOf The date against which due dates are compared, normally today.
+     * @return A List of overdue Bill objects.
+     */
+    public List<Bill> getOverdueBills(Date asOf) {
+        return dao.getOverdueBills(asOf);
+    }
+
+    /**
+     * Retrieves the bills marked as upcoming.
+     * 
+     * @return A List of upcoming Bill objects.
+     */
+    public List<Bill> getUpcomingBills() {
+        return dao.getUpcomingBills();
+    }
+
+    /**
+     * Retrieves the bills of one user through the DAO.
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @return A List of the user's Bill objects.
+     */
+    public List<Bill> getAllBills(int userId) {
+        return dao.getAllBills(userId);
+    }
+
+    /**
+     * Retrieves the bills of one user matching a category, due-date window and payment status.
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @param category The category of the bills to retrieve, or "All".
+     * @param fromDate Bills must be due after this date.
+     * @param toDate Bills must be due before this date.
+     * @param status The payment status of the bills to retrieve.
+     * @return A List of the user's Bill objects matching the criteria.
+     */
+    public List<Bill> getBillsOverview(int userId, String category, Date fromDate, Date toDate, String status) {
+        return dao.getBillsOverview(userId, category, fromDate, toDate, status);
+    }
+
+    /**
+     * Retrieves the bills of one user that are pending or past their due date.
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @param asOf The date against which due dates are compared, normally today.
+     * @return A List of the user's overdue Bill objects.
+     */
+    public List<Bill> getOverdueBills(int userId, Date asOf) {
+        return dao.getOverdueBills(userId, asOf);
+    }
+
+    /**
+     * Retrieves the bills of one user marked as upcoming.
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @return A List of the user's upcoming Bill objects.
+     */
+    public List<Bill> getUpcomingBills(int userId) {
+        return dao.getUpcomingBills(userId);
+    }
+
+    /**
+     * Moves the due date of a single bill through a keyed update in the DAO.
+     * 
+     * @param id The unique identifier of the bill to snooze.
+     * @param snoozeDate The new due date of the bill.
+     * @return true if the bill was updated, false if no bill has the given ID.
+     */
+    public boolean snoozeBill(int id, Date snoozeDate) {
+        return dao.snoozeBill(id, snoozeDate);
+    }
+
+    /**
+     * Marks a single bill as paid through a keyed update in the DAO.
+     * 
+     * @param id The unique identifier of the bill to mark as paid.
+     * @return true if the bill was updated, false if no bill has the given ID.
+     */
+    public boolean markBillAsPaid(int id) {
+        return dao.markBillAsPaid(id);
+    }
+
+    /**
+     * Moves the due date of many bills through batched updates in the DAO.
+     * 
+     * @param ids The unique identifiers of the bills to snooze.
+     * @param snoozeDate The new due date of the bills.
+     * @return The number of bills updated.
+     */
+    public int snoozeBills(Collection<Integer> ids, Date snoozeDate) {
+        return dao.snoozeBills(ids, snoozeDate);
+    }
+
+    /**
+     * Marks many bills as paid through batched updates in the DAO.
+     * 
+     * @param ids The unique identifiers of the bills to mark as paid.
+     * @return The number of bills updated.
+     */
+    public int markBillsAsPaid(Collection<Integer> ids) {
+        return dao.markBillsAsPaid(ids);
+    }
+
     /**
      * Adds a new bill to the database through the DAO.
      * This method accepts a Bill object and delegates the task of 
@@ -0,0 +1,132 @@
+/**
+ * The {@code BatchInsertResult} class reports the outcome of a bulk insert of {@code Bill} objects.
+ * It records how many rows were stored and, for every row that could not be stored,
+ * the bill, its position in the input and the database error. Every bill passed in is counted
+ * exactly once, either as stored or as failed.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import com.paypilot.model.Bill;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class BatchInsertResult {
+
+    private int insertedCount;
+    private final List<RowFailure> failures = new ArrayList<>();
+
+    /**
+     * Records that a number of rows were stored.
+     *
+     * @param count The number of rows stored.
+     */
+    synchronized void addInserted(int count) {
+        insertedCount += count;
+    }
+
+    /**
+     * Records a row that could not be stored.
+     *
+     * @param index The position of the bill in the input collection.
+     * @param bill The bill that was rejected.
+     * @param cause The database error raised for the row.
+     */
+    synchronized void addFailure(int index, Bill bill, SQLException cause) {
+        failures.add(new RowFailure(index, bill, cause));
+    }
+
+    /**
+     * Merges the counts and failures of another result into this one.
+     *
+     * @param other The result to merge.
+     */
+    public void merge(BatchInsertResult other) {
+        // Read the other result under its own lock only, so that two results never lock each other
+        int otherInserted = other.getInsertedCount();
+        List<RowFailure> otherFailures = other.getFailures();
+        synchronized (this) {
+            insertedCount += otherInserted;
+            failures.addAll(otherFailures);
+        }
+    }
+
+    /**
+     * Returns the number of bills stored.
+     *
+     * @return the number of inserted rows.
+     */
+    public synchronized int getInsertedCount() { return insertedCount; }
+
+    /**
+     * Returns the rows that could not be stored, in input order.
+     *
+     * @return an unmodifiable list of failures.
+     */
+    public synchronized List<RowFailure> getFailures() { return Collections.unmodifiableList(new ArrayList<>(failures)); }
+
+    /**
+     * Returns whether every bill was stored.
+     *
+     * @return {@code true} if no row failed; {@code false} otherwise.
+     */
+    public synchronized boolean isSuccessful() { return failures.isEmpty(); }
+
+    @Override
+    public synchronized String toString() {
+        return "BatchInsertResult{" +
+                "insertedCount=" + insertedCount +
+                ", failedCount=" + failures.size() +
+                '}';
+    }
+
+    /**
+     * A single bill that was rejected by the database.
+     */
+    public static class RowFailure {
+
+        private final int index;
+        private final Bill bill;
+        private final SQLException cause;
+
+        RowFailure(int index, Bill bill, SQLException cause) {
+            this.index = index;
+            this.bill = bill;
+            this.cause = cause;
+        }
+
+        /**
+         * Returns the position of the bill in the input collection.
+         *
+         * @return the zero-based index.
+         */
+        public int getIndex() { return index; }
+
+        /**
+         * Returns the bill that was rejected.
+         *
+         * @return the rejected bill.
+         */
+        public Bill getBill() { return bill; }
+
+        /**
+         * Returns the database error raised for the row.
+         *
+         * @return the cause of the failure.
+         */
+        public SQLException getCause() { return cause; }
+
+        @Override
+        public String toString() {
+            return "RowFailure{" +
+                    "index=" + index +
+                    ", billId=" + (bill != null ? bill.getBillId() : null) +
+                    ", cause=" + (cause != null ? cause.getMessage() : null) +
+                    '}';
+        }
+    }
+}
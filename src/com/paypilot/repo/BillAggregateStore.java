@@ -0,0 +1,465 @@
+/**
+ * The {@code BillAggregateStore} class keeps the bill count and total amount per user, category,
+ * due month and payment status in memory, so the dashboard overview does not have to read every bill.
+ *
+ * <p>Business Logic:</p>
+ * The store is filled once from a full scan of the {@code Bills} table and from then on is kept up to
+ * date by the DAOs: after every successful add, update, delete, snooze and mark-paid the DAO calls
+ * {@link #refresh(Connection, Collection)}, which re-reads the bills it touched and applies only their
+ * change. For this the store remembers what each bill currently contributes. Two writers of the same
+ * bill can reach the store in either order, so the store never records the values a writer passes in.
+ * Instead each refresh takes a stamp for its bills before reading them and only applies a bill if no
+ * later refresh of it has started since: the refresh that started last began reading after every
+ * earlier writer had committed, so its row is at least as new as all of theirs. If a refresh cannot
+ * read the rows, the store is cleared and loaded again on the next overview.
+ *
+ * <p>No database work is done while the store's lock is held, so a writer holding a pooled connection
+ * never waits for the full scan or for another writer's read. The scan is collected outside the lock
+ * while writers keep refreshing; when it is applied, bills that were refreshed after the scan started
+ * keep the refreshed values, since the scan may have read them before those writes committed.</p>
+ *
+ * Besides the (user, month) totals, roll-ups over every month and over every user are maintained too,
+ * which makes an overview cost one lookup plus one step per category and status, whatever the number
+ * of bills. Bills without a due date, which includes paid bills, are counted under a {@code null} month.
+ *
+ * <p>Until a load has started the store ignores writes, since it would not know what the
+ * existing bills contribute. Amounts are summed in cents so that the totals do not drift.</p>
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import com.paypilot.model.Bill;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+public class BillAggregateStore {
+
+    private static final BillAggregateStore DEFAULT = new BillAggregateStore();
+
+    // Stands for "every user" or "every month" in a slice key; null is a real value for both
+    private static final Object ANY = new Object();
+
+    private static final String REFRESH_SQL = "SELECT bill_id, user_id, bill_category, due_date, payment_status, amount FROM Bills WHERE bill_id IN ";
+    // Oracle accepts at most 1000 expressions in an IN list
+    private static final int MAX_REFRESH_IDS = 1000;
+
+    private final ZoneId zone;
+    private final Map<Integer, Contribution> contributions = new HashMap<>();
+    // (user, month) -> category -> status -> totals
+    private final Map<Slice, Map<String, Map<String, Totals>>> slices = new HashMap<>();
+    // Bill ID -> stamp of the latest refresh of that bill that has not been applied yet
+    private final Map<Integer, Long> pendingRefreshes = new HashMap<>();
+    // Bills refreshed while the running load was collecting its scan
+    private final Set<Integer> refreshedDuringLoad = new HashSet<>();
+    private volatile boolean loaded;
+    private boolean loading;
+    // Bumped by every load and clear, so that reads started before them are not applied after them
+    private long generation;
+    private long lastStamp;
+
+    /**
+     * Constructs an empty {@code BillAggregateStore} that groups due dates by month in the system time zone.
+     */
+    public BillAggregateStore() {
+        this(ZoneId.systemDefault());
+    }
+
+    /**
+     * Constructs an empty {@code BillAggregateStore}.
+     *
+     * @param zone The time zone in which due dates are grouped by month.
+     */
+    public BillAggregateStore(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * Returns the store shared by the {@code BillDAO} and the {@code BillManagerDAO}, which both write the
+     * {@code Bills} table.
+     *
+     * @return the shared {@code BillAggregateStore}.
+     */
+    public static BillAggregateStore getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Replaces the contents of the store with the given bills and starts tracking writes.
+     * The bills are read without holding the store's lock, so writers are not held up; a bill refreshed
+     * while they are read keeps its refreshed values. If reading the bills fails, the store is left empty
+     * and not loaded, and the exception is rethrown.
+     *
+     * @param bills Every bill in the database; the stream is not closed.
+     */
+    public void load(Stream<Bill> bills) {
+        long loadGeneration = beginLoad(false);
+        try {
+            finishLoad(loadGeneration, scan(bills));
+        } catch (RuntimeException | Error e) {
+            abortLoad(loadGeneration);
+            throw e;
+        }
+    }
+
+    /**
+     * Loads the store from the given source unless it is loaded already. If another thread is loading
+     * the store, this waits for that load instead of starting one.
+     *
+     * @param source Opens a stream of every bill in the database; the stream is closed after loading.
+     */
+    public void loadIfNeeded(Supplier<Stream<Bill>> source) {
+        while (!loaded) {
+            long loadGeneration = beginLoad(true);
+            if (loadGeneration < 0) {
+                return;
+            }
+            try (Stream<Bill> bills = source.get()) {
+                finishLoad(loadGeneration, scan(bills));
+            } catch (RuntimeException | Error e) {
+                abortLoad(loadGeneration);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Returns whether the store has been loaded and is tracking writes.
+     *
+     * @return {@code true} once {@link #load(Stream)} has run.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Empties the store and stops tracking writes until it is loaded again.
+     */
+    public synchronized void clear() {
+        generation++;
+        contributions.clear();
+        slices.clear();
+        pendingRefreshes.clear();
+        refreshedDuringLoad.clear();
+        loaded = false;
+    }
+
+    /**
+     * Returns the number of bills the store currently counts.
+     *
+     * @return the number of tracked bills.
+     */
+    public synchronized int size() {
+        return contributions.size();
+    }
+
+    /**
+     * Re-reads bills that were just written and records them as they are now stored, removing bills that
+     * no longer exist. Writers call this after their commit, on the connection they wrote with; the rows
+     * are read without holding the store's lock. A bill is only applied if no later refresh of it has
+     * started meanwhile, so that the store is updated in the order of the reads rather than of the writes.
+     * Nothing is read until the store is loaded or loading. If the rows cannot be read, the store is
+     * cleared so that it is loaded again on next use.
+     *
+     * @param con The connection to read with; it must see the writer's committed changes.
+     * @param billIds The IDs of the bills that were added, updated or deleted.
+     */
+    public void refresh(Connection con, Collection<Integer> billIds) {
+        if (billIds == null || billIds.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(billIds));
+        long stamp;
+        long refreshGeneration;
+        synchronized (this) {
+            if (!loaded && !loading) {
+                return;
+            }
+            stamp = ++lastStamp;
+            refreshGeneration = generation;
+            for (int billId : ids) {
+                pendingRefreshes.put(billId, stamp);
+            }
+        }
+        Map<Integer, Contribution> current = new HashMap<>();
+        try {
+            for (int start = 0; start < ids.size(); start += MAX_REFRESH_IDS) {
+                current.putAll(readContributions(con, ids.subList(start, Math.min(start + MAX_REFRESH_IDS, ids.size()))));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            DaoMetrics.recordError();
+            // The totals may now miss a write; rebuild them from the table rather than keep them
+            clear();
+            return;
+        }
+        synchronized (this) {
+            if (generation != refreshGeneration) {
+                return;
+            }
+            for (int billId : ids) {
+                Long latest = pendingRefreshes.get(billId);
+                // A later refresh of this bill read a row at least as new as ours and will apply it
+                if (latest != null && latest == stamp) {
+                    pendingRefreshes.remove(billId);
+                    replace(billId, current.get(billId));
+                    if (loading) {
+                        refreshedDuringLoad.add(billId);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-reads one bill that was just written; see {@link #refresh(Connection, Collection)}.
+     *
+     * @param con The connection to read with; it must see the writer's committed changes.
+     * @param billId The ID of the bill that was added, updated or deleted.
+     */
+    public void refresh(Connection con, int billId) {
+        refresh(con, List.of(billId));
+    }
+
+    /**
+     * Returns the bill count and total amount per category over every user.
+     *
+     * @param month The due month to report, or {@code null} for every month.
+     * @param status The payment status to report, ignoring case, or {@code null} for every status.
+     * @return one {@code CategorySummary} per category that has bills, ordered by category.
+     */
+    public synchronized List<CategorySummary> getOverview(YearMonth month, String status) {
+        return summarize(new Slice(ANY, month != null ? month : ANY), status);
+    }
+
+    /**
+     * Returns the bill count and total amount per category for one user.
+     *
+     * @param userId The ID of the user whose bills to report.
+     * @param month The due month to report, or {@code null} for every month.
+     * @param status The payment status to report, ignoring case, or {@code null} for every status.
+     * @return one {@code CategorySummary} per category that has bills, ordered by category.
+     */
+    public synchronized List<CategorySummary> getOverview(int userId, YearMonth month, String status) {
+        return summarize(new Slice(userId, month != null ? month : ANY), status);
+    }
+
+    private List<CategorySummary> summarize(Slice slice, String status) {
+        List<CategorySummary> overview = new ArrayList<>();
+        Map<String, Map<String, Totals>> categories = slices.get(slice);
+        if (categories == null) {
+            return overview;
+        }
+        for (Map.Entry<String, Map<String, Totals>> category : categories.entrySet()) {
+            long count = 0;
+            long cents = 0;
+            for (Map.Entry<String, Totals> byStatus : category.getValue().entrySet()) {
+                if (status == null || status.equalsIgnoreCase(byStatus.getKey())) {
+                    count += byStatus.getValue().count;
+                    cents += byStatus.getValue().cents;
+                }
+            }
+            if (count > 0) {
+                overview.add(new CategorySummary(category.getKey(), count, cents / 100.0));
+            }
+        }
+        overview.sort(Comparator.comparing(CategorySummary::getCategory, Comparator.nullsLast(Comparator.naturalOrder())));
+        return overview;
+    }
+
+    // Starts a load once no other load is running; returns -1 if only needed and the store is loaded by then
+    private synchronized long beginLoad(boolean onlyIfNeeded) {
+        while (loading) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the bill aggregates to load", e);
+            }
+        }
+        if (onlyIfNeeded && loaded) {
+            return -1;
+        }
+        clear();
+        loading = true;
+        return generation;
+    }
+
+    private Map<Integer, Contribution> scan(Stream<Bill> bills) {
+        Map<Integer, Contribution> scanned = new HashMap<>();
+        bills.forEach(bill -> scanned.put(bill.getBillId(), contributionOf(bill)));
+        return scanned;
+    }
+
+    private synchronized void finishLoad(long loadGeneration, Map<Integer, Contribution> scanned) {
+        loading = false;
+        notifyAll();
+        // A failed refresh cleared the store during the scan, which may then miss that write
+        if (generation != loadGeneration) {
+            refreshedDuringLoad.clear();
+            return;
+        }
+        for (Map.Entry<Integer, Contribution> bill : scanned.entrySet()) {
+            int billId = bill.getKey();
+            if (!refreshedDuringLoad.contains(billId) && !pendingRefreshes.containsKey(billId)) {
+                replace(billId, bill.getValue());
+            }
+        }
+        refreshedDuringLoad.clear();
+        loaded = true;
+    }
+
+    private synchronized void abortLoad(long loadGeneration) {
+        loading = false;
+        notifyAll();
+        if (generation == loadGeneration) {
+            // Do not keep totals over part of the table; the next request loads again
+            clear();
+        }
+    }
+
+    // Reads what the given bills contribute now; bills that do not exist are left out
+    private Map<Integer, Contribution> readContributions(Connection con, List<Integer> billIds) throws SQLException {
+        StringBuilder sql = new StringBuilder(REFRESH_SQL).append('(');
+        for (int i = 0; i < billIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+        Map<Integer, Contribution> current = new HashMap<>();
+        try (PreparedStatement ps = con.prepareStatement(sql.toString())) {
+            for (int i = 0; i < billIds.size(); i++) {
+                ps.setInt(i + 1, billIds.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int userId = rs.getInt("user_id");
+                    current.put(rs.getInt("bill_id"), new Contribution(rs.wasNull() ? null : userId,
+                            rs.getString("bill_category"), monthOf(rs.getTimestamp("due_date")),
+                            rs.getString("payment_status"), Math.round(rs.getDouble("amount") * 100)));
+                }
+            }
+        }
+        return current;
+    }
+
+    // Swaps what a bill contributes; a null contribution removes the bill
+    private void replace(int billId, Contribution next) {
+        Contribution previous = next != null ? contributions.put(billId, next) : contributions.remove(billId);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+        if (next != null) {
+            apply(next, 1);
+        }
+    }
+
+    // Adds or subtracts one bill in its own slice and in the every-month and every-user roll-ups
+    private void apply(Contribution c, int sign) {
+        apply(new Slice(c.userId, c.month), c, sign);
+        apply(new Slice(c.userId, ANY), c, sign);
+        apply(new Slice(ANY, c.month), c, sign);
+        apply(new Slice(ANY, ANY), c, sign);
+    }
+
+    private void apply(Slice slice, Contribution c, int sign) {
+        Map<String, Map<String, Totals>> categories = slices.computeIfAbsent(slice, k -> new HashMap<>());
+        Map<String, Totals> statuses = categories.computeIfAbsent(c.category, k -> new HashMap<>());
+        Totals totals = statuses.computeIfAbsent(c.status, k -> new Totals());
+        totals.count += sign;
+        totals.cents += sign * c.cents;
+        // Drop empty entries so that the overview only walks categories that still have bills
+        if (totals.count == 0) {
+            statuses.remove(c.status);
+            if (statuses.isEmpty()) {
+                categories.remove(c.category);
+                if (categories.isEmpty()) {
+                    slices.remove(slice);
+                }
+            }
+        }
+    }
+
+    private Contribution contributionOf(Bill bill) {
+        return new Contribution(bill.getUserId(), bill.getBillCategory(), monthOf(bill.getDueDate()),
+                bill.getPaymentStatus(), Math.round(bill.getAmount() * 100));
+    }
+
+    // java.sql.Date does not support toInstant(), so the month is taken from the epoch milliseconds
+    private YearMonth monthOf(Date date) {
+        return date != null ? YearMonth.from(Instant.ofEpochMilli(date.getTime()).atZone(zone)) : null;
+    }
+
+    /**
+     * What one bill adds to the totals.
+     */
+    private static final class Contribution {
+        private final Integer userId;
+        private final String category;
+        private final YearMonth month;
+        private final String status;
+        private final long cents;
+
+        private Contribution(Integer userId, String category, YearMonth month, String status, long cents) {
+            this.userId = userId;
+            this.category = category;
+            this.month = month;
+            this.status = status;
+            this.cents = cents;
+        }
+    }
+
+    /**
+     * The running count and amount of one (user, month, category, status) group.
+     */
+    private static final class Totals {
+        private long count;
+        private long cents;
+    }
+
+    /**
+     * A (user, month) key in which either part may be {@code ANY}.
+     */
+    private static final class Slice {
+        private final Object user;
+        private final Object month;
+
+        private Slice(Object user, Object month) {
+            this.user = user;
+            this.month = month;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Slice)) {
+                return false;
+            }
+            Slice other = (Slice) o;
+            return Objects.equals(user, other.user) && Objects.equals(month, other.month);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(user) + Objects.hashCode(month);
+        }
+    }
+}
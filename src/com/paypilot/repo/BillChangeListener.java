@@ -0,0 +1,20 @@
+/**
+ * The {@code BillChangeListener} interface is implemented by components that keep copies of bills,
+ * such as {@code CachingBillDAO}, and must forget them when the bills are written elsewhere.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import java.util.Collection;
+
+public interface BillChangeListener {
+
+    /**
+     * Called after a writer has committed a change to the given bills.
+     *
+     * @param billIds The IDs of the bills that were added, updated or deleted.
+     */
+    void billsChanged(Collection<Integer> billIds);
+}
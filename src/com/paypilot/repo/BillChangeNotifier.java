@@ -0,0 +1,91 @@
+/**
+ * The {@code BillChangeNotifier} class tells every registered {@code BillChangeListener} which bills
+ * were written. {@code BillDAO}, {@code BillManagerDAO} and {@code OverdueRecomputeJob} call it after
+ * each commit, so a cache in front of one DAO also learns about writes made through the others.
+ *
+ * <p>Business Logic:</p>
+ * Listeners are held by weak reference, so registering a cache does not keep it alive after the
+ * application has dropped it. Listeners are called on the writer's thread once its transaction has
+ * committed; a listener that throws is reported and does not stop the others.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class BillChangeNotifier {
+
+    private static final BillChangeNotifier DEFAULT = new BillChangeNotifier();
+
+    private final List<WeakReference<BillChangeListener>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Returns the notifier shared by the DAOs of this process.
+     *
+     * @return the default {@code BillChangeNotifier}.
+     */
+    public static BillChangeNotifier getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Registers a listener until it is removed or no longer referenced elsewhere.
+     *
+     * @param listener The listener to call after every write.
+     */
+    public void addListener(BillChangeListener listener) {
+        listeners.add(new WeakReference<>(listener));
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener The listener to stop calling.
+     */
+    public void removeListener(BillChangeListener listener) {
+        listeners.removeIf(ref -> ref.get() == null || ref.get() == listener);
+    }
+
+    /**
+     * Tells every listener that a bill was written.
+     *
+     * @param billId The ID of the bill that was written.
+     */
+    public void billsChanged(int billId) {
+        billsChanged(Collections.singletonList(billId));
+    }
+
+    /**
+     * Tells every listener that bills were written.
+     *
+     * @param billIds The IDs of the bills that were written; nothing is sent if empty.
+     */
+    public void billsChanged(Collection<Integer> billIds) {
+        if (billIds == null || billIds.isEmpty()) {
+            return;
+        }
+        Collection<Integer> ids = Collections.unmodifiableCollection(billIds);
+        boolean cleared = false;
+        for (WeakReference<BillChangeListener> ref : listeners) {
+            BillChangeListener listener = ref.get();
+            if (listener == null) {
+                cleared = true;
+                continue;
+            }
+            try {
+                listener.billsChanged(ids);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        if (cleared) {
+            listeners.removeIf(ref -> ref.get() == null);
+        }
+    }
+}
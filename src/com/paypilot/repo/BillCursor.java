@@ -0,0 +1,185 @@
+/**
+ * The {@code BillCursor} class walks the rows of a bill query one at a time over an open
+ * database cursor, instead of loading the whole result into a list.
+ *
+ * <p>Business Logic:</p>
+ * The cursor keeps its connection, statement and result set open while it is being read and
+ * fetches rows from the database {@code fetchSize} at a time, so memory use does not grow with
+ * the size of the table. All resources are released as soon as the last row has been read, when
+ * a database error occurs, or when the cursor (or the {@code Stream} built on it) is closed,
+ * whichever happens first. A database error, whether the query cannot be opened or rows cannot be
+ * read, is thrown as an {@code UncheckedSQLException} rather than ending the stream early or returning
+ * an empty one. Callers that may stop early
+ * must close the stream, preferably with try-with-resources.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import com.paypilot.model.Bill;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class BillCursor implements Iterator<Bill>, AutoCloseable {
+
+    /**
+     * Default number of rows fetched from the database per round trip.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 500;
+
+    private final Connection con;
+    private final PreparedStatement ps;
+    private final ResultSet rs;
+    private final BillRowMapper mapper;
+    private Bill nextBill;
+    private boolean closed;
+
+    private BillCursor(Connection con, PreparedStatement ps, ResultSet rs) throws SQLException {
+        this.con = con;
+        this.ps = ps;
+        this.rs = rs;
+        this.mapper = new BillRowMapper(rs);
+    }
+
+    /**
+     * Runs a bill query and returns its rows as a lazily fetched {@code Stream}.
+     *
+     * <p>Business Logic:</p>
+     * The query is executed immediately, but rows are only read from the database as the
+     * stream is consumed. If the query cannot be executed, for example because no pooled
+     * connection became free in time, the error is thrown: an empty stream would look like
+     * a table without bills to callers that aggregate it.
+     *
+     * @param sql The query to execute; it must select the {@code Bills} columns.
+     * @param fetchSize The number of rows fetched per round trip.
+     * @param params The values bound to the query's parameters, in order.
+     * @return A {@code Stream} of bills that must be closed if it is not fully consumed.
+     * @throws UncheckedSQLException If the query cannot be executed.
+     */
+    public static Stream<Bill> stream(String sql, int fetchSize, Object... params) {
+        BillCursor cursor;
+        try {
+            cursor = open(sql, fetchSize, params);
+        } catch (SQLException e) {
+            throw new UncheckedSQLException("Opening the bill cursor failed", e);
+        } catch (ClassNotFoundException e) {
+            throw new UncheckedSQLException("Opening the bill cursor failed", new SQLException("JDBC driver not found", e));
+        }
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(cursor::close);
+    }
+
+    /**
+     * Runs a bill query and returns a cursor positioned before its first row.
+     *
+     * @param sql The query to execute; it must select the {@code Bills} columns.
+     * @param fetchSize The number of rows fetched per round trip.
+     * @param params The values bound to the query's parameters, in order.
+     * @return An open {@code BillCursor}.
+     * @throws SQLException If the query cannot be executed.
+     * @throws ClassNotFoundException If the JDBC driver class is not found.
+     */
+    public static BillCursor open(String sql, int fetchSize, Object... params) throws SQLException, ClassNotFoundException {
+        Connection con = DBConnection.getConnection();
+        PreparedStatement ps = null;
+        try {
+            ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            bindParameters(ps, params);
+            return new BillCursor(con, ps, ps.executeQuery());
+        } catch (SQLException | RuntimeException e) {
+            if (ps != null) {
+                ps.close();
+            }
+            con.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Binds query parameters, converting {@code java.util.Date} values to SQL timestamps.
+     *
+     * @param ps The statement to bind.
+     * @param params The values to bind, in order.
+     * @throws SQLException If a value cannot be bound.
+     */
+    static void bindParameters(PreparedStatement ps, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            Object param = params[i];
+            if (param instanceof java.util.Date && !(param instanceof java.sql.Date) && !(param instanceof java.sql.Timestamp)) {
+                ps.setTimestamp(i + 1, new java.sql.Timestamp(((java.util.Date) param).getTime()));
+            } else {
+                ps.setObject(i + 1, param);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextBill != null) {
+            return true;
+        }
+        if (closed) {
+            return false;
+        }
+        try {
+            if (rs.next()) {
+                nextBill = mapper.map(rs);
+                return true;
+            }
+        } catch (SQLException e) {
+            // Ending the stream here would hand the caller a silently truncated result
+            close();
+            throw new UncheckedSQLException("Reading bills failed after the cursor was opened", e);
+        }
+        close();
+        return false;
+    }
+
+    @Override
+    public Bill next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Bill bill = nextBill;
+        nextBill = null;
+        return bill;
+    }
+
+    /**
+     * Releases the result set, statement and connection held by the cursor. Safe to call more than once.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // Closing resources to prevent memory leaks
+        try {
+            rs.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        try {
+            ps.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        try {
+            con.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -9,20 +9,37 @@
 package com.paypilot.repo;
 
 import com.paypilot.model.Bill;
-import java.io.File;
+import com.paypilot.model.BillFilter;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class BillDAO implements BillDAOInterface {
 
+    /**
+     * Default number of rows sent per round trip by {@link #addBills(Collection)}.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO Bills (bill_id, bill_name, bill_category, due_date, amount, reminder_frequency, attachment, notes, is_recurring, payment_status, overdue_days, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int fetchSize = BillCursor.DEFAULT_FETCH_SIZE;
+    private IdAllocator idAllocator = SequenceIdAllocator.forSequence(SequenceIdAllocator.BILL_ID_SEQUENCE);
+    private BillAggregateStore aggregates = BillAggregateStore.getDefault();
+    private final BillChangeNotifier notifier = BillChangeNotifier.getDefault();
+
     /**
      * Adds a new bill to the database.
      * 
      * <p>Business Logic:</p>
      * This method inserts a new record into the {@code Bills} table. It ensures that a bill
      * with the specified attributes is added to the database. Proper handling of attachment and
-     * due date is implemented to ensure correct data storage.
+     * due date is implemented to ensure correct data storage. A bill without an ID (zero or negative)
+     * is given one from the ID allocator before it is inserted.
      * 
      * @param bill The {@code Bill} object to be added to the database.
      * @throws SQLException If a database access error occurs.
@@ -30,25 +47,186 @@ public class BillDAO implements BillDAOInterface {
      */
     @Override
     public void addBill(Bill bill) {
-        String sql = "INSERT INTO Bills (bill_id, bill_name, bill_category, due_date, amount, reminder_frequency, attachment, notes, is_recurring, payment_status, overdue_days, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        try (Connection con = DBConnection.getConnection(); PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setInt(1, bill.getBillId());
-            ps.setString(2, bill.getBillName());
-            ps.setString(3, bill.getBillCategory());
-            ps.setDate(4, new java.sql.Date(bill.getDueDate().getTime()));
-            ps.setDouble(5, bill.getAmount());
-            ps.setString(6, bill.getReminderFrequency());
-            ps.setString(7, bill.getAttachment() != null ? bill.getAttachment().getPath() : null);
-            ps.setString(8, bill.getNotes());
-            ps.setBoolean(9, bill.isRecurring());
-            ps.setString(10, bill.getPaymentStatus());
-            ps.setInt(11, bill.getOverdueDays());
-            ps.setString(12, null);
-            // ps.setString(12, bill.getUserId()); // Uncomment and adjust if `Bill` has a `getUserId()` method
-
+        try (Connection con = DBConnection.getConnection(); PreparedStatement ps = con.prepareStatement(INSERT_SQL)) {
+            assignId(bill);
+            bindInsert(ps, bill);
             ps.executeUpdate();
+            aggregates.refresh(con, bill.getBillId());
+            notifier.billsChanged(bill.getBillId());
         } catch (SQLException | ClassNotFoundException e) {
             e.printStackTrace();
+            DaoMetrics.recordError();
+        }
+    }
+
+    /**
+     * Adds many bills to the database using JDBC batching.
+     * 
+     * <p>Business Logic:</p>
+     * The bills are sent in chunks of {@code batchSize} rows, one round trip and one transaction
+     * per chunk. If the database rejects a chunk, that chunk is rolled back and replayed row by row
+     * so that the valid rows are still stored and every rejected row is reported with its error.
+     * A failing chunk never affects the chunks before or after it. Bills without an ID are given one
+     * from the ID allocator up front, which costs one sequence round trip per block of IDs. If the
+     * connection cannot be opened, the IDs cannot be allocated or a chunk cannot be committed, every
+     * row not yet committed is reported as failed with that error, so that the inserted and failed
+     * counts always add up to the number of bills.
+     * 
+     * @param bills The {@code Bill} objects to be added to the database.
+     * @return A {@code BatchInsertResult} with the number of stored rows and the rejected rows.
+     */
+    @Override
+    public BatchInsertResult addBills(Collection<Bill> bills) {
+        BatchInsertResult result = new BatchInsertResult();
+        if (bills == null || bills.isEmpty()) {
+            return result;
+        }
+        List<Bill> rows = new ArrayList<>(bills);
+        // Rows before this index are committed or already reported as failed
+        int settled = 0;
+        try (Connection con = DBConnection.getConnection(); PreparedStatement ps = con.prepareStatement(INSERT_SQL)) {
+            for (Bill bill : rows) {
+                assignId(bill);
+            }
+            con.setAutoCommit(false);
+            for (int start = 0; start < rows.size(); start += batchSize) {
+                int end = Math.min(start + batchSize, rows.size());
+                insertChunk(con, ps, rows, start, end, result);
+                settled = end;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            DaoMetrics.recordError();
+            failFrom(settled, rows, e, result);
+        } catch (ClassNotFoundException e) {
+            e.printStackTrace();
+            DaoMetrics.recordError();
+            failFrom(settled, rows, new SQLException("JDBC driver not found", e), result);
+        }
+        return result;
+    }
+
+    private static void failFrom(int from, List<Bill> rows, SQLException cause, BatchInsertResult result) {
+        for (int i = from; i < rows.size(); i++) {
+            result.addFailure(i, rows.get(i), cause);
+        }
+    }
+
+    /**
+     * Sets the number of rows sent to the database per batch by {@link #addBills(Collection)}.
+     * 
+     * @param batchSize The number of rows per batch; must be positive.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive but was " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the number of rows sent to the database per batch.
+     * 
+     * @return the batch size.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the allocator used to assign IDs to bills added without one.
+     * 
+     * @param idAllocator The {@code IdAllocator} to use.
+     */
+    public void setIdAllocator(IdAllocator idAllocator) {
+        this.idAllocator = idAllocator;
+    }
+
+    /**
+     * Sets the aggregate store that is told about every bill this DAO writes.
+     * 
+     * @param aggregates The {@code BillAggregateStore} to keep up to date.
+     */
+    public void setAggregateStore(BillAggregateStore aggregates) {
+        this.aggregates = aggregates;
+    }
+
+    // Gives the bill a new ID if it does not have one yet
+    private void assignId(Bill bill) throws SQLException, ClassNotFoundException {
+        if (bill.getBillId() <= 0) {
+            bill.setBillId(idAllocator.nextId());
+        }
+    }
+
+    // Inserts rows [from, to) as one transaction, falling back to row-by-row inserts if the batch is rejected.
+    // Nothing is added to the result unless the chunk is committed; otherwise the SQLException is thrown.
+    private void insertChunk(Connection con, PreparedStatement ps, List<Bill> rows, int from, int to, BatchInsertResult result) throws SQLException {
+        try {
+            for (int i = from; i < to; i++) {
+                bindInsert(ps, rows.get(i));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            con.commit();
+            result.addInserted(to - from);
+            List<Integer> ids = idsOf(rows.subList(from, to));
+            aggregates.refresh(con, ids);
+            notifier.billsChanged(ids);
+            return;
+        } catch (SQLException e) {
+            ps.clearBatch();
+            con.rollback();
+        }
+
+        BatchInsertResult chunk = new BatchInsertResult();
+        List<Bill> stored = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            try {
+                bindInsert(ps, rows.get(i));
+                ps.executeUpdate();
+                chunk.addInserted(1);
+                stored.add(rows.get(i));
+            } catch (SQLException e) {
+                chunk.addFailure(i, rows.get(i), e);
+            }
+        }
+        con.commit();
+        result.merge(chunk);
+        List<Integer> ids = idsOf(stored);
+        aggregates.refresh(con, ids);
+        notifier.billsChanged(ids);
+    }
+
+    private static List<Integer> idsOf(List<Bill> bills) {
+        List<Integer> ids = new ArrayList<>(bills.size());
+        for (Bill bill : bills) {
+            ids.add(bill.getBillId());
+        }
+        return ids;
+    }
+
+    // Binds the columns of INSERT_SQL in the order they are listed
+    private void bindInsert(PreparedStatement ps, Bill bill) throws SQLException {
+        ps.setInt(1, bill.getBillId());
+        ps.setString(2, bill.getBillName());
+        ps.setString(3, bill.getBillCategory());
+        ps.setDate(4, bill.getDueDate() != null ? new java.sql.Date(bill.getDueDate().getTime()) : null);
+        ps.setDouble(5, bill.getAmount());
+        ps.setString(6, bill.getReminderFrequency());
+        ps.setString(7, bill.getAttachment() != null ? bill.getAttachment().getPath() : null);
+        ps.setString(8, bill.getNotes());
+        ps.setBoolean(9, bill.isRecurring());
+        ps.setString(10, bill.getPaymentStatus());
+        ps.setInt(11, bill.getOverdueDays());
+        bindUserId(ps, 12, bill.getUserId());
+    }
+
+    // Bills that are not assigned to a user keep a null user_id
+    static void bindUserId(PreparedStatement ps, int index, Integer userId) throws SQLException {
+        if (userId != null) {
+            ps.setInt(index, userId);
+        } else {
+            ps.setNull(index, Types.INTEGER);
         }
     }
 
@@ -78,13 +256,16 @@ public class BillDAO implements BillDAOInterface {
             ps.setBoolean(8, bill.isRecurring());
             ps.setString(9, bill.getPaymentStatus());
             ps.setInt(10, bill.getOverdueDays());
-            ps.setString(11, null);
-            // ps.setString(11, bill.getUserId()); // Uncomment and adjust if `Bill` has a `getUserId()` method
+            bindUserId(ps, 11, bill.getUserId());
             ps.setInt(12, bill.getBillId());
 
-            ps.executeUpdate();
+            if (ps.executeUpdate() > 0) {
+                aggregates.refresh(con, bill.getBillId());
+                notifier.billsChanged(bill.getBillId());
+            }
         } catch (SQLException | ClassNotFoundException e) {
             e.printStackTrace();
+            DaoMetrics.recordError();
         }
     }
 
@@ -105,8 +286,11 @@ public class BillDAO implements BillDAOInterface {
         try (Connection con = DBConnection.getConnection(); PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setInt(1, billId);
             ps.executeUpdate();
+            aggregates.refresh(con, billId);
+            notifier.billsChanged(billId);
         } catch (SQLException | ClassNotFoundException e) {
             e.printStackTrace();
+            DaoMetrics.recordError();
         }
     }
 
@@ -130,23 +314,11 @@ public class BillDAO implements BillDAOInterface {
             ps.setInt(1, billId);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
-                bill = new Bill(
-                    rs.getInt("bill_id"),
-                    rs.getString("bill_name"),
-                    rs.getString("bill_category"),
-                    rs.getDate("due_date"),
-                    rs.getDouble("amount"),
-                    rs.getString("reminder_frequency"),
-                    rs.getBlob("attachment") != null ? new File(rs.getString("attachment")) : null,
-                    rs.getString("notes"),
-                    rs.getBoolean("is_recurring"),
-                    rs.getString("payment_status"),
-                    rs.getInt("overdue_days"),
-                    null // Set this based on your `ReminderSettings` data, if applicable
-                );
+                bill = new BillRowMapper(rs).map(rs);
             }
         } catch (SQLException | ClassNotFoundException e) {
             e.printStackTrace();
+            DaoMetrics.recordError();
         }
         return bill;
     }
@@ -168,28 +340,67 @@ public class BillDAO implements BillDAOInterface {
         List<Bill> bills = new ArrayList<>();
         try (Connection con = DBConnection.getConnection(); Statement stmt = con.createStatement()) {
             ResultSet rs = stmt.executeQuery(sql);
+            BillRowMapper mapper = new BillRowMapper(rs);
             while (rs.next()) {
-                bills.add(new Bill(
-                    rs.getInt("bill_id"),
-                    rs.getString("bill_name"),
-                    rs.getString("bill_category"),
-                    rs.getDate("due_date"),
-                    rs.getDouble("amount"),
-                    rs.getString("reminder_frequency"),
-                    rs.getBlob("attachment") != null ? new File(rs.getString("attachment")) : null,
-                    rs.getString("notes"),
-                    rs.getBoolean("is_recurring"),
-                    rs.getString("payment_status"),
-                    rs.getInt("overdue_days"),
-                    null // Set this based on your `ReminderSettings` data, if applicable
-                ));
+                bills.add(mapper.map(rs));
             }
         } catch (SQLException | ClassNotFoundException e) {
             e.printStackTrace();
+            DaoMetrics.recordError();
         }
         return bills;
     }
 
+    /**
+     * Streams all bills from the database over an open cursor.
+     * 
+     * <p>Business Logic:</p>
+     * Unlike {@link #getAllBills()}, this method does not load the table into memory. Rows are
+     * fetched {@code fetchSize} at a time as the stream is consumed, and the connection is released
+     * once the stream is exhausted or closed. Callers should close the stream with try-with-resources.
+     * 
+     * @return A lazily fetched {@code Stream} of all {@code Bill} objects.
+     */
+    @Override
+    public Stream<Bill> streamAllBills() {
+        return BillCursor.stream("SELECT * FROM Bills", fetchSize);
+    }
+
+    /**
+     * Streams the recurring bills, with or without a due date, over an open cursor.
+     * 
+     * <p>Business Logic:</p>
+     * The {@code is_recurring} column holds the values written by {@code setBoolean} as well as
+     * Yes/No from the setup script, so all of those spellings are accepted.
+     * 
+     * @return A lazily fetched {@code Stream} of the recurring {@code Bill} objects.
+     */
+    @Override
+    public Stream<Bill> streamRecurringBills() {
+        return BillCursor.stream("SELECT * FROM Bills WHERE UPPER(is_recurring) IN ('TRUE', 'YES', 'Y', '1')", fetchSize);
+    }
+
+    /**
+     * Sets the number of rows fetched per round trip by the streaming queries.
+     * 
+     * @param fetchSize The number of rows per fetch; must be positive.
+     */
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("fetchSize must be positive but was " + fetchSize);
+        }
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Returns the number of rows fetched per round trip by the streaming queries.
+     * 
+     * @return the fetch size.
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
     /**
      * Retrieves bills by their category.
      * 
@@ -210,25 +421,212 @@ public class BillDAO implements BillDAOInterface {
         try (Connection con = DBConnection.getConnection(); PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setString(1, category);
             ResultSet rs = ps.executeQuery();
+            BillRowMapper mapper = new BillRowMapper(rs);
             while (rs.next()) {
-                bills.add(new Bill(
-                    rs.getInt("bill_id"),
-                    rs.getString("bill_name"),
-                    rs.getString("bill_category"),
-                    rs.getDate("due_date"),
-                    rs.getDouble("amount"),
-                    rs.getString("reminder_frequency"),
-                    rs.getBlob("attachment") != null ? new File(rs.getString("attachment")) : null,
-                    rs.getString("notes"),
-                    rs.getBoolean("is_recurring"),
-                    rs.getString("payment_status"),
-                    rs.getInt("overdue_days"),
-                    null // Set this based on your `ReminderSettings` data, if applicable
-                ));
+                bills.add(mapper.map(rs));
+            }
+        } catch (SQLException | ClassNotFoundException e) {
+            e.printStackTrace();
+            DaoMetrics.recordError();
+        }
+        return bills;
+    }
+
+    /**
+     * Retrieves one page of bills using keyset pagination.
+     * 
+     * <p>Business Logic:</p>
+     * Bills are ordered by {@code (due_date, bill_id)} with null due dates last, and each page starts
+     * right after the given position with a range predicate instead of an OFFSET. The bills with a due
+     * date are read first with {@code due_date >= ? AND (due_date > ? OR bill_id > ?)}, a predicate the
+     * (due_date, bill_id) index can seek on; only once they run out are the bills without a due date
+     * read, in {@code bill_id} order. One row more than the limit is read to learn whether another page
+     * follows. Filter criteria are evaluated by the database: category and name must match
+     * exactly, and the due-date range is inclusive and only applied when both bounds are set.
+     * 
+     * @param afterDueDate The due date of the last bill of the previous page, or {@code null}.
+     * @param afterBillId The ID of the last bill of the previous page, or {@code 0} for the first page.
+     * @param limit The maximum number of bills on the page; must be positive.
+     * @param filter Optional criteria the bills must match, or {@code null} for all bills.
+     * @return A {@code BillPage} with the bills and the position of the next page.
+     */
+    @Override
+    public BillPage getBills(Date afterDueDate, int afterBillId, int limit, BillFilter filter) {
+        return queryPage(null, afterDueDate, afterBillId, limit, filter);
+    }
+
+    /**
+     * Retrieves a bill by its ID if it belongs to the given user.
+     * 
+     * <p>Business Logic:</p>
+     * The bill is looked up by its primary key and the owner is checked in the same query.
+     * 
+     * @param userId The ID of the user who owns the bill.
+     * @param billId The ID of the bill to retrieve.
+     * @return The {@code Bill} object, or {@code null} if not found or owned by another user.
+     */
+    @Override
+    public Bill getBillById(int userId, int billId) {
+        List<Bill> bills = queryBills("SELECT * FROM Bills WHERE bill_id = ? AND user_id = ?", billId, userId);
+        return bills.isEmpty() ? null : bills.get(0);
+    }
+
+    /**
+     * Retrieves all bills that belong to one user.
+     * 
+     * <p>Business Logic:</p>
+     * Only the user's rows are read, through the {@code (user_id, due_date)} index or the user's
+     * partition, so the cost depends on the size of the user's bills rather than the whole table.
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @return A list of the user's {@code Bill} objects.
+     */
+    @Override
+    public List<Bill> getAllBills(int userId) {
+        return queryBills("SELECT * FROM Bills WHERE user_id = ?", userId);
+    }
+
+    /**
+     * Streams all bills that belong to one user over an open cursor.
+     * 
+     * @param userId The ID of the user whose bills are streamed.
+     * @return A lazily fetched {@code Stream} of the user's {@code Bill} objects.
+     */
+    @Override
+    public Stream<Bill> streamAllBills(int userId) {
+        return BillCursor.stream("SELECT * FROM Bills WHERE user_id = ?", fetchSize, userId);
+    }
+
+    /**
+     * Retrieves the bills of one user in a category.
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @param category The category to search for.
+     * @return A list of the user's {@code Bill} objects that match the specified category.
+     */
+    @Override
+    public List<Bill> getBillsByCategory(int userId, String category) {
+        return queryBills("SELECT * FROM Bills WHERE user_id = ? AND bill_category = ?", userId, category);
+    }
+
+    /**
+     * Retrieves one page of one user's bills using keyset pagination.
+     * 
+     * <p>Business Logic:</p>
+     * The query is the same as for {@link #getBills(Date, int, int, BillFilter)} with an extra
+     * {@code user_id} predicate, so the seek stays within the user's rows.
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @param afterDueDate The due date of the last bill of the previous page, or {@code null}.
+     * @param afterBillId The ID of the last bill of the previous page, or {@code 0} for the first page.
+     * @param limit The maximum number of bills on the page; must be positive.
+     * @param filter Optional criteria the bills must match, or {@code null} for all of the user's bills.
+     * @return A {@code BillPage} with the bills and the position of the next page.
+     */
+    @Override
+    public BillPage getBills(int userId, Date afterDueDate, int afterBillId, int limit, BillFilter filter) {
+        return queryPage(userId, afterDueDate, afterBillId, limit, filter);
+    }
+
+    // Runs a bill query and collects every row
+    private List<Bill> queryBills(String sql, Object... params) {
+        List<Bill> bills = new ArrayList<>();
+        try (Connection con = DBConnection.getConnection(); PreparedStatement ps = con.prepareStatement(sql)) {
+            BillCursor.bindParameters(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                BillRowMapper mapper = new BillRowMapper(rs);
+                while (rs.next()) {
+                    bills.add(mapper.map(rs));
+                }
             }
         } catch (SQLException | ClassNotFoundException e) {
             e.printStackTrace();
+            DaoMetrics.recordError();
         }
         return bills;
     }
+
+    // Reads one keyset page, optionally restricted to one user's bills
+    private BillPage queryPage(Integer userId, Date afterDueDate, int afterBillId, int limit, BillFilter filter) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive but was " + limit);
+        }
+        StringBuilder sql = new StringBuilder("SELECT * FROM Bills WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (userId != null) {
+            sql.append(" AND user_id = ?");
+            params.add(userId);
+        }
+        if (filter != null) {
+            // BillFilter compares category and name ignoring case; on Oracle these match the UPPER(...) indexes
+            if (filter.getCategory() != null) {
+                sql.append(" AND UPPER(bill_category) = UPPER(?)");
+                params.add(filter.getCategory());
+            }
+            if (filter.getName() != null) {
+                sql.append(" AND UPPER(bill_name) = UPPER(?)");
+                params.add(filter.getName());
+            }
+            if (filter.hasDateRange()) {
+                sql.append(" AND due_date >= ? AND due_date <= ?");
+                params.add(filter.getDateFrom());
+                params.add(filter.getDateTo());
+            }
+        }
+        String where = sql.toString();
+
+        // The rows read, one more than the limit, and the due date of each with its time of day,
+        // which the mapped java.sql.Date drops
+        List<Bill> rows = new ArrayList<>(limit + 1);
+        List<Date> dueDates = new ArrayList<>(limit + 1);
+        try (Connection con = DBConnection.getConnection()) {
+            if (afterDueDate != null || afterBillId <= 0) {
+                // Dated phase: a single range over (due_date, bill_id), so the index seeks to the position
+                List<Object> datedParams = new ArrayList<>(params);
+                String dated;
+                if (afterDueDate != null) {
+                    dated = where + " AND due_date >= ? AND (due_date > ? OR bill_id > ?)";
+                    datedParams.add(afterDueDate);
+                    datedParams.add(afterDueDate);
+                    datedParams.add(afterBillId);
+                } else {
+                    dated = where + " AND due_date IS NOT NULL";
+                }
+                readRows(con, dated + " ORDER BY due_date ASC, bill_id ASC FETCH FIRST ? ROWS ONLY",
+                        datedParams, limit + 1, rows, dueDates);
+            }
+            if (rows.size() <= limit && (filter == null || !filter.hasDateRange())) {
+                // The dated bills ran out; continue with the bills without a due date
+                List<Object> undatedParams = new ArrayList<>(params);
+                undatedParams.add(afterDueDate == null ? afterBillId : 0);
+                readRows(con, where + " AND due_date IS NULL AND bill_id > ? ORDER BY bill_id ASC FETCH FIRST ? ROWS ONLY",
+                        undatedParams, limit + 1 - rows.size(), rows, dueDates);
+            }
+        } catch (SQLException | ClassNotFoundException e) {
+            e.printStackTrace();
+            DaoMetrics.recordError();
+        }
+        boolean hasMore = rows.size() > limit;
+        List<Bill> bills = hasMore ? new ArrayList<>(rows.subList(0, limit)) : rows;
+        Date lastDueDate = bills.isEmpty() ? null : dueDates.get(bills.size() - 1);
+        int lastBillId = bills.isEmpty() ? 0 : bills.get(bills.size() - 1).getBillId();
+        return new BillPage(bills, hasMore, lastDueDate, lastBillId);
+    }
+
+    // Appends up to fetch rows of a page query to rows, and their due dates to dueDates
+    private static void readRows(Connection con, String sql, List<Object> params, int fetch,
+                                 List<Bill> rows, List<Date> dueDates) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            params.add(fetch);
+            BillCursor.bindParameters(ps, params.toArray());
+            try (ResultSet rs = ps.executeQuery()) {
+                BillRowMapper mapper = new BillRowMapper(rs);
+                int dueDateColumn = rs.findColumn("due_date");
+                while (rs.next()) {
+                    rows.add(mapper.map(rs));
+                    dueDates.add(rs.getTimestamp(dueDateColumn));
+                }
+            }
+        }
+    }
 }
@@ -9,7 +9,11 @@
 package com.paypilot.repo;
 
 import com.paypilot.model.Bill;
+import com.paypilot.model.BillFilter;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface BillDAOInterface {
     
@@ -23,6 +27,18 @@ public interface BillDAOInterface {
      * @param bill The {@code Bill} object to be added.
      */
     void addBill(Bill bill);
+
+    /**
+     * Adds many {@code Bill} objects to the database in bulk.
+     * 
+     * <p>Business Logic:</p>
+     * This method inserts the bills using batched statements, committing one chunk at a time.
+     * Rows rejected by the database do not stop the import; they are reported in the returned result.
+     * 
+     * @param bills The {@code Bill} objects to be added.
+     * @return A {@code BatchInsertResult} describing how many rows were stored and which rows failed.
+     */
+    BatchInsertResult addBills(Collection<Bill> bills);
     
     /**
      * Updates an existing {@code Bill} in the database.
@@ -68,6 +84,32 @@ public interface BillDAOInterface {
      * @return A list of all {@code Bill} objects.
      */
     List<Bill> getAllBills();
+
+    /**
+     * Streams all {@code Bill} objects from the database.
+     * 
+     * <p>Business Logic:</p>
+     * This method returns the bill records lazily over an open database cursor, so callers can
+     * process very large tables in constant memory. The returned stream holds a database connection
+     * until it is exhausted or closed and should be used in a try-with-resources block.
+     * 
+     * @return A lazily fetched {@code Stream} of all {@code Bill} objects.
+     * @throws UncheckedSQLException If the bills cannot be read, when the query is opened or while rows are fetched.
+     */
+    Stream<Bill> streamAllBills();
+
+    /**
+     * Streams the recurring {@code Bill} objects, including paid ones, which have no due date.
+     * 
+     * <p>Business Logic:</p>
+     * Only bills marked as recurring are read, so the recurring bill generator does not have to
+     * load the whole table. Paid bills are included so that a series whose bills are all paid can
+     * still be continued. The returned stream holds a database connection until it is exhausted or closed.
+     * 
+     * @return A lazily fetched {@code Stream} of the recurring {@code Bill} objects.
+     * @throws UncheckedSQLException If the bills cannot be read, when the query is opened or while rows are fetched.
+     */
+    Stream<Bill> streamRecurringBills();
     
     /**
      * Finds {@code Bill} objects by their category.
@@ -80,4 +122,83 @@ public interface BillDAOInterface {
      * @return A list of {@code Bill} objects that match the specified category.
      */
     List<Bill> getBillsByCategory(String category);
+
+    /**
+     * Retrieves one page of bills using keyset pagination.
+     * 
+     * <p>Business Logic:</p>
+     * Bills are ordered by due date, bills without a due date last, and then by bill ID. Instead of
+     * skipping rows with an offset, the query seeks directly past the last bill of the previous page,
+     * so a deep page costs the same as the first one. Pass {@code null} and {@code 0} for the first
+     * page, and the {@code lastDueDate} and {@code lastBillId} of the returned page for the next one.
+     * 
+     * @param afterDueDate The due date of the last bill of the previous page, or {@code null}.
+     * @param afterBillId The ID of the last bill of the previous page, or {@code 0} for the first page.
+     * @param limit The maximum number of bills on the page; must be positive.
+     * @param filter Optional criteria the bills must match, or {@code null} for all bills.
+     * @return A {@code BillPage} with the bills and the position of the next page.
+     */
+    BillPage getBills(Date afterDueDate, int afterBillId, int limit, BillFilter filter);
+
+    /**
+     * Retrieves a {@code Bill} by its ID if it belongs to the given user.
+     * 
+     * <p>Business Logic:</p>
+     * This method behaves like {@link #getBillById(int)} but only returns the bill when its
+     * {@code user_id} matches, so one user can never read another user's bill.
+     * 
+     * @param userId The ID of the user who owns the bill.
+     * @param billId The ID of the {@code Bill} to retrieve.
+     * @return The {@code Bill} object, or {@code null} if not found or owned by another user.
+     */
+    Bill getBillById(int userId, int billId);
+
+    /**
+     * Retrieves all {@code Bill} objects that belong to one user.
+     * 
+     * <p>Business Logic:</p>
+     * The query is restricted to the user's rows, so it is served by the {@code (user_id, due_date)}
+     * index, or by the user's partition when the table is partitioned, instead of scanning all users.
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @return A list of the user's {@code Bill} objects.
+     */
+    List<Bill> getAllBills(int userId);
+
+    /**
+     * Streams all {@code Bill} objects that belong to one user.
+     * 
+     * <p>Business Logic:</p>
+     * This is the user-scoped counterpart of {@link #streamAllBills()}. The returned stream holds a
+     * database connection until it is exhausted or closed.
+     * 
+     * @param userId The ID of the user whose bills are streamed.
+     * @return A lazily fetched {@code Stream} of the user's {@code Bill} objects.
+     */
+    Stream<Bill> streamAllBills(int userId);
+
+    /**
+     * Finds the {@code Bill} objects of one user in a category.
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @param category The category to search for.
+     * @return A list of the user's {@code Bill} objects that match the specified category.
+     */
+    List<Bill> getBillsByCategory(int userId, String category);
+
+    /**
+     * Retrieves one page of one user's bills using keyset pagination.
+     * 
+     * <p>Business Logic:</p>
+     * This method pages through the user's bills exactly like
+     * {@link #getBills(Date, int, int, BillFilter)} pages through all bills.
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @param afterDueDate The due date of the last bill of the previous page, or {@code null}.
+     * @param afterBillId The ID of the last bill of the previous page, or {@code 0} for the first page.
+     * @param limit The maximum number of bills on the page; must be positive.
+     * @param filter Optional criteria the bills must match, or {@code null} for all of the user's bills.
+     * @return A {@code BillPage} with the bills and the position of the next page.
+     */
+    BillPage getBills(int userId, Date afterDueDate, int afterBillId, int limit, BillFilter filter);
 }
@@ -13,14 +13,38 @@ package com.paypilot.repo;
 import java.io.File;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Date;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.paypilot.model.Bill;
 import com.paypilot.model.BillManagerDAOInterface;
 
 public class BillManagerDAO implements BillManagerDAOInterface {
 
+    // Payment status values stored in the BILLS table
+    private static final String STATUS_PENDING = "Pending";
+    private static final String STATUS_UPCOMING = "Upcoming";
+    private static final String STATUS_PAID = "Paid";
+
+    // Oracle accepts at most 1000 expressions in an IN list
+    private static final int MAX_IN_LIST_SIZE = 1000;
+
+    // Number of rows fetched per round trip by the streaming queries
+    private int fetchSize = BillCursor.DEFAULT_FETCH_SIZE;
+
+    // Source of IDs for bills added without one
+    private IdAllocator idAllocator = SequenceIdAllocator.forSequence(SequenceIdAllocator.BILL_ID_SEQUENCE);
+
+    // Kept up to date with every bill written here, for the dashboard overview
+    private BillAggregateStore aggregates = BillAggregateStore.getDefault();
+
+    // Tells caches such as CachingBillDAO about every bill written here
+    private final BillChangeNotifier notifier = BillChangeNotifier.getDefault();
+
     /**
      * Retrieves a list of all bills from the database.
      * This method executes a SELECT query on the BILLS table and converts
@@ -53,12 +77,15 @@ public class BillManagerDAO implements BillManagerDAOInterface {
                 Boolean isRecurring = rs.getBoolean(9);
                 String paymentStatus = rs.getString(10);
                 int overdueDays = rs.getInt(11);
+                int userId = rs.getInt(12);
 
                 Bill bill = new Bill(id, name, category, dueDate, amount, reminderFrequency, attachment, notes, isRecurring, paymentStatus, overdueDays, null);
+                bill.setUserId(rs.wasNull() ? null : userId);
                 bills.add(bill);
             }
         } catch (Exception e) {
             e.printStackTrace();
+            DaoMetrics.recordError();
         } finally {
             // Closing resources to prevent memory leaks
             try {
@@ -67,46 +94,349 @@ public class BillManagerDAO implements BillManagerDAOInterface {
                 if (con != null) con.close();
             } catch (SQLException e) {
                 e.printStackTrace();
+                DaoMetrics.recordError();
             }
         }
 
         return bills;
     }
 
+    /**
+     * Streams all bills from the database over an open cursor.
+     * This method executes the same SELECT query as {@link #getAllBills()} but converts
+     * rows to Bill objects only as the stream is consumed, so the BILLS table is never
+     * held in memory as a whole. The connection is released when the stream is exhausted
+     * or closed; callers should use a try-with-resources block.
+     * 
+     * @return A lazily fetched Stream of Bill objects representing all bills in the database.
+     */
+    public Stream<Bill> streamAllBills() {
+        return BillCursor.stream("SELECT * FROM BILLS", fetchSize);
+    }
+
+    /**
+     * Retrieves the bills matching a category, due-date window and payment status.
+     * The criteria are sent to the database as a parameterized WHERE clause, so only
+     * matching rows are transferred. A category of "All" (or null) matches every category,
+     * and a null date or status leaves that side of the filter open. The date bounds are
+     * exclusive, as in the original in-memory filter.
+     * 
+     * @param category The category of the bills to retrieve, or "All".
+     * @param fromDate Bills must be due after this date.
+     * @param toDate Bills must be due before this date.
+     * @param status The payment status of the bills to retrieve.
+     * @return A List of the Bill objects matching the criteria.
+     */
+    public List<Bill> getBillsOverview(String category, Date fromDate, Date toDate, String status) {
+        return queryOverview(null, category, fromDate, toDate, status);
+    }
+
+    /**
+     * Retrieves the bills of one user matching a category, due-date window and payment status.
+     * The criteria are the same as for {@link #getBillsOverview(String, Date, Date, String)},
+     * with an extra user_id predicate so only that user's rows are read.
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @param category The category of the bills to retrieve, or "All".
+     * @param fromDate Bills must be due after this date.
+     * @param toDate Bills must be due before this date.
+     * @param status The payment status of the bills to retrieve.
+     * @return A List of the user's Bill objects matching the criteria.
+     */
+    public List<Bill> getBillsOverview(int userId, String category, Date fromDate, Date toDate, String status) {
+        return queryOverview(userId, category, fromDate, toDate, status);
+    }
+
+    // Builds the overview WHERE clause, optionally restricted to one user's bills
+    private List<Bill> queryOverview(Integer userId, String category, Date fromDate, Date toDate, String status) {
+        StringBuilder query = new StringBuilder("SELECT * FROM BILLS WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (userId != null) {
+            query.append(" AND user_id = ?");
+            params.add(userId);
+        }
+        if (category != null && !category.equalsIgnoreCase("All")) {
+            query.append(" AND bill_category = ?");
+            params.add(category);
+        }
+        if (fromDate != null) {
+            query.append(" AND due_date > ?");
+            params.add(fromDate);
+        }
+        if (toDate != null) {
+            query.append(" AND due_date < ?");
+            params.add(toDate);
+        }
+        if (status != null) {
+            query.append(" AND payment_status = ?");
+            params.add(status);
+        }
+        return queryBills(query.toString(), params.toArray());
+    }
+
+    /**
+     * Retrieves the bills that are pending or whose due date has passed.
+     * Both conditions are evaluated by the database; the (payment_status, due_date)
+     * index serves the status branch.
+     * 
+     * @param asOf The date against which due dates are compared, normally today.
+     * @return A List of the overdue Bill objects.
+     */
+    public List<Bill> getOverdueBills(Date asOf) {
+        return queryBills("SELECT * FROM BILLS WHERE payment_status = ? OR due_date < ?", STATUS_PENDING, asOf);
+    }
+
+    /**
+     * Retrieves the bills whose payment status is "Upcoming".
+     * 
+     * @return A List of the upcoming Bill objects.
+     */
+    public List<Bill> getUpcomingBills() {
+        return queryBills("SELECT * FROM BILLS WHERE payment_status = ?", STATUS_UPCOMING);
+    }
+
+    /**
+     * Retrieves the bills of one user.
+     * Only the user's rows are read, through the (user_id, due_date) index or the
+     * user's partition, instead of every bill in the table.
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @return A List of the user's Bill objects.
+     */
+    public List<Bill> getAllBills(int userId) {
+        return queryBills("SELECT * FROM BILLS WHERE user_id = ?", userId);
+    }
+
+    /**
+     * Streams the bills of one user over an open cursor.
+     * The connection is released when the stream is exhausted or closed.
+     * 
+     * @param userId The ID of the user whose bills are streamed.
+     * @return A lazily fetched Stream of the user's Bill objects.
+     */
+    public Stream<Bill> streamAllBills(int userId) {
+        return BillCursor.stream("SELECT * FROM BILLS WHERE user_id = ?", fetchSize, userId);
+    }
+
+    /**
+     * Retrieves the bills of one user that are pending or whose due date has passed.
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @param asOf The date against which due dates are compared, normally today.
+     * @return A List of the user's overdue Bill objects.
+     */
+    public List<Bill> getOverdueBills(int userId, Date asOf) {
+        return queryBills("SELECT * FROM BILLS WHERE user_id = ? AND (payment_status = ? OR due_date < ?)", userId, STATUS_PENDING, asOf);
+    }
+
+    /**
+     * Retrieves the bills of one user whose payment status is "Upcoming".
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @return A List of the user's upcoming Bill objects.
+     */
+    public List<Bill> getUpcomingBills(int userId) {
+        return queryBills("SELECT * FROM BILLS WHERE user_id = ? AND payment_status = ?", userId, STATUS_UPCOMING);
+    }
+
+    /**
+     * Retrieves a specific bill if it belongs to the given user.
+     * The bill is looked up by its primary key and its owner is checked in the same query.
+     * 
+     * @param userId The ID of the user who owns the bill.
+     * @param id The unique identifier of the bill to retrieve.
+     * @return The Bill object, or null if no bill is found or it belongs to another user.
+     */
+    public Bill getBillById(int userId, int id) {
+        List<Bill> bills = queryBills("SELECT * FROM BILLS WHERE bill_id = ? AND user_id = ?", id, userId);
+        return bills.isEmpty() ? null : bills.get(0);
+    }
+
+    /**
+     * Moves the due date of a single bill.
+     * This method runs one keyed UPDATE on the bill's primary key instead of
+     * reading the bill and writing it back.
+     * 
+     * @param id The unique identifier of the bill to snooze.
+     * @param snoozeDate The new due date of the bill.
+     * @return true if a bill with the given ID was updated, false otherwise.
+     */
+    public boolean snoozeBill(int id, Date snoozeDate) {
+        return updateById("UPDATE BILLS SET due_date = ? WHERE bill_id = ?", id, toSqlDate(snoozeDate)) > 0;
+    }
+
+    /**
+     * Marks a single bill as paid and clears its due date.
+     * This method runs one keyed UPDATE on the bill's primary key.
+     * 
+     * @param id The unique identifier of the bill to mark as paid.
+     * @return true if a bill with the given ID was updated, false otherwise.
+     */
+    public boolean markBillAsPaid(int id) {
+        return updateById("UPDATE BILLS SET payment_status = ?, due_date = NULL WHERE bill_id = ?", id, STATUS_PAID) > 0;
+    }
+
+    /**
+     * Moves the due date of many bills at once.
+     * The IDs are sent in as few UPDATE ... WHERE bill_id IN (...) statements as
+     * possible, all within one transaction.
+     * 
+     * @param ids The unique identifiers of the bills to snooze.
+     * @param snoozeDate The new due date of the bills.
+     * @return The number of bills updated.
+     */
+    public int snoozeBills(Collection<Integer> ids, Date snoozeDate) {
+        return updateByIds("UPDATE BILLS SET due_date = ? WHERE bill_id IN ", ids, toSqlDate(snoozeDate));
+    }
+
+    /**
+     * Marks many bills as paid at once and clears their due dates.
+     * The IDs are sent in as few UPDATE ... WHERE bill_id IN (...) statements as
+     * possible, all within one transaction.
+     * 
+     * @param ids The unique identifiers of the bills to mark as paid.
+     * @return The number of bills updated.
+     */
+    public int markBillsAsPaid(Collection<Integer> ids) {
+        return updateByIds("UPDATE BILLS SET payment_status = ?, due_date = NULL WHERE bill_id IN ", ids, STATUS_PAID);
+    }
+
+    // Due dates are written as SQL dates, like every other insert and update of the BILLS table
+    private static java.sql.Date toSqlDate(Date date) {
+        return date != null ? new java.sql.Date(date.getTime()) : null;
+    }
+
+    // Runs an UPDATE whose last parameter is the bill ID, then re-reads the bill into the aggregate store and notifies the caches; the value is bound first
+    private int updateById(String query, int id, Object value) {
+        try (Connection con = DBConnection.getConnection(); PreparedStatement pstmt = con.prepareStatement(query)) {
+            BillCursor.bindParameters(pstmt, value, id);
+            int updated = pstmt.executeUpdate();
+            if (updated > 0) {
+                aggregates.refresh(con, id);
+                notifier.billsChanged(id);
+            }
+            return updated;
+        } catch (Exception e) {
+            e.printStackTrace();
+            DaoMetrics.recordError();
+            return 0;
+        }
+    }
+
+    // Runs an UPDATE ... IN (...) for every chunk of IDs inside one transaction
+    private int updateByIds(String queryPrefix, Collection<Integer> ids, Object value) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        List<Integer> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        int updated = 0;
+        try (Connection con = DBConnection.getConnection()) {
+            con.setAutoCommit(false);
+            try {
+                for (int start = 0; start < distinctIds.size(); start += MAX_IN_LIST_SIZE) {
+                    List<Integer> chunk = distinctIds.subList(start, Math.min(start + MAX_IN_LIST_SIZE, distinctIds.size()));
+                    updated += updateChunk(con, queryPrefix, chunk, value);
+                }
+                con.commit();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            }
+            if (updated > 0) {
+                // IDs that matched no row are unknown to the store and stay so
+                aggregates.refresh(con, distinctIds);
+                notifier.billsChanged(distinctIds);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            DaoMetrics.recordError();
+            return 0;
+        }
+        return updated;
+    }
+
+    private int updateChunk(Connection con, String queryPrefix, List<Integer> chunk, Object value) throws SQLException {
+        // Pad the IN list to a power of two so only a handful of distinct statements are ever prepared
+        int slots = Math.min(Integer.highestOneBit(chunk.size() - 1) << 1, MAX_IN_LIST_SIZE);
+        slots = Math.max(slots, chunk.size());
+        StringBuilder query = new StringBuilder(queryPrefix).append('(');
+        for (int i = 0; i < slots; i++) {
+            query.append(i == 0 ? "?" : ", ?");
+        }
+        query.append(')');
+
+        try (PreparedStatement pstmt = con.prepareStatement(query.toString())) {
+            BillCursor.bindParameters(pstmt, value);
+            for (int i = 0; i < slots; i++) {
+                // Repeating the last ID in the padding slots does not change the result
+                pstmt.setInt(i + 2, chunk.get(Math.min(i, chunk.size() - 1)));
+            }
+            return pstmt.executeUpdate();
+        }
+    }
+
+    // Runs a filtered bill query over a cursor and collects only the matching rows
+    private List<Bill> queryBills(String query, Object... params) {
+        try (Stream<Bill> bills = BillCursor.stream(query, fetchSize, params)) {
+            return bills.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Sets the number of rows fetched per round trip by the streaming queries.
+     * 
+     * @param fetchSize The number of rows per fetch; must be positive.
+     */
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("fetchSize must be positive but was " + fetchSize);
+        }
+        this.fetchSize = fetchSize;
+    }
+
     /**
      * Adds a new bill to the database.
      * This method prepares an INSERT statement to add a new record to the BILLS table,
      * using the details from the provided Bill object. It ensures that all required
      * fields are populated, and that the new bill is persisted correctly.
+     * If the bill has no ID yet (zero or negative), one is taken from the ID allocator
+     * and written back to the Bill object.
      * 
      * @param bill The Bill object containing the details to be added to the database.
      */
     public void addBill(Bill bill) {
         Connection con = null;
         PreparedStatement pstmt = null;
-        String query = "INSERT INTO BILLS (bill_id, bill_name, bill_category, due_date, amount, reminder_frequency, attachment, notes, is_recurring, payment_status, overdue_days, user_id) VALUES (bill_id_seq.NEXTVAL, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String query = "INSERT INTO BILLS (bill_id, bill_name, bill_category, due_date, amount, reminder_frequency, attachment, notes, is_recurring, payment_status, overdue_days, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
         try {
+            if (bill.getBillId() <= 0) {
+                bill.setBillId(idAllocator.nextId());
+            }
             con = DBConnection.getConnection();
             pstmt = con.prepareStatement(query);
 
             // Set parameters based on the Bill object
-            pstmt.setString(1, bill.getBillName());
-            pstmt.setString(2, bill.getBillCategory());
-            pstmt.setDate(3, new java.sql.Date(bill.getDueDate().getTime()));  // Convert java.util.Date to java.sql.Date
-            pstmt.setFloat(4, (float)bill.getAmount());
-            pstmt.setString(5, bill.getReminderFrequency());
-            pstmt.setString(6, bill.getAttachment() != null ? bill.getAttachment().getPath() : null);
-            pstmt.setString(7, bill.getNotes());
-            pstmt.setBoolean(8, bill.isRecurring());
-            pstmt.setString(9, bill.getPaymentStatus());
-            pstmt.setInt(10, bill.getOverdueDays());
-            pstmt.setInt(11, (Integer) null);  // Assuming userId is null for now
+            pstmt.setInt(1, bill.getBillId());
+            pstmt.setString(2, bill.getBillName());
+            pstmt.setString(3, bill.getBillCategory());
+            pstmt.setDate(4, toSqlDate(bill.getDueDate()));
+            pstmt.setFloat(5, (float)bill.getAmount());
+            pstmt.setString(6, bill.getReminderFrequency());
+            pstmt.setString(7, bill.getAttachment() != null ? bill.getAttachment().getPath() : null);
+            pstmt.setString(8, bill.getNotes());
+            pstmt.setBoolean(9, bill.isRecurring());
+            pstmt.setString(10, bill.getPaymentStatus());
+            pstmt.setInt(11, bill.getOverdueDays());
+            BillDAO.bindUserId(pstmt, 12, bill.getUserId());
 
             // Execute the insert operation
             pstmt.executeUpdate();
+            aggregates.refresh(con, bill.getBillId());
+            notifier.billsChanged(bill.getBillId());
         } catch (Exception e) {
             e.printStackTrace();
+            DaoMetrics.recordError();
         } finally {
             // Closing resources to prevent memory leaks
             try {
@@ -114,10 +444,29 @@ public class BillManagerDAO implements BillManagerDAOInterface {
                 if (con != null) con.close();
             } catch (SQLException e) {
                 e.printStackTrace();
+                DaoMetrics.recordError();
             }
         }
     }
 
+    /**
+     * Sets the allocator used to assign IDs to bills added without one.
+     * 
+     * @param idAllocator The allocator to use.
+     */
+    public void setIdAllocator(IdAllocator idAllocator) {
+        this.idAllocator = idAllocator;
+    }
+
+    /**
+     * Sets the aggregate store that is told about every bill this DAO writes.
+     * 
+     * @param aggregates The store to keep up to date.
+     */
+    public void setAggregateStore(BillAggregateStore aggregates) {
+        this.aggregates = aggregates;
+    }
+
     /**
      * Retrieves a specific bill from the database by its ID.
      * This method executes a SELECT query to find a bill with the given ID.
@@ -131,7 +480,7 @@ public class BillManagerDAO implements BillManagerDAOInterface {
         PreparedStatement pstmt = null;
         ResultSet rs = null;
         Bill bill = null;
-        String query = "SELECT * FROM BILLS WHERE id = ?";
+        String query = "SELECT * FROM BILLS WHERE bill_id = ?";
 
         try {
             con = DBConnection.getConnection();
@@ -151,11 +500,14 @@ public class BillManagerDAO implements BillManagerDAOInterface {
                 Boolean isRecurring = rs.getBoolean("is_recurring");
                 String paymentStatus = rs.getString("payment_status");
                 int overdueDays = rs.getInt("overdue_days");
+                int userId = rs.getInt("user_id");
 
                 bill = new Bill(id, name, category, dueDate, amount, reminderFrequency, attachment, notes, isRecurring, paymentStatus, overdueDays, null);
+                bill.setUserId(rs.wasNull() ? null : userId);
             }
         } catch (Exception e) {
             e.printStackTrace();
+            DaoMetrics.recordError();
         } finally {
             // Closing resources to prevent memory leaks
             try {
@@ -164,6 +516,7 @@ public class BillManagerDAO implements BillManagerDAOInterface {
                 if (con != null) con.close();
             } catch (SQLException e) {
                 e.printStackTrace();
+                DaoMetrics.recordError();
             }
         }
 
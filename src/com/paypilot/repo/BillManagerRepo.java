@@ -10,7 +10,9 @@
 package com.paypilot.repo;
 
 import java.io.File;
-import java.util.ArrayList;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -53,20 +55,8 @@ public class BillManagerRepo {
      * @return A list of bills matching the specified criteria
      */
     public List<Bill> getBillsOverview(String category, Date fromDate, Date toDate, String status) {
-	// Retrieve all bills and filter based on provided criteria
-    	List<Bill> allBills = b.getAllBills();
-    	List<Bill> wantedBills = new ArrayList<>();
-    	if(allBills.size() != 0) {
-    		for(Bill bills: allBills) {
-    			if((bills.getBillCategory().equals(category) || category.equalsIgnoreCase("All")) && 
-    					bills.getDueDate().before(toDate) && bills.getDueDate().after(fromDate)&&
-    					bills.getPaymentStatus().equals(status)) {
-    				wantedBills.add(bills);
-    			}
-    		}
-    	}
-       
-		return wantedBills;
+	// Let the database filter on category, due-date window and status
+    	return b.getBillsOverview(category, fromDate, toDate, status);
     }
 
     /**
@@ -89,18 +79,8 @@ public class BillManagerRepo {
      * @return A list of bills that are overdue
      */
     public List<Bill> getOverdueBills() {
-	// Filter bills to find those that are overdue
-    	List<Bill> pendingBills = new ArrayList<>();
-    	List<Bill> allBills = b.getAllBills();
-    	if(allBills.size() != 0) {
-    		for(Bill bills: allBills) {
-    			if(bills.getPaymentStatus().equalsIgnoreCase("pending")||
-    					bills.getDueDate().before(new java.util.Date())) {
-    				pendingBills.add(bills);
-    			}
-    		}
-    	}
-        return pendingBills;
+	// Let the database select the pending and past-due bills
+    	return b.getOverdueBills(new Date());
     }
 
     /**
@@ -109,17 +89,8 @@ public class BillManagerRepo {
      * @return A list of bills with a status of 'upcoming'
      */
     public List<Bill> getUpcomingBills() {
-	// Filter bills to find those that are marked as upcoming
-    	List<Bill> upcomingBills = new ArrayList<>();
-    	List<Bill> allBills = b.getAllBills();
-    	if(allBills.size() != 0) {
-    		for(Bill bills: allBills) {
-    			if(bills.getPaymentStatus().equalsIgnoreCase("upcoming")) {
-    				upcomingBills.add(bills);
-    			}
-    		}
-    	}
-        return upcomingBills;
+	// Let the database select the bills marked as upcoming
+    	return b.getUpcomingBills();
     }
 
     /**
@@ -139,11 +110,29 @@ public class BillManagerRepo {
 //    		}
 //    	}
     	
-    	Bill tempBill = b.getBillbyId(bill.getBillId());
-    	if (tempBill != null) {
-            tempBill.setDueDate(snoozeDate);
-            b.setBill(tempBill);
-        }
+    	snoozeBill(bill.getBillId(), snoozeDate);
+    }
+
+    /**
+     * Snoozes a bill by updating its due date in place with a single keyed update.
+     * 
+     * @param billId The ID of the bill to snooze
+     * @param snoozeDate The new due date for the bill
+     * @return true if the bill was found and updated
+     */
+    public boolean snoozeBill(int billId, Date snoozeDate) {
+    	return b.snoozeBill(billId, snoozeDate);
+    }
+
+    /**
+     * Snoozes many bills at once with batched keyed updates.
+     * 
+     * @param billIds The IDs of the bills to snooze
+     * @param snoozeDate The new due date for the bills
+     * @return The number of bills updated
+     */
+    public int snoozeBills(Collection<Integer> billIds, Date snoozeDate) {
+    	return b.snoozeBills(billIds, snoozeDate);
     }
 
      /**
@@ -162,12 +151,69 @@ public class BillManagerRepo {
 //    			break;
 //    		}
 //    	}
-    	Bill tempBill = b.getBillbyId(bill.getBillId());
-    	if (tempBill != null) {
-    		tempBill.setPaymentStatus("Paid");
-    		tempBill.setDueDate(null);
-    		b.setBill(tempBill);
-    	}
+    	markBillAsPaid(bill.getBillId());
+    }
+
+    /**
+     * Marks a bill as paid with a single keyed update of its status and due date.
+     * 
+     * @param billId The ID of the bill to mark as paid
+     * @return true if the bill was found and updated
+     */
+    public boolean markBillAsPaid(int billId) {
+    	return b.markBillAsPaid(billId);
+    }
+
+    /**
+     * Marks many bills as paid at once with batched keyed updates.
+     * 
+     * @param billIds The IDs of the bills to mark as paid
+     * @return The number of bills updated
+     */
+    public int markBillsAsPaid(Collection<Integer> billIds) {
+    	return b.markBillsAsPaid(billIds);
+    }
+
+
+    /**
+     * Retrieves the number of bills and their total amount per category over every user.
+     * The figures come from the aggregate store, which is loaded from the database on first use
+     * and kept up to date by the DAOs, so no bills are read per request.
+     * 
+     * @param month The due month to report, or null for every month
+     * @param status The payment status to report, or null for every status
+     * @return One summary per category that has bills, ordered by category
+     */
+    public List<CategorySummary> getCategoryOverview(YearMonth month, String status) {
+    	BillAggregateStore aggregates = BillAggregateStore.getDefault();
+    	aggregates.loadIfNeeded(b::streamAllBills);
+    	return aggregates.getOverview(month, status);
+    }
+
+    /**
+     * Retrieves the number of bills and their total amount per category for one user.
+     * 
+     * @param userId The ID of the user whose bills to report
+     * @param month The due month to report, or null for every month
+     * @param status The payment status to report, or null for every status
+     * @return One summary per category that has bills, ordered by category
+     */
+    public List<CategorySummary> getCategoryOverview(int userId, YearMonth month, String status) {
+    	BillAggregateStore aggregates = BillAggregateStore.getDefault();
+    	aggregates.loadIfNeeded(b::streamAllBills);
+    	return aggregates.getOverview(userId, month, status);
+    }
+
+
+    /**
+     * Recomputes the overdue days and payment status of every unpaid bill in parallel chunks.
+     * Running it again for the same date resumes a run that failed part of the way.
+     * 
+     * @param asOf The date to compute overdue days against, normally today
+     * @return The chunk and row counts of the run
+     */
+    public OverdueRecomputeResult recomputeOverdue(LocalDate asOf) {
+    	return new OverdueRecomputeJob().run(asOf);
     }
     
     //Retrieves a list of all bills
@@ -0,0 +1,79 @@
+/**
+ * The {@code BillPage} class is one page of bills returned by keyset pagination, together with
+ * the position to continue from.
+ *
+ * <p>Business Logic:</p>
+ * Bills are ordered by due date, with bills that have no due date last, and then by bill ID.
+ * The next page is requested by passing {@link #getLastDueDate()} and {@link #getLastBillId()}
+ * back as the {@code afterDueDate} and {@code afterBillId} arguments. The last due date is kept
+ * with its full time of day, so rows due on the same day are never skipped or repeated.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import com.paypilot.model.Bill;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+public class BillPage {
+
+    private final List<Bill> bills;
+    private final boolean hasMore;
+    private final Date lastDueDate;
+    private final int lastBillId;
+
+    /**
+     * Constructs a {@code BillPage}.
+     *
+     * @param bills The bills on this page, in page order.
+     * @param hasMore Whether more bills follow this page.
+     * @param lastDueDate The exact due date of the last bill on the page, or {@code null} if it has none.
+     * @param lastBillId The ID of the last bill on the page, or {@code 0} if the page is empty.
+     */
+    public BillPage(List<Bill> bills, boolean hasMore, Date lastDueDate, int lastBillId) {
+        this.bills = Collections.unmodifiableList(bills);
+        this.hasMore = hasMore;
+        this.lastDueDate = lastDueDate;
+        this.lastBillId = lastBillId;
+    }
+
+    /**
+     * Returns the bills on this page.
+     *
+     * @return an unmodifiable list of bills.
+     */
+    public List<Bill> getBills() {
+        return bills;
+    }
+
+    /**
+     * Returns whether more bills follow this page.
+     *
+     * @return {@code true} if another page can be requested.
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Returns the due date to pass as {@code afterDueDate} when requesting the next page.
+     *
+     * @return the due date of the last bill, or {@code null} if it has none.
+     */
+    public Date getLastDueDate() {
+        return lastDueDate;
+    }
+
+    /**
+     * Returns the bill ID to pass as {@code afterBillId} when requesting the next page.
+     *
+     * @return the ID of the last bill, or {@code 0} if the page is empty.
+     */
+    public int getLastBillId() {
+        return lastBillId;
+    }
+}
@@ -10,14 +10,26 @@
 package com.paypilot.repo;
 
 import com.paypilot.model.Bill;
+import com.paypilot.model.BillFilter;
 import com.paypilot.model.ReminderSettings;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 
 public class BillRepository {
 
     private BillDAOInterface billDAO;
 
+    /**
+     * Constructs a {@code BillRepository} backed by a new {@code BillDAO}, measured by {@code DaoMetrics}
+     * and with a {@code CachingBillDAO} in front of it, so only the calls that reach the database are measured.
+     */
+    public BillRepository() {
+        this(new CachingBillDAO(DaoMetrics.getDefault().instrument(BillDAOInterface.class, new BillDAO(), "BillDAO")));
+    }
+
     /**
      * Constructs a {@code BillRepository} with the given {@code BillDAO}.
      * 
@@ -37,6 +49,17 @@ public class BillRepository {
         billDAO.addBill(bill);
     }
 
+    /**
+     * Adds many {@code Bill} objects to the repository in bulk.
+     * This method delegates the operation to the {@code BillDAO}.
+     * 
+     * @param bills The {@code Bill} objects to be added.
+     * @return A {@code BatchInsertResult} describing how many rows were stored and which rows failed.
+     */
+    public BatchInsertResult addBills(Collection<Bill> bills) {
+        return billDAO.addBills(bills);
+    }
+
     /**
      * Updates an existing {@code Bill} in the repository.
      * This method delegates the operation to the {@code BillDAO}.
@@ -67,6 +90,26 @@ public class BillRepository {
         return billDAO.getAllBills();
     }
 
+    /**
+     * Streams all {@code Bill} objects in the repository over an open database cursor.
+     * This method delegates the retrieval to the {@code BillDAO}; the stream must be closed by the caller.
+     * 
+     * @return A lazily fetched {@code Stream} of all {@code Bill} objects.
+     */
+    public Stream<Bill> streamAllBills() {
+        return billDAO.streamAllBills();
+    }
+
+    /**
+     * Streams the recurring bills, including paid ones without a due date.
+     * This method delegates to the {@code BillDAO}; the stream must be closed by the caller.
+     * 
+     * @return A lazily fetched {@code Stream} of the recurring {@code Bill} objects.
+     */
+    public Stream<Bill> streamRecurringBills() {
+        return billDAO.streamRecurringBills();
+    }
+
     /**
      * Retrieves a {@code Bill} by its ID.
      * This method delegates the retrieval to the {@code BillDAO}.
@@ -89,6 +132,70 @@ public class BillRepository {
         return billDAO.getBillsByCategory(category);
     }
 
+    /**
+     * Retrieves one page of {@code Bill} objects ordered by due date and ID, using keyset pagination.
+     * This method delegates the retrieval to the {@code BillDAO}.
+     * 
+     * @param afterDueDate The due date of the last bill of the previous page, or {@code null}.
+     * @param afterBillId The ID of the last bill of the previous page, or {@code 0} for the first page.
+     * @param limit The maximum number of bills on the page.
+     * @param filter Optional criteria the bills must match, or {@code null} for all bills.
+     * @return A {@code BillPage} with the bills and the position of the next page.
+     */
+    public BillPage getBills(Date afterDueDate, int afterBillId, int limit, BillFilter filter) {
+        return billDAO.getBills(afterDueDate, afterBillId, limit, filter);
+    }
+
+    /**
+     * Retrieves all {@code Bill} objects that belong to one user.
+     * This method delegates the retrieval to the {@code BillDAO}.
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @return A list of the user's {@code Bill} objects.
+     */
+    public List<Bill> getAllBills(int userId) {
+        return billDAO.getAllBills(userId);
+    }
+
+    /**
+     * Retrieves a {@code Bill} by its ID if it belongs to the given user.
+     * This method delegates the retrieval to the {@code BillDAO}.
+     * 
+     * @param userId The ID of the user who owns the bill.
+     * @param billId The ID of the {@code Bill} to retrieve.
+     * @return The {@code Bill} object, or {@code null} if not found or owned by another user.
+     */
+    public Bill getBillById(int userId, int billId) {
+        return billDAO.getBillById(userId, billId);
+    }
+
+    /**
+     * Finds the {@code Bill} objects of one user in a category.
+     * This method delegates the retrieval to the {@code BillDAO}.
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @param category The category to search for.
+     * @return A list of the user's {@code Bill} objects that match the specified category.
+     */
+    public List<Bill> getBillsByCategory(int userId, String category) {
+        return billDAO.getBillsByCategory(userId, category);
+    }
+
+    /**
+     * Retrieves one page of one user's {@code Bill} objects, using keyset pagination.
+     * This method delegates the retrieval to the {@code BillDAO}.
+     * 
+     * @param userId The ID of the user whose bills are retrieved.
+     * @param afterDueDate The due date of the last bill of the previous page, or {@code null}.
+     * @param afterBillId The ID of the last bill of the previous page, or {@code 0} for the first page.
+     * @param limit The maximum number of bills on the page.
+     * @param filter Optional criteria the bills must match, or {@code null} for all of the user's bills.
+     * @return A {@code BillPage} with the bills and the position of the next page.
+     */
+    public BillPage getBills(int userId, Date afterDueDate, int afterBillId, int limit, BillFilter filter) {
+        return billDAO.getBills(userId, afterDueDate, afterBillId, limit, filter);
+    }
+
     /**
      * Updates the reminder settings for a {@code Bill} identified by its ID.
      * The method retrieves the bill, updates its reminder settings, and saves the changes.
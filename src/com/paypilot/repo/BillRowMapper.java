@@ -0,0 +1,95 @@
+/**
+ * The {@code BillRowMapper} class converts rows of the {@code Bills} table into {@code Bill} objects.
+ * It is shared by the DAOs so that every query maps bills the same way.
+ *
+ * <p>Business Logic:</p>
+ * The column positions are looked up once when the mapper is created for a {@code ResultSet},
+ * so mapping a row only reads columns by index instead of searching for every column name
+ * on every row. A mapper is therefore tied to the {@code ResultSet} it was created for.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import com.paypilot.model.Bill;
+import java.io.File;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class BillRowMapper {
+
+    private final int billId;
+    private final int billName;
+    private final int billCategory;
+    private final int dueDate;
+    private final int amount;
+    private final int reminderFrequency;
+    private final int attachment;
+    private final int notes;
+    private final int isRecurring;
+    private final int paymentStatus;
+    private final int overdueDays;
+    private final int userId;
+
+    /**
+     * Constructs a {@code BillRowMapper} for the given {@code ResultSet}.
+     *
+     * @param rs The {@code ResultSet} whose rows will be mapped; it must contain the {@code Bills} columns.
+     * @throws SQLException If one of the {@code Bills} columns is missing.
+     */
+    public BillRowMapper(ResultSet rs) throws SQLException {
+        this.billId = rs.findColumn("bill_id");
+        this.billName = rs.findColumn("bill_name");
+        this.billCategory = rs.findColumn("bill_category");
+        this.dueDate = rs.findColumn("due_date");
+        this.amount = rs.findColumn("amount");
+        this.reminderFrequency = rs.findColumn("reminder_frequency");
+        this.attachment = rs.findColumn("attachment");
+        this.notes = rs.findColumn("notes");
+        this.isRecurring = rs.findColumn("is_recurring");
+        this.paymentStatus = rs.findColumn("payment_status");
+        this.overdueDays = rs.findColumn("overdue_days");
+        this.userId = rs.findColumn("user_id");
+    }
+
+    /**
+     * Maps the current row of the {@code ResultSet} to a {@code Bill}.
+     *
+     * @param rs The {@code ResultSet} positioned on the row to map.
+     * @return A {@code Bill} populated from the current row, including its owner but without reminder settings.
+     * @throws SQLException If a column cannot be read.
+     */
+    public Bill map(ResultSet rs) throws SQLException {
+        String attachmentPath = rs.getString(attachment);
+        Bill bill = new Bill(
+            rs.getInt(billId),
+            rs.getString(billName),
+            rs.getString(billCategory),
+            rs.getDate(dueDate),
+            rs.getDouble(amount),
+            rs.getString(reminderFrequency),
+            attachmentPath != null ? new File(attachmentPath) : null,
+            rs.getString(notes),
+            rs.getBoolean(isRecurring),
+            rs.getString(paymentStatus),
+            rs.getInt(overdueDays),
+            null
+        );
+        int owner = rs.getInt(userId);
+        bill.setUserId(rs.wasNull() ? null : owner);
+        return bill;
+    }
+
+    /**
+     * Maps the current row to a {@code Bill}, or returns {@code null} if the row has no bill.
+     * This is used for outer joins, where the bill columns are all null when no bill matches.
+     *
+     * @param rs The {@code ResultSet} positioned on the row to map.
+     * @return A {@code Bill} populated from the current row, or {@code null} if {@code bill_id} is null.
+     * @throws SQLException If a column cannot be read.
+     */
+    public Bill mapIfPresent(ResultSet rs) throws SQLException {
+        return rs.getObject(billId) != null ? map(rs) : null;
+    }
+}
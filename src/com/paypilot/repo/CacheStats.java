@@ -0,0 +1,84 @@
+/**
+ * The {@code CacheStats} class is an immutable snapshot of the counters of a {@code CachingBillDAO}.
+ * It is used to judge whether the cache is sized well and how much database traffic it saves.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+public class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long expirationCount;
+    private final long invalidationCount;
+    private final int billEntries;
+    private final int categoryEntries;
+
+    /**
+     * Constructs a new {@code CacheStats} snapshot.
+     *
+     * @param hitCount          Lookups answered from the cache.
+     * @param missCount         Lookups that had to go to the database.
+     * @param evictionCount     Entries dropped because the cache was full.
+     * @param expirationCount   Entries dropped because they outlived the time-to-live.
+     * @param invalidationCount Entries dropped because of a write.
+     * @param billEntries       Bills currently cached by ID.
+     * @param categoryEntries   Category results currently cached.
+     */
+    public CacheStats(long hitCount, long missCount, long evictionCount, long expirationCount,
+                      long invalidationCount, int billEntries, int categoryEntries) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.expirationCount = expirationCount;
+        this.invalidationCount = invalidationCount;
+        this.billEntries = billEntries;
+        this.categoryEntries = categoryEntries;
+    }
+
+    public long getHitCount() { return hitCount; }
+
+    public long getMissCount() { return missCount; }
+
+    public long getEvictionCount() { return evictionCount; }
+
+    public long getExpirationCount() { return expirationCount; }
+
+    public long getInvalidationCount() { return invalidationCount; }
+
+    public int getBillEntries() { return billEntries; }
+
+    public int getCategoryEntries() { return categoryEntries; }
+
+    /**
+     * Returns the share of lookups answered from the cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 if there were no lookups.
+     */
+    public double getHitRate() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 0.0 : (double) hitCount / lookups;
+    }
+
+    /**
+     * Returns a string representation of the {@code CacheStats} object, including all its fields.
+     *
+     * @return a string representation of the cache statistics.
+     */
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", hitRate=" + String.format("%.3f", getHitRate()) +
+                ", evictionCount=" + evictionCount +
+                ", expirationCount=" + expirationCount +
+                ", invalidationCount=" + invalidationCount +
+                ", billEntries=" + billEntries +
+                ", categoryEntries=" + categoryEntries +
+                '}';
+    }
+}
@@ -0,0 +1,452 @@
+/**
+ * The {@code CachingBillDAO} class is a read-through cache in front of another {@code BillDAOInterface}.
+ * It keeps recently read bills by ID and recent {@code getBillsByCategory} results in memory, so
+ * repeated reads of the same hot bills do not go to the database every time.
+ *
+ * <p>Business Logic:</p>
+ * Both caches are bounded by size, evicting the least recently used entry when full, and by time,
+ * dropping entries older than the time-to-live. Every write is passed through to the wrapped DAO
+ * and then invalidates the entries it may have changed: the bill's own entry and the affected
+ * category results. A read that was already loading from the database when a write happened does
+ * not store its result, so an old row can never be cached after the write that replaced it.
+ * Writes made around the cache, through {@code BillManagerDAO}, {@code OverdueRecomputeJob} or another
+ * DAO, reach it through the shared {@code BillChangeNotifier}, which drops the written bills and all
+ * category results the same way; the time-to-live only bounds how long entries are kept.
+ * Callers always receive copies, so changing a returned {@code Bill} never changes the cache.
+ * {@code getAllBills}, {@code streamAllBills} and {@code getBills} pages are not cached. Of the
+ * user-scoped reads, only {@code getBillById} uses the cache, checking the owner of the cached bill;
+ * the others are passed through.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import com.paypilot.model.Bill;
+import com.paypilot.model.BillFilter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class CachingBillDAO implements BillDAOInterface, BillChangeListener {
+
+    /**
+     * Default maximum number of bills cached by ID.
+     */
+    public static final int DEFAULT_MAX_BILLS = 10_000;
+
+    /**
+     * Default maximum number of category results cached.
+     */
+    public static final int DEFAULT_MAX_CATEGORIES = 256;
+
+    /**
+     * Default time-to-live of a cache entry, in milliseconds.
+     */
+    public static final long DEFAULT_TTL_MILLIS = 60_000;
+
+    private final BillDAOInterface delegate;
+    private final long ttlMillis;
+
+    // Guards both maps, the generation and the counters
+    private final Object lock = new Object();
+    private final LinkedHashMap<Integer, Entry<Bill>> billsById;
+    private final LinkedHashMap<String, Entry<List<Bill>>> billsByCategory;
+
+    // Bumped by every invalidation; a load only stores its result if no write happened meanwhile
+    private long generation;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long expirationCount;
+    private long invalidationCount;
+
+    /**
+     * Constructs a {@code CachingBillDAO} with the default size and time limits.
+     *
+     * @param delegate The {@code BillDAOInterface} that reads and writes the database.
+     */
+    public CachingBillDAO(BillDAOInterface delegate) {
+        this(delegate, DEFAULT_MAX_BILLS, DEFAULT_MAX_CATEGORIES, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * Constructs a {@code CachingBillDAO} with the given size and time limits and registers it with the
+     * default {@code BillChangeNotifier}.
+     *
+     * @param delegate The {@code BillDAOInterface} that reads and writes the database.
+     * @param maxBills The maximum number of bills cached by ID.
+     * @param maxCategories The maximum number of category results cached.
+     * @param ttlMillis How long an entry may be served from the cache, in milliseconds.
+     */
+    public CachingBillDAO(BillDAOInterface delegate, int maxBills, int maxCategories, long ttlMillis) {
+        if (maxBills < 1 || maxCategories < 1) {
+            throw new IllegalArgumentException("Cache sizes must be positive but were " + maxBills + " and " + maxCategories);
+        }
+        if (ttlMillis < 1) {
+            throw new IllegalArgumentException("ttlMillis must be positive but was " + ttlMillis);
+        }
+        this.delegate = delegate;
+        this.ttlMillis = ttlMillis;
+        this.billsById = newLru(maxBills);
+        this.billsByCategory = newLru(maxCategories);
+        BillChangeNotifier.getDefault().addListener(this);
+    }
+
+    /**
+     * Adds a new bill through the wrapped DAO and invalidates the cached results of its category.
+     *
+     * @param bill The {@code Bill} object to be added.
+     */
+    @Override
+    public void addBill(Bill bill) {
+        delegate.addBill(bill);
+        synchronized (lock) {
+            invalidateBill(bill.getBillId());
+            invalidateCategory(bill.getBillCategory());
+            generation++;
+        }
+    }
+
+    /**
+     * Adds many bills through the wrapped DAO and invalidates the cached results of their categories.
+     *
+     * @param bills The {@code Bill} objects to be added.
+     * @return The {@code BatchInsertResult} of the wrapped DAO.
+     */
+    @Override
+    public BatchInsertResult addBills(Collection<Bill> bills) {
+        BatchInsertResult result = delegate.addBills(bills);
+        if (bills != null) {
+            synchronized (lock) {
+                for (Bill bill : bills) {
+                    invalidateBill(bill.getBillId());
+                    invalidateCategory(bill.getBillCategory());
+                }
+                generation++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Updates a bill through the wrapped DAO and invalidates its cached entry and all category results,
+     * since the update may have moved the bill from one category to another.
+     *
+     * @param bill The {@code Bill} object containing updated information.
+     */
+    @Override
+    public void updateBill(Bill bill) {
+        delegate.updateBill(bill);
+        synchronized (lock) {
+            invalidateBill(bill.getBillId());
+            invalidateAllCategories();
+            generation++;
+        }
+    }
+
+    /**
+     * Deletes a bill through the wrapped DAO and invalidates its cached entry and all category results.
+     *
+     * @param billId The ID of the bill to be deleted.
+     */
+    @Override
+    public void deleteBill(int billId) {
+        delegate.deleteBill(billId);
+        synchronized (lock) {
+            invalidateBill(billId);
+            invalidateAllCategories();
+            generation++;
+        }
+    }
+
+    /**
+     * Retrieves a bill by its ID, from the cache if present and otherwise from the wrapped DAO.
+     * Bills that do not exist are not cached.
+     *
+     * @param billId The ID of the bill to retrieve.
+     * @return A copy of the {@code Bill} with the specified ID, or {@code null} if not found.
+     */
+    @Override
+    public Bill getBillById(int billId) {
+        long loadGeneration;
+        synchronized (lock) {
+            Bill cached = lookup(billsById, billId);
+            if (cached != null) {
+                return copy(cached);
+            }
+            loadGeneration = generation;
+        }
+
+        Bill loaded = delegate.getBillById(billId);
+        if (loaded == null) {
+            return null;
+        }
+        Bill stored = copy(loaded);
+        synchronized (lock) {
+            if (generation == loadGeneration) {
+                billsById.put(billId, new Entry<>(stored, System.currentTimeMillis() + ttlMillis));
+            }
+        }
+        return copy(stored);
+    }
+
+    /**
+     * Retrieves bills by their category, from the cache if present and otherwise from the wrapped DAO.
+     *
+     * @param category The category to search for.
+     * @return Copies of the {@code Bill} objects in the category.
+     */
+    @Override
+    public List<Bill> getBillsByCategory(String category) {
+        if (category == null) {
+            return delegate.getBillsByCategory(null);
+        }
+        long loadGeneration;
+        synchronized (lock) {
+            List<Bill> cached = lookup(billsByCategory, category);
+            if (cached != null) {
+                return copyAll(cached);
+            }
+            loadGeneration = generation;
+        }
+
+        List<Bill> stored = copyAll(delegate.getBillsByCategory(category));
+        synchronized (lock) {
+            if (generation == loadGeneration) {
+                billsByCategory.put(category, new Entry<>(stored, System.currentTimeMillis() + ttlMillis));
+            }
+        }
+        return copyAll(stored);
+    }
+
+    /**
+     * Retrieves all bills from the wrapped DAO. The full table is not cached.
+     *
+     * @return A list of all {@code Bill} objects.
+     */
+    @Override
+    public List<Bill> getAllBills() {
+        return delegate.getAllBills();
+    }
+
+    /**
+     * Streams all bills from the wrapped DAO. The full table is not cached.
+     *
+     * @return A lazily fetched {@code Stream} of all {@code Bill} objects.
+     */
+    @Override
+    public Stream<Bill> streamAllBills() {
+        return delegate.streamAllBills();
+    }
+
+    /**
+     * Streams the recurring bills from the wrapped DAO. They are not cached.
+     *
+     * @return A lazily fetched {@code Stream} of the recurring {@code Bill} objects.
+     */
+    @Override
+    public Stream<Bill> streamRecurringBills() {
+        return delegate.streamRecurringBills();
+    }
+
+    /**
+     * Retrieves one page of bills from the wrapped DAO. Pages are not cached.
+     *
+     * @param afterDueDate The due date of the last bill of the previous page, or {@code null}.
+     * @param afterBillId The ID of the last bill of the previous page, or {@code 0} for the first page.
+     * @param limit The maximum number of bills on the page.
+     * @param filter Optional criteria the bills must match, or {@code null} for all bills.
+     * @return The {@code BillPage} of the wrapped DAO.
+     */
+    @Override
+    public BillPage getBills(Date afterDueDate, int afterBillId, int limit, BillFilter filter) {
+        return delegate.getBills(afterDueDate, afterBillId, limit, filter);
+    }
+
+    /**
+     * Retrieves a bill by its ID through the cache and returns it only if it belongs to the given user.
+     *
+     * @param userId The ID of the user who owns the bill.
+     * @param billId The ID of the bill to retrieve.
+     * @return A copy of the {@code Bill}, or {@code null} if not found or owned by another user.
+     */
+    @Override
+    public Bill getBillById(int userId, int billId) {
+        Bill bill = getBillById(billId);
+        return bill != null && bill.getUserId() != null && bill.getUserId() == userId ? bill : null;
+    }
+
+    /**
+     * Retrieves all bills of one user from the wrapped DAO. They are not cached.
+     *
+     * @param userId The ID of the user whose bills are retrieved.
+     * @return A list of the user's {@code Bill} objects.
+     */
+    @Override
+    public List<Bill> getAllBills(int userId) {
+        return delegate.getAllBills(userId);
+    }
+
+    /**
+     * Streams all bills of one user from the wrapped DAO. They are not cached.
+     *
+     * @param userId The ID of the user whose bills are streamed.
+     * @return A lazily fetched {@code Stream} of the user's {@code Bill} objects.
+     */
+    @Override
+    public Stream<Bill> streamAllBills(int userId) {
+        return delegate.streamAllBills(userId);
+    }
+
+    /**
+     * Retrieves the bills of one user in a category from the wrapped DAO. They are not cached.
+     *
+     * @param userId The ID of the user whose bills are retrieved.
+     * @param category The category to search for.
+     * @return A list of the user's {@code Bill} objects in the category.
+     */
+    @Override
+    public List<Bill> getBillsByCategory(int userId, String category) {
+        return delegate.getBillsByCategory(userId, category);
+    }
+
+    /**
+     * Retrieves one page of one user's bills from the wrapped DAO. Pages are not cached.
+     *
+     * @param userId The ID of the user whose bills are retrieved.
+     * @param afterDueDate The due date of the last bill of the previous page, or {@code null}.
+     * @param afterBillId The ID of the last bill of the previous page, or {@code 0} for the first page.
+     * @param limit The maximum number of bills on the page.
+     * @param filter Optional criteria the bills must match, or {@code null} for all of the user's bills.
+     * @return The {@code BillPage} of the wrapped DAO.
+     */
+    @Override
+    public BillPage getBills(int userId, Date afterDueDate, int afterBillId, int limit, BillFilter filter) {
+        return delegate.getBills(userId, afterDueDate, afterBillId, limit, filter);
+    }
+
+    /**
+     * Drops the entries of bills written outside this cache, and all category results, since the
+     * writes may have moved the bills from one category to another.
+     *
+     * @param billIds The IDs of the bills that were written.
+     */
+    @Override
+    public void billsChanged(Collection<Integer> billIds) {
+        synchronized (lock) {
+            for (Integer billId : billIds) {
+                invalidateBill(billId);
+            }
+            invalidateAllCategories();
+            generation++;
+        }
+    }
+
+    /**
+     * Removes every entry from the cache.
+     */
+    public void clear() {
+        synchronized (lock) {
+            invalidationCount += billsById.size() + billsByCategory.size();
+            billsById.clear();
+            billsByCategory.clear();
+            generation++;
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return a {@code CacheStats} snapshot.
+     */
+    public CacheStats getStats() {
+        synchronized (lock) {
+            return new CacheStats(hitCount, missCount, evictionCount, expirationCount,
+                    invalidationCount, billsById.size(), billsByCategory.size());
+        }
+    }
+
+    // Returns the live cached value, dropping it if expired, and counts the hit or miss; caller holds the lock
+    private <K, V> V lookup(Map<K, Entry<V>> cache, K key) {
+        Entry<V> entry = cache.get(key);
+        if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+            cache.remove(key);
+            expirationCount++;
+            entry = null;
+        }
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.value;
+    }
+
+    private void invalidateBill(int billId) {
+        if (billsById.remove(billId) != null) {
+            invalidationCount++;
+        }
+    }
+
+    private void invalidateCategory(String category) {
+        if (category != null && billsByCategory.remove(category) != null) {
+            invalidationCount++;
+        }
+    }
+
+    private void invalidateAllCategories() {
+        invalidationCount += billsByCategory.size();
+        billsByCategory.clear();
+    }
+
+    // An access-ordered map that drops its least recently used entry once it grows past maxSize
+    private <K, V> LinkedHashMap<K, Entry<V>> newLru(int maxSize) {
+        return new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > maxSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    private static List<Bill> copyAll(List<Bill> bills) {
+        List<Bill> copies = new ArrayList<>(bills.size());
+        for (Bill bill : bills) {
+            copies.add(copy(bill));
+        }
+        return copies;
+    }
+
+    private static Bill copy(Bill bill) {
+        Bill copy = new Bill(bill.getBillId(), bill.getBillName(), bill.getBillCategory(),
+                bill.getDueDate() != null ? new Date(bill.getDueDate().getTime()) : null,
+                bill.getAmount(), bill.getReminderFrequency(), bill.getAttachment(), bill.getNotes(),
+                bill.isRecurring(), bill.getPaymentStatus(), bill.getOverdueDays(), bill.getReminderSettings());
+        copy.setUserId(bill.getUserId());
+        return copy;
+    }
+
+    /**
+     * A cached value and the time at which it stops being served.
+     */
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
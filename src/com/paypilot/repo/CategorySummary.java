@@ -0,0 +1,48 @@
+/**
+ * The {@code CategorySummary} class is an immutable row of the dashboard overview: the number of bills
+ * in one category and their total amount. It is produced by the {@code BillAggregateStore}.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+public class CategorySummary {
+
+    private final String category;
+    private final long billCount;
+    private final double totalAmount;
+
+    /**
+     * Constructs a new {@code CategorySummary}.
+     *
+     * @param category    The bill category, or {@code null} for bills without one.
+     * @param billCount   The number of bills in the category.
+     * @param totalAmount The sum of the amounts of those bills.
+     */
+    public CategorySummary(String category, long billCount, double totalAmount) {
+        this.category = category;
+        this.billCount = billCount;
+        this.totalAmount = totalAmount;
+    }
+
+    public String getCategory() { return category; }
+
+    public long getBillCount() { return billCount; }
+
+    public double getTotalAmount() { return totalAmount; }
+
+    /**
+     * Returns a string representation of the {@code CategorySummary} object, including all its fields.
+     *
+     * @return a string representation of the category summary.
+     */
+    @Override
+    public String toString() {
+        return "CategorySummary{" +
+                "category='" + category + '\'' +
+                ", billCount=" + billCount +
+                ", totalAmount=" + String.format("%.2f", totalAmount) +
+                '}';
+    }
+}
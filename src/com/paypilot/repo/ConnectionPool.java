@@ -0,0 +1,446 @@
+/**
+ * The {@code ConnectionPool} class keeps a bounded set of physical JDBC connections open
+ * and lends them out to the DAO layer, so that a DAO call no longer pays for a new
+ * database connection every time it runs.
+ *
+ * <p>Business Logic:</p>
+ * Callers borrow a connection with {@link #getConnection()} and give it back by calling
+ * {@code close()} on it, exactly as they would with a connection from {@code DriverManager}.
+ * The pool never opens more than {@code maxSize} connections, waits at most
+ * {@code acquireTimeoutMillis} for a free one, and validates idle connections before lending
+ * them out again. A background task closes connections that stayed idle for too long,
+ * tops the pool back up to {@code minSize}, and reports connections that were borrowed for
+ * longer than the leak detection threshold together with the stack trace of the borrower.
+ * Each physical connection keeps its own {@code StatementCache}, so prepared statements survive
+ * between borrows and the same SQL is not parsed again on every DAO call. When a slow query threshold
+ * is configured, every statement handed out is timed and slow executions go to a {@code SlowQueryLog}.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConnectionPool implements AutoCloseable {
+
+    private final ConnectionPoolConfig config;
+
+    // Idle connections; the most recently returned one is handed out first so it is still warm
+    private final LinkedBlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> activeConnections = ConcurrentHashMap.newKeySet();
+
+    // One permit per connection that may be borrowed at the same time
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+
+    private final AtomicLong connectionsCreated = new AtomicLong();
+    private final AtomicLong connectionsDestroyed = new AtomicLong();
+    private final AtomicLong acquireTimeouts = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong leaksDetected = new AtomicLong();
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final LongAccumulator maxAcquireNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final LongAdder statementCacheEvictions = new LongAdder();
+
+    private final ScheduledExecutorService housekeeper;
+    private final SlowQueryLog slowQueryLog;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a {@code ConnectionPool} and opens its minimum number of connections.
+     *
+     * @param config The settings of the pool.
+     * @throws SQLException If the initial connections cannot be opened.
+     */
+    public ConnectionPool(ConnectionPoolConfig config) throws SQLException {
+        config.validate();
+        this.config = config;
+        this.permits = new Semaphore(config.getMaxSize(), true);
+        this.slowQueryLog = config.getSlowQueryThresholdMillis() > 0
+                ? new SlowQueryLog(config.getSlowQueryThresholdMillis(), config.getSlowQueryBufferSize(), config.getSlowQueryRedaction())
+                : null;
+
+        fillToMinimum();
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "paypilot-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getHousekeepingIntervalMillis();
+        housekeeper.scheduleWithFixedDelay(this::housekeep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool.
+     *
+     * <p>Business Logic:</p>
+     * An idle connection is reused when one is available and still valid; otherwise a new
+     * physical connection is opened as long as the pool is below {@code maxSize}. When the
+     * pool is exhausted the caller waits up to {@code acquireTimeoutMillis}. Closing the
+     * returned connection gives it back to the pool instead of closing it.
+     *
+     * @return A {@code Connection} that returns itself to the pool when closed.
+     * @throws SQLException If the pool is closed, the wait timed out, or a connection could not be opened.
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool has been shut down");
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(config.getAcquireTimeoutMillis());
+        try {
+            if (!permits.tryAcquire(config.getAcquireTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                acquireTimeouts.incrementAndGet();
+                throw new SQLTransientConnectionException("Timed out after " + config.getAcquireTimeoutMillis()
+                        + " ms waiting for a database connection (active=" + activeConnections.size()
+                        + ", max=" + config.getMaxSize() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledConnection pooled = takeIdleOrCreate(deadline);
+            pooled.borrowedAt = System.currentTimeMillis();
+            pooled.leakReported = false;
+            pooled.borrowTrace = config.getLeakDetectionThresholdMillis() > 0
+                    ? new Exception("Connection borrowed by thread " + Thread.currentThread().getName())
+                    : null;
+            activeConnections.add(pooled);
+
+            long elapsed = System.nanoTime() - start;
+            acquireCount.increment();
+            acquireNanos.add(elapsed);
+            maxAcquireNanos.accumulate(elapsed);
+            return pooled.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a snapshot of the pool's current state and counters.
+     *
+     * @return A {@code PoolStats} object describing the pool.
+     */
+    public PoolStats getStats() {
+        long count = acquireCount.sum();
+        double averageMillis = count == 0 ? 0.0 : acquireNanos.sum() / (double) count / 1_000_000.0;
+        return new PoolStats(totalConnections.get(), activeConnections.size(), idleConnections.size(),
+                permits.getQueueLength(), connectionsCreated.get(), connectionsDestroyed.get(), count,
+                acquireTimeouts.get(), validationFailures.get(), leaksDetected.get(), averageMillis,
+                maxAcquireNanos.get() / 1_000_000.0, statementCacheHits.sum(), statementCacheMisses.sum(),
+                statementCacheEvictions.sum());
+    }
+
+    /**
+     * Returns the log that slow statement executions are written to.
+     *
+     * @return The {@code SlowQueryLog}, or {@code null} if it is disabled.
+     */
+    public SlowQueryLog getSlowQueryLog() {
+        return slowQueryLog;
+    }
+
+    /**
+     * Shuts the pool down. Idle connections are closed immediately; borrowed connections
+     * are closed as soon as they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            destroy(pooled);
+        }
+        if (slowQueryLog != null) {
+            slowQueryLog.close();
+        }
+    }
+
+    private PooledConnection takeIdleOrCreate(long deadline) throws SQLException {
+        while (true) {
+            PooledConnection pooled = idleConnections.pollFirst();
+            if (pooled != null) {
+                if (isUsable(pooled)) {
+                    return pooled;
+                }
+                validationFailures.incrementAndGet();
+                destroy(pooled);
+                continue;
+            }
+            if (reserveSlot()) {
+                try {
+                    return openConnection();
+                } catch (SQLException | RuntimeException e) {
+                    totalConnections.decrementAndGet();
+                    throw e;
+                }
+            }
+            // Every slot is taken although we hold a permit, so a connection is on its way back
+            try {
+                long remaining = deadline - System.nanoTime();
+                pooled = remaining > 0 ? idleConnections.pollFirst(remaining, TimeUnit.NANOSECONDS) : null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a database connection", e);
+            }
+            if (pooled == null) {
+                acquireTimeouts.incrementAndGet();
+                throw new SQLTransientConnectionException("Timed out after " + config.getAcquireTimeoutMillis()
+                        + " ms waiting for a database connection");
+            }
+            if (isUsable(pooled)) {
+                return pooled;
+            }
+            validationFailures.incrementAndGet();
+            destroy(pooled);
+        }
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        try {
+            if (pooled.physical.isClosed()) {
+                return false;
+            }
+            if (System.currentTimeMillis() - pooled.lastReturnedAt < config.getValidationIntervalMillis()) {
+                return true;
+            }
+            return pooled.physical.isValid(config.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int current = totalConnections.get();
+            if (current >= config.getMaxSize()) {
+                return false;
+            }
+            if (totalConnections.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private PooledConnection openConnection() throws SQLException {
+        Connection physical = DriverManager.getConnection(config.getUrl(), config.getUsername(), config.getPassword());
+        connectionsCreated.incrementAndGet();
+        PooledConnection pooled = new PooledConnection(physical);
+        if (config.getStatementCacheSize() > 0) {
+            pooled.statementCache = new StatementCache(physical, config.getStatementCacheSize(), statementCacheHits,
+                    statementCacheMisses, statementCacheEvictions, cause -> markIfBroken(pooled, cause));
+        }
+        return pooled;
+    }
+
+    private void fillToMinimum() throws SQLException {
+        while (!closed && totalConnections.get() < config.getMinSize() && reserveSlot()) {
+            PooledConnection pooled;
+            try {
+                pooled = openConnection();
+            } catch (SQLException | RuntimeException e) {
+                totalConnections.decrementAndGet();
+                throw e;
+            }
+            idleConnections.offerLast(pooled);
+        }
+    }
+
+    private void release(PooledConnection pooled) {
+        activeConnections.remove(pooled);
+        try {
+            if (closed || pooled.broken || !resetState(pooled)) {
+                destroy(pooled);
+            } else {
+                pooled.lastReturnedAt = System.currentTimeMillis();
+                idleConnections.offerFirst(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Rolls back unfinished work so the next borrower gets a clean, auto-committing connection
+    private boolean resetState(PooledConnection pooled) {
+        try {
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        connectionsDestroyed.incrementAndGet();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            // The connection is being discarded anyway
+        }
+    }
+
+    // SQL state class 08 means the connection itself is gone; do not hand it out again
+    private static void markIfBroken(PooledConnection pooled, Throwable cause) {
+        if (cause instanceof SQLException && ((SQLException) cause).getSQLState() != null
+                && ((SQLException) cause).getSQLState().startsWith("08")) {
+            pooled.broken = true;
+        }
+    }
+
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+
+            // Close connections that stayed idle too long, but keep the pool at its minimum size
+            if (config.getIdleTimeoutMillis() > 0) {
+                for (PooledConnection pooled : idleConnections) {
+                    if (totalConnections.get() > config.getMinSize()
+                            && now - pooled.lastReturnedAt > config.getIdleTimeoutMillis()
+                            && idleConnections.remove(pooled)) {
+                        destroy(pooled);
+                    }
+                }
+            }
+
+            // Report borrowers that held on to their connection for too long
+            long threshold = config.getLeakDetectionThresholdMillis();
+            if (threshold > 0) {
+                for (PooledConnection pooled : activeConnections) {
+                    if (!pooled.leakReported && now - pooled.borrowedAt > threshold) {
+                        pooled.leakReported = true;
+                        leaksDetected.incrementAndGet();
+                        System.err.println("Possible connection leak: connection held for "
+                                + (now - pooled.borrowedAt) + " ms (threshold " + threshold + " ms)");
+                        if (pooled.borrowTrace != null) {
+                            pooled.borrowTrace.printStackTrace();
+                        }
+                    }
+                }
+            }
+
+            fillToMinimum();
+        } catch (SQLException | RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * A physical connection owned by the pool, together with its bookkeeping.
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private volatile long lastReturnedAt = System.currentTimeMillis();
+        private volatile long borrowedAt;
+        private volatile boolean leakReported;
+        private volatile boolean broken;
+        private volatile Exception borrowTrace;
+        private StatementCache statementCache;
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        private Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, new LogicalConnection(this));
+        }
+    }
+
+    /**
+     * The connection handed to a borrower. It forwards every call to the physical connection
+     * and returns the physical connection to the pool when closed.
+     */
+    private final class LogicalConnection implements InvocationHandler {
+        private final PooledConnection pooled;
+        private final List<Statement> openStatements = new ArrayList<>();
+        private boolean handleClosed;
+
+        private LogicalConnection(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!handleClosed) {
+                        // Statements left open by the borrower go back to the cache with the connection
+                        for (Statement statement : new ArrayList<>(openStatements)) {
+                            statement.close();
+                        }
+                        handleClosed = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return handleClosed || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    break;
+            }
+            if (handleClosed) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            if (args != null && args.length > 0 && args[0] instanceof String && method.getName().startsWith("prepare")) {
+                DaoMetrics.recordStatement((String) args[0]);
+            }
+            Object result;
+            if (pooled.statementCache != null && StatementCache.isCacheable(method, args)) {
+                result = pooled.statementCache.prepare((Connection) proxy, method, args, openStatements);
+            } else {
+                try {
+                    result = method.invoke(pooled.physical, args);
+                } catch (InvocationTargetException e) {
+                    Throwable cause = e.getCause();
+                    markIfBroken(pooled, cause);
+                    throw cause;
+                }
+            }
+            if (slowQueryLog != null && result instanceof Statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                return slowQueryLog.wrap((Statement) result, method.getReturnType(), sql);
+            }
+            return result;
+        }
+    }
+}
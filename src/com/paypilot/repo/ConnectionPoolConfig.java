@@ -0,0 +1,244 @@
+/**
+ * The {@code ConnectionPoolConfig} class holds the settings used to build a {@code ConnectionPool}.
+ * It carries the JDBC connection details together with the sizing, timeout and
+ * leak detection limits of the pool.
+ *
+ * <p>Business Logic:</p>
+ * Every setting has a sensible default so that only the connection details are mandatory.
+ * Settings are normally read from the {@code oracle} properties bundle through
+ * {@link #fromBundle(ResourceBundle)}; keys that are missing keep their default value.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+public class ConnectionPoolConfig {
+
+    /**
+     * JDBC driver class loaded before the first connection is opened.
+     */
+    private String driverClassName = "oracle.jdbc.driver.OracleDriver";
+
+    /**
+     * JDBC URL of the database.
+     */
+    private String url;
+
+    /**
+     * Database user name.
+     */
+    private String username;
+
+    /**
+     * Database password.
+     */
+    private String password;
+
+    /**
+     * Number of connections kept open even when the pool is idle.
+     */
+    private int minSize = 2;
+
+    /**
+     * Upper bound on the number of physical connections.
+     */
+    private int maxSize = 10;
+
+    /**
+     * How long a caller waits for a free connection before giving up.
+     */
+    private long acquireTimeoutMillis = 30_000;
+
+    /**
+     * How long a connection may sit idle before it is closed (above {@code minSize}).
+     */
+    private long idleTimeoutMillis = 600_000;
+
+    /**
+     * How long a connection may stay borrowed before it is reported as a possible leak.
+     * A value of {@code 0} disables leak detection.
+     */
+    private long leakDetectionThresholdMillis = 60_000;
+
+    /**
+     * Idle connections used more recently than this are handed out without a validation round trip.
+     */
+    private long validationIntervalMillis = 500;
+
+    /**
+     * Timeout passed to {@code Connection.isValid} when validating a connection.
+     */
+    private int validationTimeoutSeconds = 5;
+
+    /**
+     * Interval between two runs of the idle eviction and leak detection task.
+     */
+    private long housekeepingIntervalMillis = 30_000;
+
+    /**
+     * Number of prepared statements kept open per connection. A value of {@code 0} disables statement caching.
+     */
+    private int statementCacheSize = 32;
+
+    /**
+     * Statement executions taking at least this long are written to the {@code SlowQueryLog}.
+     * A value of {@code 0} disables the slow query log.
+     */
+    private long slowQueryThresholdMillis = 1_000;
+
+    /**
+     * Number of slow query entries buffered for the log writer before new ones are dropped.
+     */
+    private int slowQueryBufferSize = 1_024;
+
+    /**
+     * Which bind values the slow query log hides.
+     */
+    private SlowQueryLog.Redaction slowQueryRedaction = SlowQueryLog.Redaction.TEXT;
+
+    /**
+     * Builds a configuration from a properties bundle.
+     *
+     * <p>Business Logic:</p>
+     * The connection details are read from {@code db.url}, {@code db.username} and
+     * {@code db.password}. Pool settings are read from the optional {@code db.pool.*} keys.
+     *
+     * @param rb The bundle holding the database configuration.
+     * @return A new {@code ConnectionPoolConfig} populated from the bundle.
+     */
+    public static ConnectionPoolConfig fromBundle(ResourceBundle rb) {
+        ConnectionPoolConfig config = new ConnectionPoolConfig();
+        config.setUrl(rb.getString("db.url"));
+        config.setUsername(rb.getString("db.username"));
+        config.setPassword(rb.getString("db.password"));
+        if (rb.containsKey("db.driver")) {
+            config.setDriverClassName(rb.getString("db.driver").trim());
+        }
+        config.setMinSize(intValue(rb, "db.pool.minSize", config.getMinSize()));
+        config.setMaxSize(intValue(rb, "db.pool.maxSize", config.getMaxSize()));
+        config.setAcquireTimeoutMillis(longValue(rb, "db.pool.acquireTimeoutMillis", config.getAcquireTimeoutMillis()));
+        config.setIdleTimeoutMillis(longValue(rb, "db.pool.idleTimeoutMillis", config.getIdleTimeoutMillis()));
+        config.setLeakDetectionThresholdMillis(longValue(rb, "db.pool.leakDetectionThresholdMillis", config.getLeakDetectionThresholdMillis()));
+        config.setValidationIntervalMillis(longValue(rb, "db.pool.validationIntervalMillis", config.getValidationIntervalMillis()));
+        config.setValidationTimeoutSeconds(intValue(rb, "db.pool.validationTimeoutSeconds", config.getValidationTimeoutSeconds()));
+        config.setHousekeepingIntervalMillis(longValue(rb, "db.pool.housekeepingIntervalMillis", config.getHousekeepingIntervalMillis()));
+        config.setStatementCacheSize(intValue(rb, "db.pool.statementCacheSize", config.getStatementCacheSize()));
+        config.setSlowQueryThresholdMillis(longValue(rb, "db.pool.slowQueryThresholdMillis", config.getSlowQueryThresholdMillis()));
+        config.setSlowQueryBufferSize(intValue(rb, "db.pool.slowQueryBufferSize", config.getSlowQueryBufferSize()));
+        if (rb.containsKey("db.pool.slowQueryRedaction")) {
+            config.setSlowQueryRedaction(SlowQueryLog.Redaction.valueOf(rb.getString("db.pool.slowQueryRedaction").trim().toUpperCase(Locale.ROOT)));
+        }
+        return config;
+    }
+
+    private static int intValue(ResourceBundle rb, String key, int defaultValue) {
+        return rb.containsKey(key) ? Integer.parseInt(rb.getString(key).trim()) : defaultValue;
+    }
+
+    private static long longValue(ResourceBundle rb, String key, long defaultValue) {
+        return rb.containsKey(key) ? Long.parseLong(rb.getString(key).trim()) : defaultValue;
+    }
+
+    /**
+     * Checks that the settings describe a usable pool.
+     *
+     * @throws IllegalArgumentException If a size or timeout is out of range.
+     */
+    public void validate() {
+        if (url == null) {
+            throw new IllegalArgumentException("db.url must be set");
+        }
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1 but was " + maxSize);
+        }
+        if (minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("minSize must be between 0 and maxSize (" + maxSize + ") but was " + minSize);
+        }
+        if (acquireTimeoutMillis < 0 || idleTimeoutMillis < 0 || leakDetectionThresholdMillis < 0 || validationIntervalMillis < 0) {
+            throw new IllegalArgumentException("Pool timeouts must not be negative");
+        }
+        if (housekeepingIntervalMillis < 1) {
+            throw new IllegalArgumentException("housekeepingIntervalMillis must be positive");
+        }
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException("statementCacheSize must not be negative but was " + statementCacheSize);
+        }
+        if (slowQueryThresholdMillis < 0) {
+            throw new IllegalArgumentException("slowQueryThresholdMillis must not be negative but was " + slowQueryThresholdMillis);
+        }
+        if (slowQueryBufferSize < 1) {
+            throw new IllegalArgumentException("slowQueryBufferSize must be positive but was " + slowQueryBufferSize);
+        }
+        if (slowQueryRedaction == null) {
+            throw new IllegalArgumentException("slowQueryRedaction must be set");
+        }
+    }
+
+    public String getDriverClassName() { return driverClassName; }
+
+    public void setDriverClassName(String driverClassName) { this.driverClassName = driverClassName; }
+
+    public String getUrl() { return url; }
+
+    public void setUrl(String url) { this.url = url; }
+
+    public String getUsername() { return username; }
+
+    public void setUsername(String username) { this.username = username; }
+
+    public String getPassword() { return password; }
+
+    public void setPassword(String password) { this.password = password; }
+
+    public int getMinSize() { return minSize; }
+
+    public void setMinSize(int minSize) { this.minSize = minSize; }
+
+    public int getMaxSize() { return maxSize; }
+
+    public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+
+    public long getAcquireTimeoutMillis() { return acquireTimeoutMillis; }
+
+    public void setAcquireTimeoutMillis(long acquireTimeoutMillis) { this.acquireTimeoutMillis = acquireTimeoutMillis; }
+
+    public long getIdleTimeoutMillis() { return idleTimeoutMillis; }
+
+    public void setIdleTimeoutMillis(long idleTimeoutMillis) { this.idleTimeoutMillis = idleTimeoutMillis; }
+
+    public long getLeakDetectionThresholdMillis() { return leakDetectionThresholdMillis; }
+
+    public void setLeakDetectionThresholdMillis(long leakDetectionThresholdMillis) { this.leakDetectionThresholdMillis = leakDetectionThresholdMillis; }
+
+    public long getValidationIntervalMillis() { return validationIntervalMillis; }
+
+    public void setValidationIntervalMillis(long validationIntervalMillis) { this.validationIntervalMillis = validationIntervalMillis; }
+
+    public int getValidationTimeoutSeconds() { return validationTimeoutSeconds; }
+
+    public void setValidationTimeoutSeconds(int validationTimeoutSeconds) { this.validationTimeoutSeconds = validationTimeoutSeconds; }
+
+    public long getHousekeepingIntervalMillis() { return housekeepingIntervalMillis; }
+
+    public void setHousekeepingIntervalMillis(long housekeepingIntervalMillis) { this.housekeepingIntervalMillis = housekeepingIntervalMillis; }
+
+    public int getStatementCacheSize() { return statementCacheSize; }
+
+    public void setStatementCacheSize(int statementCacheSize) { this.statementCacheSize = statementCacheSize; }
+
+    public long getSlowQueryThresholdMillis() { return slowQueryThresholdMillis; }
+
+    public void setSlowQueryThresholdMillis(long slowQueryThresholdMillis) { this.slowQueryThresholdMillis = slowQueryThresholdMillis; }
+
+    public int getSlowQueryBufferSize() { return slowQueryBufferSize; }
+
+    public void setSlowQueryBufferSize(int slowQueryBufferSize) { this.slowQueryBufferSize = slowQueryBufferSize; }
+
+    public SlowQueryLog.Redaction getSlowQueryRedaction() { return slowQueryRedaction; }
+
+    public void setSlowQueryRedaction(SlowQueryLog.Redaction slowQueryRedaction) { this.slowQueryRedaction = slowQueryRedaction; }
+}
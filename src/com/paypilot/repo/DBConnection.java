@@ -1,11 +1,18 @@
 /**
  * The {@code DBConnection} class provides a utility method to establish a connection
  * to the Oracle database using credentials specified in a properties file.
- * 
+ *
  * <p>Business Logic:</p>
- * This class encapsulates the logic for connecting to the database, ensuring the 
+ * This class encapsulates the logic for connecting to the database, ensuring the
  * proper JDBC driver is loaded and connection parameters are fetched securely.
- * 
+ * Connections are served from a shared {@code ConnectionPool} that is created on first
+ * use, so the properties file is read and the driver is loaded only once.
+ *
+ * <p>The database profile decides which database is used. The {@code oracle} profile (the default)
+ * connects to the database described by {@code db.url}; the {@code embedded} profile starts an
+ * in-process {@code EmbeddedDatabase} instead. The profile is read from the {@code paypilot.db.profile}
+ * system property, or else from the {@code db.profile} key of the properties file.</p>
+ *
  * <p>Author: Ayush Madan</p>
  * <p>Date: 20-08-2024</p>
  */
@@ -13,40 +20,122 @@
 package com.paypilot.repo;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.ResourceBundle;
 
-/**
-  * Establishes and returns a connection to the database.
-  * 
-  * <p>Business Logic:</p>
-  * This method loads the Oracle JDBC driver and retrieves connection details 
-  * from the properties file. It ensures that a valid connection is returned 
-  * for interacting with the database.
-  * 
-  * @return A {@code Connection} object for interacting with the database.
-  * @throws ClassNotFoundException If the JDBC driver class is not found.
-  * @throws SQLException If a database access error occurs.
-  */          
-   
 public class DBConnection {
-	public static Connection getConnection() throws ClassNotFoundException, SQLException {    
-		
-        // Load the resource bundle to retrieve the database configuration details
-        ResourceBundle rb = ResourceBundle.getBundle("com.paypilot.repo.oracle");
-		
-        // Retrieve the database URL, username, and password from the properties file
-	String url = rb.getString("db.url");
-        String username = rb.getString("db.username");
-        String password = rb.getString("db.password");
-        Connection con = null;
-		
-        // Load the Oracle JDBC driver class
-        Class.forName("oracle.jdbc.driver.OracleDriver");
-		
-	// Establish and return the connection to the database using the credentials
-        con = DriverManager.getConnection(url, username, password);
+
+    /**
+     * Profile that connects to the Oracle database configured in the properties file.
+     */
+    public static final String PROFILE_ORACLE = "oracle";
+
+    /**
+     * Profile that runs an in-process database bootstrapped from {@code database_setup.sql}.
+     */
+    public static final String PROFILE_EMBEDDED = "embedded";
+
+    // Shared pool, created lazily by the first caller
+    private static volatile ConnectionPool pool;
+
+    /**
+     * Establishes and returns a connection to the database.
+     *
+     * <p>Business Logic:</p>
+     * This method borrows a connection from the shared pool. On the first call it loads
+     * the Oracle JDBC driver and retrieves connection and pool details from the properties
+     * file. Closing the returned connection hands it back to the pool. The time spent waiting for
+     * the connection is recorded in {@code DaoMetrics}.
+     *
+     * @return A {@code Connection} object for interacting with the database.
+     * @throws ClassNotFoundException If the JDBC driver class is not found.
+     * @throws SQLException If a database access error occurs or no connection became available in time.
+     */
+    public static Connection getConnection() throws ClassNotFoundException, SQLException {
+        ConnectionPool current = getPool();
+        long start = System.nanoTime();
+        Connection con = current.getConnection();
+        DaoMetrics.recordConnectionAcquire(System.nanoTime() - start);
         return con;
     }
+
+    /**
+     * Returns the current statistics of the shared connection pool.
+     *
+     * @return A {@code PoolStats} snapshot, or {@code null} if the pool has not been created yet.
+     */
+    public static PoolStats getPoolStats() {
+        ConnectionPool current = pool;
+        return current != null ? current.getStats() : null;
+    }
+
+    /**
+     * Replaces the shared connection pool with one built from the given configuration instead of
+     * the properties file. Any existing pool is closed first; connections already borrowed from it
+     * stay usable until they are returned.
+     *
+     * <p>This is used by tools that run against a different database, such as the benchmarks.</p>
+     *
+     * @param config The connection and pool settings to use.
+     * @throws ClassNotFoundException If the JDBC driver class is not found.
+     * @throws SQLException If the initial connections cannot be opened.
+     */
+    public static synchronized void configure(ConnectionPoolConfig config) throws ClassNotFoundException, SQLException {
+        Class.forName(config.getDriverClassName());
+        ConnectionPool replacement = new ConnectionPool(config);
+        ConnectionPool previous = pool;
+        pool = replacement;
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * Closes the shared connection pool. The next call to {@link #getConnection()} creates a new one.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+
+    private static ConnectionPool getPool() throws ClassNotFoundException, SQLException {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DBConnection.class) {
+                current = pool;
+                if (current == null) {
+                    // Load the resource bundle to retrieve the database and pool configuration details
+                    ResourceBundle rb = ResourceBundle.getBundle("com.paypilot.repo.oracle");
+                    boolean embedded = PROFILE_EMBEDDED.equalsIgnoreCase(getProfile(rb));
+                    ConnectionPoolConfig config = embedded ? EmbeddedDatabase.fromBundle(rb) : ConnectionPoolConfig.fromBundle(rb);
+
+                    // Load the JDBC driver class once for the lifetime of the pool
+                    Class.forName(config.getDriverClassName());
+
+                    current = new ConnectionPool(config);
+                    if (embedded) {
+                        // Create the schema before any other caller can see the pool
+                        try (Connection con = current.getConnection()) {
+                            EmbeddedDatabase.bootstrap(con);
+                        } catch (SQLException e) {
+                            current.close();
+                            throw e;
+                        }
+                    }
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static String getProfile(ResourceBundle rb) {
+        String profile = System.getProperty("paypilot.db.profile");
+        if (profile == null && rb.containsKey("db.profile")) {
+            profile = rb.getString("db.profile");
+        }
+        return profile != null && !profile.trim().isEmpty() ? profile.trim() : PROFILE_ORACLE;
+    }
 }
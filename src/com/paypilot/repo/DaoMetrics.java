@@ -0,0 +1,371 @@
+/**
+ * The {@code DaoMetrics} class records the latency, call, error and row counts of DAO operations,
+ * keyed by operation name, and publishes them over JMX and as a plain-text dump.
+ *
+ * <p>Business Logic:</p>
+ * {@link #instrument(Class, Object, String)} wraps a DAO in a dynamic proxy of its interface, so
+ * {@code BillDAO}, {@code BillManagerDAO} and {@code ReminderSettingsDAO} are measured without
+ * touching their query code. Each method of the interface becomes an operation named
+ * {@code <prefix>.<method>}; overloaded methods get their parameter count appended, as in
+ * {@code BillDAO.getBillById/2}. The operation of every method is resolved when the proxy is created,
+ * so a call only costs two {@code System.nanoTime} reads, a thread-local write and a few lock-free
+ * counter updates.
+ *
+ * <p>While a call is in progress its operation is kept in a thread-local, so that
+ * {@code DBConnection} can attribute connection acquire time to it through
+ * {@link #recordConnectionAcquire(long)}, and the DAOs can count the database errors they catch and
+ * log through {@link #recordError()}. Acquire time is also recorded under
+ * {@code DBConnection.getConnection} for every caller, instrumented or not. The pooled connections
+ * report each SQL text they prepare through {@link #recordStatement(String)}, and every call emits a
+ * {@code DaoOperationEvent} for Java Flight Recorder.</p>
+ *
+ * <p>The shared registry returned by {@link #getDefault()} registers itself with the platform MBean
+ * server as {@code com.paypilot:type=DaoMetrics}, and each operation as
+ * {@code com.paypilot:type=DaoMetrics,operation=<name>}. Setting the system property
+ * {@code paypilot.dao.metrics} to {@code false} turns instrumentation off: DAOs are then used
+ * unwrapped.</p>
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import com.paypilot.model.Bill;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public class DaoMetrics implements DaoMetricsMXBean {
+
+    /**
+     * Name of the operation under which every connection acquire is recorded.
+     */
+    public static final String CONNECTION_ACQUIRE = "DBConnection.getConnection";
+
+    /**
+     * JMX object name of the shared registry.
+     */
+    public static final String OBJECT_NAME = "com.paypilot:type=DaoMetrics";
+
+    // Instrumented call running on this thread; reused across calls so that a call allocates nothing
+    private static final ThreadLocal<Call> CURRENT = ThreadLocal.withInitial(Call::new);
+
+    private static final DaoMetrics DEFAULT = createDefault();
+
+    private final ConcurrentMap<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private volatile MBeanServer mbeanServer;
+
+    /**
+     * Returns the registry shared by the DAOs of the application.
+     *
+     * @return the shared {@code DaoMetrics}.
+     */
+    public static DaoMetrics getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns whether DAOs are instrumented, as set by the {@code paypilot.dao.metrics} system property.
+     *
+     * @return {@code false} only if the property is {@code false}.
+     */
+    public static boolean isEnabled() {
+        return !"false".equalsIgnoreCase(System.getProperty("paypilot.dao.metrics"));
+    }
+
+    /**
+     * Wraps a DAO so that every call through the given interface is measured.
+     *
+     * @param type The DAO interface to measure.
+     * @param target The DAO to delegate to.
+     * @param prefix The prefix of the operation names, usually the DAO class name.
+     * @param <T> The DAO interface type.
+     * @return A proxy implementing {@code type}, or {@code target} itself if instrumentation is off.
+     */
+    public <T> T instrument(Class<T> type, T target, String prefix) {
+        if (!isEnabled()) {
+            return target;
+        }
+        Map<String, Integer> overloads = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            overloads.merge(method.getName(), 1, Integer::sum);
+        }
+        Map<Method, OperationMetrics> byMethod = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            String name = prefix + "." + method.getName();
+            if (overloads.get(method.getName()) > 1) {
+                name += "/" + method.getParameterCount();
+            }
+            byMethod.put(method, getOperation(name));
+        }
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, new MeasuringHandler(target, byMethod));
+        return type.cast(proxy);
+    }
+
+    /**
+     * Returns the metrics of an operation, creating them if needed.
+     *
+     * @param name The operation name.
+     * @return the {@code OperationMetrics} of the operation.
+     */
+    public OperationMetrics getOperation(String name) {
+        OperationMetrics metrics = operations.get(name);
+        if (metrics == null) {
+            OperationMetrics created = new OperationMetrics(name);
+            metrics = operations.putIfAbsent(name, created);
+            if (metrics == null) {
+                metrics = created;
+                register(created);
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Records the time a caller waited for a pooled connection, against the instrumented operation
+     * running on this thread, if any, and against {@link #CONNECTION_ACQUIRE}.
+     *
+     * @param nanos The wait in nanoseconds.
+     */
+    public static void recordConnectionAcquire(long nanos) {
+        OperationMetrics current = CURRENT.get().operation;
+        if (current != null) {
+            current.recordConnectionAcquire(nanos);
+        }
+        DEFAULT.getOperation(CONNECTION_ACQUIRE).recordCall(nanos);
+    }
+
+    /**
+     * Counts an error against the instrumented operation running on this thread. DAOs call this
+     * where they catch and log a database error instead of throwing it.
+     */
+    public static void recordError() {
+        Call call = CURRENT.get();
+        if (call.operation != null) {
+            call.operation.recordError();
+            call.errors++;
+        }
+    }
+
+    /**
+     * Notes an SQL statement prepared by the instrumented call running on this thread, for its
+     * {@code DaoOperationEvent}. Pooled connections call this for every statement they prepare.
+     *
+     * @param sql The SQL text.
+     */
+    public static void recordStatement(String sql) {
+        Call call = CURRENT.get();
+        if (call.operation != null) {
+            call.statements++;
+            call.sqlHash = sql.hashCode();
+        }
+    }
+
+    /**
+     * Registers this registry and every operation, present and future, with the platform MBean server.
+     *
+     * @throws JMException If an MBean cannot be registered.
+     */
+    public synchronized void registerMBeans() throws JMException {
+        if (mbeanServer != null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        if (!server.isRegistered(name)) {
+            server.registerMBean(this, name);
+        }
+        mbeanServer = server;
+        for (OperationMetrics metrics : operations.values()) {
+            register(metrics);
+        }
+    }
+
+    @Override
+    public String[] getOperationNames() {
+        return new TreeMap<>(operations).keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public String dump() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-45s %10s %8s %10s %10s %10s %10s %10s %10s %12s%n",
+                "operation", "calls", "errors", "rows", "mean_ms", "p50_ms", "p99_ms", "p999_ms", "max_ms", "acq_p99_ms"));
+        for (OperationMetrics m : new TreeMap<>(operations).values()) {
+            if (m.getCallCount() == 0 && m.getErrorCount() == 0) {
+                continue;
+            }
+            out.append(String.format("%-45s %10d %8d %10d %10.3f %10.3f %10.3f %10.3f %10.3f %12.3f%n",
+                    m.getName(), m.getCallCount(), m.getErrorCount(), m.getRowCount(), m.getMeanMillis(),
+                    m.getP50Millis(), m.getP99Millis(), m.getP999Millis(), m.getMaxMillis(),
+                    m.getConnectionAcquireP99Millis()));
+        }
+        return out.toString();
+    }
+
+    @Override
+    public void reset() {
+        for (OperationMetrics metrics : operations.values()) {
+            metrics.reset();
+        }
+    }
+
+    private void register(OperationMetrics metrics) {
+        MBeanServer server = mbeanServer;
+        if (server == null) {
+            return;
+        }
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME + ",operation=" + ObjectName.quote(metrics.getName()));
+            if (!server.isRegistered(name)) {
+                server.registerMBean(metrics, name);
+            }
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static DaoMetrics createDefault() {
+        DaoMetrics metrics = new DaoMetrics();
+        if (isEnabled()) {
+            try {
+                metrics.registerMBeans();
+            } catch (JMException | RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        return metrics;
+    }
+
+    // Counts the rows of the results the DAOs return, and the failed rows of batch inserts as errors
+    private static long rowsOf(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        } else if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        } else if (result instanceof Bill) {
+            return 1;
+        } else if (result instanceof BillPage) {
+            return ((BillPage) result).getBills().size();
+        } else if (result instanceof BatchInsertResult) {
+            BatchInsertResult batch = (BatchInsertResult) result;
+            for (int i = batch.getFailures().size(); i > 0; i--) {
+                recordError();
+            }
+            return batch.getInsertedCount();
+        }
+        return 0;
+    }
+
+    /**
+     * The instrumented call running on a thread: its operation, and the statements and errors seen so far.
+     */
+    private static final class Call {
+        private OperationMetrics operation;
+        private int statements;
+        private int sqlHash;
+        private int errors;
+    }
+
+    /**
+     * Times each call, sets the current call for its duration, counts its rows and emits its event.
+     */
+    private static final class MeasuringHandler implements InvocationHandler {
+
+        private final Object target;
+        private final Map<Method, OperationMetrics> byMethod;
+
+        private MeasuringHandler(Object target, Map<Method, OperationMetrics> byMethod) {
+            this.target = target;
+            this.byMethod = byMethod;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            OperationMetrics metrics = byMethod.get(method);
+            if (metrics == null) {
+                // equals, hashCode and toString
+                return invokeTarget(method, args);
+            }
+            // Nested calls, e.g. through a caching DAO, restore the outer call when they finish
+            Call call = CURRENT.get();
+            OperationMetrics outerOperation = call.operation;
+            int outerStatements = call.statements;
+            int outerSqlHash = call.sqlHash;
+            int outerErrors = call.errors;
+            call.operation = metrics;
+            call.statements = 0;
+            call.sqlHash = 0;
+            call.errors = 0;
+            DaoOperationEvent event = new DaoOperationEvent();
+            event.begin();
+            long start = System.nanoTime();
+            long rows = 0;
+            try {
+                Object result = invokeTarget(method, args);
+                if (result instanceof Stream) {
+                    return ((Stream<?>) result).peek(row -> metrics.recordRows(1));
+                }
+                rows = rowsOf(result);
+                metrics.recordRows(rows);
+                return result;
+            } catch (Throwable t) {
+                recordError();
+                throw t;
+            } finally {
+                metrics.recordCall(System.nanoTime() - start);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.operation = metrics.getName();
+                    event.rowCount = rows;
+                    event.statementCount = call.statements;
+                    event.sqlHash = call.sqlHash;
+                    event.errorCount = call.errors;
+                    Bill bill = billOf(args);
+                    if (bill != null) {
+                        event.billId = bill.getBillId();
+                        event.category = bill.getBillCategory();
+                    }
+                    event.commit();
+                }
+                call.operation = outerOperation;
+                call.statements = outerStatements;
+                call.sqlHash = outerSqlHash;
+                call.errors = outerErrors;
+            }
+        }
+
+        private static Bill billOf(Object[] args) {
+            if (args != null) {
+                for (Object arg : args) {
+                    if (arg instanceof Bill) {
+                        return (Bill) arg;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * The {@code DaoMetricsMXBean} interface is the JMX view of a {@code DaoMetrics} registry.
+ * The metrics of each operation are registered as their own {@code OperationMetricsMXBean}.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+public interface DaoMetricsMXBean {
+
+    /**
+     * Returns the names of the operations recorded so far, sorted.
+     *
+     * @return the operation names.
+     */
+    String[] getOperationNames();
+
+    /**
+     * Returns the metrics of every operation as a plain-text table.
+     *
+     * @return the metrics dump.
+     */
+    String dump();
+
+    /**
+     * Discards the counters and histograms of every operation.
+     */
+    void reset();
+}
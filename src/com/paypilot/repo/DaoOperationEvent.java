@@ -0,0 +1,60 @@
+/**
+ * The {@code DaoOperationEvent} class is the Java Flight Recorder event emitted for every call to a DAO
+ * wrapped by {@code DaoMetrics}, so that recordings can attribute database time to DAO operations.
+ *
+ * <p>Business Logic:</p>
+ * The event carries the operation name, the ID and category of the {@code Bill} passed to the call, if
+ * any, the rows returned, the number of SQL statements prepared and a hash of the last SQL text. The hash
+ * is {@code String.hashCode()} of the SQL, which is stable across runs, so events can be grouped by
+ * statement without recording the statement itself. Rows returned by streaming queries are not known
+ * when the call returns and are reported as 0.
+ *
+ * <p>The fields are only filled in when the event will be committed, so the event costs next to nothing
+ * when no recording is running or the event is disabled.</p>
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.paypilot.DaoOperation")
+@Label("DAO Operation")
+@Category({"PayPilot", "DAO"})
+@Description("A call to a DAO method")
+@StackTrace(false)
+public class DaoOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Bill ID")
+    @Description("ID of the bill passed to the operation, or 0")
+    int billId;
+
+    @Label("Category")
+    @Description("Category of the bill passed to the operation")
+    String category;
+
+    @Label("Rows")
+    @Description("Rows returned by a query, or stored by a batch insert")
+    long rowCount;
+
+    @Label("Statements")
+    @Description("SQL statements prepared during the call")
+    int statementCount;
+
+    @Label("SQL Hash")
+    @Description("String hash code of the last SQL text prepared during the call, or 0")
+    int sqlHash;
+
+    @Label("Errors")
+    @Description("Database errors caught or thrown during the call")
+    int errorCount;
+}
@@ -0,0 +1,243 @@
+/**
+ * The {@code EmbeddedDatabase} class sets up an in-process H2 database, running in Oracle
+ * compatibility mode, as a drop-in replacement for the Oracle database. It is selected with the
+ * {@code embedded} database profile and is meant for tests, load tests and offline development.
+ *
+ * <p>Business Logic:</p>
+ * Two modes are supported. In {@code mem} mode the database lives in memory and disappears when
+ * the JVM exits; in {@code file} mode it is stored on disk and survives restarts. In both modes
+ * the schema, sequences and sample rows are created from {@code database_setup.sql} the first time
+ * the database is opened, so the application sees the same tables it would see on Oracle. Every time
+ * the database is opened, tables, sequences and indexes added to the script since it was created are
+ * created too, so a file-mode database keeps up with new versions without being deleted. The sample
+ * rows are only inserted into a new database.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class EmbeddedDatabase {
+
+    /**
+     * In-memory mode; the database is dropped when the JVM exits.
+     */
+    public static final String MODE_MEMORY = "mem";
+
+    /**
+     * File-backed mode; the database is kept on disk between runs.
+     */
+    public static final String MODE_FILE = "file";
+
+    /**
+     * Database name used in memory mode and file name used in file mode when none is configured.
+     */
+    public static final String DEFAULT_NAME = "paypilot";
+
+    /**
+     * Classpath location of the schema script.
+     */
+    public static final String SCHEMA_RESOURCE = "/com/paypilot/script/database_setup.sql";
+
+    private static final String DRIVER = "org.h2.Driver";
+
+    // Marks the next statement of the schema script as one H2 cannot run, such as a function-based index
+    private static final String ORACLE_ONLY = "-- @oracle-only";
+
+    // The object a CREATE statement of the schema script creates, and the sample rows it inserts
+    private static final Pattern CREATE = Pattern.compile("^CREATE\\s+(TABLE|SEQUENCE|INDEX)\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern INSERT = Pattern.compile("^INSERT\\s+INTO\\s", Pattern.CASE_INSENSITIVE);
+
+    // Oracle compatibility, and keep in-memory databases alive while the pool has no open connection
+    private static final String URL_OPTIONS = ";MODE=Oracle;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    private EmbeddedDatabase() {
+    }
+
+    /**
+     * Returns the settings for an in-memory database.
+     *
+     * @param name The database name; connections using the same name share the same database.
+     * @return A {@code ConnectionPoolConfig} for the in-memory database.
+     */
+    public static ConnectionPoolConfig memory(String name) {
+        return config("jdbc:h2:mem:" + name + URL_OPTIONS);
+    }
+
+    /**
+     * Returns the settings for a file-backed database.
+     *
+     * @param path The path of the database file, without the {@code .mv.db} extension.
+     * @return A {@code ConnectionPoolConfig} for the file-backed database.
+     */
+    public static ConnectionPoolConfig file(String path) {
+        return config("jdbc:h2:file:" + path + URL_OPTIONS);
+    }
+
+    /**
+     * Builds the embedded database settings from the properties bundle.
+     *
+     * <p>Business Logic:</p>
+     * The pool settings are read from the {@code db.pool.*} keys as for Oracle. The mode is read from
+     * {@code db.embedded.mode} ({@code mem} or {@code file}, default {@code mem}) and the name or path
+     * from {@code db.embedded.name}. Both can be overridden with the system properties
+     * {@code paypilot.db.embedded.mode} and {@code paypilot.db.embedded.name}.
+     *
+     * @param rb The bundle holding the database configuration.
+     * @return A {@code ConnectionPoolConfig} for the embedded database.
+     */
+    public static ConnectionPoolConfig fromBundle(ResourceBundle rb) {
+        String mode = setting(rb, "db.embedded.mode", MODE_MEMORY);
+        String name = setting(rb, "db.embedded.name", DEFAULT_NAME);
+        ConnectionPoolConfig embedded;
+        if (MODE_MEMORY.equalsIgnoreCase(mode)) {
+            embedded = memory(name);
+        } else if (MODE_FILE.equalsIgnoreCase(mode)) {
+            embedded = file(name);
+        } else {
+            throw new IllegalArgumentException("db.embedded.mode must be '" + MODE_MEMORY + "' or '" + MODE_FILE + "' but was '" + mode + "'");
+        }
+
+        ConnectionPoolConfig config = ConnectionPoolConfig.fromBundle(rb);
+        config.setDriverClassName(embedded.getDriverClassName());
+        config.setUrl(embedded.getUrl());
+        config.setUsername(embedded.getUsername());
+        config.setPassword(embedded.getPassword());
+        return config;
+    }
+
+    /**
+     * Creates the tables, sequences and indexes of {@code database_setup.sql} that do not exist yet.
+     *
+     * <p>Business Logic:</p>
+     * Each {@code CREATE TABLE}, {@code CREATE SEQUENCE} and {@code CREATE INDEX} statement is run only
+     * if no object of that name exists, so a database created by an older version of the script gains
+     * what was added since. An {@code INSERT} is run only if this call created the {@code Bills} table,
+     * since the sample rows refer to each other; they are never added to a database that is already in use.
+     *
+     * @param con An open connection to the embedded database.
+     * @return {@code true} if anything was created, {@code false} if the schema was already complete.
+     * @throws SQLException If the script cannot be read or one of its statements fails.
+     */
+    public static boolean bootstrap(Connection con) throws SQLException {
+        boolean created = false;
+        boolean newDatabase = false;
+        try (Statement st = con.createStatement()) {
+            for (String sql : readStatements(SCHEMA_RESOURCE)) {
+                Matcher create = CREATE.matcher(sql);
+                if (create.find()) {
+                    String kind = create.group(1).toUpperCase(Locale.ROOT);
+                    String name = create.group(2).toUpperCase(Locale.ROOT);
+                    if (exists(con, kind, name)) {
+                        continue;
+                    }
+                    if (kind.equals("TABLE") && name.equals("BILLS")) {
+                        newDatabase = true;
+                    }
+                    created = true;
+                } else if (INSERT.matcher(sql).find() && !newDatabase) {
+                    continue;
+                }
+                st.execute(sql);
+            }
+        }
+        if (!con.getAutoCommit()) {
+            con.commit();
+        }
+        return created;
+    }
+
+    // Checks whether a table, sequence or index of the given unquoted name exists in the current schema
+    private static boolean exists(Connection con, String kind, String name) throws SQLException {
+        String sql;
+        switch (kind) {
+            case "TABLE":
+                sql = "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND TABLE_NAME = ?";
+                break;
+            case "SEQUENCE":
+                sql = "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_SCHEMA = CURRENT_SCHEMA AND SEQUENCE_NAME = ?";
+                break;
+            default:
+                sql = "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_SCHEMA = CURRENT_SCHEMA AND INDEX_NAME = ?";
+        }
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setString(1, name);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getLong(1) > 0;
+            }
+        }
+    }
+
+    private static ConnectionPoolConfig config(String url) {
+        ConnectionPoolConfig config = new ConnectionPoolConfig();
+        config.setDriverClassName(DRIVER);
+        config.setUrl(url);
+        config.setUsername("sa");
+        config.setPassword("");
+        return config;
+    }
+
+    private static String setting(ResourceBundle rb, String key, String defaultValue) {
+        String value = System.getProperty("paypilot." + key);
+        if (value == null && rb.containsKey(key)) {
+            value = rb.getString(key);
+        }
+        return value != null && !value.trim().isEmpty() ? value.trim() : defaultValue;
+    }
+
+    // Splits a script into statements at the semicolons that end a line, skipping comment-only lines
+    // and the statements that follow a "-- @oracle-only" line
+    private static List<String> readStatements(String resource) throws SQLException {
+        String script;
+        try (InputStream in = EmbeddedDatabase.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new SQLException("Schema script " + resource + " is not on the classpath");
+            }
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new SQLException("Could not read schema script " + resource, e);
+        }
+
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean oracleOnly = false;
+        for (String line : script.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.equals(ORACLE_ONLY)) {
+                oracleOnly = true;
+                continue;
+            }
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            int end = trimmed.indexOf(';');
+            if (end < 0) {
+                current.append(line).append('\n');
+                continue;
+            }
+            current.append(trimmed, 0, end);
+            String statement = current.toString().trim();
+            if (!statement.isEmpty() && !oracleOnly) {
+                statements.add(statement);
+            }
+            current.setLength(0);
+            oracleOnly = false;
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * The {@code ExportFormat} enum lists the file formats written by the {@code TableExporter}.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+public enum ExportFormat {
+
+    /**
+     * Comma-separated values with a header row, quoted where needed. Bill exports use the column
+     * names the {@code BillCsvImporter} expects, so they can be imported again.
+     */
+    CSV,
+
+    /**
+     * JSON Lines: one JSON object per row, keyed by column name, with SQL NULLs written as null.
+     */
+    JSONL
+}
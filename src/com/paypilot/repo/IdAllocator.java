@@ -0,0 +1,26 @@
+/**
+ * The {@code IdAllocator} interface hands out primary key values for new rows.
+ * DAOs use it when an entity is saved without an ID, so that IDs never have to be
+ * derived from the current contents of a table.
+ *
+ * <p>Implementations must be safe to call from many threads at once and must never
+ * return the same value twice.</p>
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import java.sql.SQLException;
+
+public interface IdAllocator {
+
+    /**
+     * Returns a new, unused ID.
+     *
+     * @return The next ID.
+     * @throws SQLException If IDs have to be reserved from the database and that fails.
+     * @throws ClassNotFoundException If the JDBC driver class is not found.
+     */
+    int nextId() throws SQLException, ClassNotFoundException;
+}
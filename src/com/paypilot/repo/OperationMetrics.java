@@ -0,0 +1,104 @@
+/**
+ * The {@code OperationMetrics} class holds the counters and latency histograms of one DAO operation,
+ * such as {@code BillDAO.getBillById}. Instances are created and updated by {@code DaoMetrics}.
+ *
+ * <p>Business Logic:</p>
+ * The call latency covers the whole DAO call, including waiting for a pooled connection; the time spent
+ * waiting for the connection is also recorded on its own. Errors count both exceptions thrown by the DAO
+ * and the database errors it catches and logs. Rows count the rows a query returned, or the rows a batch
+ * insert stored. For streaming queries, rows are counted as the stream is consumed.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class OperationMetrics implements OperationMetricsMXBean {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram connectionAcquire = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+
+    OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    void recordCall(long nanos) {
+        latency.record(nanos);
+    }
+
+    void recordConnectionAcquire(long nanos) {
+        connectionAcquire.record(nanos);
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    void recordRows(long count) {
+        rows.add(count);
+    }
+
+    @Override
+    public String getName() { return name; }
+
+    @Override
+    public long getCallCount() { return latency.getCount(); }
+
+    @Override
+    public long getErrorCount() { return errors.sum(); }
+
+    @Override
+    public long getRowCount() { return rows.sum(); }
+
+    @Override
+    public double getMeanMillis() { return latency.getMean() / NANOS_PER_MILLI; }
+
+    @Override
+    public double getP50Millis() { return latency.getPercentile(50) / NANOS_PER_MILLI; }
+
+    @Override
+    public double getP99Millis() { return latency.getPercentile(99) / NANOS_PER_MILLI; }
+
+    @Override
+    public double getP999Millis() { return latency.getPercentile(99.9) / NANOS_PER_MILLI; }
+
+    @Override
+    public double getMaxMillis() { return latency.getMax() / NANOS_PER_MILLI; }
+
+    @Override
+    public long getConnectionAcquireCount() { return connectionAcquire.getCount(); }
+
+    @Override
+    public double getConnectionAcquireP99Millis() { return connectionAcquire.getPercentile(99) / NANOS_PER_MILLI; }
+
+    @Override
+    public double getConnectionAcquireMaxMillis() { return connectionAcquire.getMax() / NANOS_PER_MILLI; }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        connectionAcquire.reset();
+        errors.reset();
+        rows.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "OperationMetrics{" +
+                "name='" + name + '\'' +
+                ", calls=" + getCallCount() +
+                ", errors=" + getErrorCount() +
+                ", rows=" + getRowCount() +
+                ", p50Millis=" + String.format("%.3f", getP50Millis()) +
+                ", p99Millis=" + String.format("%.3f", getP99Millis()) +
+                ", p999Millis=" + String.format("%.3f", getP999Millis()) +
+                '}';
+    }
+}
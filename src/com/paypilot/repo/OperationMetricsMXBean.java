@@ -0,0 +1,40 @@
+/**
+ * The {@code OperationMetricsMXBean} interface is the JMX view of the {@code OperationMetrics} of one
+ * DAO operation. Durations are reported in milliseconds.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+public interface OperationMetricsMXBean {
+
+    String getName();
+
+    long getCallCount();
+
+    long getErrorCount();
+
+    long getRowCount();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP99Millis();
+
+    double getP999Millis();
+
+    double getMaxMillis();
+
+    long getConnectionAcquireCount();
+
+    double getConnectionAcquireP99Millis();
+
+    double getConnectionAcquireMaxMillis();
+
+    /**
+     * Discards the counters and histograms of this operation.
+     */
+    void reset();
+}
@@ -0,0 +1,403 @@
+/**
+ * The {@code OverdueRecomputeJob} class recomputes the {@code overdue_days} column and moves unpaid bills
+ * through their payment statuses (Upcoming, then Pending, then Overdue) as of a given date. It is meant to
+ * run nightly, so that readers can trust the stored columns instead of comparing every due date themselves.
+ *
+ * <p>Business Logic:</p>
+ * The bill ID space is cut into fixed-size chunks, aligned to multiples of the chunk size so that the
+ * same chunks come out on every run. The chunks are processed in parallel on a fork-join pool, splitting
+ * the list of chunks in halves until each task holds one. Each chunk reads its unpaid bills through the
+ * primary key, works out their new values, and writes back only the rows that changed with batched
+ * UPDATE statements. The updates and a checkpoint row in {@code BillJobCheckpoints} are committed in one
+ * transaction, so a chunk is either fully done and recorded, or not done at all.
+ *
+ * <p>Bills are not locked while a chunk runs. Each UPDATE only applies if the bill still has the due date
+ * and status that were read, so a bill that is snoozed, paid or otherwise changed in the meantime keeps
+ * what the other writer set. Such bills are not counted as updated and are picked up by the run of the next day.</p>
+ *
+ * <p>If a chunk fails, its transaction is rolled back and the other chunks carry on. Running the job again
+ * for the same date resumes it: chunks with a checkpoint are skipped and only the rest are processed. The
+ * recomputation only depends on the date, so processing a chunk twice is harmless either way. Checkpoints
+ * of earlier dates are removed when a run starts.</p>
+ *
+ * <p>A bill is Upcoming until its due date, Pending from its due date until the grace period has passed,
+ * and Overdue after that. Bills without a due date, paid bills and bills with any other status are left
+ * alone.</p>
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class OverdueRecomputeJob {
+
+    /**
+     * Name under which the job records its checkpoints.
+     */
+    public static final String JOB_NAME = "overdue-recompute";
+
+    /**
+     * Default number of bill IDs per chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 10_000;
+
+    /**
+     * Default number of UPDATE statements sent per round trip.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * Default number of days a bill stays Pending after its due date before it becomes Overdue.
+     */
+    public static final int DEFAULT_GRACE_DAYS = 0;
+
+    // Payment status values stored in the BILLS table
+    public static final String STATUS_UPCOMING = "Upcoming";
+    public static final String STATUS_PENDING = "Pending";
+    public static final String STATUS_OVERDUE = "Overdue";
+
+    private static final String SELECT_CHUNK_SQL = "SELECT bill_id, due_date, payment_status, overdue_days FROM Bills "
+            + "WHERE bill_id BETWEEN ? AND ? AND due_date IS NOT NULL "
+            + "AND (payment_status IS NULL OR UPPER(payment_status) IN ('UPCOMING', 'PENDING', 'OVERDUE'))";
+    // Only applies if the values the new ones were computed from are still there
+    private static final String UPDATE_SQL = "UPDATE Bills SET payment_status = ?, overdue_days = ? WHERE bill_id = ? "
+            + "AND due_date = ? AND (payment_status = ? OR (payment_status IS NULL AND ? IS NULL))";
+    private static final String INSERT_CHECKPOINT_SQL = "INSERT INTO BillJobCheckpoints (job_name, run_date, chunk_start, chunk_end, rows_updated, completed_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int graceDays = DEFAULT_GRACE_DAYS;
+    private int fetchSize = BillCursor.DEFAULT_FETCH_SIZE;
+    // Every chunk holds a pooled connection while it runs, so stay below the default pool size of 10
+    private int parallelism = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+    private BillAggregateStore aggregates = BillAggregateStore.getDefault();
+    private final BillChangeNotifier notifier = BillChangeNotifier.getDefault();
+
+    /**
+     * Recomputes every bill in the table.
+     *
+     * @param asOf The date to compute overdue days against, normally today.
+     * @return an {@code OverdueRecomputeResult} with the chunk and row counts.
+     */
+    public OverdueRecomputeResult run(LocalDate asOf) {
+        return run(asOf, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Recomputes the bills whose IDs fall within a range.
+     *
+     * @param asOf The date to compute overdue days against, normally today.
+     * @param fromId The lowest bill ID to process, inclusive.
+     * @param toId The highest bill ID to process, inclusive.
+     * @return an {@code OverdueRecomputeResult} with the chunk and row counts.
+     */
+    public OverdueRecomputeResult run(LocalDate asOf, int fromId, int toId) {
+        long started = System.currentTimeMillis();
+        OverdueRecomputeResult result = new OverdueRecomputeResult(asOf);
+        try {
+            List<int[]> chunks = planChunks(fromId, toId);
+            result.setChunkCount(chunks.size());
+            Map<Integer, Integer> done = loadCheckpoints(asOf);
+            List<int[]> pending = new ArrayList<>(chunks.size());
+            for (int[] chunk : chunks) {
+                if (Integer.valueOf(chunk[1]).equals(done.get(chunk[0]))) {
+                    result.addSkipped();
+                } else {
+                    pending.add(chunk);
+                }
+            }
+            if (!pending.isEmpty()) {
+                ForkJoinPool pool = new ForkJoinPool(parallelism);
+                try {
+                    pool.invoke(new ChunkTask(pending, 0, pending.size(), asOf, result));
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        } catch (SQLException | ClassNotFoundException e) {
+            e.printStackTrace();
+            result.addFailure(fromId, toId, e);
+        }
+        result.setElapsedMillis(System.currentTimeMillis() - started);
+        return result;
+    }
+
+    /**
+     * Works out the payment status of an unpaid bill.
+     *
+     * @param dueDate The due date of the bill.
+     * @param asOf The date to compare against.
+     * @param graceDays The number of days a bill stays Pending after its due date.
+     * @return Upcoming, Pending or Overdue.
+     */
+    public static String statusFor(LocalDate dueDate, LocalDate asOf, int graceDays) {
+        long daysLate = ChronoUnit.DAYS.between(dueDate, asOf);
+        if (daysLate < 0) {
+            return STATUS_UPCOMING;
+        }
+        return daysLate <= graceDays ? STATUS_PENDING : STATUS_OVERDUE;
+    }
+
+    /**
+     * Works out the number of days an unpaid bill is overdue.
+     *
+     * @param dueDate The due date of the bill.
+     * @param asOf The date to compare against.
+     * @return the days since the due date, or 0 if it has not passed.
+     */
+    public static int overdueDaysFor(LocalDate dueDate, LocalDate asOf) {
+        return (int) Math.max(0, ChronoUnit.DAYS.between(dueDate, asOf));
+    }
+
+    // Cuts [fromId, toId] ∩ [MIN(bill_id), MAX(bill_id)] into chunks aligned to multiples of chunkSize
+    private List<int[]> planChunks(int fromId, int toId) throws SQLException, ClassNotFoundException {
+        List<int[]> chunks = new ArrayList<>();
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement("SELECT MIN(bill_id), MAX(bill_id) FROM Bills WHERE bill_id BETWEEN ? AND ?")) {
+            ps.setInt(1, fromId);
+            ps.setInt(2, toId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next() || rs.getObject(1) == null) {
+                    return chunks;
+                }
+                long low = rs.getLong(1);
+                long high = rs.getLong(2);
+                for (long start = Math.floorDiv(low, chunkSize) * chunkSize; start <= high; start += chunkSize) {
+                    chunks.add(new int[] {(int) Math.max(start, low), (int) Math.min(start + chunkSize - 1, high)});
+                }
+            }
+        }
+        return chunks;
+    }
+
+    // Drops the checkpoints of earlier runs and returns chunk_start -> chunk_end of the ones for this date
+    private Map<Integer, Integer> loadCheckpoints(LocalDate asOf) throws SQLException, ClassNotFoundException {
+        Map<Integer, Integer> done = new HashMap<>();
+        try (Connection con = DBConnection.getConnection()) {
+            try (PreparedStatement ps = con.prepareStatement("DELETE FROM BillJobCheckpoints WHERE job_name = ? AND run_date < ?")) {
+                ps.setString(1, JOB_NAME);
+                ps.setDate(2, java.sql.Date.valueOf(asOf));
+                ps.executeUpdate();
+            }
+            try (PreparedStatement ps = con.prepareStatement("SELECT chunk_start, chunk_end FROM BillJobCheckpoints WHERE job_name = ? AND run_date = ?")) {
+                ps.setString(1, JOB_NAME);
+                ps.setDate(2, java.sql.Date.valueOf(asOf));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        done.put(rs.getInt(1), rs.getInt(2));
+                    }
+                }
+            }
+        }
+        return done;
+    }
+
+    // Recomputes one chunk and commits its updates together with its checkpoint
+    private void processChunk(int[] chunk, LocalDate asOf, OverdueRecomputeResult result) {
+        List<Change> changes = new ArrayList<>();
+        List<Integer> applied = new ArrayList<>();
+        int scanned = 0;
+        try (Connection con = DBConnection.getConnection()) {
+            con.setAutoCommit(false);
+            try {
+                try (PreparedStatement ps = con.prepareStatement(SELECT_CHUNK_SQL)) {
+                    ps.setFetchSize(fetchSize);
+                    ps.setInt(1, chunk[0]);
+                    ps.setInt(2, chunk[1]);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            scanned++;
+                            Timestamp readDueDate = rs.getTimestamp(2);
+                            String readStatus = rs.getString(3);
+                            LocalDate dueDate = readDueDate.toLocalDateTime().toLocalDate();
+                            String status = statusFor(dueDate, asOf, graceDays);
+                            int overdueDays = overdueDaysFor(dueDate, asOf);
+                            if (!status.equals(readStatus) || overdueDays != rs.getInt(4) || rs.wasNull()) {
+                                changes.add(new Change(rs.getInt(1), status, overdueDays, readDueDate, readStatus));
+                            }
+                        }
+                    }
+                }
+                try (PreparedStatement ps = con.prepareStatement(UPDATE_SQL)) {
+                    for (int i = 0; i < changes.size(); i++) {
+                        Change change = changes.get(i);
+                        ps.setString(1, change.status);
+                        ps.setInt(2, change.overdueDays);
+                        ps.setInt(3, change.billId);
+                        ps.setTimestamp(4, change.readDueDate);
+                        ps.setString(5, change.readStatus);
+                        ps.setString(6, change.readStatus);
+                        ps.addBatch();
+                        if ((i + 1) % batchSize == 0 || i == changes.size() - 1) {
+                            collectApplied(ps.executeBatch(), changes, i + 1, applied);
+                        }
+                    }
+                }
+                try (PreparedStatement ps = con.prepareStatement(INSERT_CHECKPOINT_SQL)) {
+                    ps.setString(1, JOB_NAME);
+                    ps.setDate(2, java.sql.Date.valueOf(asOf));
+                    ps.setInt(3, chunk[0]);
+                    ps.setInt(4, chunk[1]);
+                    ps.setInt(5, applied.size());
+                    ps.setTimestamp(6, new Timestamp(System.currentTimeMillis()));
+                    ps.executeUpdate();
+                }
+                con.commit();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            }
+            aggregates.refresh(con, applied);
+            notifier.billsChanged(applied);
+        } catch (SQLException | ClassNotFoundException e) {
+            e.printStackTrace();
+            result.addFailure(chunk[0], chunk[1], e);
+            return;
+        }
+        result.addCompleted(scanned, applied.size());
+    }
+
+    // Adds the IDs of the batch ending before changes[end] whose guarded UPDATE matched the row
+    private static void collectApplied(int[] counts, List<Change> changes, int end, List<Integer> applied) {
+        int start = end - counts.length;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 1) {
+                applied.add(changes.get(start + i).billId);
+            }
+        }
+    }
+
+    /**
+     * Sets the number of bill IDs per chunk. Changing it between a failed run and its resume only means
+     * that the chunks of the failed run are not recognised and are processed again.
+     *
+     * @param chunkSize The number of IDs per chunk; must be positive.
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive but was " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Sets the number of UPDATE statements sent per round trip.
+     *
+     * @param batchSize The number of statements per batch; must be positive.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive but was " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sets the number of days a bill stays Pending after its due date.
+     *
+     * @param graceDays The grace period in days; must not be negative.
+     */
+    public void setGraceDays(int graceDays) {
+        if (graceDays < 0) {
+            throw new IllegalArgumentException("graceDays must not be negative but was " + graceDays);
+        }
+        this.graceDays = graceDays;
+    }
+
+    /**
+     * Sets the number of chunks processed at once. Each of them holds a connection from the pool.
+     *
+     * @param parallelism The number of worker threads; must be positive.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive but was " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sets the number of rows fetched per round trip when a chunk is read.
+     *
+     * @param fetchSize The number of rows per fetch; must be positive.
+     */
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("fetchSize must be positive but was " + fetchSize);
+        }
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Sets the aggregate store that re-reads every bill the job changes.
+     *
+     * @param aggregates The {@code BillAggregateStore} to keep up to date.
+     */
+    public void setAggregateStore(BillAggregateStore aggregates) {
+        this.aggregates = aggregates;
+    }
+
+    /**
+     * Processes chunks [from, to) of the list, splitting it in halves until a task holds one chunk.
+     */
+    private final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<int[]> chunks;
+        private final int from;
+        private final int to;
+        private final LocalDate asOf;
+        private final OverdueRecomputeResult result;
+
+        private ChunkTask(List<int[]> chunks, int from, int to, LocalDate asOf, OverdueRecomputeResult result) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+            this.asOf = asOf;
+            this.result = result;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                processChunk(chunks.get(from), asOf, result);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkTask(chunks, from, middle, asOf, result), new ChunkTask(chunks, middle, to, asOf, result));
+        }
+    }
+
+    /**
+     * The new values of one bill, and the values they were computed from.
+     */
+    private static final class Change {
+        private final int billId;
+        private final String status;
+        private final int overdueDays;
+        private final Timestamp readDueDate;
+        private final String readStatus;
+
+        private Change(int billId, String status, int overdueDays, Timestamp readDueDate, String readStatus) {
+            this.billId = billId;
+            this.status = status;
+            this.overdueDays = overdueDays;
+            this.readDueDate = readDueDate;
+            this.readStatus = readStatus;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/**
+ * The {@code OverdueRecomputeResult} class reports the outcome of one run of the {@code OverdueRecomputeJob}.
+ * It records how many chunks were processed, skipped because an earlier run had finished them, or failed,
+ * and how many bills were read and updated. Chunks run in parallel, so the counters are thread-safe.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class OverdueRecomputeResult {
+
+    private final LocalDate asOf;
+    private int chunkCount;
+    private int completedChunks;
+    private int skippedChunks;
+    private long scannedRows;
+    private long updatedRows;
+    private long elapsedMillis;
+    private final List<ChunkFailure> failures = new ArrayList<>();
+
+    /**
+     * Constructs an empty result for a run.
+     *
+     * @param asOf The date the run computed overdue days against.
+     */
+    OverdueRecomputeResult(LocalDate asOf) {
+        this.asOf = asOf;
+    }
+
+    synchronized void setChunkCount(int chunkCount) {
+        this.chunkCount = chunkCount;
+    }
+
+    synchronized void addSkipped() {
+        skippedChunks++;
+    }
+
+    synchronized void addCompleted(int scanned, int updated) {
+        completedChunks++;
+        scannedRows += scanned;
+        updatedRows += updated;
+    }
+
+    synchronized void addFailure(int chunkStart, int chunkEnd, Exception cause) {
+        failures.add(new ChunkFailure(chunkStart, chunkEnd, cause));
+    }
+
+    synchronized void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Returns the date the run computed overdue days against.
+     *
+     * @return the run date.
+     */
+    public LocalDate getAsOf() { return asOf; }
+
+    /**
+     * Returns the number of ID-range chunks the bills were split into.
+     *
+     * @return the number of chunks.
+     */
+    public synchronized int getChunkCount() { return chunkCount; }
+
+    /**
+     * Returns the number of chunks processed and committed by this run.
+     *
+     * @return the number of completed chunks.
+     */
+    public synchronized int getCompletedChunks() { return completedChunks; }
+
+    /**
+     * Returns the number of chunks skipped because an earlier run with the same date had committed them.
+     *
+     * @return the number of skipped chunks.
+     */
+    public synchronized int getSkippedChunks() { return skippedChunks; }
+
+    /**
+     * Returns the number of bills read by the completed chunks.
+     *
+     * @return the number of scanned rows.
+     */
+    public synchronized long getScannedRows() { return scannedRows; }
+
+    /**
+     * Returns the number of bills whose overdue days or payment status changed.
+     *
+     * @return the number of updated rows.
+     */
+    public synchronized long getUpdatedRows() { return updatedRows; }
+
+    /**
+     * Returns the wall-clock duration of the run.
+     *
+     * @return the elapsed time in milliseconds.
+     */
+    public synchronized long getElapsedMillis() { return elapsedMillis; }
+
+    /**
+     * Returns the chunks that were rolled back; running the job again for the same date retries only these.
+     *
+     * @return an unmodifiable list of failures.
+     */
+    public synchronized List<ChunkFailure> getFailures() { return Collections.unmodifiableList(new ArrayList<>(failures)); }
+
+    /**
+     * Returns whether every chunk is done, either by this run or by an earlier one.
+     *
+     * @return {@code true} if no chunk failed; {@code false} otherwise.
+     */
+    public synchronized boolean isSuccessful() { return failures.isEmpty(); }
+
+    @Override
+    public synchronized String toString() {
+        return "OverdueRecomputeResult{" +
+                "asOf=" + asOf +
+                ", chunkCount=" + chunkCount +
+                ", completedChunks=" + completedChunks +
+                ", skippedChunks=" + skippedChunks +
+                ", failedChunks=" + failures.size() +
+                ", scannedRows=" + scannedRows +
+                ", updatedRows=" + updatedRows +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+
+    /**
+     * A chunk of bills whose transaction was rolled back.
+     */
+    public static class ChunkFailure {
+
+        private final int chunkStart;
+        private final int chunkEnd;
+        private final Exception cause;
+
+        ChunkFailure(int chunkStart, int chunkEnd, Exception cause) {
+            this.chunkStart = chunkStart;
+            this.chunkEnd = chunkEnd;
+            this.cause = cause;
+        }
+
+        /**
+         * Returns the first bill ID of the chunk.
+         *
+         * @return the lower bound, inclusive.
+         */
+        public int getChunkStart() { return chunkStart; }
+
+        /**
+         * Returns the last bill ID of the chunk.
+         *
+         * @return the upper bound, inclusive.
+         */
+        public int getChunkEnd() { return chunkEnd; }
+
+        /**
+         * Returns the error that rolled the chunk back.
+         *
+         * @return the cause of the failure.
+         */
+        public Exception getCause() { return cause; }
+
+        @Override
+        public String toString() {
+            return "ChunkFailure{" +
+                    "chunkStart=" + chunkStart +
+                    ", chunkEnd=" + chunkEnd +
+                    ", cause=" + (cause != null ? cause.getMessage() : null) +
+                    '}';
+        }
+    }
+}
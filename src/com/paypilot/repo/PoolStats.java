@@ -0,0 +1,134 @@
+/**
+ * The {@code PoolStats} class is an immutable snapshot of the state and counters of a
+ * {@code ConnectionPool}. It is used to size the pool and to spot exhaustion or leaks.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+public class PoolStats {
+
+    private final int totalConnections;
+    private final int activeConnections;
+    private final int idleConnections;
+    private final int threadsAwaiting;
+    private final long connectionsCreated;
+    private final long connectionsDestroyed;
+    private final long acquireCount;
+    private final long acquireTimeouts;
+    private final long validationFailures;
+    private final long leaksDetected;
+    private final double averageAcquireMillis;
+    private final double maxAcquireMillis;
+    private final long statementCacheHits;
+    private final long statementCacheMisses;
+    private final long statementCacheEvictions;
+
+    /**
+     * Constructs a new {@code PoolStats} snapshot.
+     *
+     * @param totalConnections     Physical connections currently open.
+     * @param activeConnections    Connections currently borrowed.
+     * @param idleConnections      Connections waiting in the pool.
+     * @param threadsAwaiting      Callers blocked waiting for a connection.
+     * @param connectionsCreated   Physical connections opened since start-up.
+     * @param connectionsDestroyed Physical connections closed since start-up.
+     * @param acquireCount         Successful borrows since start-up.
+     * @param acquireTimeouts      Borrows that timed out.
+     * @param validationFailures   Idle connections discarded because they failed validation.
+     * @param leaksDetected        Borrows held longer than the leak detection threshold.
+     * @param averageAcquireMillis Mean time spent obtaining a connection.
+     * @param maxAcquireMillis     Longest time spent obtaining a connection.
+     * @param statementCacheHits      Prepared statements reused from a connection's statement cache.
+     * @param statementCacheMisses    Prepared statements that had to be prepared by the database.
+     * @param statementCacheEvictions Cached statements closed to make room for others.
+     */
+    public PoolStats(int totalConnections, int activeConnections, int idleConnections, int threadsAwaiting,
+                     long connectionsCreated, long connectionsDestroyed, long acquireCount, long acquireTimeouts,
+                     long validationFailures, long leaksDetected, double averageAcquireMillis, double maxAcquireMillis,
+                     long statementCacheHits, long statementCacheMisses, long statementCacheEvictions) {
+        this.totalConnections = totalConnections;
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.threadsAwaiting = threadsAwaiting;
+        this.connectionsCreated = connectionsCreated;
+        this.connectionsDestroyed = connectionsDestroyed;
+        this.acquireCount = acquireCount;
+        this.acquireTimeouts = acquireTimeouts;
+        this.validationFailures = validationFailures;
+        this.leaksDetected = leaksDetected;
+        this.averageAcquireMillis = averageAcquireMillis;
+        this.maxAcquireMillis = maxAcquireMillis;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+        this.statementCacheEvictions = statementCacheEvictions;
+    }
+
+    public int getTotalConnections() { return totalConnections; }
+
+    public int getActiveConnections() { return activeConnections; }
+
+    public int getIdleConnections() { return idleConnections; }
+
+    public int getThreadsAwaiting() { return threadsAwaiting; }
+
+    public long getConnectionsCreated() { return connectionsCreated; }
+
+    public long getConnectionsDestroyed() { return connectionsDestroyed; }
+
+    public long getAcquireCount() { return acquireCount; }
+
+    public long getAcquireTimeouts() { return acquireTimeouts; }
+
+    public long getValidationFailures() { return validationFailures; }
+
+    public long getLeaksDetected() { return leaksDetected; }
+
+    public double getAverageAcquireMillis() { return averageAcquireMillis; }
+
+    public double getMaxAcquireMillis() { return maxAcquireMillis; }
+
+    public long getStatementCacheHits() { return statementCacheHits; }
+
+    public long getStatementCacheMisses() { return statementCacheMisses; }
+
+    public long getStatementCacheEvictions() { return statementCacheEvictions; }
+
+    /**
+     * Returns the share of {@code prepareStatement} calls served from the statement cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 if no statements were prepared.
+     */
+    public double getStatementCacheHitRate() {
+        long lookups = statementCacheHits + statementCacheMisses;
+        return lookups == 0 ? 0.0 : (double) statementCacheHits / lookups;
+    }
+
+    /**
+     * Returns a string representation of the {@code PoolStats} object, including all its fields.
+     *
+     * @return a string representation of the pool statistics.
+     */
+    @Override
+    public String toString() {
+        return "PoolStats{" +
+                "totalConnections=" + totalConnections +
+                ", activeConnections=" + activeConnections +
+                ", idleConnections=" + idleConnections +
+                ", threadsAwaiting=" + threadsAwaiting +
+                ", connectionsCreated=" + connectionsCreated +
+                ", connectionsDestroyed=" + connectionsDestroyed +
+                ", acquireCount=" + acquireCount +
+                ", acquireTimeouts=" + acquireTimeouts +
+                ", validationFailures=" + validationFailures +
+                ", leaksDetected=" + leaksDetected +
+                ", averageAcquireMillis=" + String.format("%.3f", averageAcquireMillis) +
+                ", maxAcquireMillis=" + String.format("%.3f", maxAcquireMillis) +
+                ", statementCacheHits=" + statementCacheHits +
+                ", statementCacheMisses=" + statementCacheMisses +
+                ", statementCacheHitRate=" + String.format("%.3f", getStatementCacheHitRate()) +
+                ", statementCacheEvictions=" + statementCacheEvictions +
+                '}';
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * The {@code RecurringSeries} class is the stored generation state of one recurring bill series: the due
+ * date the series is computed from and the latest due date created for it. It is read and written by the
+ * {@code RecurringSeriesDAO} on behalf of the recurring bill generator.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import java.time.LocalDate;
+
+public class RecurringSeries {
+
+    private final String seriesKey;
+    private final LocalDate anchorDate;
+    private LocalDate generatedThrough;
+
+    /**
+     * Constructs a new {@code RecurringSeries}.
+     *
+     * @param seriesKey        The key identifying the series.
+     * @param anchorDate       The first due date of the series, from which every later due date is computed.
+     * @param generatedThrough The latest due date created for the series.
+     */
+    public RecurringSeries(String seriesKey, LocalDate anchorDate, LocalDate generatedThrough) {
+        this.seriesKey = seriesKey;
+        this.anchorDate = anchorDate;
+        this.generatedThrough = generatedThrough;
+    }
+
+    public String getSeriesKey() { return seriesKey; }
+
+    public LocalDate getAnchorDate() { return anchorDate; }
+
+    public LocalDate getGeneratedThrough() { return generatedThrough; }
+
+    public void setGeneratedThrough(LocalDate generatedThrough) { this.generatedThrough = generatedThrough; }
+
+    /**
+     * Returns a string representation of the {@code RecurringSeries} object, including all its fields.
+     *
+     * @return a string representation of the series.
+     */
+    @Override
+    public String toString() {
+        return "RecurringSeries{" +
+                "seriesKey='" + seriesKey + '\'' +
+                ", anchorDate=" + anchorDate +
+                ", generatedThrough=" + generatedThrough +
+                '}';
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * The {@code RecurringSeriesDAO} class reads and writes the {@code RecurringBillSeries} table, which records
+ * how far each recurring bill series has been generated.
+ *
+ * <p>Business Logic:</p>
+ * The generator cannot tell from the {@code Bills} table alone which instances it already created, since
+ * paying a bill clears its due date. It therefore loads every series before planning and saves the series it
+ * advanced afterwards. Unlike most DAOs, errors are thrown rather than logged: generating without the stored
+ * state would create instances that already exist.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public class RecurringSeriesDAO {
+
+    private static final String SELECT_SQL = "SELECT series_key, anchor_date, generated_through FROM RecurringBillSeries";
+    private static final String UPDATE_SQL = "UPDATE RecurringBillSeries SET anchor_date = ?, generated_through = ? WHERE series_key = ?";
+    private static final String INSERT_SQL = "INSERT INTO RecurringBillSeries (anchor_date, generated_through, series_key) VALUES (?, ?, ?)";
+
+    /**
+     * Retrieves the stored state of every series.
+     *
+     * @return The series keyed by their series key.
+     * @throws SQLException If a database access error occurs.
+     * @throws ClassNotFoundException If the JDBC driver class is not found.
+     */
+    public Map<String, RecurringSeries> getAllSeries() throws SQLException, ClassNotFoundException {
+        Map<String, RecurringSeries> series = new HashMap<>();
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(SELECT_SQL);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                String key = rs.getString(1);
+                series.put(key, new RecurringSeries(key, toLocalDate(rs.getDate(2)), toLocalDate(rs.getDate(3))));
+            }
+        }
+        return series;
+    }
+
+    /**
+     * Stores the given series in one transaction, updating those that exist and inserting the others.
+     *
+     * @param series The series to store.
+     * @throws SQLException If a database access error occurs; nothing is stored then.
+     * @throws ClassNotFoundException If the JDBC driver class is not found.
+     */
+    public void saveSeries(Collection<RecurringSeries> series) throws SQLException, ClassNotFoundException {
+        if (series.isEmpty()) {
+            return;
+        }
+        try (Connection con = DBConnection.getConnection()) {
+            con.setAutoCommit(false);
+            try (PreparedStatement update = con.prepareStatement(UPDATE_SQL);
+                 PreparedStatement insert = con.prepareStatement(INSERT_SQL)) {
+                for (RecurringSeries s : series) {
+                    bind(update, s);
+                    if (update.executeUpdate() == 0) {
+                        bind(insert, s);
+                        insert.executeUpdate();
+                    }
+                }
+                con.commit();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            }
+        }
+    }
+
+    // UPDATE_SQL and INSERT_SQL take their parameters in the same order
+    private static void bind(PreparedStatement ps, RecurringSeries s) throws SQLException {
+        ps.setDate(1, toSqlDate(s.getAnchorDate()));
+        ps.setDate(2, toSqlDate(s.getGeneratedThrough()));
+        ps.setString(3, s.getSeriesKey());
+    }
+
+    private static java.sql.Date toSqlDate(LocalDate date) {
+        return date != null ? java.sql.Date.valueOf(date) : null;
+    }
+
+    private static LocalDate toLocalDate(java.sql.Date date) {
+        return date != null ? date.toLocalDate() : null;
+    }
+}
@@ -1,7 +1,8 @@
 /**
  * The {@code ReminderSettingsDAO} class implements the {@code ReminderSettingsDAOInterface} interface
  * and provides methods for managing {@code ReminderSettings} entities in the data source.
- * It uses a {@code Connection} for database operations and an optional {@code BillDAO} for fetching {@code Bill} objects.
+ * It uses a {@code Connection} for database operations. The {@code Bill} of each reminder is loaded
+ * in the same statement through a join with the {@code Bills} table, so every query costs a single round trip.
  * 
  * <p>Author: Anshul</p>
  * <p>Date: 20-08-2024</p>
@@ -18,8 +19,15 @@ import java.util.Optional;
 
 public class ReminderSettingsDAO implements ReminderSettingsDAOInterface {
 
+    // Reminder columns followed by the columns of the reminder's bill, loaded in the same statement
+    private static final String SELECT_WITH_BILL = "SELECT r.reminder_id, r.frequency, r.reminder_time, r.message, r.active, "
+            + "r.bill_id AS reminder_bill_id, b.bill_id, b.bill_name, b.bill_category, b.due_date, b.amount, "
+            + "b.reminder_frequency, b.attachment, b.notes, b.is_recurring, b.payment_status, b.overdue_days, b.user_id "
+            + "FROM ReminderSettings r LEFT JOIN Bills b ON b.bill_id = r.bill_id";
+
     private Connection connection;
     private BillDAOInterface billDAO; // Instance of BillDAO for retrieving Bill objects
+    private IdAllocator idAllocator = SequenceIdAllocator.forSequence(SequenceIdAllocator.REMINDER_ID_SEQUENCE);
     
     /**
      * Default constructor.
@@ -57,13 +65,22 @@ public class ReminderSettingsDAO implements ReminderSettingsDAOInterface {
         this.connection = connection;
     }
 
+    /**
+     * Sets the allocator used to assign IDs to reminders added without one.
+     * 
+     * @param idAllocator The {@code IdAllocator} to use.
+     */
+    public void setIdAllocator(IdAllocator idAllocator) {
+        this.idAllocator = idAllocator;
+    }
+
     /**
      * Adds a new {@code ReminderSettings} object to the data source.
      * 
      * <p>Business Logic:</p>
      * This method inserts a new reminder settings record into the {@code ReminderSettings} table.
-     * It uses the provided {@code ReminderSettings} object to populate the table's columns and retrieves
-     * the generated ID for the new record.
+     * It uses the provided {@code ReminderSettings} object to populate the table's columns. If the reminder
+     * has no ID yet (zero or negative), one is taken from the ID allocator and set on the object.
      * 
      * @param reminderSettings The {@code ReminderSettings} object to be added.
      */
@@ -71,10 +88,18 @@ public class ReminderSettingsDAO implements ReminderSettingsDAOInterface {
     public void addReminder(ReminderSettings reminderSettings) {
         String sql = "INSERT INTO ReminderSettings (frequency, reminder_time, message, active, bill_id, reminder_id) VALUES (?, ?, ?, ?, ?, ?)";
         try {
-        	this.connection = DBConnection.getConnection();
-        	PreparedStatement statement = connection.prepareStatement(sql);
+            if (reminderSettings.getReminderId() <= 0) {
+                reminderSettings.setReminderId(idAllocator.nextId());
+            }
+        } catch (SQLException | ClassNotFoundException e) {
+            e.printStackTrace();
+            DaoMetrics.recordError();
+            return;
+        }
+        try (Connection connection = DBConnection.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, reminderSettings.getReminderFrequency());
-            statement.setDate(2, new java.sql.Date(reminderSettings.getReminderStartDate().getTime()));
+            statement.setTimestamp(2, new Timestamp(reminderSettings.getReminderStartDate().getTime()));
             statement.setString(3, reminderSettings.getCustomMessage());
             statement.setString(4, reminderSettings.getNotificationPref());
             statement.setInt(5, reminderSettings.getBill().getBillId());
@@ -82,6 +107,7 @@ public class ReminderSettingsDAO implements ReminderSettingsDAOInterface {
             statement.executeUpdate();
         } catch (SQLException | ClassNotFoundException e) {
             e.printStackTrace();
+            DaoMetrics.recordError();
         }
     }
 
@@ -98,11 +124,10 @@ public class ReminderSettingsDAO implements ReminderSettingsDAOInterface {
     @Override
     public void updateReminder(ReminderSettings reminderSettings) {
         String sql = "UPDATE ReminderSettings SET frequency = ?, reminder_time = ?, message = ?, active = ?, bill_id = ? WHERE reminder_id = ?";
-        try {
-        	this.connection = DBConnection.getConnection();
-        	PreparedStatement statement = connection.prepareStatement(sql);
+        try (Connection connection = DBConnection.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, reminderSettings.getReminderFrequency());
-            statement.setDate(2, new java.sql.Date(reminderSettings.getReminderStartDate().getTime()));
+            statement.setTimestamp(2, new Timestamp(reminderSettings.getReminderStartDate().getTime()));
             statement.setString(3, reminderSettings.getCustomMessage());
             statement.setString(4, reminderSettings.getNotificationPref());
             statement.setInt(5, reminderSettings.getBill().getBillId());
@@ -110,6 +135,7 @@ public class ReminderSettingsDAO implements ReminderSettingsDAOInterface {
             statement.executeUpdate();
         } catch (SQLException | ClassNotFoundException e) {
             e.printStackTrace();
+            DaoMetrics.recordError();
         }
     }
 
@@ -125,13 +151,13 @@ public class ReminderSettingsDAO implements ReminderSettingsDAOInterface {
     @Override
     public void deleteReminder(int reminderId) {
         String sql = "DELETE FROM ReminderSettings WHERE reminder_id = ?";
-        try {
-        	this.connection = DBConnection.getConnection();
-        	PreparedStatement statement = connection.prepareStatement(sql);
+        try (Connection connection = DBConnection.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setInt(1, reminderId);
             statement.executeUpdate();
         } catch (SQLException | ClassNotFoundException e) {
             e.printStackTrace();
+            DaoMetrics.recordError();
         }
     }
 
@@ -149,18 +175,18 @@ public class ReminderSettingsDAO implements ReminderSettingsDAOInterface {
      */
     @Override
     public Optional<ReminderSettings> getReminderById(int reminderId) {
-        String sql = "SELECT * FROM ReminderSettings WHERE reminder_id = ?";
-        try {
-        	this.connection = DBConnection.getConnection();
-        	PreparedStatement statement = connection.prepareStatement(sql);
+        String sql = SELECT_WITH_BILL + " WHERE r.reminder_id = ?";
+        try (Connection connection = DBConnection.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setInt(1, reminderId);
             ResultSet resultSet = statement.executeQuery();
             if (resultSet.next()) {
-                ReminderSettings reminderSettings = mapRowToReminderSettings(resultSet);
+                ReminderSettings reminderSettings = mapRowToReminderSettings(resultSet, new BillRowMapper(resultSet));
                 return Optional.of(reminderSettings);
             }
         } catch (SQLException | ClassNotFoundException e) {
             e.printStackTrace();
+            DaoMetrics.recordError();
         }
         return Optional.empty();
     }
@@ -176,17 +202,38 @@ public class ReminderSettingsDAO implements ReminderSettingsDAOInterface {
      */
     @Override
     public List<ReminderSettings> getAllReminders() {
+        return queryReminders(SELECT_WITH_BILL);
+    }
+
+    /**
+     * Retrieves the active {@code ReminderSettings} objects from the data source.
+     * 
+     * <p>Business Logic:</p>
+     * The inactive values of the {@code active} column are filtered out by the database, so reminders
+     * that were switched off are never transferred when the reminder scheduler is loaded.
+     * 
+     * @return A {@code List} of the active {@code ReminderSettings} objects.
+     */
+    @Override
+    public List<ReminderSettings> getActiveReminders() {
+        return queryReminders(SELECT_WITH_BILL + " WHERE r.active IS NULL OR UPPER(r.active) NOT IN ('NO', 'N', 'FALSE', '0')");
+    }
+
+    // Runs a reminder query and maps every row, fetching in large blocks
+    private List<ReminderSettings> queryReminders(String sql) {
         List<ReminderSettings> reminders = new ArrayList<>();
-        String sql = "SELECT * FROM ReminderSettings";
-        try {
-        	this.connection = DBConnection.getConnection();
-    		Statement statement = connection.createStatement();
-        	ResultSet resultSet = statement.executeQuery(sql);
-            while (resultSet.next()) {
-                reminders.add(mapRowToReminderSettings(resultSet));
+        try (Connection connection = DBConnection.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setFetchSize(BillCursor.DEFAULT_FETCH_SIZE);
+            try (ResultSet resultSet = statement.executeQuery(sql)) {
+                BillRowMapper billMapper = new BillRowMapper(resultSet);
+                while (resultSet.next()) {
+                    reminders.add(mapRowToReminderSettings(resultSet, billMapper));
+                }
             }
         } catch (SQLException | ClassNotFoundException e) {
             e.printStackTrace();
+            DaoMetrics.recordError();
         }
         return reminders;
     }
@@ -205,18 +252,18 @@ public class ReminderSettingsDAO implements ReminderSettingsDAOInterface {
      */
     @Override
     public Optional<ReminderSettings> getReminderByBillId(int billId) {
-        String sql = "SELECT * FROM ReminderSettings WHERE bill_id = ?";
-        try  {
-        	this.connection = DBConnection.getConnection();
-        	PreparedStatement statement = connection.prepareStatement(sql);
+        String sql = SELECT_WITH_BILL + " WHERE r.bill_id = ?";
+        try (Connection connection = DBConnection.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setInt(1, billId);
             ResultSet resultSet = statement.executeQuery();
             if (resultSet.next()) {
-                ReminderSettings reminderSettings = mapRowToReminderSettings(resultSet);
+                ReminderSettings reminderSettings = mapRowToReminderSettings(resultSet, new BillRowMapper(resultSet));
                 return Optional.of(reminderSettings);
             }
         } catch (SQLException | ClassNotFoundException e) {
             e.printStackTrace();
+            DaoMetrics.recordError();
         }
         return Optional.empty();
     }
@@ -227,24 +274,24 @@ public class ReminderSettingsDAO implements ReminderSettingsDAOInterface {
      * <p>Business Logic:</p>
      * This method converts a row from the {@code ResultSet} into a {@code ReminderSettings} object.
      * It retrieves data from the result set and constructs a {@code ReminderSettings} object.
-     * It also uses the {@code BillDAO} to fetch the associated {@code Bill} object based on the bill ID.
+     * The associated {@code Bill} is read from the joined {@code Bills} columns of the same row,
+     * so no further query is needed; it is {@code null} when the reminder has no matching bill.
      * 
      * @param resultSet The {@code ResultSet} containing the data for the {@code ReminderSettings}.
+     * @param billMapper The {@code BillRowMapper} created for the same {@code ResultSet}.
      * @return A {@code ReminderSettings} object populated with data from the {@code ResultSet}.
      * @throws SQLException If an SQL error occurs while mapping the data.
      */
-    private ReminderSettings mapRowToReminderSettings(ResultSet resultSet) throws SQLException {
+    private ReminderSettings mapRowToReminderSettings(ResultSet resultSet, BillRowMapper billMapper) throws SQLException {
         int reminderId = resultSet.getInt("reminder_id");
         String reminderFrequency = resultSet.getString("frequency");
-        Date reminderStartDate = resultSet.getDate("reminder_time");
+        // Read as a timestamp so the time of day the reminder should fire is kept
+        java.util.Date reminderStartDate = resultSet.getTimestamp("reminder_time");
         String customMessage = resultSet.getString("message");
-        String notificationPref = resultSet.getString("frequency");
-        int billId = resultSet.getInt("bill_id");
-        System.out.println(billId);
+        String notificationPref = resultSet.getString("active");
 
-        // Use the instance of BillDAO to get the Bill object
-        this.billDAO = new BillDAO();
-        Bill bill = this.billDAO.getBillById(billId);
+        // The bill columns come from the LEFT JOIN; they are all null when the bill does not exist
+        Bill bill = billMapper.mapIfPresent(resultSet);
 
         return new ReminderSettings(reminderId, reminderFrequency, reminderStartDate, customMessage, notificationPref, bill);
     }
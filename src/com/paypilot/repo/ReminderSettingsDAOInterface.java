@@ -77,6 +77,17 @@ public interface ReminderSettingsDAOInterface {
      */
     List<ReminderSettings> getAllReminders();
 
+    /**
+     * Retrieves the active {@code ReminderSettings} objects from the data source.
+     * 
+     * <p>Business Logic:</p>
+     * This method returns the reminders whose {@code active} column is not "No", "N", "false" or "0".
+     * It is used to load the reminder scheduler when the application starts.
+     * 
+     * @return A {@code List} of the active {@code ReminderSettings} objects.
+     */
+    List<ReminderSettings> getActiveReminders();
+
     /**
      * Retrieves a {@code ReminderSettings} object by the associated bill's ID.
      * 
@@ -17,6 +17,14 @@ public class ReminderSettingsRepository {
 
     private ReminderSettingsDAOInterface reminderSettingsDAO; // DAO instance for database operations
 
+    /**
+     * Constructs a {@code ReminderSettingsRepository} backed by a new {@code ReminderSettingsDAO},
+     * measured by {@code DaoMetrics}.
+     */
+    public ReminderSettingsRepository() {
+        this(DaoMetrics.getDefault().instrument(ReminderSettingsDAOInterface.class, new ReminderSettingsDAO(), "ReminderSettingsDAO"));
+    }
+
     /**
      * Constructs a {@code ReminderSettingsRepository} with the specified {@code ReminderSettingsDAO}.
      * 
@@ -72,6 +80,15 @@ public class ReminderSettingsRepository {
         return reminderSettingsDAO.getAllReminders();
     }
 
+    /**
+     * Retrieves the active {@code ReminderSettings} from the repository.
+     * 
+     * @return A {@code List} of the active {@code ReminderSettings} objects.
+     */
+    public List<ReminderSettings> getActiveReminders() {
+        return reminderSettingsDAO.getActiveReminders();
+    }
+
     /**
      * Retrieves {@code ReminderSettings} by the associated bill's ID.
      * 
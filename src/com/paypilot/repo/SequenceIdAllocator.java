@@ -0,0 +1,186 @@
+/**
+ * The {@code SequenceIdAllocator} class is an {@code IdAllocator} backed by a database sequence,
+ * using the pooled-sequence strategy: every call to {@code NEXTVAL} reserves a whole block of IDs.
+ *
+ * <p>Business Logic:</p>
+ * The sequence is created with {@code INCREMENT BY blockSize}, so a single round trip returning
+ * {@code n} reserves the IDs {@code n} to {@code n + blockSize - 1} for this JVM. IDs within a block
+ * are handed out with an atomic increment and no locking; only the thread that finds the block
+ * exhausted goes back to the database for the next one. Other writers that call {@code NEXTVAL}
+ * directly stay compatible, because they also consume whole blocks.
+ *
+ * <p>Before reserving its first block the allocator reads the sequence's increment from the data
+ * dictionary and refuses to hand out IDs if it differs from the block size, because blocks would then
+ * overlap and produce duplicate keys. Databases created before block allocation are upgraded with
+ * {@code migrate_id_sequences.sql}.</p>
+ *
+ * <p>Use {@link #forSequence(String)} to obtain the allocator shared by every DAO of a sequence.</p>
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SequenceIdAllocator implements IdAllocator {
+
+    /**
+     * Sequence used for {@code Bills.bill_id}.
+     */
+    public static final String BILL_ID_SEQUENCE = "bill_id_seq";
+
+    /**
+     * Sequence used for {@code ReminderSettings.reminder_id}.
+     */
+    public static final String REMINDER_ID_SEQUENCE = "reminder_id_seq";
+
+    /**
+     * Block size matching the {@code INCREMENT BY} clause of the sequences in {@code database_setup.sql}.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 50;
+
+    /**
+     * Script that upgrades the sequences of older databases, named in the error when a sequence does not match.
+     */
+    public static final String MIGRATION_SCRIPT = "script/migrate_id_sequences.sql";
+
+    private static final Map<String, SequenceIdAllocator> SHARED = new ConcurrentHashMap<>();
+
+    private final String sequenceName;
+    private final int blockSize;
+    private final String nextValSql;
+
+    // The block currently being handed out; starts exhausted so the first call reserves one
+    private volatile Block current = new Block(0, 0);
+    // Set once the sequence's increment has been checked against the block size; guarded by this
+    private boolean verified;
+
+    /**
+     * Constructs a {@code SequenceIdAllocator} for the given sequence.
+     *
+     * @param sequenceName The name of the database sequence.
+     * @param blockSize The sequence's {@code INCREMENT BY} value, i.e. the number of IDs reserved per round trip.
+     */
+    public SequenceIdAllocator(String sequenceName, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be positive but was " + blockSize);
+        }
+        this.sequenceName = sequenceName;
+        this.blockSize = blockSize;
+        this.nextValSql = "SELECT " + sequenceName + ".NEXTVAL FROM dual";
+    }
+
+    /**
+     * Returns the allocator shared by every DAO that draws IDs from the given sequence,
+     * using {@link #DEFAULT_BLOCK_SIZE}.
+     *
+     * @param sequenceName The name of the database sequence.
+     * @return The shared {@code SequenceIdAllocator} for the sequence.
+     */
+    public static SequenceIdAllocator forSequence(String sequenceName) {
+        return SHARED.computeIfAbsent(sequenceName, name -> new SequenceIdAllocator(name, DEFAULT_BLOCK_SIZE));
+    }
+
+    /**
+     * Returns a new ID, reserving a new block from the sequence when the current one is used up.
+     *
+     * @return The next ID.
+     * @throws SQLException If a new block cannot be reserved, or the sequence does not increment by the block size.
+     * @throws ClassNotFoundException If the JDBC driver class is not found.
+     */
+    @Override
+    public int nextId() throws SQLException, ClassNotFoundException {
+        while (true) {
+            Block block = current;
+            long id = block.next.getAndIncrement();
+            if (id < block.end) {
+                return Math.toIntExact(id);
+            }
+            synchronized (this) {
+                // Another thread may already have replaced the exhausted block
+                if (current == block) {
+                    if (!verified) {
+                        verifyIncrement();
+                        verified = true;
+                    }
+                    long start = reserveBlock();
+                    current = new Block(start, start + blockSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the sequence this allocator draws from.
+     *
+     * @return the sequence name.
+     */
+    public String getSequenceName() {
+        return sequenceName;
+    }
+
+    /**
+     * Returns the number of IDs reserved per round trip.
+     *
+     * @return the block size.
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    // Fails unless the sequence exists and increments by exactly one block
+    private void verifyIncrement() throws SQLException, ClassNotFoundException {
+        try (Connection con = DBConnection.getConnection()) {
+            boolean oracle = con.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("oracle");
+            String sql = oracle
+                    ? "SELECT increment_by FROM user_sequences WHERE sequence_name = ?"
+                    : "SELECT increment FROM information_schema.sequences WHERE UPPER(sequence_name) = ?";
+            try (PreparedStatement ps = con.prepareStatement(sql)) {
+                ps.setString(1, sequenceName.toUpperCase(Locale.ROOT));
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new SQLException("Sequence " + sequenceName + " does not exist; run " + MIGRATION_SCRIPT);
+                    }
+                    long increment = rs.getLong(1);
+                    if (increment != blockSize) {
+                        throw new SQLException("Sequence " + sequenceName + " increments by " + increment
+                                + " but IDs are reserved in blocks of " + blockSize
+                                + ", which would hand out duplicate IDs; run " + MIGRATION_SCRIPT);
+                    }
+                }
+            }
+        }
+    }
+
+    private long reserveBlock() throws SQLException, ClassNotFoundException {
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(nextValSql);
+             ResultSet rs = ps.executeQuery()) {
+            if (!rs.next()) {
+                throw new SQLException("Sequence " + sequenceName + " returned no value");
+            }
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * A reserved range of IDs, [start, end).
+     */
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
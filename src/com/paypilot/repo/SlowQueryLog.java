@@ -0,0 +1,436 @@
+/**
+ * The {@code SlowQueryLog} class logs every JDBC statement execution that takes longer than a threshold,
+ * with its SQL, bind values, row count, elapsed time and the service method that ran it.
+ *
+ * <p>Business Logic:</p>
+ * The {@code ConnectionPool} passes every statement it hands out through {@link #wrap}, which returns a
+ * proxy that remembers the values bound with the {@code set} methods and times each {@code execute} call.
+ * Executions under the threshold cost two {@code System.nanoTime} reads and are otherwise ignored. For a
+ * slow one, including one that failed, such as a query cancelled by its timeout, the proxy looks up the calling service method on the stack and hands the entry to a bounded
+ * ring buffer. A daemon thread formats the entries and writes them out, so the request thread never
+ * waits on the log; if the buffer is full the entry is dropped and counted instead.
+ *
+ * <p>The row count of an update is the number of rows it changed. A query's rows are mostly fetched while
+ * its result set is read, so every result set is wrapped too: its time is the time spent executing plus
+ * the time spent inside {@code next} and {@code close}, and the query is judged once the result set has
+ * been read to the end or closed. Time the caller spends between rows is not counted, so slow row
+ * processing does not make a fast query look slow. The row count of a query is the number of rows read.</p>
+ *
+ * <p>Bind values may hold personal data such as bill names and notes, so they are redacted as configured:
+ * {@link Redaction#TEXT} (the default) hides text values and keeps numbers and dates, which is usually
+ * enough to reproduce a slow plan; {@link Redaction#ALL} hides every value; {@link Redaction#NONE} logs them
+ * as they are. Binary and character streams are never logged.</p>
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+public class SlowQueryLog implements AutoCloseable {
+
+    /**
+     * Which bind values are hidden in the log.
+     */
+    public enum Redaction {
+        /** Every value is logged as it is. */
+        NONE,
+        /** Text values are hidden; numbers, dates and booleans are logged. */
+        TEXT,
+        /** Every value is hidden. */
+        ALL
+    }
+
+    private static final String REDACTED = "'***'";
+
+    private final long thresholdNanos;
+    private final Redaction redaction;
+    private final Consumer<String> sink;
+    private final ArrayBlockingQueue<Entry> buffer;
+    private final LongAdder loggedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a {@code SlowQueryLog} that writes to standard error.
+     *
+     * @param thresholdMillis Executions taking at least this long are logged; must be positive.
+     * @param capacity The number of entries the buffer holds before new ones are dropped.
+     * @param redaction Which bind values to hide.
+     */
+    public SlowQueryLog(long thresholdMillis, int capacity, Redaction redaction) {
+        this(thresholdMillis, capacity, redaction, System.err::println);
+    }
+
+    /**
+     * Constructs a {@code SlowQueryLog} that writes each formatted line to the given sink.
+     * The sink is only called from the log's own writer thread.
+     *
+     * @param thresholdMillis Executions taking at least this long are logged; must be positive.
+     * @param capacity The number of entries the buffer holds before new ones are dropped.
+     * @param redaction Which bind values to hide.
+     * @param sink Receives one line per slow execution.
+     */
+    public SlowQueryLog(long thresholdMillis, int capacity, Redaction redaction, Consumer<String> sink) {
+        if (thresholdMillis < 1) {
+            throw new IllegalArgumentException("thresholdMillis must be positive but was " + thresholdMillis);
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive but was " + capacity);
+        }
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.redaction = redaction;
+        this.sink = sink;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::drain, "paypilot-slow-query-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Wraps a statement so that its slow executions are logged.
+     *
+     * @param statement The statement to wrap.
+     * @param type The statement interface to implement, such as {@code PreparedStatement}.
+     * @param sql The SQL the statement was prepared with, or {@code null} for a plain {@code Statement}.
+     * @return A proxy implementing {@code type} that delegates to {@code statement}.
+     */
+    public Object wrap(Statement statement, Class<?> type, String sql) {
+        return Proxy.newProxyInstance(SlowQueryLog.class.getClassLoader(), new Class<?>[] { type },
+                new TimedStatement(statement, sql));
+    }
+
+    /**
+     * Returns the number of slow executions written to the log.
+     *
+     * @return the logged count.
+     */
+    public long getLoggedCount() {
+        return loggedCount.sum();
+    }
+
+    /**
+     * Returns the number of slow executions dropped because the buffer was full.
+     *
+     * @return the dropped count.
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * Writes out the entries still in the buffer and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void submit(Entry entry) {
+        if (closed || !buffer.offer(entry)) {
+            droppedCount.increment();
+        }
+    }
+
+    private void drain() {
+        while (!closed || !buffer.isEmpty()) {
+            try {
+                Entry entry = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (entry != null) {
+                    sink.accept(format(entry));
+                    loggedCount.increment();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                // A failing sink must not stop the log
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private String format(Entry entry) {
+        StringBuilder line = new StringBuilder(256);
+        line.append(Instant.ofEpochMilli(entry.timestamp)).append(" SLOW QUERY ")
+                .append(TimeUnit.NANOSECONDS.toMillis(entry.elapsedNanos)).append(" ms, ");
+        line.append(entry.rows < 0 ? "?" : Long.toString(entry.rows)).append(" rows, ");
+        if (entry.error != null) {
+            line.append("failed with ").append(entry.error).append(", ");
+        }
+        line.append(entry.caller).append(" [").append(entry.thread).append("]: ");
+        line.append(entry.sql == null ? "<unknown SQL>" : entry.sql.replaceAll("\\s+", " ").trim());
+        if (entry.binds != null && entry.binds.length > 1) {
+            line.append(" | binds [");
+            for (int i = 1; i < entry.binds.length; i++) {
+                line.append(i == 1 ? "" : ", ").append(i).append('=').append(formatValue(entry.binds[i]));
+            }
+            line.append(']');
+        }
+        return line.toString();
+    }
+
+    private String formatValue(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof InputStream || value instanceof Blob || value instanceof byte[]) {
+            return "<binary>";
+        }
+        if (value instanceof Reader || value instanceof Clob) {
+            return "<text>";
+        }
+        if (redaction == Redaction.ALL) {
+            return REDACTED;
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof java.util.Date
+                || value instanceof java.time.temporal.Temporal) {
+            return value.toString();
+        }
+        return redaction == Redaction.TEXT ? REDACTED : "'" + value + "'";
+    }
+
+    // The service method that led to the statement: a service frame if there is one, else a controller
+    // frame, else the first application frame outside the repository layer
+    private static String callerOf() {
+        return StackWalker.getInstance().walk(frames -> {
+            StackWalker.StackFrame controller = null;
+            StackWalker.StackFrame application = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String name = frame.getClassName();
+                if (name.startsWith("com.paypilot.service.")) {
+                    return describe(frame);
+                } else if (controller == null && name.startsWith("com.paypilot.controller.")) {
+                    controller = frame;
+                } else if (application == null && name.startsWith("com.paypilot.") && !name.startsWith("com.paypilot.repo.")) {
+                    application = frame;
+                }
+            }
+            StackWalker.StackFrame best = controller != null ? controller : application;
+            return best != null ? describe(best) : "<unknown caller>";
+        });
+    }
+
+    private static String describe(StackWalker.StackFrame frame) {
+        String name = frame.getClassName();
+        return name.substring(name.lastIndexOf('.') + 1) + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+    }
+
+    /**
+     * A slow execution waiting to be written.
+     */
+    private static final class Entry {
+        private final long timestamp = System.currentTimeMillis();
+        private final String thread = Thread.currentThread().getName();
+        private final String caller = callerOf();
+        private final String sql;
+        private final Object[] binds;
+        private final long elapsedNanos;
+        private final long rows;
+        // Class of the exception the execution failed with, or null
+        private final String error;
+
+        private Entry(String sql, Object[] binds, long elapsedNanos, long rows, Throwable error) {
+            this.sql = sql;
+            this.binds = binds;
+            this.elapsedNanos = elapsedNanos;
+            this.rows = rows;
+            this.error = error != null ? error.getClass().getName() : null;
+        }
+    }
+
+    /**
+     * Records the bind values of a statement and times its executions.
+     */
+    private final class TimedStatement implements InvocationHandler {
+        private final Statement statement;
+        private final String sql;
+        // Indexed by parameter index; slot 0 is unused
+        private Object[] binds;
+        private int highestIndex;
+
+        private TimedStatement(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                long start = System.nanoTime();
+                Object result = null;
+                Throwable failure = null;
+                try {
+                    result = invokeTarget(method, args);
+                } catch (Throwable e) {
+                    failure = e;
+                    throw e;
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    if (result instanceof ResultSet) {
+                        // The rows are fetched as they are read, so a query is judged once its result set is done
+                        result = Proxy.newProxyInstance(SlowQueryLog.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+                                new TimedResultSet((ResultSet) result, sqlOf(args), snapshotBinds(), elapsed));
+                    } else if (elapsed >= thresholdNanos) {
+                        submit(new Entry(sqlOf(args), snapshotBinds(), elapsed, failure != null ? -1 : rowsOf(result), failure));
+                    }
+                }
+                return result;
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                bind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                binds = null;
+                highestIndex = 0;
+            } else if (name.equals("equals")) {
+                return proxy == args[0];
+            } else if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            return invokeTarget(method, args);
+        }
+
+        private void bind(int index, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (binds == null || binds.length <= index) {
+                binds = Arrays.copyOf(binds == null ? new Object[0] : binds, Math.max(index + 1, 8));
+            }
+            binds[index] = value;
+            highestIndex = Math.max(highestIndex, index);
+        }
+
+        // A plain Statement passes its SQL to execute
+        private String sqlOf(Object[] args) {
+            return args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+        }
+
+        // The values bound now; the statement may be cleared and reused before its result set is done
+        private Object[] snapshotBinds() {
+            return binds != null ? Arrays.copyOf(binds, highestIndex + 1) : null;
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    // Update counts of executeUpdate and executeBatch; -1 when the driver does not say
+    private static long rowsOf(Object result) {
+        if (result instanceof Number) {
+            return ((Number) result).longValue();
+        }
+        long rows = 0;
+        if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                rows += Math.max(count, 0);
+            }
+            return rows;
+        }
+        if (result instanceof long[]) {
+            for (long count : (long[]) result) {
+                rows += Math.max(count, 0);
+            }
+            return rows;
+        }
+        return -1;
+    }
+
+    /**
+     * Times the fetches of a query's result set and counts its rows, and logs the query once the result set
+     * is read or closed if execution and fetches together took at least the threshold.
+     */
+    private final class TimedResultSet implements InvocationHandler {
+        private final ResultSet resultSet;
+        private final String sql;
+        private final Object[] binds;
+        private long elapsedNanos;
+        private long rows;
+        private Throwable failure;
+        private boolean finished;
+
+        private TimedResultSet(ResultSet resultSet, String sql, Object[] binds, long executeNanos) {
+            this.resultSet = resultSet;
+            this.sql = sql;
+            this.binds = binds;
+            this.elapsedNanos = executeNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "next":
+                case "close":
+                    break;
+                default:
+                    return invokeTarget(method, args);
+            }
+            long start = System.nanoTime();
+            boolean more = false;
+            try {
+                Object result = invokeTarget(method, args);
+                more = Boolean.TRUE.equals(result);
+                return result;
+            } catch (Throwable e) {
+                failure = e;
+                throw e;
+            } finally {
+                elapsedNanos += System.nanoTime() - start;
+                if (more) {
+                    rows++;
+                } else {
+                    finish();
+                }
+            }
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(resultSet, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void finish() {
+            if (!finished) {
+                finished = true;
+                if (elapsedNanos >= thresholdNanos) {
+                    submit(new Entry(sql, binds, elapsedNanos, rows, failure));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/**
+ * The {@code StatementCache} class keeps the prepared statements of one pooled connection open
+ * between borrows, keyed by their SQL text, so that running the same query again does not make
+ * the database parse it again.
+ *
+ * <p>Business Logic:</p>
+ * {@code prepareStatement} calls on a pooled connection are routed here. If a statement for the
+ * same SQL is cached and not in use, it is handed out again; otherwise a new one is prepared and
+ * cached. Callers receive a handle whose {@code close()} returns the statement to the cache after
+ * clearing its parameters and batch, closing its result sets and restoring any fetch size, row limit
+ * or timeout the caller changed. When the cache is full the least recently used statement is
+ * closed. A statement whose SQL is already in use on the connection is prepared without caching.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+final class StatementCache {
+
+    private final Connection physical;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final Consumer<Throwable> failureListener;
+    private final LinkedHashMap<String, CachedStatement> statements;
+
+    /**
+     * Constructs an empty {@code StatementCache} for one physical connection.
+     *
+     * @param physical The physical connection the statements are prepared on.
+     * @param maxSize The maximum number of statements kept open.
+     * @param hits Counter incremented when a cached statement is reused.
+     * @param misses Counter incremented when a statement has to be prepared.
+     * @param evictions Counter incremented when a statement is closed to make room.
+     * @param failureListener Called with every exception thrown by a statement, so the pool can spot dead connections.
+     */
+    StatementCache(Connection physical, int maxSize, LongAdder hits, LongAdder misses, LongAdder evictions,
+                   Consumer<Throwable> failureListener) {
+        this.physical = physical;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.failureListener = failureListener;
+        this.statements = new LinkedHashMap<String, CachedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                evict(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns whether a {@code prepareStatement} call with these arguments can be served from the cache.
+     * Only the plain form and the form with result set type and concurrency are cached.
+     *
+     * @param method The {@code Connection} method being called.
+     * @param args The arguments of the call.
+     * @return {@code true} if the call can be cached.
+     */
+    static boolean isCacheable(Method method, Object[] args) {
+        if (!"prepareStatement".equals(method.getName()) || args == null) {
+            return false;
+        }
+        Class<?>[] types = method.getParameterTypes();
+        return types.length == 1 || (types.length == 3 && types[1] == int.class && types[2] == int.class);
+    }
+
+    /**
+     * Returns a statement handle for the given {@code prepareStatement} call, reusing a cached statement if possible.
+     *
+     * @param owner The connection handle the statement is prepared through; returned by {@code getConnection()}.
+     * @param method The {@code prepareStatement} method being called.
+     * @param args The arguments of the call.
+     * @param openStatements The list of handles still open on the owner, which the new handle joins until closed.
+     * @return A {@code PreparedStatement} handle.
+     * @throws Throwable Whatever the driver throws while preparing the statement.
+     */
+    synchronized PreparedStatement prepare(Connection owner, Method method, Object[] args, List<Statement> openStatements) throws Throwable {
+        String key = key(args);
+        CachedStatement cached = statements.get(key);
+        if (cached != null && !cached.inUse) {
+            hits.increment();
+            cached.inUse = true;
+            return cached.newHandle(owner, openStatements);
+        }
+
+        misses.increment();
+        PreparedStatement statement;
+        try {
+            statement = (PreparedStatement) method.invoke(physical, args);
+        } catch (InvocationTargetException e) {
+            failureListener.accept(e.getCause());
+            throw e.getCause();
+        }
+        // The same SQL is already open on this connection, so this one is used once and closed
+        boolean cacheable = cached == null;
+        CachedStatement created;
+        try {
+            created = new CachedStatement(statement, cacheable);
+        } catch (SQLException e) {
+            closeQuietly(statement);
+            throw e;
+        }
+        created.inUse = true;
+        if (cacheable) {
+            statements.put(key, created);
+        }
+        return created.newHandle(owner, openStatements);
+    }
+
+    // Puts a statement back once its handle is closed; closes it if it was evicted or never cached
+    private synchronized void release(CachedStatement cached) {
+        cached.inUse = false;
+        if (!cached.cacheable || cached.evicted || !cached.reset()) {
+            if (cached.cacheable && !cached.evicted) {
+                statements.values().remove(cached);
+            }
+            closeQuietly(cached.statement);
+        }
+    }
+
+    // Called while the map removes the entry; statements still in use are closed when released
+    private void evict(CachedStatement cached) {
+        evictions.increment();
+        cached.evicted = true;
+        if (!cached.inUse) {
+            closeQuietly(cached.statement);
+        }
+    }
+
+    private static String key(Object[] args) {
+        if (args.length == 1) {
+            return (String) args[0];
+        }
+        return args[1] + ":" + args[2] + ":" + args[0];
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // The statement is being discarded anyway
+        }
+    }
+
+    /**
+     * A physical prepared statement and the settings it must be returned to after each use.
+     */
+    private final class CachedStatement {
+        private final PreparedStatement statement;
+        private final boolean cacheable;
+        private final int fetchSize;
+        private final int maxRows;
+        private final int queryTimeout;
+        private boolean inUse;
+        private boolean evicted;
+        private boolean settingsChanged;
+        // Executing a statement again closes its previous result set, so only the latest one can be open
+        private ResultSet lastResult;
+
+        private CachedStatement(PreparedStatement statement, boolean cacheable) throws SQLException {
+            this.statement = statement;
+            this.cacheable = cacheable;
+            this.fetchSize = cacheable ? statement.getFetchSize() : 0;
+            this.maxRows = cacheable ? statement.getMaxRows() : 0;
+            this.queryTimeout = cacheable ? statement.getQueryTimeout() : 0;
+        }
+
+        private PreparedStatement newHandle(Connection owner, List<Statement> openStatements) {
+            PreparedStatement handle = (PreparedStatement) Proxy.newProxyInstance(StatementCache.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, new StatementHandle(this, owner, openStatements));
+            openStatements.add(handle);
+            return handle;
+        }
+
+        // Prepares the statement for its next borrower; returns false if it should be discarded
+        private boolean reset() {
+            try {
+                if (lastResult != null) {
+                    lastResult.close();
+                    lastResult = null;
+                }
+                statement.clearParameters();
+                statement.clearBatch();
+                statement.clearWarnings();
+                if (settingsChanged) {
+                    // The row limit goes first: drivers reject a fetch size above the current row limit
+                    statement.setMaxRows(maxRows);
+                    statement.setFetchSize(fetchSize);
+                    statement.setQueryTimeout(queryTimeout);
+                    settingsChanged = false;
+                }
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * The statement handed to a caller. It forwards every call to the physical statement and
+     * returns it to the cache when closed.
+     */
+    private final class StatementHandle implements InvocationHandler {
+        private final CachedStatement cached;
+        private final Connection owner;
+        private final List<Statement> openStatements;
+        private boolean handleClosed;
+
+        private StatementHandle(CachedStatement cached, Connection owner, List<Statement> openStatements) {
+            this.cached = cached;
+            this.owner = owner;
+            this.openStatements = openStatements;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!handleClosed) {
+                        handleClosed = true;
+                        openStatements.remove(proxy);
+                        release(cached);
+                    }
+                    return null;
+                case "isClosed":
+                    return handleClosed || cached.statement.isClosed();
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + cached.statement + "]";
+                case "setFetchSize":
+                case "setMaxRows":
+                case "setQueryTimeout":
+                    cached.settingsChanged = true;
+                    break;
+                default:
+                    break;
+            }
+            if (handleClosed) {
+                throw new SQLException("Statement has already been closed");
+            }
+            Object result;
+            try {
+                result = method.invoke(cached.statement, args);
+            } catch (InvocationTargetException e) {
+                failureListener.accept(e.getCause());
+                throw e.getCause();
+            }
+            if (result instanceof ResultSet && cached.cacheable) {
+                cached.lastResult = (ResultSet) result;
+            }
+            return result;
+        }
+    }
+}
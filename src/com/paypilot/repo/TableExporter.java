@@ -0,0 +1,388 @@
+/**
+ * The {@code TableExporter} class writes the {@code Bills} and {@code ReminderSettings} tables to CSV or
+ * JSON Lines, optionally gzip-compressed, for the nightly export to the accounting system.
+ *
+ * <p>Business Logic:</p>
+ * Rows are read over a forward-only cursor, {@code fetchSize} at a time, and every column is written
+ * straight from the {@code ResultSet} to a buffered writer, with no {@code Bill} or
+ * {@code ReminderSettings} objects and no per-row strings in between. Memory use therefore does not
+ * depend on the size of the table, and an export of tens of millions of rows only costs the time it
+ * takes to stream them. Rows are ordered by primary key so that two exports of the same data are
+ * identical. Dates are written as ISO-8601 dates, and reminder times as ISO-8601 local date-times.
+ * Bill attachments are binary and are left out of the export.
+ *
+ * <p>If the database fails part of the way, an {@code IOException} is thrown, so a truncated export is
+ * never mistaken for a complete one. Exports to a file are written to a temporary file in the same
+ * directory and moved over the target only once they are complete, so a failed export leaves the
+ * previous file, if any, in place.</p>
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+public class TableExporter {
+
+    /**
+     * Default number of rows fetched from the database per round trip.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1_000;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Column[] BILL_COLUMNS = {
+        new Column("bill_id", Kind.INTEGER),
+        new Column("bill_name", Kind.TEXT),
+        new Column("bill_category", Kind.TEXT),
+        new Column("due_date", Kind.DATE),
+        new Column("amount", Kind.DECIMAL),
+        new Column("reminder_frequency", Kind.TEXT),
+        new Column("notes", Kind.TEXT),
+        new Column("is_recurring", Kind.BOOLEAN),
+        new Column("payment_status", Kind.TEXT),
+        new Column("overdue_days", Kind.INTEGER),
+        new Column("user_id", Kind.INTEGER)
+    };
+
+    private static final Column[] REMINDER_COLUMNS = {
+        new Column("reminder_id", Kind.INTEGER),
+        new Column("bill_id", Kind.INTEGER),
+        new Column("reminder_time", Kind.TIMESTAMP),
+        new Column("message", Kind.TEXT),
+        new Column("frequency", Kind.TEXT),
+        new Column("active", Kind.TEXT)
+    };
+
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+
+    /**
+     * Exports every bill to a file, replacing it if it exists. The file is only replaced once the export
+     * has completed.
+     *
+     * @param file The file to write.
+     * @param format The format to write.
+     * @param gzip Whether to gzip-compress the file.
+     * @return The number of bills exported.
+     * @throws IOException If the file cannot be written or the database fails.
+     */
+    public long exportBills(Path file, ExportFormat format, boolean gzip) throws IOException {
+        return exportToFile(file, out -> exportBills(out, format, gzip));
+    }
+
+    /**
+     * Exports every bill to a stream. The stream is flushed but not closed.
+     *
+     * @param out The stream to write to.
+     * @param format The format to write.
+     * @param gzip Whether to gzip-compress the output.
+     * @return The number of bills exported.
+     * @throws IOException If the stream cannot be written or the database fails.
+     */
+    public long exportBills(OutputStream out, ExportFormat format, boolean gzip) throws IOException {
+        return export(BILL_COLUMNS, "Bills", "bill_id", out, format, gzip);
+    }
+
+    /**
+     * Exports every reminder to a file, replacing it if it exists. The file is only replaced once the
+     * export has completed.
+     *
+     * @param file The file to write.
+     * @param format The format to write.
+     * @param gzip Whether to gzip-compress the file.
+     * @return The number of reminders exported.
+     * @throws IOException If the file cannot be written or the database fails.
+     */
+    public long exportReminders(Path file, ExportFormat format, boolean gzip) throws IOException {
+        return exportToFile(file, out -> exportReminders(out, format, gzip));
+    }
+
+    /**
+     * Exports every reminder to a stream. The stream is flushed but not closed.
+     *
+     * @param out The stream to write to.
+     * @param format The format to write.
+     * @param gzip Whether to gzip-compress the output.
+     * @return The number of reminders exported.
+     * @throws IOException If the stream cannot be written or the database fails.
+     */
+    public long exportReminders(OutputStream out, ExportFormat format, boolean gzip) throws IOException {
+        return export(REMINDER_COLUMNS, "ReminderSettings", "reminder_id", out, format, gzip);
+    }
+
+    /**
+     * Sets the number of rows fetched from the database per round trip.
+     *
+     * @param fetchSize The number of rows per fetch; must be positive.
+     */
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("fetchSize must be positive but was " + fetchSize);
+        }
+        this.fetchSize = fetchSize;
+    }
+
+    // Writes to a temporary file next to the target and moves it over the target once the export is complete
+    private static long exportToFile(Path file, StreamExport export) throws IOException {
+        Path target = file.toAbsolutePath();
+        Path temp = target.resolveSibling("." + target.getFileName() + "." + System.nanoTime() + ".tmp");
+        try {
+            long rows;
+            try (OutputStream out = Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                rows = export.writeTo(out);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return rows;
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            throw e;
+        }
+    }
+
+    private long export(Column[] columns, String table, String key, OutputStream out, ExportFormat format, boolean gzip) throws IOException {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < columns.length; i++) {
+            sql.append(i == 0 ? "" : ", ").append(columns[i].name);
+        }
+        sql.append(" FROM ").append(table).append(" ORDER BY ").append(key);
+
+        OutputStream target = new NonClosingOutputStream(out);
+        long rows = 0;
+        // Closing the writer finishes the gzip trailer and releases its deflater, also when the export fails;
+        // the caller's stream stays open
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(gzip ? new GZIPOutputStream(target, BUFFER_SIZE) : target,
+                StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            try (Connection con = DBConnection.getConnection();
+                 PreparedStatement ps = con.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                ps.setFetchSize(fetchSize);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (format == ExportFormat.CSV) {
+                        writeCsvHeader(writer, columns);
+                    }
+                    while (rs.next()) {
+                        if (format == ExportFormat.CSV) {
+                            writeCsvRow(writer, columns, rs);
+                        } else {
+                            writeJsonRow(writer, columns, rs);
+                        }
+                        rows++;
+                    }
+                }
+            } catch (SQLException | ClassNotFoundException e) {
+                throw new IOException("Export of " + table + " failed after " + rows + " rows", e);
+            }
+        }
+        out.flush();
+        return rows;
+    }
+
+    private static void writeCsvHeader(Writer writer, Column[] columns) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(columns[i].name);
+        }
+        writer.write('\n');
+    }
+
+    private static void writeCsvRow(Writer writer, Column[] columns, ResultSet rs) throws SQLException, IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = read(rs, i + 1, columns[i].kind);
+            if (value != null) {
+                writeCsvValue(writer, value);
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static void writeJsonRow(Writer writer, Column[] columns, ResultSet rs) throws SQLException, IOException {
+        writer.write('{');
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write('"');
+            writer.write(columns[i].name);
+            writer.write("\":");
+            String value = read(rs, i + 1, columns[i].kind);
+            if (value == null) {
+                writer.write("null");
+            } else if (columns[i].kind.quoted) {
+                writeJsonString(writer, value);
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("}\n");
+    }
+
+    // Reads a column as the text to export, or null for SQL NULL
+    private static String read(ResultSet rs, int index, Kind kind) throws SQLException {
+        switch (kind) {
+            case INTEGER: {
+                long value = rs.getLong(index);
+                return rs.wasNull() ? null : Long.toString(value);
+            }
+            case DECIMAL: {
+                BigDecimal value = rs.getBigDecimal(index);
+                return value != null ? value.stripTrailingZeros().toPlainString() : null;
+            }
+            case DATE: {
+                java.sql.Date value = rs.getDate(index);
+                return value != null ? value.toLocalDate().toString() : null;
+            }
+            case TIMESTAMP: {
+                Timestamp value = rs.getTimestamp(index);
+                return value != null ? value.toLocalDateTime().toString() : null;
+            }
+            case BOOLEAN: {
+                // is_recurring holds what setBoolean wrote as well as Yes/No from the setup script
+                String value = rs.getString(index);
+                if (value == null) {
+                    return null;
+                }
+                switch (value.trim().toUpperCase(Locale.ROOT)) {
+                    case "TRUE":
+                    case "YES":
+                    case "Y":
+                    case "1":
+                        return "true";
+                    default:
+                        return "false";
+                }
+            }
+            default:
+                return rs.getString(index);
+        }
+    }
+
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static void writeJsonString(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+            }
+        }
+        writer.write('"');
+    }
+
+    /**
+     * Writes one export to a stream, for {@link #exportToFile(Path, StreamExport)}.
+     */
+    private interface StreamExport {
+        long writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * How a column is read and whether it is quoted in JSON.
+     */
+    private enum Kind {
+        INTEGER(false), DECIMAL(false), BOOLEAN(false), TEXT(true), DATE(true), TIMESTAMP(true);
+
+        private final boolean quoted;
+
+        Kind(boolean quoted) {
+            this.quoted = quoted;
+        }
+    }
+
+    /**
+     * A column of an exported table.
+     */
+    private static final class Column {
+        private final String name;
+        private final Kind kind;
+
+        private Column(String name, Kind kind) {
+            this.name = name;
+            this.kind = kind;
+        }
+    }
+
+    /**
+     * Passes writes through but ignores close, so finishing the export does not close the caller's stream.
+     */
+    private static final class NonClosingOutputStream extends java.io.FilterOutputStream {
+        private NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
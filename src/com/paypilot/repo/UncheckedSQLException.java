@@ -0,0 +1,40 @@
+/**
+ * The {@code UncheckedSQLException} class wraps a {@code SQLException} thrown while a lazily read
+ * result is consumed, for example by a {@code Stream} of bills, where checked exceptions cannot be thrown.
+ *
+ * <p>Business Logic:</p>
+ * A database error in the middle of a stream must not look like the end of the data, or callers
+ * would silently work on a partial result. The stream throws this exception instead, after releasing
+ * its connection.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.repo;
+
+import java.sql.SQLException;
+
+public class UncheckedSQLException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs an {@code UncheckedSQLException}.
+     *
+     * @param message The detail message.
+     * @param cause The database error.
+     */
+    public UncheckedSQLException(String message, SQLException cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Returns the database error.
+     *
+     * @return The wrapped {@code SQLException}.
+     */
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
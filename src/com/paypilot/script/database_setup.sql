@@ -12,7 +12,51 @@ CREATE TABLE Bills (
     overdue_days NUMBER,         -- int in Java
     user_id NUMBER               -- int in Java
 );
-CREATE SEQUENCE bill_id_seq START WITH 1 INCREMENT BY 1; --incrementing the id of bill if not entered
+-- Each NEXTVAL reserves a block of 50 IDs; must match SequenceIdAllocator.DEFAULT_BLOCK_SIZE.
+-- Starts above the dummy rows so allocated IDs never collide with them.
+CREATE SEQUENCE bill_id_seq START WITH 1001 INCREMENT BY 50; --incrementing the id of bill if not entered
+
+-- Indexes backing the overview, overdue and upcoming queries
+CREATE INDEX idx_bills_status_due ON Bills (payment_status, due_date);
+CREATE INDEX idx_bills_category_due ON Bills (bill_category, due_date);
+-- Back the BillFilter pages, which compare category and name ignoring case. The embedded H2 database
+-- has no function-based indexes, so it skips statements marked @oracle-only.
+-- @oracle-only
+CREATE INDEX idx_bills_category_upper_due ON Bills (UPPER(bill_category), due_date);
+-- @oracle-only
+CREATE INDEX idx_bills_name_upper_due ON Bills (UPPER(bill_name), due_date);
+-- Backs keyset pagination, which orders and seeks on (due_date, bill_id)
+CREATE INDEX idx_bills_due_id ON Bills (due_date, bill_id);
+-- Backs the per-user queries, which filter on user_id and read or order by due_date
+CREATE INDEX idx_bills_user_due ON Bills (user_id, due_date);
+
+-- Chunks finished by a batch job, written in the same transaction as the chunk's updates, so that
+-- a failed run can be resumed by skipping every chunk already recorded for the same run date
+CREATE TABLE BillJobCheckpoints (
+    job_name VARCHAR2(50),       -- String in Java
+    run_date DATE,               -- java.time.LocalDate in Java
+    chunk_start NUMBER,          -- int in Java (first bill_id of the chunk)
+    chunk_end NUMBER,            -- int in Java (last bill_id of the chunk)
+    rows_updated NUMBER,         -- int in Java
+    completed_at TIMESTAMP,      -- java.util.Date in Java
+    CONSTRAINT pk_bill_job_checkpoints PRIMARY KEY (job_name, run_date, chunk_start)
+);
+
+-- How far each recurring series has been generated, so that instances paid ahead of time (which lose
+-- their due date) are not created again and paying the first bill does not move the series' day
+CREATE TABLE RecurringBillSeries (
+    series_key VARCHAR2(400) PRIMARY KEY, -- String in Java (user, name, category and frequency)
+    anchor_date DATE,            -- java.time.LocalDate in Java (first due date of the series)
+    generated_through DATE       -- java.time.LocalDate in Java (latest due date created)
+);
+
+-- Optional on Oracle with the Partitioning option: spread tenants over partitions by user so that
+-- per-user queries only touch that user's partition. Hash partitioning balances many small tenants;
+-- use PARTITION BY LIST (user_id) instead to give large tenants partitions of their own.
+-- ReminderSettings has no user_id, so it follows the partition of its bill by reference, which
+-- requires bill_id to be NOT NULL there. Indexes on partitioned tables should then be LOCAL.
+-- ALTER TABLE Bills MODIFY PARTITION BY HASH (user_id) PARTITIONS 16 ONLINE;
+-- CREATE TABLE ReminderSettings (... bill_id NUMBER NOT NULL, ...) PARTITION BY REFERENCE (fk_bill);
 
 -- Insert Dummy Data
 INSERT INTO Bills (bill_id, bill_name, bill_category, due_date, amount, reminder_frequency, attachment, notes, is_recurring, payment_status, overdue_days, user_id)
@@ -33,6 +77,7 @@ CREATE TABLE ReminderSettings (
     active VARCHAR2(10),             -- String in Java (Assumed yes/no or true/false)
     CONSTRAINT fk_bill FOREIGN KEY (bill_id) REFERENCES Bills(bill_id) ON DELETE CASCADE
 );
+CREATE SEQUENCE reminder_id_seq START WITH 1001 INCREMENT BY 50; -- block size must match SequenceIdAllocator.DEFAULT_BLOCK_SIZE
 
 -- Insert Dummy Data
 INSERT INTO ReminderSettings (reminder_id, bill_id, reminder_time, message, frequency, active)
@@ -0,0 +1,37 @@
+-- Upgrades a database created before IDs were allocated in blocks (Oracle).
+-- SequenceIdAllocator reserves 50 IDs per NEXTVAL, so bill_id_seq and reminder_id_seq must both
+-- increment by 50. Older databases have bill_id_seq incrementing by 1 and no reminder_id_seq.
+-- Each sequence is (re)created to start above every ID already used, by a row or by the old sequence.
+-- The script can be run more than once; sequences that already increment by 50 are left alone.
+-- Run it as the schema owner before starting the new version, e.g. in SQL*Plus: @migrate_id_sequences.sql
+
+DECLARE
+    PROCEDURE pool_sequence(seq_name VARCHAR2, table_name VARCHAR2, id_column VARCHAR2) IS
+        current_increment NUMBER;
+        high_water NUMBER := 0;
+        next_id NUMBER;
+    BEGIN
+        EXECUTE IMMEDIATE 'SELECT NVL(MAX(' || id_column || '), 0) + 1 FROM ' || table_name INTO next_id;
+        BEGIN
+            SELECT s.increment_by, s.last_number INTO current_increment, high_water
+              FROM user_sequences s
+             WHERE s.sequence_name = UPPER(seq_name);
+        EXCEPTION
+            WHEN NO_DATA_FOUND THEN
+                current_increment := NULL;
+        END;
+        IF current_increment = 50 THEN
+            RETURN;
+        END IF;
+        IF current_increment IS NOT NULL THEN
+            EXECUTE IMMEDIATE 'DROP SEQUENCE ' || seq_name;
+        END IF;
+        -- last_number is at or above every value the old sequence handed out, cached values included
+        EXECUTE IMMEDIATE 'CREATE SEQUENCE ' || seq_name || ' START WITH '
+            || GREATEST(next_id, high_water, 1001) || ' INCREMENT BY 50';
+    END;
+BEGIN
+    pool_sequence('bill_id_seq', 'Bills', 'bill_id');
+    pool_sequence('reminder_id_seq', 'ReminderSettings', 'reminder_id');
+END;
+/
@@ -0,0 +1,237 @@
+/**
+ * The {@code AsyncServiceFacade} class offers {@code CompletableFuture} variants of the lookups a page
+ * of the front end composes, such as the bill list, the reminders and the category totals, so that
+ * independent lookups run at the same time and the page waits for the slowest of them rather than
+ * for all of them in turn.
+ *
+ * <p>Business Logic:</p>
+ * Each async method runs the matching blocking service method on the facade's executor. By default
+ * this is a pool of {@link #DEFAULT_THREADS} daemon threads with a queue of
+ * {@link #DEFAULT_QUEUE_CAPACITY} tasks, sized below the default connection pool so that the lookups
+ * of one page never wait on each other for a connection. When the queue is full the calling thread
+ * runs the lookup itself, which slows callers down instead of failing them. An exception thrown by a
+ * service method completes the future exceptionally; the facade does not catch or log it.
+ *
+ * <p>The facade shuts down the pool it created when it is closed. An executor passed in by the caller
+ * is left running. A lookup the executor rejects, such as one made after the pool was shut down,
+ * returns a future that has already failed with the {@code RejectedExecutionException}.</p>
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.service;
+
+import com.paypilot.model.Bill;
+import com.paypilot.model.BillFilter;
+import com.paypilot.model.ReminderSettings;
+import com.paypilot.repo.BillPage;
+import com.paypilot.repo.CategorySummary;
+
+import java.time.YearMonth;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class AsyncServiceFacade implements AutoCloseable {
+
+    /**
+     * Threads of the default pool; kept below the 10 connections of the default connection pool.
+     */
+    public static final int DEFAULT_THREADS = 8;
+
+    /**
+     * Lookups the default pool queues before callers run them on their own thread.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    private final BillService billService;
+    private final ReminderSettingsService reminderSettingsService;
+    private final BillManagerService billManagerService;
+    private final Executor executor;
+    private final boolean ownsExecutor;
+
+    /**
+     * Constructs a facade that runs the lookups on a pool of its own.
+     *
+     * @param billService The service bills are looked up with.
+     * @param reminderSettingsService The service reminders are looked up with.
+     * @param billManagerService The service category totals are looked up with, or {@code null}.
+     */
+    public AsyncServiceFacade(BillService billService, ReminderSettingsService reminderSettingsService,
+                              BillManagerService billManagerService) {
+        this(billService, reminderSettingsService, billManagerService,
+                newBoundedExecutor(DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY), true);
+    }
+
+    /**
+     * Constructs a facade that runs the lookups on the given executor, which it does not shut down.
+     *
+     * @param billService The service bills are looked up with.
+     * @param reminderSettingsService The service reminders are looked up with.
+     * @param billManagerService The service category totals are looked up with, or {@code null}.
+     * @param executor The executor the lookups run on.
+     */
+    public AsyncServiceFacade(BillService billService, ReminderSettingsService reminderSettingsService,
+                              BillManagerService billManagerService, Executor executor) {
+        this(billService, reminderSettingsService, billManagerService, executor, false);
+    }
+
+    private AsyncServiceFacade(BillService billService, ReminderSettingsService reminderSettingsService,
+                               BillManagerService billManagerService, Executor executor, boolean ownsExecutor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor must not be null");
+        }
+        this.billService = billService;
+        this.reminderSettingsService = reminderSettingsService;
+        this.billManagerService = billManagerService;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Creates a pool of daemon threads with a bounded queue that runs a lookup on the calling thread
+     * once the queue is full. After the pool is shut down it rejects lookups instead.
+     *
+     * @param threads The number of threads.
+     * @param queueCapacity The number of lookups queued before callers run them themselves.
+     * @return the pool.
+     */
+    public static ExecutorService newBoundedExecutor(int threads, int queueCapacity) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("threads and queueCapacity must be at least 1");
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "service-async-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, (r, executor) -> {
+                    // CallerRunsPolicy would silently drop the task here, leaving its future incomplete
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("The async service pool has been shut down");
+                    }
+                    r.run();
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Looks up all bills.
+     *
+     * @return a future of the list of all bills.
+     */
+    public CompletableFuture<List<Bill>> getAllBillsAsync() {
+        return supplyAsync(billService::getAllBillsService);
+    }
+
+    /**
+     * Looks up one page of bills, ordered by due date and ID.
+     *
+     * @param afterDueDate The due date of the last bill of the previous page, or {@code null}.
+     * @param afterBillId The ID of the last bill of the previous page, or {@code 0} for the first page.
+     * @param limit The maximum number of bills on the page.
+     * @param filter Optional criteria the bills must match, or {@code null} for all bills.
+     * @return a future of the page.
+     */
+    public CompletableFuture<BillPage> getBillsAsync(Date afterDueDate, int afterBillId, int limit, BillFilter filter) {
+        return supplyAsync(() -> billService.getBillsService(afterDueDate, afterBillId, limit, filter));
+    }
+
+    /**
+     * Looks up a bill by its ID.
+     *
+     * @param billId The ID of the bill.
+     * @return a future of the bill, or of {@code null} if it is not found.
+     */
+    public CompletableFuture<Bill> getBillByIdAsync(int billId) {
+        return supplyAsync(() -> billService.getBillByIdService(billId));
+    }
+
+    /**
+     * Looks up all reminder settings.
+     *
+     * @return a future of the list of all reminder settings.
+     */
+    public CompletableFuture<List<ReminderSettings>> getAllRemindersAsync() {
+        return supplyAsync(reminderSettingsService::getAllRemindersService);
+    }
+
+    /**
+     * Looks up a reminder setting by its ID.
+     *
+     * @param reminderId The ID of the reminder setting.
+     * @return a future of the reminder setting, if found.
+     */
+    public CompletableFuture<Optional<ReminderSettings>> getReminderByIdAsync(int reminderId) {
+        return supplyAsync(() -> reminderSettingsService.getReminderByIdService(reminderId));
+    }
+
+    /**
+     * Looks up the bill count and total amount per category.
+     *
+     * @param month The due month to report, or {@code null} for every month.
+     * @param status The status of the bills to report, or {@code null} for every status.
+     * @return a future of one summary per category that has bills.
+     */
+    public CompletableFuture<List<CategorySummary>> getCategoryOverviewAsync(YearMonth month, String status) {
+        BillManagerService service = requireBillManagerService();
+        return supplyAsync(() -> service.getCategoryOverviewService(month, status));
+    }
+
+    /**
+     * Looks up the bill count and total amount per category of one user.
+     *
+     * @param userId The ID of the user whose bills to report.
+     * @param month The due month to report, or {@code null} for every month.
+     * @param status The status of the bills to report, or {@code null} for every status.
+     * @return a future of one summary per category that has bills.
+     */
+    public CompletableFuture<List<CategorySummary>> getCategoryOverviewAsync(int userId, YearMonth month, String status) {
+        BillManagerService service = requireBillManagerService();
+        return supplyAsync(() -> service.getCategoryOverviewService(userId, month, status));
+    }
+
+    /**
+     * Runs any other blocking lookup on the facade's executor.
+     *
+     * @param lookup The lookup to run.
+     * @param <T> The type of the result.
+     * @return a future of the result of the lookup, failed if the executor rejected it.
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> lookup) {
+        try {
+            return CompletableFuture.supplyAsync(lookup, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Shuts down the pool the facade created; lookups already submitted still complete.
+     * An executor passed in by the caller is left running.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    private BillManagerService requireBillManagerService() {
+        if (billManagerService == null) {
+            throw new IllegalStateException("No BillManagerService was given for category totals");
+        }
+        return billManagerService;
+    }
+}
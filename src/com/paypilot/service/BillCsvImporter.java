@@ -0,0 +1,479 @@
+/**
+ * {@code BillCsvImporter} loads bills from a CSV file, such as the export a new customer brings along,
+ * in bulk and in bounded memory.
+ *
+ * <p>Business Logic:</p>
+ * The file is parsed one record at a time on the calling thread. Each row is validated and turned into a
+ * {@code Bill}; rows that fail are rejected with their line number and the import carries on. Valid bills
+ * are grouped into batches and handed to a small pool of workers through a bounded queue, and each worker
+ * stores its batches with one batched insert. When the database falls behind the queue fills up and the
+ * parser waits, so no more than {@code queueCapacity} batches are ever held in memory. Rows the database
+ * rejects are reported the same way as rows that fail validation, and so are records that cannot be
+ * parsed, such as one with an unclosed quote or one longer than {@code maxRecordLength} characters;
+ * parsing then goes on with the next line.
+ *
+ * <p>The first row must be a header. Columns are matched by name, ignoring case, spaces and underscores,
+ * so {@code bill_name}, {@code Bill Name} and {@code billName} are the same column. The columns
+ * {@code bill_name}, {@code bill_category}, {@code due_date} and {@code amount} are required; the other
+ * columns of the {@code Bills} table are optional. Categories are stored as written, like the categories
+ * entered anywhere else in the application, so that queries by category find imported and existing bills
+ * alike; with strict categories turned on, a category must also name a {@code BillCategory}. Payment
+ * statuses are matched ignoring case and stored in the spelling the queries use (Upcoming, Pending,
+ * Overdue or Paid); any other status is rejected. Bills without an ID get one from the bill ID sequence.</p>
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.service;
+
+import com.paypilot.model.Bill;
+import com.paypilot.model.BillCategory;
+import com.paypilot.repo.BatchInsertResult;
+import com.paypilot.repo.BillDAO;
+import com.paypilot.repo.BillRepository;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BillCsvImporter {
+
+    /**
+     * Default number of bills per batched insert.
+     */
+    public static final int DEFAULT_BATCH_SIZE = BillDAO.DEFAULT_BATCH_SIZE;
+
+    /**
+     * Default number of rejected rows kept in detail in the report.
+     */
+    public static final int DEFAULT_MAX_REJECTS_KEPT = 10_000;
+
+    private static final String STATUS_UPCOMING = "Upcoming";
+    private static final String[] STATUSES = {STATUS_UPCOMING, "Pending", "Overdue", "Paid"};
+    private static final String[] REQUIRED_COLUMNS = {"billname", "billcategory", "duedate", "amount"};
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final int MAX_NOTES_LENGTH = 4000;
+
+    // Marks the end of the input for the workers
+    private static final Batch END = new Batch(0);
+
+    private final BillRepository billRepository;
+    // Every worker holds a pooled connection while it stores a batch, so stay below the default pool size of 10
+    private int threads = Math.min(Runtime.getRuntime().availableProcessors(), 4);
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int queueCapacity = 2 * threads;
+    private int maxRejectsKept = DEFAULT_MAX_REJECTS_KEPT;
+    private int maxRecordLength = CsvReader.DEFAULT_MAX_RECORD_LENGTH;
+    private boolean strictCategories;
+    private DateTimeFormatter dateFormat = DateTimeFormatter.ISO_LOCAL_DATE;
+    private ZoneId zone = ZoneId.systemDefault();
+
+    /**
+     * Constructs a {@code BillCsvImporter}.
+     *
+     * @param billRepository The repository the bills are stored in.
+     */
+    public BillCsvImporter(BillRepository billRepository) {
+        this.billRepository = billRepository;
+    }
+
+    /**
+     * Imports a UTF-8 encoded CSV file.
+     *
+     * @param file The file to import.
+     * @return A {@code BillImportReport} with the counts, the throughput and the rejected rows.
+     * @throws IOException If the file cannot be read or its header lacks a required column.
+     */
+    public BillImportReport importFile(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importCsv(reader);
+        }
+    }
+
+    /**
+     * Imports CSV text. The reader is read to the end but not closed.
+     *
+     * @param reader The source of the CSV text.
+     * @return A {@code BillImportReport} with the counts, the throughput and the rejected rows.
+     * @throws IOException If the text cannot be read or its header lacks a required column.
+     */
+    public BillImportReport importCsv(Reader reader) throws IOException {
+        long started = System.nanoTime();
+        BillImportReport report = new BillImportReport(maxRejectsKept);
+        CsvReader csv = new CsvReader(reader, maxRecordLength);
+        List<String> header;
+        try {
+            header = csv.readRecord();
+        } catch (CsvReader.CsvFormatException e) {
+            throw new IOException("The CSV header cannot be read: " + e.getMessage(), e);
+        }
+        if (header == null) {
+            return report;
+        }
+        Map<String, Integer> columns = mapColumns(header);
+
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(queueCapacity);
+        ExecutorService workers = newWorkerPool(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.execute(() -> drain(queue, report));
+        }
+        try {
+            Batch batch = new Batch(batchSize);
+            while (true) {
+                List<String> record;
+                try {
+                    record = csv.readRecord();
+                } catch (CsvReader.CsvFormatException e) {
+                    report.addRead();
+                    report.addReject(csv.getRecordLine(), e.getMessage());
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                if (record.size() == 1 && record.get(0).trim().isEmpty()) {
+                    continue;
+                }
+                report.addRead();
+                try {
+                    batch.add(toBill(record, columns), csv.getRecordLine());
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    report.addReject(csv.getRecordLine(), e.getMessage());
+                }
+                if (batch.size() == batchSize) {
+                    // Blocks while the queue is full, which holds the parser back to the pace of the database
+                    queue.put(batch);
+                    batch = new Batch(batchSize);
+                }
+            }
+            if (batch.size() > 0) {
+                queue.put(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted after " + report.getRowsRead() + " rows");
+        } finally {
+            finish(queue, workers);
+            report.setElapsedNanos(System.nanoTime() - started);
+        }
+        return report;
+    }
+
+    // Runs on a worker thread until it takes the end marker
+    private void drain(BlockingQueue<Batch> queue, BillImportReport report) {
+        try {
+            for (Batch batch = queue.take(); batch != END; batch = queue.take()) {
+                store(batch, report);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void store(Batch batch, BillImportReport report) {
+        BatchInsertResult result;
+        try {
+            result = billRepository.addBills(batch.bills);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            for (long line : batch.lines) {
+                report.addReject(line, "Not stored: " + e.getMessage());
+            }
+            return;
+        }
+        report.addImported(result.getInsertedCount());
+        for (BatchInsertResult.RowFailure failure : result.getFailures()) {
+            report.addReject(batch.lines.get(failure.getIndex()), "Rejected by the database: " + failure.getCause().getMessage());
+        }
+    }
+
+    // Lets every worker take an end marker, then waits for the batches in progress
+    private void finish(BlockingQueue<Batch> queue, ExecutorService workers) throws InterruptedIOException {
+        try {
+            for (int i = 0; i < threads; i++) {
+                queue.put(END);
+            }
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted while storing the last batches");
+        }
+    }
+
+    private static Map<String, Integer> mapColumns(List<String> header) throws IOException {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(normalizeColumn(header.get(i)), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new IOException("The CSV header has no " + required + " column: " + header);
+            }
+        }
+        return columns;
+    }
+
+    private static String normalizeColumn(String name) {
+        // A UTF-8 byte order mark may precede the first column name
+        return name.replace("\uFEFF", "").replaceAll("[\\s_]", "").toLowerCase(Locale.ROOT);
+    }
+
+    // Validates one row and maps it onto a Bill; throws IllegalArgumentException with a readable reason
+    private Bill toBill(List<String> record, Map<String, Integer> columns) {
+        int billId = parseInt(value(record, columns, "billid"), "bill_id", 0);
+        String name = required(record, columns, "billname", "bill_name");
+        if (name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("bill_name is longer than " + MAX_NAME_LENGTH + " characters");
+        }
+        String category = parseCategory(required(record, columns, "billcategory", "bill_category"));
+        LocalDate dueDate = LocalDate.parse(required(record, columns, "duedate", "due_date"), dateFormat);
+        double amount = parseAmount(required(record, columns, "amount", "amount"));
+        String attachment = value(record, columns, "attachment");
+        String notes = value(record, columns, "notes");
+        if (notes != null && notes.length() > MAX_NOTES_LENGTH) {
+            throw new IllegalArgumentException("notes are longer than " + MAX_NOTES_LENGTH + " characters");
+        }
+        String status = parseStatus(value(record, columns, "paymentstatus"));
+        int overdueDays = parseInt(value(record, columns, "overduedays"), "overdue_days", 0);
+        if (overdueDays < 0) {
+            throw new IllegalArgumentException("overdue_days must not be negative but was " + overdueDays);
+        }
+        String userId = value(record, columns, "userid");
+
+        Bill bill = new Bill(billId, name, category, Date.from(dueDate.atStartOfDay(zone).toInstant()), amount,
+                value(record, columns, "reminderfrequency"), attachment != null ? new File(attachment) : null, notes,
+                parseBoolean(value(record, columns, "isrecurring")), status,
+                overdueDays, null);
+        bill.setUserId(userId != null ? parseInt(userId, "user_id", 0) : null);
+        return bill;
+    }
+
+    private String parseCategory(String text) {
+        if (strictCategories) {
+            BillCategory category = BillCategory.parse(text);
+            if (category == null || category == BillCategory.ALL) {
+                throw new IllegalArgumentException("Unknown bill_category '" + text + "'");
+            }
+        }
+        return text;
+    }
+
+    // The status queries compare exactly, so store the one spelling they use
+    private static String parseStatus(String text) {
+        if (text == null) {
+            return STATUS_UPCOMING;
+        }
+        for (String status : STATUSES) {
+            if (status.equalsIgnoreCase(text)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("payment_status must be Upcoming, Pending, Overdue or Paid but was '" + text + "'");
+    }
+
+    private static double parseAmount(String text) {
+        double amount;
+        try {
+            amount = Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("amount is not a number: '" + text + "'");
+        }
+        if (!(amount >= 0) || Double.isInfinite(amount)) {
+            throw new IllegalArgumentException("amount must be a non-negative number but was " + text);
+        }
+        return amount;
+    }
+
+    private static int parseInt(String text, String column, int defaultValue) {
+        if (text == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a whole number: '" + text + "'");
+        }
+    }
+
+    private static boolean parseBoolean(String text) {
+        if (text == null) {
+            return false;
+        }
+        switch (text.toLowerCase(Locale.ROOT)) {
+            case "true":
+            case "yes":
+            case "y":
+            case "1":
+                return true;
+            case "false":
+            case "no":
+            case "n":
+            case "0":
+                return false;
+            default:
+                throw new IllegalArgumentException("is_recurring must be yes or no but was '" + text + "'");
+        }
+    }
+
+    private static String required(List<String> record, Map<String, Integer> columns, String key, String column) {
+        String text = value(record, columns, key);
+        if (text == null) {
+            throw new IllegalArgumentException(column + " is missing");
+        }
+        return text;
+    }
+
+    // Returns the trimmed value of a column, or null if the column is absent or empty
+    private static String value(List<String> record, Map<String, Integer> columns, String key) {
+        Integer index = columns.get(key);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String text = record.get(index).trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static ExecutorService newWorkerPool(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "bill-import-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sets the number of worker threads storing batches. Each of them holds a connection from the pool
+     * while it stores a batch. The queue capacity is reset to two batches per worker.
+     *
+     * @param threads The number of workers; must be positive.
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive but was " + threads);
+        }
+        this.threads = threads;
+        this.queueCapacity = 2 * threads;
+    }
+
+    /**
+     * Sets the number of bills per batched insert.
+     *
+     * @param batchSize The number of bills per batch; must be positive.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive but was " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sets the number of parsed batches that may wait for a worker before the parser is held back.
+     *
+     * @param queueCapacity The number of waiting batches; must be positive.
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be positive but was " + queueCapacity);
+        }
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Sets the number of rejected rows kept in detail in the report.
+     *
+     * @param maxRejectsKept The number of rejects to keep; must not be negative.
+     */
+    public void setMaxRejectsKept(int maxRejectsKept) {
+        if (maxRejectsKept < 0) {
+            throw new IllegalArgumentException("maxRejectsKept must not be negative but was " + maxRejectsKept);
+        }
+        this.maxRejectsKept = maxRejectsKept;
+    }
+
+    /**
+     * Sets the maximum number of characters in one CSV record; longer records are rejected.
+     *
+     * @param maxRecordLength The maximum record length; must be positive.
+     */
+    public void setMaxRecordLength(int maxRecordLength) {
+        if (maxRecordLength < 1) {
+            throw new IllegalArgumentException("maxRecordLength must be positive but was " + maxRecordLength);
+        }
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Sets whether categories must name a {@code BillCategory}; off by default. Either way the category
+     * is stored as written.
+     *
+     * @param strictCategories {@code true} to reject unknown categories.
+     */
+    public void setStrictCategories(boolean strictCategories) {
+        this.strictCategories = strictCategories;
+    }
+
+    /**
+     * Sets the format of the {@code due_date} column; ISO dates such as 2026-10-17 by default.
+     *
+     * @param dateFormat The format of the due dates.
+     */
+    public void setDateFormat(DateTimeFormatter dateFormat) {
+        this.dateFormat = dateFormat;
+    }
+
+    /**
+     * Sets the time zone in which due dates start.
+     *
+     * @param zone The time zone of the due dates.
+     */
+    public void setZone(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * Bills parsed from consecutive rows, with the line each of them starts on.
+     */
+    private static final class Batch {
+        private final List<Bill> bills;
+        private final List<Long> lines;
+
+        private Batch(int capacity) {
+            this.bills = new ArrayList<>(capacity);
+            this.lines = new ArrayList<>(capacity);
+        }
+
+        private void add(Bill bill, long line) {
+            bills.add(bill);
+            lines.add(line);
+        }
+
+        private int size() {
+            return bills.size();
+        }
+    }
+}
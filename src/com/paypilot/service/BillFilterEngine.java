@@ -0,0 +1,117 @@
+/*
+ * The BillFilterEngine class applies a BillFilter to a list of bills.
+ * It compiles the category, name and due-date criteria into one fused predicate
+ * and evaluates it in a single pass, without building an intermediate list per
+ * criterion. Lists at or above the parallel threshold are filtered in parallel.
+ *
+ * Author: Ayush Madan
+ * Date: 17-10-2026
+ */
+
+package com.paypilot.service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import com.paypilot.model.Bill;
+import com.paypilot.model.BillFilter;
+
+public class BillFilterEngine {
+
+	/**
+	 * Default list size from which filtering runs on the common fork-join pool.
+	 */
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
+	private final int parallelThreshold;
+
+	/**
+	 * Creates an engine that filters in parallel from {@link #DEFAULT_PARALLEL_THRESHOLD} bills.
+	 */
+	public BillFilterEngine() {
+		this(DEFAULT_PARALLEL_THRESHOLD);
+	}
+
+	/**
+	 * Creates an engine with a custom parallel threshold.
+	 *
+	 * @param parallelThreshold The list size from which filtering runs in parallel.
+	 */
+	public BillFilterEngine(int parallelThreshold) {
+		if (parallelThreshold < 1) {
+			throw new IllegalArgumentException("parallelThreshold must be positive but was " + parallelThreshold);
+		}
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * Compiles a filter into a single predicate.
+	 * Only the criteria that are set are checked, cheapest first: the date range is
+	 * compared as epoch milliseconds, then category and name are compared ignoring case.
+	 * A bill without a due date never matches a date range.
+	 *
+	 * @param filter The criteria to compile.
+	 * @return A predicate that accepts the bills matching every criterion.
+	 */
+	public static Predicate<Bill> compile(BillFilter filter) {
+		final String category = filter.getCategory();
+		final String name = filter.getName();
+		final boolean checkDates = filter.hasDateRange();
+		final long from = checkDates ? filter.getDateFrom().getTime() : 0L;
+		final long to = checkDates ? filter.getDateTo().getTime() : 0L;
+
+		return bill -> {
+			if (checkDates) {
+				Date dueDate = bill.getDueDate();
+				if (dueDate == null) {
+					return false;
+				}
+				long due = dueDate.getTime();
+				if (due < from || due > to) {
+					return false;
+				}
+			}
+			if (category != null && !category.equalsIgnoreCase(bill.getBillCategory())) {
+				return false;
+			}
+			return name == null || name.equalsIgnoreCase(bill.getBillName());
+		};
+	}
+
+	/**
+	 * Returns the bills matching the filter, in their original order.
+	 * An empty filter returns the input list itself.
+	 *
+	 * @param bills The bills to filter.
+	 * @param filter The criteria to apply.
+	 * @return The bills matching every criterion.
+	 */
+	public List<Bill> filter(List<Bill> bills, BillFilter filter) {
+		if (filter == null || filter.isEmpty()) {
+			return bills;
+		}
+		Predicate<Bill> predicate = compile(filter);
+		if (bills.size() >= parallelThreshold) {
+			return bills.parallelStream().filter(predicate).collect(Collectors.toList());
+		}
+		List<Bill> result = new ArrayList<>();
+		for (Bill b : bills) {
+			if (predicate.test(b)) {
+				result.add(b);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the list size from which filtering runs in parallel.
+	 *
+	 * @return the parallel threshold.
+	 */
+	public int getParallelThreshold() {
+		return parallelThreshold;
+	}
+}
@@ -0,0 +1,136 @@
+/**
+ * {@code BillImportReport} summarises a run of the {@code BillCsvImporter}: how many rows were read, stored
+ * and rejected, how fast, and why each rejected row was turned down.
+ *
+ * <p>Rejected rows never abort the import. To keep memory bounded on very bad files, only the first
+ * {@code maxRejectsKept} rejects are kept in detail; all of them are counted.</p>
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class BillImportReport {
+
+    private final int maxRejectsKept;
+    private long rowsRead;
+    private long importedCount;
+    private long rejectedCount;
+    private long elapsedNanos;
+    private final List<Reject> rejects = new ArrayList<>();
+
+    BillImportReport(int maxRejectsKept) {
+        this.maxRejectsKept = maxRejectsKept;
+    }
+
+    synchronized void addRead() {
+        rowsRead++;
+    }
+
+    synchronized void addImported(long count) {
+        importedCount += count;
+    }
+
+    synchronized void addReject(long line, String reason) {
+        rejectedCount++;
+        if (rejects.size() < maxRejectsKept) {
+            rejects.add(new Reject(line, reason));
+        }
+    }
+
+    synchronized void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of data rows read from the file, excluding the header and blank lines.
+     *
+     * @return the number of rows read.
+     */
+    public synchronized long getRowsRead() { return rowsRead; }
+
+    /**
+     * Returns the number of bills stored.
+     *
+     * @return the number of imported rows.
+     */
+    public synchronized long getImportedCount() { return importedCount; }
+
+    /**
+     * Returns the number of rows that failed validation or were rejected by the database.
+     *
+     * @return the number of rejected rows.
+     */
+    public synchronized long getRejectedCount() { return rejectedCount; }
+
+    /**
+     * Returns the rejected rows kept in detail, ordered by line within each batch.
+     *
+     * @return an unmodifiable list of at most {@code maxRejectsKept} rejects.
+     */
+    public synchronized List<Reject> getRejects() { return Collections.unmodifiableList(new ArrayList<>(rejects)); }
+
+    /**
+     * Returns the wall-clock duration of the import.
+     *
+     * @return the elapsed time in milliseconds.
+     */
+    public synchronized long getElapsedMillis() { return elapsedNanos / 1_000_000; }
+
+    /**
+     * Returns the import throughput.
+     *
+     * @return the rows read per second, or 0 if no time was measured.
+     */
+    public synchronized double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : rowsRead * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "BillImportReport{" +
+                "rowsRead=" + rowsRead +
+                ", importedCount=" + importedCount +
+                ", rejectedCount=" + rejectedCount +
+                ", elapsedMillis=" + getElapsedMillis() +
+                ", rowsPerSecond=" + String.format("%.1f", getRowsPerSecond()) +
+                '}';
+    }
+
+    /**
+     * A row that was not imported.
+     */
+    public static class Reject {
+
+        private final long line;
+        private final String reason;
+
+        Reject(long line, String reason) {
+            this.line = line;
+            this.reason = reason;
+        }
+
+        /**
+         * Returns the line of the file the row starts on, counting from 1.
+         *
+         * @return the line number.
+         */
+        public long getLine() { return line; }
+
+        /**
+         * Returns why the row was rejected.
+         *
+         * @return the validation or database error.
+         */
+        public String getReason() { return reason; }
+
+        @Override
+        public String toString() {
+            return "line " + line + ": " + reason;
+        }
+    }
+}
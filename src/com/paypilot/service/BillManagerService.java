@@ -11,16 +11,22 @@
 package com.paypilot.service;
 
 import java.io.File;
-import java.util.ArrayList;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
 import com.paypilot.model.Bill;
+import com.paypilot.model.BillFilter;
 import com.paypilot.model.ReminderSettings;
 import com.paypilot.repo.BillManagerRepo;
+import com.paypilot.repo.CategorySummary;
+import com.paypilot.repo.OverdueRecomputeResult;
 
 public class BillManagerService {
 	public BillManagerRepo br = new BillManagerRepo();
+	public BillFilterEngine filterEngine = new BillFilterEngine();
 	
 	
 	/**
@@ -62,9 +68,35 @@ public class BillManagerService {
 //		}
 //		
 		
-		return br.getBillsOverview(category, fromDate, toDate, status);
+		return ServiceOperationEvent.record("getBillsOverviewService", bills -> 0, category,
+				() -> br.getBillsOverview(category, fromDate, toDate, status), List::size);
     }
 
+	/**
+     * Retrieves the bill count and total amount per category for the dashboard.
+     * Unlike counting the bills returned by getBillsOverviewService, this reads maintained
+     * totals, so its cost depends on the number of categories rather than the number of bills.
+     * 
+     * @param month The due month to report, or null for every month.
+     * @param status The status of the bills to report (e.g., "Upcoming"), or null for every status.
+     * @return One summary per category that has bills.
+     */
+	public List<CategorySummary> getCategoryOverviewService(YearMonth month, String status) {
+		return br.getCategoryOverview(month, status);
+	}
+
+	/**
+     * Retrieves the bill count and total amount per category of one user for the dashboard.
+     * 
+     * @param userId The ID of the user whose bills to report.
+     * @param month The due month to report, or null for every month.
+     * @param status The status of the bills to report (e.g., "Upcoming"), or null for every status.
+     * @return One summary per category that has bills.
+     */
+	public List<CategorySummary> getCategoryOverviewService(int userId, YearMonth month, String status) {
+		return br.getCategoryOverview(userId, month, status);
+	}
+
      /**
      * Adds a new bill to the bill manager service.
      * 
@@ -78,13 +110,16 @@ public class BillManagerService {
      * @param isRecurring Indicates if the bill is recurring.
      * @param paymentStatus The payment status of the bill (e.g., "Paid", "Upcoming").
      * @param overDueDays The number of overdue days, if applicable.
+     * The bill is created without an ID; the DAO assigns one from the bill ID sequence when it is stored.
      */
     public void addNewBillService(String name, String Category, Date dueDate, double amount, String reminderFrequency, File attachement, String note,boolean isRecurring, String paymentStatus, int overDueDays) {
-        List<Bill> allBills = br.getAllBills();
-    	int billId = allBills.size()+1;
-    	br.addNewBill(br.createNewBill(billId, name, Category, dueDate, amount, 
+    	ServiceOperationEvent.record("addNewBillService", Bill::getBillId, Category, () -> {
+    		Bill bill = br.createNewBill(0, name, Category, dueDate, amount, 
         			reminderFrequency, attachement, note, isRecurring, 
-        			paymentStatus, overDueDays, null));
+        			paymentStatus, overDueDays, null);
+    		br.addNewBill(bill);
+    		return bill;
+    	}, bill -> 1);
         }
 
     /**
@@ -97,51 +132,9 @@ public class BillManagerService {
      * @return A list of overdue bills that match the specified criteria.
      */
     public List<Bill> getOverdueBillsService(String Category, String name, Date dateTo, Date dateFrom) {
-    	List<Bill> allBills = br.getOverdueBills();
-    	List<Bill> temp1;
-    	List<Bill> temp2;
-    	List<Bill> temp3;
-
-    	// Filter by Category
-    	if (Category != null) {
-    		temp1 = new ArrayList<>();
-    	    for (Bill b : allBills) {
-    	        if (b.getBillCategory().equalsIgnoreCase(Category)) {
-    	            temp1.add(b);
-    	        }
-    	    }
-    	} else {
-    	    temp1 = allBills;
-    	}
-
-    	// Filter by Name
-    	if (name != null) {
-    	    temp2 = new ArrayList<>();
-    	    for (Bill b : temp1) {
-    	        if (b.getBillName().equalsIgnoreCase(name)) {
-    	            temp2.add(b);
-    	        }
-    	    }
-    	} else {
-    	    temp2 = temp1;
-    	}
-
-    	// Filter by Date Range (dateFrom to dateTo)
-    	if (dateFrom != null && dateTo != null) {
-    	    temp3 = new ArrayList<>();
-    	    for (Bill b : temp2) {
-    	        Date dueDate = b.getDueDate();
-    	        if ((dueDate.equals(dateFrom) || dueDate.after(dateFrom)) &&
-    	            (dueDate.equals(dateTo) || dueDate.before(dateTo))) {
-    	            temp3.add(b);
-    	        }
-    	    }
-    	} else {
-    	    temp3 = temp2;
-    	}
-
-    	// Final result will be in temp3
-    	return temp3;
+    	// Apply category, name and date range in a single pass
+    	return ServiceOperationEvent.record("getOverdueBillsService", bills -> 0, Category,
+    			() -> filterEngine.filter(br.getOverdueBills(), new BillFilter(Category, name, dateFrom, dateTo)), List::size);
     }
 
     /**
@@ -154,51 +147,9 @@ public class BillManagerService {
      * @return A list of upcoming bills that match the specified criteria.
      */// Method to get upcoming bills
     public List<Bill> getUpcomingBillsService(String Category, String name, Date dateTo, Date dateFrom) {
-    	List<Bill> allBills = br.getUpcomingBills();
-    	List<Bill> temp1;
-    	List<Bill> temp2;
-    	List<Bill> temp3;
-
-    	// Filter by Category
-    	if (Category != null) {
-    		temp1 = new ArrayList<>();
-    	    for (Bill b : allBills) {
-    	        if (b.getBillCategory().equalsIgnoreCase(Category)) {
-    	            temp1.add(b);
-    	        }
-    	    }
-    	} else {
-    	    temp1 = allBills;
-    	}
-
-    	// Filter by Name
-    	if (name != null) {
-    	    temp2 = new ArrayList<>();
-    	    for (Bill b : temp1) {
-    	        if (b.getBillName().equalsIgnoreCase(name)) {
-    	            temp2.add(b);
-    	        }
-    	    }
-    	} else {
-    	    temp2 = temp1;
-    	}
-
-    	// Filter by Date Range (dateFrom to dateTo)
-    	if (dateFrom != null && dateTo != null) {
-    	    temp3 = new ArrayList<>();
-    	    for (Bill b : temp2) {
-    	        Date dueDate = b.getDueDate();
-    	        if ((dueDate.equals(dateFrom) || dueDate.after(dateFrom)) &&
-    	            (dueDate.equals(dateTo) || dueDate.before(dateTo))) {
-    	            temp3.add(b);
-    	        }
-    	    }
-    	} else {
-    	    temp3 = temp2;
-    	}
-
-    	// Final result will be in temp3
-    	return temp3;
+    	// Apply category, name and date range in a single pass
+    	return ServiceOperationEvent.record("getUpcomingBillsService", bills -> 0, Category,
+    			() -> filterEngine.filter(br.getUpcomingBills(), new BillFilter(Category, name, dateFrom, dateTo)), List::size);
     }
 
      /**
@@ -208,13 +159,19 @@ public class BillManagerService {
      * @param id The ID of the bill to snooze.
      */
     public void snoozeBillService(Date snoozeDate, int id) {
-    	List<Bill> allBills = br.getAllBills();
+    	ServiceOperationEvent.record("snoozeBillService", snoozed -> id, null,
+    			() -> br.snoozeBill(id, snoozeDate), snoozed -> snoozed ? 1 : 0);
+    }
 
-		for(Bill b:allBills){
-			if(b.getBillId() == id){
-				br.snoozeBill(b,snoozeDate);
-			}
-		}
+    /**
+     * Snoozes many bills at once by updating their due dates to a specified snooze date.
+     * 
+     * @param snoozeDate The new due date for the bills.
+     * @param ids The IDs of the bills to snooze.
+     * @return The number of bills updated.
+     */
+    public int snoozeBillsService(Date snoozeDate, Collection<Integer> ids) {
+    	return ServiceOperationEvent.record("snoozeBillsService", () -> br.snoozeBills(ids, snoozeDate), Integer::intValue);
     }
 
        /**
@@ -223,13 +180,31 @@ public class BillManagerService {
      * @param id The ID of the bill to mark as paid.
      */
     public void markBillAsPaidService(int id) {
-    	List<Bill> allBills = br.getAllBills();
+    	ServiceOperationEvent.record("markBillAsPaidService", paid -> id, null,
+    			() -> br.markBillAsPaid(id), paid -> paid ? 1 : 0);
+    }
 
-		for(Bill b:allBills){
-			if(b.getBillId() == id){
-				br.markBillAsPaid(b);
-			}
-		}
+    /**
+     * Marks many bills as paid at once, e.g. when reconciling a bank feed.
+     * 
+     * @param ids The IDs of the bills to mark as paid.
+     * @return The number of bills updated.
+     */
+    public int markBillsAsPaidService(Collection<Integer> ids) {
+    	return ServiceOperationEvent.record("markBillsAsPaidService", () -> br.markBillsAsPaid(ids), Integer::intValue);
+    }
+
+
+    /**
+     * Recomputes the overdue days of all unpaid bills and moves them from Upcoming to Pending
+     * to Overdue as of today. Intended to run once a night; a failed run is resumed by calling
+     * it again on the same day.
+     * 
+     * @return The chunk and row counts of the run.
+     */
+    public OverdueRecomputeResult recomputeOverdueService() {
+    	return ServiceOperationEvent.record("recomputeOverdueService",
+    			() -> br.recomputeOverdue(LocalDate.now()), OverdueRecomputeResult::getUpdatedRows);
     }
     
     public List<Bill> getAllBillsService(){
@@ -8,9 +8,17 @@
 package com.paypilot.service;
 
 import com.paypilot.model.Bill;
+import com.paypilot.model.BillFilter;
 import com.paypilot.model.ReminderSettings;
+import com.paypilot.repo.BatchInsertResult;
+import com.paypilot.repo.BillPage;
 import com.paypilot.repo.BillRepository;
+import com.paypilot.repo.ExportFormat;
+import com.paypilot.repo.TableExporter;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -39,6 +47,42 @@ public class BillService {
         billRepository.addBill(bill);
     }
 
+    /**
+     * Adds many bills to the repository in bulk.
+     * 
+     * @param bills The {@code Bill} objects to be added.
+     * @return A {@code BatchInsertResult} describing how many rows were stored and which rows failed.
+     */
+    public BatchInsertResult addBillsService(Collection<Bill> bills) {
+        return billRepository.addBills(bills);
+    }
+
+    /**
+     * Imports bills from a CSV file in bulk, for example a new customer's export.
+     * Invalid rows are reported and skipped; they do not stop the import.
+     * 
+     * @param csvFile The UTF-8 encoded CSV file, with a header row.
+     * @return A {@code BillImportReport} with the counts, the throughput and the rejected rows.
+     * @throws IOException If the file cannot be read or its header lacks a required column.
+     */
+    public BillImportReport importBillsService(Path csvFile) throws IOException {
+        return new BillCsvImporter(billRepository).importFile(csvFile);
+    }
+
+    /**
+     * Exports every bill to a file, for example for the nightly export to the accounting system.
+     * The bills are streamed from the database, so memory use does not grow with the number of bills.
+     * 
+     * @param file The file to write; it is replaced if it exists.
+     * @param format The format to write.
+     * @param gzip Whether to gzip-compress the file.
+     * @return The number of bills exported.
+     * @throws IOException If the file cannot be written or the database fails part of the way.
+     */
+    public long exportBillsService(Path file, ExportFormat format, boolean gzip) throws IOException {
+        return new TableExporter().exportBills(file, format, gzip);
+    }
+
     /**
      * Updates an existing bill in the repository.
      * 
@@ -66,6 +110,21 @@ public class BillService {
         return billRepository.getAllBills();
     }
 
+    /**
+     * Retrieves one page of bills, ordered by due date and ID, from the repository.
+     * Pass {@code null} and {@code 0} for the first page, and the last due date and bill ID
+     * of the returned page for the next one.
+     * 
+     * @param afterDueDate The due date of the last bill of the previous page, or {@code null}.
+     * @param afterBillId The ID of the last bill of the previous page, or {@code 0} for the first page.
+     * @param limit The maximum number of bills on the page.
+     * @param filter Optional criteria the bills must match, or {@code null} for all bills.
+     * @return A {@code BillPage} with the bills and the position of the next page.
+     */
+    public BillPage getBillsService(Date afterDueDate, int afterBillId, int limit, BillFilter filter) {
+        return billRepository.getBills(afterDueDate, afterBillId, limit, filter);
+    }
+
     /**
      * Retrieves a bill from the repository by its ID.
      * 
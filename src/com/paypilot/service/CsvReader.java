@@ -0,0 +1,208 @@
+/**
+ * {@code CsvReader} reads comma-separated records one at a time, so a file of any size is parsed in
+ * constant memory.
+ *
+ * <p>Fields may be quoted with double quotes, in which case they can contain commas, line breaks and
+ * doubled quotes. Both LF and CRLF line endings are accepted. Each record remembers the line it started
+ * on, so errors can be reported against the file.</p>
+ *
+ * <p>A record may hold at most {@code maxRecordLength} characters, so a stray quote cannot make the reader
+ * take in the rest of the file. A record that is too long, or whose quoted field is never closed, is
+ * reported with a {@link CsvFormatException} and reading carries on with the line after the one the
+ * record started on, which is usually where the next good record begins.</p>
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+final class CsvReader implements Closeable {
+
+    /**
+     * Default maximum number of characters in one record, line breaks included.
+     */
+    static final int DEFAULT_MAX_RECORD_LENGTH = 65_536;
+
+    private final Reader reader;
+    private final int maxRecordLength;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    // The characters of the current record, kept so that reading can restart on its second line
+    private final StringBuilder raw = new StringBuilder();
+    // Characters to read again before the buffer, after a malformed record was given up
+    private String replay;
+    private int replayPosition;
+    private long line = 1;
+    private long recordLine;
+
+    /**
+     * Constructs a {@code CsvReader} that accepts records of up to {@link #DEFAULT_MAX_RECORD_LENGTH} characters.
+     *
+     * @param reader The source of the CSV text; it is read in blocks, so it need not be buffered.
+     */
+    CsvReader(Reader reader) {
+        this(reader, DEFAULT_MAX_RECORD_LENGTH);
+    }
+
+    /**
+     * Constructs a {@code CsvReader}.
+     *
+     * @param reader The source of the CSV text; it is read in blocks, so it need not be buffered.
+     * @param maxRecordLength The maximum number of characters in one record; must be positive.
+     */
+    CsvReader(Reader reader, int maxRecordLength) {
+        if (maxRecordLength < 1) {
+            throw new IllegalArgumentException("maxRecordLength must be positive but was " + maxRecordLength);
+        }
+        this.reader = reader;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the fields of the record, or {@code null} at the end of the input.
+     * @throws IOException If the input cannot be read.
+     * @throws CsvFormatException If the record is too long or a quoted field is not closed; the next call
+     *         reads on from the line after the one the record started on.
+     */
+    List<String> readRecord() throws IOException, CsvFormatException {
+        raw.setLength(0);
+        int c = readRaw();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        while (true) {
+            if (raw.length() > maxRecordLength) {
+                throw giveUp("Record is longer than " + maxRecordLength + " characters");
+            }
+            if (quoted) {
+                if (c == -1) {
+                    throw giveUp("Quoted field is not closed");
+                }
+                if (c == '"') {
+                    int next = readRaw();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    line++;
+                }
+                // A trailing carriage return belongs to the CRLF line ending, not to the field
+                int last = field.length() - 1;
+                if (!wasQuoted && last >= 0 && field.charAt(last) == '\r') {
+                    field.setLength(last);
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c == '"' && field.length() == 0 && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c != '\r' || !wasQuoted) {
+                field.append((char) c);
+            }
+            c = readRaw();
+        }
+    }
+
+    // Drops the current record and arranges for reading to go on from its second line
+    private CsvFormatException giveUp(String reason) throws IOException {
+        int newline = raw.indexOf("\n");
+        if (newline >= 0) {
+            String rest = replay != null ? replay.substring(replayPosition) : "";
+            replay = raw.substring(newline + 1) + rest;
+            replayPosition = 0;
+            line = recordLine + 1;
+        } else {
+            // The record is a single overlong line; skip what is left of it
+            int c = read();
+            while (c != -1 && c != '\n') {
+                c = read();
+            }
+            if (c == '\n') {
+                line++;
+            }
+        }
+        raw.setLength(0);
+        return new CsvFormatException(reason);
+    }
+
+    /**
+     * Returns the line the last record read started on, counting from 1.
+     *
+     * @return the line number of the last record.
+     */
+    long getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int readRaw() throws IOException {
+        int c = read();
+        if (c != -1) {
+            raw.append((char) c);
+        }
+        return c;
+    }
+
+    private int read() throws IOException {
+        if (replay != null) {
+            if (replayPosition < replay.length()) {
+                return replay.charAt(replayPosition++);
+            }
+            replay = null;
+        }
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    /**
+     * Thrown for a record that cannot be parsed. It only affects that record; reading can go on.
+     */
+    static final class CsvFormatException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        private CsvFormatException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * {@code FileNotificationChannel} is a {@code NotificationChannel} that appends every notification as one
+ * line to a local file instead of sending it, so the output of the dispatcher can be inspected in
+ * development and tests without an e-mail or SMS provider.
+ *
+ * <p>Each line holds the fire time, the channel, the reminder ID, the bill ID and the message, separated by
+ * tabs. Lines are flushed as they are written. A {@code ReentrantLock} rather than {@code synchronized}
+ * serializes the writes, so virtual threads waiting for the file do not pin their carrier threads.</p>
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.service;
+
+import com.paypilot.model.ReminderSettings;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class FileNotificationChannel implements NotificationChannel, Closeable {
+
+    private final String name;
+    private final BufferedWriter writer;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Constructs a {@code FileNotificationChannel} that appends to the given file, creating it if needed.
+     *
+     * @param name The name of the channel, for example "Email".
+     * @param file The file the notifications are appended to.
+     * @throws IOException If the file cannot be opened.
+     */
+    public FileNotificationChannel(String name, Path file) throws IOException {
+        this.name = name;
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Appends one line describing the notification and flushes it.
+     *
+     * @param reminder The reminder to deliver.
+     * @param fireTime The time the reminder was due.
+     * @throws IOException If the line cannot be written.
+     */
+    @Override
+    public void send(ReminderSettings reminder, Date fireTime) throws IOException {
+        String line = fireTime.toInstant() + "\t" + name + "\t" + reminder.getReminderId() + "\t"
+                + (reminder.getBill() != null ? reminder.getBill().getBillId() : "") + "\t"
+                + (reminder.getCustomMessage() != null ? reminder.getCustomMessage().replace('\n', ' ') : "");
+        lock.lock();
+        try {
+            writer.write(line);
+            writer.newLine();
+            writer.flush();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            writer.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * {@code NotificationChannel} delivers a reminder to the user over one medium, such as e-mail or SMS.
+ *
+ * <p>Channels are registered with the {@code NotificationDispatcher} under their name, which is matched
+ * against {@code ReminderSettings.getNotificationPref()} ignoring case. The dispatcher calls
+ * {@link #send(ReminderSettings, Date)} from many threads at once, up to the concurrency limit of the
+ * channel, so implementations must be thread-safe. A send that throws is retried with backoff.</p>
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.service;
+
+import com.paypilot.model.ReminderSettings;
+
+import java.io.IOException;
+import java.util.Date;
+
+public interface NotificationChannel {
+
+    /**
+     * Returns the name of the channel, for example "Email" or "SMS".
+     *
+     * @return the channel name.
+     */
+    String getName();
+
+    /**
+     * Delivers one reminder. The call may block on I/O.
+     *
+     * @param reminder The reminder to deliver.
+     * @param fireTime The time the reminder was due.
+     * @throws IOException If the notification could not be delivered; the dispatcher may retry it.
+     */
+    void send(ReminderSettings reminder, Date fireTime) throws IOException;
+}
@@ -0,0 +1,407 @@
+/**
+ * {@code NotificationDispatcher} delivers due reminders over pluggable {@code NotificationChannel}s.
+ * It is a {@code ReminderListener}, so it can be attached directly to the {@code ReminderScheduler}.
+ *
+ * <p>Business Logic:</p>
+ * Each reminder is routed to the channel named by its notification preference, or to the default channel
+ * if no channel has that name, and queued on that channel, so the scheduler never waits for slow I/O and
+ * never runs a send itself. On Java 21 and later every send runs on its own virtual thread, so thousands of
+ * sends can block on the network at once for the cost of a few carrier threads. On older runtimes a bounded
+ * pool of platform threads is used instead.
+ *
+ * <p>Each channel has its own concurrency limit, enforced with a semaphore. A queued notification only
+ * takes a worker once it holds one of its channel's permits, and gives both back as soon as the attempt
+ * ends, so a provider is never sent more requests at once than it allows and, as long as each limit is
+ * below the pool size, one slow channel cannot use up the capacity of another. A failed send is retried
+ * with exponential backoff and jitter; the wait happens on a separate timer thread, holding neither a
+ * permit nor a worker. A notification that cannot be handed to a worker, for example after
+ * {@link #shutdown(long, TimeUnit)}, is counted as failed rather than dropped. Delivery counts, retries,
+ * failures, latency from dispatch to delivery and throughput are kept per channel.</p>
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.service;
+
+import com.paypilot.model.ReminderSettings;
+
+import java.lang.reflect.Method;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class NotificationDispatcher implements ReminderListener {
+
+    /**
+     * Default number of attempts per notification, including the first one.
+     */
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    /**
+     * Default wait before the first retry, in milliseconds; it doubles after every failed retry.
+     */
+    public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 200;
+
+    /**
+     * Longest wait between two attempts, in milliseconds.
+     */
+    public static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    /**
+     * Default number of platform threads used when virtual threads are not available.
+     */
+    public static final int DEFAULT_FALLBACK_THREADS = 64;
+
+    private static final int FALLBACK_QUEUE_CAPACITY = 10_000;
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    // Waits out the backoff of failed sends, so no worker sleeps
+    private final ScheduledExecutorService retryTimer;
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private final LongAdder unroutedCount = new LongAdder();
+    // Notifications accepted and not yet delivered or given up on, over every channel; guarded by itself when waited on
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile String defaultChannel;
+    private volatile boolean shutDown;
+
+    /**
+     * Constructs a {@code NotificationDispatcher} with the default retry policy.
+     */
+    public NotificationDispatcher() {
+        this(DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_BACKOFF_MILLIS, DEFAULT_FALLBACK_THREADS);
+    }
+
+    /**
+     * Constructs a {@code NotificationDispatcher}.
+     *
+     * @param maxAttempts The number of attempts per notification, including the first one; must be positive.
+     * @param initialBackoffMillis The wait before the first retry, in milliseconds.
+     * @param fallbackThreads The number of platform threads to use if virtual threads are not available.
+     */
+    public NotificationDispatcher(int maxAttempts, long initialBackoffMillis, int fallbackThreads) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be positive but was " + maxAttempts);
+        }
+        if (initialBackoffMillis < 0) {
+            throw new IllegalArgumentException("initialBackoffMillis must not be negative but was " + initialBackoffMillis);
+        }
+        if (fallbackThreads < 1) {
+            throw new IllegalArgumentException("fallbackThreads must be positive but was " + fallbackThreads);
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        ExecutorService virtual = newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : newBoundedPool(fallbackThreads);
+        this.retryTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "notification-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Registers a channel under its name, replacing any channel with the same name.
+     *
+     * @param channel The channel to register.
+     * @param maxConcurrency The maximum number of sends in progress on this channel at once; must be positive.
+     */
+    public void registerChannel(NotificationChannel channel, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive but was " + maxConcurrency);
+        }
+        routes.put(key(channel.getName()), new Route(channel, maxConcurrency));
+    }
+
+    /**
+     * Sets the channel used for reminders whose notification preference does not name a registered channel.
+     *
+     * @param channelName The name of a registered channel, or {@code null} to drop such reminders.
+     */
+    public void setDefaultChannel(String channelName) {
+        this.defaultChannel = channelName;
+    }
+
+    /**
+     * Returns whether notifications are sent on virtual threads.
+     *
+     * @return {@code true} on Java 21 and later, {@code false} if the bounded thread pool is used.
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Dispatches a reminder fired by the {@code ReminderScheduler}.
+     *
+     * @param reminder The reminder that fired.
+     * @param fireTime The time the reminder was due.
+     */
+    @Override
+    public void onReminder(ReminderSettings reminder, Date fireTime) {
+        dispatch(reminder, fireTime);
+    }
+
+    /**
+     * Hands a reminder to its channel. The call returns immediately; the send happens on a worker thread
+     * once the channel has a free permit.
+     *
+     * @param reminder The reminder to deliver.
+     * @param fireTime The time the reminder was due.
+     * @return {@code true} if the reminder was accepted, {@code false} if no channel matches or the dispatcher
+     *         is shut down; a reminder refused after shutdown is counted as failed.
+     */
+    public boolean dispatch(ReminderSettings reminder, Date fireTime) {
+        Route route = routeFor(reminder.getNotificationPref());
+        if (route == null) {
+            unroutedCount.increment();
+            return false;
+        }
+        route.dispatched.increment();
+        if (shutDown) {
+            route.failed.increment();
+            return false;
+        }
+        inFlight.incrementAndGet();
+        route.inFlight.incrementAndGet();
+        route.pending.add(new Delivery(reminder, fireTime, System.nanoTime(), initialBackoffMillis));
+        drain(route);
+        return true;
+    }
+
+    /**
+     * Returns a snapshot of the counters of one channel.
+     *
+     * @param channelName The name of the channel.
+     * @return a {@code NotificationStats} snapshot, or {@code null} if no channel has that name.
+     */
+    public NotificationStats getStats(String channelName) {
+        Route route = routes.get(key(channelName));
+        return route != null ? route.snapshot() : null;
+    }
+
+    /**
+     * Returns a snapshot of the counters of every channel, keyed by channel name.
+     *
+     * @return the {@code NotificationStats} of every registered channel.
+     */
+    public Map<String, NotificationStats> getAllStats() {
+        Map<String, NotificationStats> stats = new LinkedHashMap<>();
+        for (Route route : routes.values()) {
+            stats.put(route.channel.getName(), route.snapshot());
+        }
+        return stats;
+    }
+
+    /**
+     * Returns the number of reminders dropped because no channel matched their notification preference.
+     *
+     * @return the number of unrouted reminders.
+     */
+    public long getUnroutedCount() {
+        return unroutedCount.sum();
+    }
+
+    /**
+     * Stops accepting reminders and waits for the notifications in progress, including their retries.
+     * Retries that are still waiting when the time is up are counted as failed when they come due.
+     *
+     * @param timeout The longest time to wait.
+     * @param unit The unit of {@code timeout}.
+     * @return {@code true} if every notification finished in time.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        shutDown = true;
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (inFlight) {
+            long remaining;
+            while (inFlight.get() > 0 && (remaining = deadline - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(inFlight, remaining);
+            }
+        }
+        boolean finished = inFlight.get() == 0;
+        // Retries still waiting run after the timer shuts down and are refused by the shut-down executor
+        retryTimer.shutdown();
+        executor.shutdown();
+        return finished && executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    // Hands queued notifications of a channel to workers while the channel has free permits
+    private void drain(Route route) {
+        while (route.permits.tryAcquire()) {
+            Delivery delivery = route.pending.poll();
+            if (delivery == null) {
+                route.permits.release();
+                // Something queued while this thread held the last permit would otherwise wait for the next drain
+                if (route.pending.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                executor.execute(() -> attempt(route, delivery));
+            } catch (RejectedExecutionException e) {
+                route.permits.release();
+                route.failed.increment();
+                finish(route);
+            }
+        }
+    }
+
+    // Makes one attempt to send a notification; runs on a worker thread holding one of the channel's permits
+    private void attempt(Route route, Delivery delivery) {
+        Exception failure = null;
+        try {
+            route.channel.send(delivery.reminder, delivery.fireTime);
+        } catch (Exception e) {
+            failure = e;
+        } finally {
+            route.permits.release();
+        }
+
+        if (failure == null) {
+            long latency = System.nanoTime() - delivery.dispatchedAt;
+            route.delivered.increment();
+            route.totalLatencyNanos.add(latency);
+            route.maxLatencyNanos.accumulateAndGet(latency, Math::max);
+            finish(route);
+        } else if (delivery.attempts >= maxAttempts) {
+            route.failed.increment();
+            failure.printStackTrace();
+            finish(route);
+        } else {
+            scheduleRetry(route, delivery);
+        }
+        drain(route);
+    }
+
+    // Queues a failed notification again after its backoff, without holding a permit or a worker meanwhile
+    private void scheduleRetry(Route route, Delivery delivery) {
+        route.retries.increment();
+        // Full backoff plus up to half again as jitter, so failed sends do not retry in lockstep
+        long delay = delivery.backoffMillis + ThreadLocalRandom.current().nextLong(delivery.backoffMillis / 2 + 1);
+        delivery.attempts++;
+        delivery.backoffMillis = Math.min(delivery.backoffMillis * 2, MAX_BACKOFF_MILLIS);
+        try {
+            retryTimer.schedule(() -> {
+                route.pending.add(delivery);
+                drain(route);
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            route.failed.increment();
+            finish(route);
+        }
+    }
+
+    // Records that a notification was delivered or given up on
+    private void finish(Route route) {
+        route.inFlight.decrementAndGet();
+        if (inFlight.decrementAndGet() == 0) {
+            synchronized (inFlight) {
+                inFlight.notifyAll();
+            }
+        }
+    }
+
+    private Route routeFor(String notificationPref) {
+        Route route = notificationPref != null ? routes.get(key(notificationPref)) : null;
+        if (route == null && defaultChannel != null) {
+            route = routes.get(key(defaultChannel));
+        }
+        return route;
+    }
+
+    private static String key(String channelName) {
+        return channelName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() exists from Java 21; looked up reflectively so the code still runs on 17
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newBoundedPool(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(FALLBACK_QUEUE_CAPACITY), r -> {
+                    Thread thread = new Thread(r, "notification-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // The default abort policy: a refused notification must be counted, never run by or lost on the caller
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * A registered channel with its concurrency limit and counters.
+     */
+    private static final class Route {
+        private final NotificationChannel channel;
+        private final Semaphore permits;
+        private final long registeredAt = System.nanoTime();
+        private final LongAdder dispatched = new LongAdder();
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder totalLatencyNanos = new LongAdder();
+        private final AtomicLong maxLatencyNanos = new AtomicLong();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        // Notifications waiting for a permit
+        private final ConcurrentLinkedQueue<Delivery> pending = new ConcurrentLinkedQueue<>();
+
+        private Route(NotificationChannel channel, int maxConcurrency) {
+            this.channel = channel;
+            this.permits = new Semaphore(maxConcurrency);
+        }
+
+        private NotificationStats snapshot() {
+            return new NotificationStats(channel.getName(), dispatched.sum(), delivered.sum(), failed.sum(),
+                    retries.sum(), inFlight.get(), totalLatencyNanos.sum(), maxLatencyNanos.get(),
+                    System.nanoTime() - registeredAt);
+        }
+    }
+
+    /**
+     * One notification on its way to a channel, with the state of its retries.
+     */
+    private static final class Delivery {
+        private final ReminderSettings reminder;
+        private final Date fireTime;
+        private final long dispatchedAt;
+        // Only changed by the worker that made the failed attempt, before the retry is scheduled
+        private int attempts = 1;
+        private long backoffMillis;
+
+        private Delivery(ReminderSettings reminder, Date fireTime, long dispatchedAt, long backoffMillis) {
+            this.reminder = reminder;
+            this.fireTime = fireTime;
+            this.dispatchedAt = dispatchedAt;
+            this.backoffMillis = backoffMillis;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * The {@code NotificationStats} class is an immutable snapshot of the counters of one channel of the
+ * {@code NotificationDispatcher}. It shows how many notifications a channel delivers per second, how
+ * long delivery takes from the moment a reminder is dispatched, and how often the provider fails.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.service;
+
+public class NotificationStats {
+
+    private final String channel;
+    private final long dispatchedCount;
+    private final long deliveredCount;
+    private final long failedCount;
+    private final long retryCount;
+    private final int inFlight;
+    private final long totalLatencyNanos;
+    private final long maxLatencyNanos;
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a new {@code NotificationStats} snapshot.
+     *
+     * @param channel           The name of the channel.
+     * @param dispatchedCount   Notifications handed to the channel.
+     * @param deliveredCount    Notifications the channel delivered.
+     * @param failedCount       Notifications given up on after the last attempt.
+     * @param retryCount        Attempts repeated after a failure.
+     * @param inFlight          Notifications dispatched but not yet delivered or given up on.
+     * @param totalLatencyNanos Sum of the delivery latencies, from dispatch to delivery.
+     * @param maxLatencyNanos   Longest delivery latency.
+     * @param elapsedNanos      Time since the channel was registered.
+     */
+    public NotificationStats(String channel, long dispatchedCount, long deliveredCount, long failedCount,
+                             long retryCount, int inFlight, long totalLatencyNanos, long maxLatencyNanos,
+                             long elapsedNanos) {
+        this.channel = channel;
+        this.dispatchedCount = dispatchedCount;
+        this.deliveredCount = deliveredCount;
+        this.failedCount = failedCount;
+        this.retryCount = retryCount;
+        this.inFlight = inFlight;
+        this.totalLatencyNanos = totalLatencyNanos;
+        this.maxLatencyNanos = maxLatencyNanos;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getChannel() { return channel; }
+
+    public long getDispatchedCount() { return dispatchedCount; }
+
+    public long getDeliveredCount() { return deliveredCount; }
+
+    public long getFailedCount() { return failedCount; }
+
+    public long getRetryCount() { return retryCount; }
+
+    public int getInFlight() { return inFlight; }
+
+    /**
+     * Returns the average time from dispatch to delivery, including waiting for a permit and retries.
+     *
+     * @return the average latency in milliseconds, or 0 if nothing was delivered.
+     */
+    public double getAverageLatencyMillis() {
+        return deliveredCount == 0 ? 0.0 : totalLatencyNanos / 1_000_000.0 / deliveredCount;
+    }
+
+    /**
+     * Returns the longest time from dispatch to delivery.
+     *
+     * @return the maximum latency in milliseconds.
+     */
+    public double getMaxLatencyMillis() {
+        return maxLatencyNanos / 1_000_000.0;
+    }
+
+    /**
+     * Returns the average number of notifications delivered per second since the channel was registered.
+     *
+     * @return the throughput in notifications per second.
+     */
+    public double getThroughputPerSecond() {
+        return elapsedNanos <= 0 ? 0.0 : deliveredCount * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Returns a string representation of the {@code NotificationStats} object, including all its fields.
+     *
+     * @return a string representation of the channel statistics.
+     */
+    @Override
+    public String toString() {
+        return "NotificationStats{" +
+                "channel='" + channel + '\'' +
+                ", dispatchedCount=" + dispatchedCount +
+                ", deliveredCount=" + deliveredCount +
+                ", failedCount=" + failedCount +
+                ", retryCount=" + retryCount +
+                ", inFlight=" + inFlight +
+                ", averageLatencyMillis=" + String.format("%.2f", getAverageLatencyMillis()) +
+                ", maxLatencyMillis=" + String.format("%.2f", getMaxLatencyMillis()) +
+                ", throughputPerSecond=" + String.format("%.1f", getThroughputPerSecond()) +
+                '}';
+    }
+}
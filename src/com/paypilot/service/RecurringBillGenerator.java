@@ -0,0 +1,356 @@
+/**
+ * {@code RecurringBillGenerator} creates the future instances of recurring bills, so that next month's
+ * rent or phone bill exists before it comes due.
+ *
+ * <p>Business Logic:</p>
+ * The recurring bills are read in one streaming pass and grouped into series: bills of the same user with
+ * the same name, category and frequency. For every series the next due dates are computed with
+ * {@code java.time} from its anchor, the earliest due date it had when the generator first saw it, so a
+ * bill due on the 31st falls on the last day of shorter months and returns to the 31st afterwards. Only
+ * due dates after the latest one of the series and no earlier than today are generated, up to the end of
+ * the look-ahead window; occurrences that were missed while no generator ran are not back-filled.
+ *
+ * <p>Paying a bill clears its due date, so the bills alone do not show how far a series has been
+ * generated. The anchor and the latest due date created are therefore stored per series through the
+ * {@code RecurringSeriesDAO}, and generation continues from the later of that date and the latest unpaid
+ * bill. Running the generator again creates nothing new, even if instances were paid ahead of time, and
+ * paying the first bill does not move the series' day. New instances are copies of the latest bill of
+ * their series with status Upcoming, and are stored with one batched insert per chunk before the series
+ * are saved. Rows the database rejects are reported in the result and not retried. If the series cannot
+ * be read, nothing is generated.</p>
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.service;
+
+import com.paypilot.model.Bill;
+import com.paypilot.repo.BatchInsertResult;
+import com.paypilot.repo.BillDAO;
+import com.paypilot.repo.BillRepository;
+import com.paypilot.repo.RecurringSeries;
+import com.paypilot.repo.RecurringSeriesDAO;
+import com.paypilot.repo.UncheckedSQLException;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class RecurringBillGenerator {
+
+    /**
+     * Default number of days ahead for which instances are created.
+     */
+    public static final int DEFAULT_LOOK_AHEAD_DAYS = 90;
+
+    /**
+     * Default number of new bills stored per batched insert.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = BillDAO.DEFAULT_BATCH_SIZE;
+
+    private static final String STATUS_UPCOMING = "Upcoming";
+
+    private final BillRepository billRepository;
+    private final RecurringSeriesDAO seriesDAO;
+    private final ZoneId zone;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    /**
+     * Constructs a {@code RecurringBillGenerator} that works with dates in the system time zone.
+     *
+     * @param billRepository The repository the recurring bills are read from and the new bills are stored in.
+     */
+    public RecurringBillGenerator(BillRepository billRepository) {
+        this(billRepository, ZoneId.systemDefault());
+    }
+
+    /**
+     * Constructs a {@code RecurringBillGenerator}.
+     *
+     * @param billRepository The repository the recurring bills are read from and the new bills are stored in.
+     * @param zone The time zone in which due dates are treated as calendar days.
+     */
+    public RecurringBillGenerator(BillRepository billRepository, ZoneId zone) {
+        this(billRepository, new RecurringSeriesDAO(), zone);
+    }
+
+    /**
+     * Constructs a {@code RecurringBillGenerator}.
+     *
+     * @param billRepository The repository the recurring bills are read from and the new bills are stored in.
+     * @param seriesDAO The DAO the generation state of every series is kept in.
+     * @param zone The time zone in which due dates are treated as calendar days.
+     */
+    public RecurringBillGenerator(BillRepository billRepository, RecurringSeriesDAO seriesDAO, ZoneId zone) {
+        this.billRepository = billRepository;
+        this.seriesDAO = seriesDAO;
+        this.zone = zone;
+    }
+
+    /**
+     * Creates the instances due in the next {@link #DEFAULT_LOOK_AHEAD_DAYS} days.
+     *
+     * @param asOf The first day of the window, normally today.
+     * @return A {@code BatchInsertResult} with the number of bills created and any rejected rows.
+     */
+    public BatchInsertResult generate(LocalDate asOf) {
+        return generate(asOf, DEFAULT_LOOK_AHEAD_DAYS);
+    }
+
+    /**
+     * Creates the instances of every recurring series that are due within the look-ahead window.
+     *
+     * @param asOf The first day of the window, normally today.
+     * @param lookAheadDays The length of the window in days; must not be negative.
+     * @return A {@code BatchInsertResult} with the number of bills created and any rejected rows.
+     */
+    public BatchInsertResult generate(LocalDate asOf, int lookAheadDays) {
+        BatchInsertResult result = new BatchInsertResult();
+        Map<String, RecurringSeries> state;
+        try {
+            state = seriesDAO.getAllSeries();
+        } catch (SQLException | ClassNotFoundException e) {
+            // Without the stored state, instances paid ahead of time would be created again
+            e.printStackTrace();
+            return result;
+        }
+        Set<String> known = new HashSet<>(state.keySet());
+        List<Bill> instances;
+        try (Stream<Bill> recurring = billRepository.streamRecurringBills()) {
+            instances = plan(recurring, state, asOf, lookAheadDays);
+        } catch (UncheckedSQLException e) {
+            // Planning from part of the series would skip some of them until the next run
+            e.printStackTrace();
+            return result;
+        }
+
+        Map<String, RecurringSeries> changed = new HashMap<>();
+        for (Map.Entry<String, RecurringSeries> series : state.entrySet()) {
+            if (!known.contains(series.getKey())) {
+                changed.put(series.getKey(), series.getValue());
+            }
+        }
+        for (int start = 0; start < instances.size(); start += chunkSize) {
+            List<Bill> chunk = instances.subList(start, Math.min(start + chunkSize, instances.size()));
+            BatchInsertResult stored = billRepository.addBills(chunk);
+            result.merge(stored);
+            advance(chunk, stored, state, changed);
+        }
+        try {
+            seriesDAO.saveSeries(changed.values());
+        } catch (SQLException | ClassNotFoundException e) {
+            // The unpaid instances just created still show how far the series got
+            e.printStackTrace();
+        }
+        return result;
+    }
+
+    /**
+     * Works out the instances to create for the given recurring bills, without storing them.
+     *
+     * @param recurring The existing recurring bills; bills without a due date or a known frequency are ignored.
+     * @param asOf The first day of the window, normally today.
+     * @param lookAheadDays The length of the window in days; must not be negative.
+     * @return The new bills, without IDs, ordered by series and due date.
+     */
+    public List<Bill> plan(Stream<Bill> recurring, LocalDate asOf, int lookAheadDays) {
+        return plan(recurring, new HashMap<>(), asOf, lookAheadDays);
+    }
+
+    /**
+     * Works out the instances to create for the given recurring bills and the stored state of their series,
+     * without storing them. Series seen for the first time are added to {@code state}, anchored on their
+     * earliest due date.
+     *
+     * @param recurring The existing recurring bills; bills without a known frequency are ignored, and bills
+     *                  without a due date only serve as a template.
+     * @param state The stored series keyed by series key; new series are added to it.
+     * @param asOf The first day of the window, normally today.
+     * @param lookAheadDays The length of the window in days; must not be negative.
+     * @return The new bills, without IDs, ordered by series and due date.
+     */
+    public List<Bill> plan(Stream<Bill> recurring, Map<String, RecurringSeries> state, LocalDate asOf, int lookAheadDays) {
+        if (lookAheadDays < 0) {
+            throw new IllegalArgumentException("lookAheadDays must not be negative but was " + lookAheadDays);
+        }
+        Map<SeriesKey, Series> series = new HashMap<>();
+        recurring.forEach(bill -> {
+            ChronoUnit unit = ReminderScheduler.unitFor(bill.getReminderFrequency());
+            if (bill.isRecurring() && unit != null) {
+                LocalDate dueDate = bill.getDueDate() != null ? toLocalDate(bill.getDueDate()) : null;
+                series.computeIfAbsent(new SeriesKey(bill), k -> new Series(unit)).add(bill, dueDate);
+            }
+        });
+
+        LocalDate horizon = asOf.plusDays(lookAheadDays);
+        List<Bill> instances = new ArrayList<>();
+        for (Map.Entry<SeriesKey, Series> entry : series.entrySet()) {
+            Series s = entry.getValue();
+            String key = entry.getKey().encode();
+            RecurringSeries stored = state.get(key);
+            if (stored == null) {
+                if (s.anchor == null) {
+                    // Never generated and no bill with a due date to start from
+                    continue;
+                }
+                stored = new RecurringSeries(key, s.anchor, s.latestDue);
+                state.put(key, stored);
+            }
+            LocalDate anchor = stored.getAnchorDate();
+            LocalDate latestDue = latest(latest(s.latestDue, stored.getGeneratedThrough()), anchor);
+
+            // Jump close to the first occurrence after the latest due date and not before today, then step to it
+            LocalDate from = latestDue.isAfter(asOf) ? latestDue : asOf;
+            long n = Math.max(1, s.unit.between(anchor, from));
+            LocalDate next = anchor.plus(n, s.unit);
+            while (!next.isAfter(latestDue) || next.isBefore(asOf)) {
+                next = anchor.plus(++n, s.unit);
+            }
+            for (; !next.isAfter(horizon); next = anchor.plus(++n, s.unit)) {
+                instances.add(instanceOf(s.template(), next));
+            }
+        }
+        return instances;
+    }
+
+    /**
+     * Sets the number of new bills stored per batched insert.
+     *
+     * @param chunkSize The number of bills per chunk; must be positive.
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive but was " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    // Moves the series of every stored instance of the chunk up to that instance's due date
+    private void advance(List<Bill> chunk, BatchInsertResult stored, Map<String, RecurringSeries> state,
+            Map<String, RecurringSeries> changed) {
+        Set<Bill> rejected = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (BatchInsertResult.RowFailure failure : stored.getFailures()) {
+            rejected.add(failure.getBill());
+        }
+        for (Bill instance : chunk) {
+            if (!rejected.contains(instance)) {
+                String key = new SeriesKey(instance).encode();
+                RecurringSeries series = state.get(key);
+                series.setGeneratedThrough(latest(series.getGeneratedThrough(), toLocalDate(instance.getDueDate())));
+                changed.put(key, series);
+            }
+        }
+    }
+
+    private static LocalDate latest(LocalDate a, LocalDate b) {
+        if (a == null || b == null) {
+            return a != null ? a : b;
+        }
+        return a.isAfter(b) ? a : b;
+    }
+
+    private Bill instanceOf(Bill template, LocalDate dueDate) {
+        Bill bill = new Bill(0, template.getBillName(), template.getBillCategory(),
+                Date.from(dueDate.atStartOfDay(zone).toInstant()), template.getAmount(),
+                template.getReminderFrequency(), template.getAttachment(), template.getNotes(), true,
+                STATUS_UPCOMING, 0, null);
+        bill.setUserId(template.getUserId());
+        return bill;
+    }
+
+    // java.sql.Date does not support toInstant(), so the day is taken from the epoch milliseconds
+    private LocalDate toLocalDate(Date date) {
+        return Instant.ofEpochMilli(date.getTime()).atZone(zone).toLocalDate();
+    }
+
+    /**
+     * Identifies a series: bills of the same user with the same name, category and frequency.
+     */
+    private static final class SeriesKey {
+        private final Integer userId;
+        private final String name;
+        private final String category;
+        private final String frequency;
+
+        private SeriesKey(Bill bill) {
+            this.userId = bill.getUserId();
+            this.name = bill.getBillName();
+            this.category = bill.getBillCategory();
+            this.frequency = bill.getReminderFrequency().trim().toLowerCase(Locale.ROOT);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof SeriesKey)) {
+                return false;
+            }
+            SeriesKey other = (SeriesKey) o;
+            return Objects.equals(userId, other.userId) && Objects.equals(name, other.name)
+                    && Objects.equals(category, other.category) && frequency.equals(other.frequency);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, name, category, frequency);
+        }
+
+        // The key the series is stored under; every part is length-prefixed so that no two series share one
+        private String encode() {
+            return part(userId != null ? userId.toString() : null) + part(name) + part(category) + part(frequency);
+        }
+
+        private static String part(String value) {
+            return value != null ? value.length() + ":" + value + "|" : "-|";
+        }
+    }
+
+    /**
+     * The earliest and the latest bill of a series, and a paid bill to copy if it has no unpaid one.
+     */
+    private static final class Series {
+        private final ChronoUnit unit;
+        private LocalDate anchor;
+        private LocalDate latestDue;
+        private Bill latest;
+        private Bill latestPaid;
+
+        private Series(ChronoUnit unit) {
+            this.unit = unit;
+        }
+
+        private void add(Bill bill, LocalDate dueDate) {
+            if (dueDate == null) {
+                // Bills are created in ID order, so the highest ID is the most recent instance
+                if (latestPaid == null || bill.getBillId() > latestPaid.getBillId()) {
+                    latestPaid = bill;
+                }
+                return;
+            }
+            if (anchor == null || dueDate.isBefore(anchor)) {
+                anchor = dueDate;
+            }
+            if (latestDue == null || dueDate.isAfter(latestDue)) {
+                latestDue = dueDate;
+                latest = bill;
+            }
+        }
+
+        private Bill template() {
+            return latest != null ? latest : latestPaid;
+        }
+    }
+}
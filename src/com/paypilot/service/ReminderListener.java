@@ -0,0 +1,26 @@
+/**
+ * {@code ReminderListener} receives the reminders fired by the {@code ReminderScheduler}.
+ *
+ * <p>Listeners are called on the scheduler's thread, one reminder at a time, so an implementation
+ * that does slow work, such as sending an e-mail, should hand the reminder off instead of blocking.</p>
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.service;
+
+import com.paypilot.model.ReminderSettings;
+
+import java.util.Date;
+
+@FunctionalInterface
+public interface ReminderListener {
+
+    /**
+     * Called when a reminder is due.
+     *
+     * @param reminder The {@code ReminderSettings} that fired.
+     * @param fireTime The time the reminder was scheduled for, which may be up to one tick earlier than now.
+     */
+    void onReminder(ReminderSettings reminder, Date fireTime);
+}
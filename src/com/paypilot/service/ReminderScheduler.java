@@ -0,0 +1,427 @@
+/**
+ * {@code ReminderScheduler} fires reminders at their due time from an in-process hierarchical timing wheel.
+ *
+ * <p>Business Logic:</p>
+ * Each active reminder is kept in exactly one bucket of the wheel, chosen by its next fire time. The
+ * lowest level has one bucket per tick; every higher level has buckets as wide as the whole level below
+ * it, so a few levels cover years while each level stays small. Scheduling and cancelling a reminder
+ * only link or unlink it in a bucket and update an ID index, which costs the same whether one or
+ * millions of reminders are pending. On every tick the current lowest-level bucket is fired, and when
+ * a higher-level bucket comes due its reminders are moved down to the finer levels.
+ *
+ * <p>Reminders are never fired early: a reminder fires on the first tick that ends after its due time.
+ * Daily, Weekly, Monthly and Yearly reminders are re-armed when they fire. Their occurrences are counted
+ * from the start date in the scheduler's time zone, so a reminder starting on the 31st fires on the last
+ * day of shorter months and returns to the 31st afterwards. Occurrences that passed before a reminder
+ * was scheduled are skipped, and a reminder with any other frequency fires once.</p>
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.service;
+
+import com.paypilot.model.ReminderSettings;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+public class ReminderScheduler {
+
+    /**
+     * Default width of a lowest-level bucket, in milliseconds.
+     */
+    public static final long DEFAULT_TICK_MILLIS = 1_000;
+
+    /**
+     * Default number of buckets per level. With one-second ticks, three levels cover about 1.5 years.
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private final ReminderListener listener;
+    private final long tickMillis;
+    private final int wheelSize;
+    private final LongSupplier clock;
+    private final ZoneId zone;
+
+    // Guards the wheel, the ID index, the current time and the counters
+    private final Object lock = new Object();
+    private final List<Bucket[]> levels = new ArrayList<>();
+    private final Map<Integer, Timer> timers = new HashMap<>();
+
+    // Start of the lowest-level bucket that fires next; every reminder due before it has fired
+    private long currentTime;
+    private long firedCount;
+
+    private ScheduledExecutorService ticker;
+
+    /**
+     * Constructs a {@code ReminderScheduler} with the default tick and wheel size, using the system clock and time zone.
+     *
+     * @param listener The {@code ReminderListener} called for every reminder that fires.
+     */
+    public ReminderScheduler(ReminderListener listener) {
+        this(listener, DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE, System::currentTimeMillis, ZoneId.systemDefault());
+    }
+
+    /**
+     * Constructs a {@code ReminderScheduler}.
+     *
+     * @param listener The {@code ReminderListener} called for every reminder that fires.
+     * @param tickMillis The width of a lowest-level bucket in milliseconds, which is also the firing precision.
+     * @param wheelSize The number of buckets per level; must be at least 2.
+     * @param clock The source of the current time in epoch milliseconds.
+     * @param zone The time zone in which daily, weekly, monthly and yearly occurrences are counted.
+     */
+    public ReminderScheduler(ReminderListener listener, long tickMillis, int wheelSize, LongSupplier clock, ZoneId zone) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("tickMillis must be positive but was " + tickMillis);
+        }
+        if (wheelSize < 2) {
+            throw new IllegalArgumentException("wheelSize must be at least 2 but was " + wheelSize);
+        }
+        this.listener = listener;
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.clock = clock;
+        this.zone = zone;
+        long now = clock.getAsLong();
+        this.currentTime = now - Math.floorMod(now, tickMillis);
+        levels.add(newLevel());
+    }
+
+    /**
+     * Returns whether a reminder should be scheduled. The DAO stores the notification preference in the
+     * {@code active} column, so a preference of "No", "N", "false" or "0" marks the reminder as inactive.
+     *
+     * @param reminder The reminder to check.
+     * @return {@code true} if the reminder is active.
+     */
+    public static boolean isActive(ReminderSettings reminder) {
+        String pref = reminder.getNotificationPref();
+        if (pref == null) {
+            return true;
+        }
+        String value = pref.trim();
+        return !(value.equalsIgnoreCase("No") || value.equalsIgnoreCase("N")
+                || value.equalsIgnoreCase("false") || value.equals("0"));
+    }
+
+    /**
+     * Schedules a reminder, replacing any reminder already scheduled with the same ID.
+     * Inactive reminders and reminders without a start date are removed instead.
+     *
+     * @param reminder The reminder to schedule.
+     * @return {@code true} if the reminder has a future occurrence and was scheduled.
+     */
+    public boolean schedule(ReminderSettings reminder) {
+        if (!isActive(reminder) || reminder.getReminderStartDate() == null) {
+            cancel(reminder.getReminderId());
+            return false;
+        }
+        Timer timer = new Timer(reminder, unitFor(reminder.getReminderFrequency()),
+                Instant.ofEpochMilli(reminder.getReminderStartDate().getTime()).atZone(zone));
+        synchronized (lock) {
+            Timer previous = timers.remove(reminder.getReminderId());
+            if (previous != null) {
+                previous.unlink();
+            }
+            // Occurrences before the current tick were missed and are skipped
+            long due = timer.nextFireTime(currentTime);
+            if (due == Long.MIN_VALUE) {
+                return false;
+            }
+            timers.put(reminder.getReminderId(), timer);
+            insert(timer, due);
+        }
+        return true;
+    }
+
+    /**
+     * Schedules many reminders, for example all active reminders when the application starts.
+     *
+     * @param reminders The reminders to schedule.
+     * @return The number of reminders that were scheduled.
+     */
+    public int scheduleAll(Collection<ReminderSettings> reminders) {
+        int scheduled = 0;
+        for (ReminderSettings reminder : reminders) {
+            if (schedule(reminder)) {
+                scheduled++;
+            }
+        }
+        return scheduled;
+    }
+
+    /**
+     * Removes a reminder from the schedule.
+     *
+     * @param reminderId The ID of the reminder to remove.
+     * @return {@code true} if the reminder was scheduled.
+     */
+    public boolean cancel(int reminderId) {
+        synchronized (lock) {
+            Timer timer = timers.remove(reminderId);
+            if (timer == null) {
+                return false;
+            }
+            timer.unlink();
+            return true;
+        }
+    }
+
+    /**
+     * Fires every reminder due before the end of the last tick that has fully passed at {@code now},
+     * and re-arms the recurring ones. If the wheel fell behind, every occurrence it passes is fired. The listener is called on the calling thread after the wheel has
+     * been updated, so it may schedule or cancel reminders itself.
+     *
+     * @param now The current time in epoch milliseconds.
+     * @return The number of reminders fired.
+     */
+    public int advanceTo(long now) {
+        List<Timer> fired = new ArrayList<>();
+        List<Long> fireTimes = new ArrayList<>();
+        synchronized (lock) {
+            if (timers.isEmpty()) {
+                currentTime = Math.max(currentTime, now - Math.floorMod(now, tickMillis));
+                return 0;
+            }
+            List<Timer> due = new ArrayList<>();
+            while (currentTime + tickMillis <= now) {
+                levels.get(0)[slot(currentTime, tickMillis)].drainTo(due);
+                currentTime += tickMillis;
+                cascade();
+                for (Timer timer : due) {
+                    fired.add(timer);
+                    fireTimes.add(timer.expiration);
+                    // Re-arm within the loop, so a long advance also fires the later occurrences it passes
+                    if (timer.unit != null) {
+                        insert(timer, timer.nextFireTime(timer.expiration + 1));
+                    } else {
+                        timers.remove(timer.reminder.getReminderId(), timer);
+                    }
+                }
+                due.clear();
+            }
+            firedCount += fired.size();
+        }
+        for (int i = 0; i < fired.size(); i++) {
+            try {
+                listener.onReminder(fired.get(i).reminder, new Date(fireTimes.get(i)));
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        return fired.size();
+    }
+
+    /**
+     * Starts a background thread that advances the wheel once per tick.
+     */
+    public void start() {
+        synchronized (lock) {
+            if (ticker != null) {
+                return;
+            }
+            ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "reminder-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ticker.scheduleAtFixedRate(() -> advanceTo(clock.getAsLong()), tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the background thread. Scheduled reminders are kept and fire again once restarted.
+     */
+    public void shutdown() {
+        synchronized (lock) {
+            if (ticker != null) {
+                ticker.shutdownNow();
+                ticker = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of reminders waiting to fire.
+     *
+     * @return the number of scheduled reminders.
+     */
+    public int getPendingCount() {
+        synchronized (lock) {
+            return timers.size();
+        }
+    }
+
+    /**
+     * Returns the number of reminders fired since the scheduler was created.
+     *
+     * @return the number of fired reminders.
+     */
+    public long getFiredCount() {
+        synchronized (lock) {
+            return firedCount;
+        }
+    }
+
+    // Moves the higher-level buckets that start at the new current time down to the finer levels
+    private void cascade() {
+        long tick = tickMillis;
+        for (int level = 1; level < levels.size(); level++) {
+            tick *= wheelSize;
+            // Each level's bucket boundaries are also boundaries of every level below it
+            if (Math.floorMod(currentTime, tick) != 0) {
+                return;
+            }
+            List<Timer> moved = new ArrayList<>();
+            levels.get(level)[slot(currentTime, tick)].drainTo(moved);
+            for (Timer timer : moved) {
+                insert(timer, timer.expiration);
+            }
+        }
+    }
+
+    // Links the timer into the finest level whose span reaches its fire time; caller holds the lock
+    private void insert(Timer timer, long expiration) {
+        timer.expiration = expiration;
+        long due = Math.max(expiration, currentTime);
+        long tick = tickMillis;
+        for (int level = 0; ; level++) {
+            if (level == levels.size()) {
+                levels.add(newLevel());
+            }
+            long levelStart = currentTime - Math.floorMod(currentTime, tick);
+            boolean topLevel = tick > Long.MAX_VALUE / wheelSize / 2;
+            if (topLevel || due < levelStart + tick * wheelSize) {
+                levels.get(level)[slot(due, tick)].add(timer);
+                return;
+            }
+            tick *= wheelSize;
+        }
+    }
+
+    private int slot(long time, long tick) {
+        return (int) Math.floorMod(Math.floorDiv(time, tick), (long) wheelSize);
+    }
+
+    private Bucket[] newLevel() {
+        Bucket[] buckets = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new Bucket();
+        }
+        return buckets;
+    }
+
+    // Also used by the RecurringBillGenerator, so bills and their reminders agree on the frequency names
+    static ChronoUnit unitFor(String frequency) {
+        if (frequency == null) {
+            return null;
+        }
+        switch (frequency.trim().toLowerCase()) {
+            case "daily":
+                return ChronoUnit.DAYS;
+            case "weekly":
+                return ChronoUnit.WEEKS;
+            case "monthly":
+                return ChronoUnit.MONTHS;
+            case "yearly":
+            case "annually":
+                return ChronoUnit.YEARS;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * A scheduled reminder, linked into one bucket of the wheel.
+     */
+    private static final class Timer {
+        private final ReminderSettings reminder;
+        private final ChronoUnit unit;
+        private final ZonedDateTime start;
+        private long occurrence;
+        private long expiration;
+        private Bucket bucket;
+        private Timer prev;
+        private Timer next;
+
+        private Timer(ReminderSettings reminder, ChronoUnit unit, ZonedDateTime start) {
+            this.reminder = reminder;
+            this.unit = unit;
+            this.start = start;
+        }
+
+        // Returns the first occurrence at or after notBefore and remembers it, or Long.MIN_VALUE if there is none
+        private long nextFireTime(long notBefore) {
+            if (unit == null) {
+                long once = start.toInstant().toEpochMilli();
+                return once >= notBefore ? once : Long.MIN_VALUE;
+            }
+            ZonedDateTime earliest = Instant.ofEpochMilli(notBefore).atZone(start.getZone());
+            // Jump close to the target, then step, so long-running reminders do not replay every occurrence
+            long candidate = Math.max(occurrence, unit.between(start, earliest));
+            while (start.plus(candidate, unit).toInstant().toEpochMilli() < notBefore) {
+                candidate++;
+            }
+            occurrence = candidate + 1;
+            return start.plus(candidate, unit).toInstant().toEpochMilli();
+        }
+
+        private void unlink() {
+            if (bucket != null) {
+                prev.next = next;
+                next.prev = prev;
+                prev = null;
+                next = null;
+                bucket = null;
+            }
+        }
+    }
+
+    /**
+     * A circular doubly linked list of timers with a sentinel, so that adding and removing are constant time.
+     */
+    private static final class Bucket {
+        private final Timer head = new Timer(null, null, null);
+
+        private Bucket() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        private void add(Timer timer) {
+            timer.bucket = this;
+            timer.prev = head.prev;
+            timer.next = head;
+            head.prev.next = timer;
+            head.prev = timer;
+        }
+
+        private void drainTo(List<Timer> out) {
+            Timer timer = head.next;
+            while (timer != head) {
+                Timer following = timer.next;
+                timer.prev = null;
+                timer.next = null;
+                timer.bucket = null;
+                out.add(timer);
+                timer = following;
+            }
+            head.prev = head;
+            head.next = head;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 /**
  * {@code ReminderSettingsService} provides the service methods for managing reminder settings.
  * It interacts with the {@code ReminderSettingsRepository} to perform CRUD operations on reminders.
+ * When a {@code ReminderScheduler} is set, every add, update and delete is also applied to the schedule,
+ * so the scheduler stays in step with the database without reloading it.
  * 
  * <p>Author: Anshul</p>
  * <p>Date: 09-08-2024</p>
@@ -8,8 +10,12 @@
 package com.paypilot.service;
 
 import com.paypilot.model.ReminderSettings;
+import com.paypilot.repo.ExportFormat;
 import com.paypilot.repo.ReminderSettingsRepository;
+import com.paypilot.repo.TableExporter;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +26,11 @@ public class ReminderSettingsService {
      */
     private ReminderSettingsRepository reminderSettingsRepository;
 
+    /**
+     * The scheduler that fires the reminders, or {@code null} if reminders are not fired in this process.
+     */
+    private ReminderScheduler reminderScheduler;
+
     /**
      * Constructs a {@code ReminderSettingsService} with the specified {@code ReminderSettingsRepository}.
      * 
@@ -36,6 +47,9 @@ public class ReminderSettingsService {
      */
     public void addReminderService(ReminderSettings reminderSettings) {
         reminderSettingsRepository.addReminder(reminderSettings);
+        if (reminderScheduler != null) {
+            reminderScheduler.schedule(reminderSettings);
+        }
     }
 
     /**
@@ -45,6 +59,9 @@ public class ReminderSettingsService {
      */
     public void updateReminderService(ReminderSettings reminderSettings) {
         reminderSettingsRepository.updateReminder(reminderSettings);
+        if (reminderScheduler != null) {
+            reminderScheduler.schedule(reminderSettings);
+        }
     }
 
     /**
@@ -54,6 +71,9 @@ public class ReminderSettingsService {
      */
     public void deleteReminderService(int reminderId) {
         reminderSettingsRepository.deleteReminder(reminderId);
+        if (reminderScheduler != null) {
+            reminderScheduler.cancel(reminderId);
+        }
     }
     
     /**
@@ -72,6 +92,34 @@ public class ReminderSettingsService {
      * @return A list of all {@code ReminderSettings} objects.
      */
     public List<ReminderSettings> getAllRemindersService() {
-        return reminderSettingsRepository.getAllReminders();
+        return ServiceOperationEvent.record("getAllRemindersService", reminderSettingsRepository::getAllReminders, List::size);
+    }
+
+    /**
+     * Exports every reminder setting to a file. The reminders are streamed from the database,
+     * so memory use does not grow with the number of reminders.
+     * 
+     * @param file The file to write; it is replaced if it exists.
+     * @param format The format to write.
+     * @param gzip Whether to gzip-compress the file.
+     * @return The number of reminders exported.
+     * @throws IOException If the file cannot be written or the database fails part of the way.
+     */
+    public long exportRemindersService(Path file, ExportFormat format, boolean gzip) throws IOException {
+        return new TableExporter().exportReminders(file, format, gzip);
+    }
+
+    /**
+     * Sets the scheduler that fires the reminders and loads every active reminder into it.
+     * From then on, reminders added, updated or deleted through this service are scheduled,
+     * rescheduled or cancelled accordingly.
+     * 
+     * @param reminderScheduler The {@code ReminderScheduler} to keep in step with the repository.
+     * @return The number of active reminders that were scheduled.
+     */
+    public int attachReminderScheduler(ReminderScheduler reminderScheduler) {
+        this.reminderScheduler = reminderScheduler;
+        return ServiceOperationEvent.record("attachReminderScheduler",
+                () -> reminderScheduler.scheduleAll(reminderSettingsRepository.getActiveReminders()), Integer::intValue);
     }
 }
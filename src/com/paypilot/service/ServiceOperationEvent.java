@@ -0,0 +1,99 @@
+/**
+ * The {@code ServiceOperationEvent} class is the Java Flight Recorder event emitted around business
+ * operations such as marking a bill as paid, listing overdue bills or loading reminders, so that
+ * recordings can attribute time to them rather than only to the DAO calls they make.
+ *
+ * <p>Business Logic:</p>
+ * A service method runs its work through {@link #record(String, Supplier, ToLongFunction)}, which times it
+ * and stores its result or the exception it failed with, so that failed operations are recorded too and
+ * are not mistaken for missing ones. Recording the result only stores a few fields, so the event costs
+ * next to nothing when no recording is running or the event is disabled.
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+@Name("com.paypilot.ServiceOperation")
+@Label("Service Operation")
+@Category({"PayPilot", "Service"})
+@Description("A business operation on bills or reminders")
+@StackTrace(false)
+public class ServiceOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Bill ID")
+    @Description("ID of the bill the operation works on, or 0")
+    int billId;
+
+    @Label("Category")
+    @Description("Bill category the operation is restricted to")
+    String category;
+
+    @Label("Rows")
+    @Description("Bills or reminders returned or updated")
+    long rowCount;
+
+    @Label("Error")
+    @Description("Class of the exception the operation failed with, or null if it succeeded")
+    String error;
+
+    /**
+     * Runs an operation and records it, including the exception it fails with.
+     *
+     * @param operation The name of the service method.
+     * @param op The operation to run.
+     * @param rowCount Returns the number of bills or reminders the result holds or updated.
+     * @param <T> The result type of the operation.
+     * @return the result of the operation.
+     */
+    static <T> T record(String operation, Supplier<T> op, ToLongFunction<T> rowCount) {
+        return record(operation, result -> 0, null, op, rowCount);
+    }
+
+    /**
+     * Runs an operation on a bill or a bill category and records it, including the exception it fails with.
+     *
+     * @param operation The name of the service method.
+     * @param billId Returns the ID of the bill the operation works on, or 0; it is given the result so
+     *        that an ID assigned by the operation can be recorded.
+     * @param category The bill category the operation is restricted to, or {@code null}.
+     * @param op The operation to run.
+     * @param rowCount Returns the number of bills or reminders the result holds or updated.
+     * @param <T> The result type of the operation.
+     * @return the result of the operation.
+     */
+    static <T> T record(String operation, ToIntFunction<T> billId, String category, Supplier<T> op, ToLongFunction<T> rowCount) {
+        ServiceOperationEvent event = new ServiceOperationEvent();
+        event.operation = operation;
+        event.category = category;
+        event.begin();
+        try {
+            T result = op.get();
+            event.billId = billId.applyAsInt(result);
+            event.rowCount = rowCount.applyAsLong(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            event.error = e.getClass().getName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+        }
+    }
+}
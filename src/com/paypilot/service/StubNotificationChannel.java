@@ -0,0 +1,94 @@
+/**
+ * {@code StubNotificationChannel} is a {@code NotificationChannel} that delivers nothing. It keeps the
+ * reminders it was asked to send in memory, and can simulate a slow provider and transient failures.
+ *
+ * <p>It is meant for tests and load tests of the {@code NotificationDispatcher}: the latency stands in for
+ * the round trip to an e-mail or SMS gateway, and the first {@code failuresPerReminder} attempts for each
+ * reminder fail, which exercises the dispatcher's retries.</p>
+ *
+ * <p>Author: Ayush Madan</p>
+ * <p>Date: 17-10-2026</p>
+ */
+package com.paypilot.service;
+
+import com.paypilot.model.ReminderSettings;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StubNotificationChannel implements NotificationChannel {
+
+    private final String name;
+    private final long latencyMillis;
+    private final int failuresPerReminder;
+    private final List<ReminderSettings> sent = Collections.synchronizedList(new ArrayList<>());
+    private final Map<Integer, AtomicInteger> attempts = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a {@code StubNotificationChannel} that accepts every reminder immediately.
+     *
+     * @param name The name of the channel, for example "Email".
+     */
+    public StubNotificationChannel(String name) {
+        this(name, 0, 0);
+    }
+
+    /**
+     * Constructs a {@code StubNotificationChannel} that simulates a slow or unreliable provider.
+     *
+     * @param name The name of the channel, for example "Email".
+     * @param latencyMillis How long each send blocks, in milliseconds.
+     * @param failuresPerReminder How many attempts fail for each reminder before one succeeds.
+     */
+    public StubNotificationChannel(String name, long latencyMillis, int failuresPerReminder) {
+        this.name = name;
+        this.latencyMillis = latencyMillis;
+        this.failuresPerReminder = failuresPerReminder;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records the reminder after the simulated latency, unless this attempt is one of the simulated failures.
+     *
+     * @param reminder The reminder to deliver.
+     * @param fireTime The time the reminder was due.
+     * @throws IOException For the first {@code failuresPerReminder} attempts of each reminder.
+     */
+    @Override
+    public void send(ReminderSettings reminder, Date fireTime) throws IOException {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while sending reminder " + reminder.getReminderId(), e);
+            }
+        }
+        int attempt = attempts.computeIfAbsent(reminder.getReminderId(), id -> new AtomicInteger()).incrementAndGet();
+        if (attempt <= failuresPerReminder) {
+            throw new IOException("Simulated failure " + attempt + " for reminder " + reminder.getReminderId());
+        }
+        sent.add(reminder);
+    }
+
+    /**
+     * Returns the reminders delivered so far, in the order they were delivered.
+     *
+     * @return a copy of the delivered reminders.
+     */
+    public List<ReminderSettings> getSent() {
+        synchronized (sent) {
+            return new ArrayList<>(sent);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/**
+ * Test class for AsyncServiceFacade.
+ * <p>
+ * This class contains unit tests for AsyncServiceFacade, which runs service lookups on a bounded executor.
+ * The DAOs are stubs that take a fixed time per call, so no database is needed.
+ * </p>
+ *
+ * Author: Ayush Madan
+ * Date: 17-10-2026
+ */
+
+package com.paypilot.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.paypilot.model.Bill;
+import com.paypilot.model.ReminderSettings;
+import com.paypilot.repo.BillDAOInterface;
+import com.paypilot.repo.BillRepository;
+import com.paypilot.repo.ReminderSettingsDAOInterface;
+import com.paypilot.repo.ReminderSettingsRepository;
+import com.paypilot.service.AsyncServiceFacade;
+import com.paypilot.service.BillService;
+import com.paypilot.service.ReminderSettingsService;
+
+public class AsyncServiceFacadeTest {
+
+    private static final long LOOKUP_MILLIS = 300;
+
+    private AsyncServiceFacade facade;
+
+    /**
+     * Creates a facade over services whose DAOs take {@link #LOOKUP_MILLIS} per call.
+     */
+    @BeforeEach
+    public void setUp() {
+        BillDAOInterface billDAO = (BillDAOInterface) Proxy.newProxyInstance(BillDAOInterface.class.getClassLoader(),
+                new Class<?>[] {BillDAOInterface.class}, (proxy, method, args) -> {
+                    Thread.sleep(LOOKUP_MILLIS);
+                    switch (method.getName()) {
+                        case "getAllBills":
+                            return new ArrayList<>(Collections.nCopies(2, new Bill()));
+                        case "getBillById":
+                            if ((Integer) args[0] < 0) {
+                                throw new IllegalArgumentException("no such bill");
+                            }
+                            return new Bill();
+                        default:
+                            return null;
+                    }
+                });
+        ReminderSettingsDAOInterface reminderDAO = new SlowReminderSettingsDAO();
+        facade = new AsyncServiceFacade(new BillService(new BillRepository(billDAO)),
+                new ReminderSettingsService(new ReminderSettingsRepository(reminderDAO)), null);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        facade.close();
+    }
+
+    /**
+     * Validates that independent lookups run at the same time, so that together they take about as
+     * long as one of them.
+     */
+    @Test
+    public void testIndependentLookupsRunConcurrently() {
+        long start = System.nanoTime();
+        CompletableFuture<List<Bill>> bills = facade.getAllBillsAsync();
+        CompletableFuture<List<ReminderSettings>> reminders = facade.getAllRemindersAsync();
+        CompletableFuture<Bill> bill = facade.getBillByIdAsync(1);
+        CompletableFuture.allOf(bills, reminders, bill).join();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(2, bills.join().size());
+        assertEquals(1, reminders.join().size());
+        assertNotNull(bill.join());
+        assertTrue(elapsedMillis < 2 * LOOKUP_MILLIS, "Three lookups took " + elapsedMillis + " ms.");
+    }
+
+    /**
+     * Validates that an exception thrown by a lookup completes its future exceptionally, and that
+     * category totals need a BillManagerService.
+     */
+    @Test
+    public void testFailuresCompleteExceptionally() {
+        CompletionException failure = assertThrows(CompletionException.class, () -> facade.getBillByIdAsync(-1).join());
+        assertTrue(failure.getCause() instanceof IllegalArgumentException);
+        assertEquals(Optional.empty(), facade.getReminderByIdAsync(2).join());
+        assertThrows(IllegalStateException.class, () -> facade.getCategoryOverviewAsync(null, null));
+    }
+
+    /**
+     * Validates that a full queue makes the caller run the lookup itself, and that a caller's
+     * executor is not shut down by the facade.
+     */
+    @Test
+    public void testFullQueueRunsOnCaller() {
+        ExecutorService executor = AsyncServiceFacade.newBoundedExecutor(1, 1);
+        AsyncServiceFacade bounded = new AsyncServiceFacade(null, null, null, executor);
+        try {
+            bounded.supplyAsync(() -> sleep(LOOKUP_MILLIS));
+            bounded.supplyAsync(() -> sleep(LOOKUP_MILLIS));
+            String thread = bounded.supplyAsync(() -> Thread.currentThread().getName()).join();
+
+            assertEquals(Thread.currentThread().getName(), thread);
+            bounded.close();
+            assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Validates that a lookup made after the facade was closed completes exceptionally instead of
+     * never completing.
+     */
+    @Test
+    public void testLookupAfterCloseCompletesExceptionally() {
+        facade.close();
+        CompletableFuture<List<Bill>> bills = facade.getAllBillsAsync();
+
+        assertTrue(bills.isCompletedExceptionally(), "The future must already have failed.");
+        CompletionException failure = assertThrows(CompletionException.class, bills::join);
+        assertTrue(failure.getCause() instanceof RejectedExecutionException);
+    }
+
+    private static String sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Thread.currentThread().getName();
+    }
+
+    /**
+     * A DAO that holds one reminder and takes {@link #LOOKUP_MILLIS} per lookup.
+     */
+    private static class SlowReminderSettingsDAO implements ReminderSettingsDAOInterface {
+
+        private final ReminderSettings reminder = new ReminderSettings(1, "Monthly", null, "one", "Email", null);
+
+        @Override
+        public void addReminder(ReminderSettings reminderSettings) { }
+
+        @Override
+        public void updateReminder(ReminderSettings reminderSettings) { }
+
+        @Override
+        public void deleteReminder(int reminderId) { }
+
+        @Override
+        public Optional<ReminderSettings> getReminderById(int reminderId) {
+            sleep(LOOKUP_MILLIS);
+            return reminderId == 1 ? Optional.of(reminder) : Optional.empty();
+        }
+
+        @Override
+        public List<ReminderSettings> getAllReminders() {
+            sleep(LOOKUP_MILLIS);
+            return new ArrayList<>(Collections.singletonList(reminder));
+        }
+
+        @Override
+        public List<ReminderSettings> getActiveReminders() { return getAllReminders(); }
+
+        @Override
+        public Optional<ReminderSettings> getReminderByBillId(int billId) { return Optional.empty(); }
+    }
+}
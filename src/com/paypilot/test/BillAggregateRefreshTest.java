@@ -0,0 +1,192 @@
+/*
+ *  The BillAggregateRefreshTest class contains tests for how the DAOs keep the bill aggregate store
+ *  up to date, by re-reading the bills they wrote rather than recording the values they were given.
+ *
+ *  Author: Ayush Madan
+ *  Date: 17-10-2026
+ */
+
+package com.paypilot.test;
+
+import com.paypilot.model.Bill;
+import com.paypilot.repo.BillAggregateStore;
+import com.paypilot.repo.BillCursor;
+import com.paypilot.repo.BillDAO;
+import com.paypilot.repo.BillManagerDAO;
+import com.paypilot.repo.CategorySummary;
+import com.paypilot.repo.DBConnection;
+import com.paypilot.repo.UncheckedSQLException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Test class for the aggregate store refresh done by the DAOs.
+ * The bills used here live in an ID range reserved for this test and belong to a user ID no other test
+ * uses, so the user's overview in a store of this test's own only counts the rows written here.
+ */
+public class BillAggregateRefreshTest {
+
+    private static final int FIRST_ID = 830_001;
+    private static final int LAST_ID = 830_999;
+    private static final int USER = 830_001;
+
+    private BillAggregateStore store;
+    private BillDAO billDAO;
+    private BillManagerDAO billManagerDAO;
+
+    @Before
+    public void setUp() throws Exception {
+        cleanUp();
+        store = new BillAggregateStore();
+        store.load(Stream.empty());
+        billDAO = new BillDAO();
+        billDAO.setAggregateStore(store);
+        billManagerDAO = new BillManagerDAO();
+        billManagerDAO.setAggregateStore(store);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        cleanUp();
+    }
+
+    /**
+     * Validates that a writer reaching the store after a later writer does not put its older values
+     * over the newer ones, because the store records the row as it is now stored.
+     */
+    @Test
+    public void testLateWriterDoesNotOverwriteNewerCommit() throws Exception {
+        billDAO.addBill(bill(830_001, 10.0));
+        assertOverview("Pending", 1, 10.0);
+
+        try (Connection con = DBConnection.getConnection()) {
+            // The first writer commits a new amount but is slow to reach the store
+            try (PreparedStatement ps = con.prepareStatement("UPDATE Bills SET amount = ? WHERE bill_id = ?")) {
+                ps.setDouble(1, 20.0);
+                ps.setInt(2, 830_001);
+                ps.executeUpdate();
+            }
+            // A second writer commits and reaches the store first
+            assertTrue(billManagerDAO.markBillAsPaid(830_001));
+            assertOverview("Paid", 1, 20.0);
+
+            store.refresh(con, 830_001);
+        }
+        assertOverview("Paid", 1, 20.0);
+        assertOverview("Pending", 0, 0.0);
+    }
+
+    /**
+     * Validates that batch inserts, bulk updates and deletes are all reflected in the store.
+     */
+    @Test
+    public void testBatchAndDeleteAreRefreshed() {
+        billDAO.addBills(List.of(bill(830_002, 1.0), bill(830_003, 2.0), bill(830_004, 3.0)));
+        assertOverview("Pending", 3, 6.0);
+
+        assertEquals(2, billManagerDAO.markBillsAsPaid(List.of(830_002, 830_003, 830_999)));
+        assertOverview("Pending", 1, 3.0);
+        assertOverview("Paid", 2, 3.0);
+
+        billDAO.deleteBill(830_002);
+        assertOverview("Paid", 1, 2.0);
+        assertEquals(2, store.size());
+    }
+
+    /**
+     * Validates that a writer committing while the store is being loaded is not held up by the load,
+     * and that the scan, which read the bill before that write, does not put the old values back.
+     */
+    @Test
+    public void testWriteDuringLoadIsNotBlockedOrLost() throws Exception {
+        billDAO.addBill(bill(830_006, 6.0));
+        Bill scanned = bill(830_006, 6.0);
+        store.clear();
+
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            store.loadIfNeeded(() -> Stream.of(scanned).peek(b -> {
+                Future<Boolean> paid = writer.submit(() -> billManagerDAO.markBillAsPaid(830_006));
+                try {
+                    assertTrue(paid.get(5, TimeUnit.SECONDS));
+                } catch (Exception e) {
+                    throw new AssertionError("The writer waited for the load", e);
+                }
+            }));
+        } finally {
+            writer.shutdownNow();
+        }
+        assertTrue(store.isLoaded());
+        assertOverview("Paid", 1, 6.0);
+        assertOverview("Pending", 0, 0.0);
+    }
+
+    /**
+     * Validates that a refresh that cannot read the bills clears the store, so it is loaded again
+     * instead of serving totals that miss a write.
+     */
+    @Test
+    public void testFailedRefreshClearsStore() throws Exception {
+        billDAO.addBill(bill(830_005, 5.0));
+        Connection closed = DBConnection.getConnection();
+        closed.close();
+
+        store.refresh(closed, 830_005);
+        assertFalse(store.isLoaded());
+        assertEquals(0, store.size());
+    }
+
+    /**
+     * Validates that a scan whose query cannot be opened fails the load instead of loading an empty
+     * store that would then only count later writes.
+     */
+    @Test
+    public void testUnopenableScanDoesNotLoadEmptyStore() {
+        store.clear();
+        try {
+            store.loadIfNeeded(() -> BillCursor.stream("SELECT * FROM NoSuchBillsTable", 10));
+            fail("Opening the scan should fail");
+        } catch (UncheckedSQLException e) {
+            assertNotNull(e.getCause());
+        }
+        assertFalse(store.isLoaded());
+    }
+
+    private void assertOverview(String status, long count, double total) {
+        List<CategorySummary> overview = store.getOverview(USER, null, status);
+        if (count == 0) {
+            assertTrue(overview.isEmpty());
+            return;
+        }
+        assertEquals(1, overview.size());
+        assertEquals(count, overview.get(0).getBillCount());
+        assertEquals(total, overview.get(0).getTotalAmount(), 0.001);
+    }
+
+    private static Bill bill(int id, double amount) {
+        Bill bill = new Bill(id, "Bill " + id, "RefreshTest", new Date(2026 - 1900, 2, 1), amount, "Monthly", null, "N/A", false, "Pending", 0, null);
+        bill.setUserId(USER);
+        return bill;
+    }
+
+    private static void cleanUp() throws Exception {
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement("DELETE FROM Bills WHERE bill_id BETWEEN ? AND ?")) {
+            ps.setInt(1, FIRST_ID);
+            ps.setInt(2, LAST_ID);
+            ps.executeUpdate();
+        }
+    }
+}
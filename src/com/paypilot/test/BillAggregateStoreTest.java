@@ -0,0 +1,207 @@
+/*
+ *  The BillAggregateStoreTest class contains tests for the BillAggregateStore class, which keeps the
+ *  bill count and total amount per user, category, month and status up to date as bills are written.
+ *
+ *  Author: Ayush Madan
+ *  Date: 17-10-2026
+ */
+
+package com.paypilot.test;
+
+import com.paypilot.model.Bill;
+import com.paypilot.repo.BillAggregateStore;
+import com.paypilot.repo.CategorySummary;
+import com.paypilot.repo.ConnectionPoolConfig;
+import com.paypilot.repo.EmbeddedDatabase;
+import com.paypilot.repo.UncheckedSQLException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Test class for BillAggregateStore.
+ * The tests run against an in-memory database of their own with just the columns the store reads, and
+ * write the bills the way the DAOs do: change the row, then refresh the store from it.
+ */
+public class BillAggregateStoreTest {
+
+    private static final ConnectionPoolConfig CONFIG = EmbeddedDatabase.memory("billaggregatestoretest");
+    private static final YearMonth MARCH = YearMonth.of(2026, 3);
+    private static final YearMonth APRIL = YearMonth.of(2026, 4);
+
+    private Connection con;
+    private BillAggregateStore store;
+
+    /**
+     * Stores three bills of user 1 and one bill of user 2 and loads a store with them.
+     */
+    @Before
+    public void setUp() throws Exception {
+        con = DriverManager.getConnection(CONFIG.getUrl(), CONFIG.getUsername(), CONFIG.getPassword());
+        try (Statement st = con.createStatement()) {
+            st.execute("CREATE TABLE IF NOT EXISTS Bills (bill_id NUMBER PRIMARY KEY, user_id NUMBER, "
+                    + "bill_category VARCHAR2(50), due_date DATE, payment_status VARCHAR2(20), amount NUMBER(10, 2))");
+            st.execute("DELETE FROM Bills");
+        }
+        List<Bill> bills = List.of(
+                bill(1, 1, "Groceries", "2026-03-05", 40.10, "Pending"),
+                bill(2, 1, "Groceries", "2026-03-20", 19.90, "Upcoming"),
+                bill(3, 1, "HouseRent", "2026-03-01", 1200.00, "Pending"),
+                bill(4, 2, "Groceries", "2026-03-07", 5.00, "Pending"));
+        for (Bill bill : bills) {
+            write(bill);
+        }
+        store = new BillAggregateStore();
+        store.load(bills.stream());
+    }
+
+    /**
+     * Closes the connection. The database stays open for the next test, which empties the table first.
+     */
+    @After
+    public void tearDown() throws Exception {
+        con.close();
+    }
+
+    /**
+     * Tests that the overview is grouped by category and can be narrowed by user, month and status.
+     */
+    @Test
+    public void testOverviewByUserMonthAndStatus() {
+        List<CategorySummary> all = store.getOverview(null, null);
+        assertEquals("Two categories have bills.", 2, all.size());
+        assertSummary(all.get(0), "Groceries", 3, 65.00);
+        assertSummary(all.get(1), "HouseRent", 1, 1200.00);
+
+        List<CategorySummary> user1 = store.getOverview(1, MARCH, null);
+        assertSummary(user1.get(0), "Groceries", 2, 60.00);
+
+        List<CategorySummary> pending = store.getOverview(1, MARCH, "pending");
+        assertSummary(pending.get(0), "Groceries", 1, 40.10);
+        assertSummary(pending.get(1), "HouseRent", 1, 1200.00);
+
+        assertTrue("No bills are due in April.", store.getOverview(1, APRIL, null).isEmpty());
+        assertTrue("User 3 has no bills.", store.getOverview(3, null, null).isEmpty());
+    }
+
+    /**
+     * Tests that refreshing added, updated and deleted bills moves their amounts between groups.
+     */
+    @Test
+    public void testRefreshAddsUpdatesAndDeletes() throws Exception {
+        write(bill(5, 1, "Internet", "2026-04-02", 30.00, "Pending"));
+        store.refresh(con, 5);
+        assertSummary(store.getOverview(1, APRIL, null).get(0), "Internet", 1, 30.00);
+
+        // Move bill 1 to another category and raise its amount
+        write(bill(1, 1, "HouseRent", "2026-03-05", 50.00, "Pending"));
+        store.refresh(con, 1);
+        List<CategorySummary> march = store.getOverview(1, MARCH, null);
+        assertSummary(march.get(0), "Groceries", 1, 19.90);
+        assertSummary(march.get(1), "HouseRent", 2, 1250.00);
+
+        // Refreshing the same bill again must not count it twice
+        store.refresh(con, 1);
+        assertSummary(store.getOverview(1, MARCH, null).get(1), "HouseRent", 2, 1250.00);
+
+        execute("DELETE FROM Bills WHERE bill_id = 2");
+        store.refresh(con, List.of(2, 2));
+        store.refresh(con, 2);
+        assertEquals("Groceries should be gone for user 1.", 1, store.getOverview(1, MARCH, null).size());
+        assertSummary(store.getOverview(null, null).get(0), "Groceries", 1, 5.00);
+        assertEquals("Bills 1, 3, 4 and 5 should be tracked.", 4, store.size());
+    }
+
+    /**
+     * Tests that a snoozed bill moves to its new month and a paid bill moves to the paid status without a month.
+     */
+    @Test
+    public void testRefreshSnoozeAndMarkPaid() throws Exception {
+        execute("UPDATE Bills SET due_date = DATE '2026-04-10' WHERE bill_id = 1");
+        execute("UPDATE Bills SET payment_status = 'Paid', due_date = NULL WHERE bill_id = 3");
+        store.refresh(con, List.of(1, 3, 99));
+
+        assertSummary(store.getOverview(1, APRIL, "Pending").get(0), "Groceries", 1, 40.10);
+        assertSummary(store.getOverview(1, MARCH, null).get(0), "Groceries", 1, 19.90);
+        assertTrue("Bill 3 should no longer be pending.", store.getOverview(1, MARCH, "Pending").isEmpty());
+        assertSummary(store.getOverview(1, null, "Paid").get(0), "HouseRent", 1, 1200.00);
+        assertEquals("Unknown bills should be ignored.", 4, store.size());
+    }
+
+    /**
+     * Tests that refreshes are ignored until the store has been loaded.
+     */
+    @Test
+    public void testRefreshIsIgnoredBeforeLoad() throws Exception {
+        store.clear();
+        store.refresh(con, 1);
+        assertFalse("The store should not be loaded.", store.isLoaded());
+        assertEquals("No bills should be tracked before loading.", 0, store.size());
+
+        store.loadIfNeeded(() -> Stream.of(bill(7, 1, "Groceries", "2026-03-05", 1.00, "Pending")));
+        store.loadIfNeeded(() -> { throw new AssertionError("The store should only be loaded once."); });
+        assertSummary(store.getOverview(null, null).get(0), "Groceries", 1, 1.00);
+    }
+
+    /**
+     * Tests that a load that fails part way through leaves the store empty and unloaded, so the
+     * overview is never computed from part of the table.
+     */
+    @Test
+    public void testFailedLoadLeavesStoreUnloaded() {
+        Stream<Bill> failing = Stream.of(1, 2).map(i -> {
+            if (i == 2) {
+                throw new UncheckedSQLException("Reading bills failed", new SQLException("Connection reset", "08S01"));
+            }
+            return bill(8, 1, "Groceries", "2026-03-05", 1.00, "Pending");
+        });
+
+        assertThrows(UncheckedSQLException.class, () -> store.load(failing));
+        assertFalse("The store should not be loaded.", store.isLoaded());
+        assertEquals("No bills of the failed load should be tracked.", 0, store.size());
+    }
+
+    private void write(Bill bill) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement("MERGE INTO Bills (bill_id, user_id, bill_category, due_date, "
+                + "payment_status, amount) KEY (bill_id) VALUES (?, ?, ?, ?, ?, ?)")) {
+            ps.setInt(1, bill.getBillId());
+            ps.setInt(2, bill.getUserId());
+            ps.setString(3, bill.getBillCategory());
+            ps.setTimestamp(4, new Timestamp(bill.getDueDate().getTime()));
+            ps.setString(5, bill.getPaymentStatus());
+            ps.setDouble(6, bill.getAmount());
+            ps.executeUpdate();
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement st = con.createStatement()) {
+            st.executeUpdate(sql);
+        }
+    }
+
+    private static void assertSummary(CategorySummary summary, String category, long count, double total) {
+        assertEquals("Unexpected category.", category, summary.getCategory());
+        assertEquals("Unexpected bill count for " + category + ".", count, summary.getBillCount());
+        assertEquals("Unexpected total for " + category + ".", total, summary.getTotalAmount(), 0.001);
+    }
+
+    private static Bill bill(int id, int userId, String category, String dueDate, double amount, String status) {
+        Bill bill = new Bill(id, "Bill " + id, category, java.sql.Date.valueOf(LocalDate.parse(dueDate)), amount, "Monthly", null, null, false, status, 0, null);
+        bill.setUserId(userId);
+        return bill;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ *  The BillCsvImporterTest class contains tests for the BillCsvImporter class,
+ *  which parses bills from CSV and stores them in parallel batches.
+ *
+ *  Author: Ayush Madan
+ *  Date: 17-10-2026
+ */
+
+package com.paypilot.test;
+
+import com.paypilot.model.Bill;
+import com.paypilot.repo.BillDAO;
+import com.paypilot.repo.BillRepository;
+import com.paypilot.repo.DBConnection;
+import com.paypilot.service.BillCsvImporter;
+import com.paypilot.service.BillImportReport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test class for BillCsvImporter.
+ * Every row carries a bill ID from a range reserved for this test, so the imported bills can be
+ * checked and removed without touching the rows of other tests.
+ */
+public class BillCsvImporterTest {
+
+    private static final int FIRST_ID = 800_001;
+    private static final int LAST_ID = 809_999;
+
+    private BillDAO billDAO;
+    private BillCsvImporter importer;
+
+    /**
+     * Prepares an importer over the embedded database with small batches and three workers,
+     * so that several batches are in flight at once even for short files.
+     */
+    @Before
+    public void setUp() throws Exception {
+        cleanUp();
+        billDAO = new BillDAO();
+        importer = new BillCsvImporter(new BillRepository(billDAO));
+        importer.setZone(ZoneOffset.UTC);
+        importer.setBatchSize(2);
+        importer.setThreads(3);
+    }
+
+    /**
+     * Removes the bills imported by the test.
+     */
+    @After
+    public void tearDown() throws Exception {
+        cleanUp();
+    }
+
+    /**
+     * Validates that the Bill fields are mapped by header name, in any order and spelling,
+     * including quoted fields with commas and quotes, categories, dates and defaults.
+     */
+    @Test
+    public void testMapsColumnsByHeader() throws IOException {
+        String csv = "Amount,Bill Name,bill_category,due_date,is_recurring,notes,userId,payment_status,bill_id\n"
+                + "1200.50,Rent,House Rent,2026-11-01,yes,\"Flat 4, \"\"top\"\" floor\",7,," + FIRST_ID + "\n";
+
+        BillImportReport report = importer.importCsv(new StringReader(csv));
+
+        assertEquals(report.getRejects().toString(), 1, report.getImportedCount());
+        Bill bill = billDAO.getBillById(FIRST_ID);
+        assertEquals("Rent", bill.getBillName());
+        assertEquals("The category is stored as written.", "House Rent", bill.getBillCategory());
+        assertEquals(1200.50, bill.getAmount(), 0.001);
+        assertTrue(bill.isRecurring());
+        assertEquals("Flat 4, \"top\" floor", bill.getNotes());
+        assertEquals(Integer.valueOf(7), bill.getUserId());
+        assertEquals("An empty status defaults to Upcoming.", "Upcoming", bill.getPaymentStatus());
+    }
+
+    /**
+     * Validates that by default the categories the application already stores are accepted as written,
+     * and that statuses are stored in the spelling the status queries match.
+     */
+    @Test
+    public void testStoresCategoriesAsWrittenAndNormalizesStatus() throws IOException {
+        String csv = "bill_id,bill_name,bill_category,due_date,amount,payment_status\n"
+                + (FIRST_ID) + ",Power,Utilities,2026-11-01,80,pending\n"
+                + (FIRST_ID + 1) + ",Phone,Communications,2026-11-02,30,PAID\n"
+                + (FIRST_ID + 2) + ",Water,Utilities,2026-11-03,20,late\n";
+
+        BillImportReport report = importer.importCsv(new StringReader(csv));
+
+        assertEquals(2, report.getImportedCount());
+        assertEquals(1, report.getRejectedCount());
+        assertEquals(4L, report.getRejects().get(0).getLine());
+        Bill power = billDAO.getBillById(FIRST_ID);
+        assertEquals("Utilities", power.getBillCategory());
+        assertEquals("Pending", power.getPaymentStatus());
+        Bill phone = billDAO.getBillById(FIRST_ID + 1);
+        assertEquals("Communications", phone.getBillCategory());
+        assertEquals("Paid", phone.getPaymentStatus());
+    }
+
+    /**
+     * Validates that rows failing validation and rows the database rejects are reported with the
+     * line they start on, and that neither stops the rest of the file from being imported.
+     */
+    @Test
+    public void testRejectsRowsWithoutAbortingTheFile() throws IOException {
+        String csv = "bill_id,bill_name,bill_category,due_date,amount,notes\n"
+                + (FIRST_ID) + ",Milk,Groceries,2026-11-01,4.20,\n"
+                + (FIRST_ID + 1) + ",Phone,Cell Phone Charges,01/11/2026,30,\n"
+                + (FIRST_ID + 2) + ",Fibre,Internet Charges,2026-11-03,-5,\n"
+                + (FIRST_ID + 3) + ",Gym,Fitness,2026-11-04,25,\n"
+                + "\n"
+                + (FIRST_ID) + ",Duplicate,Groceries,2026-11-05,1,\"two\nlines\"\n"
+                + (FIRST_ID + 5) + ",Loan,Debt Payments,2026-11-06,250,\n";
+        importer.setStrictCategories(true);
+
+        BillImportReport report = importer.importCsv(new StringReader(csv));
+
+        assertEquals("The blank line is not a row.", 6, report.getRowsRead());
+        assertEquals(2, report.getImportedCount());
+        assertEquals(4, report.getRejectedCount());
+        List<Long> lines = new ArrayList<>();
+        report.getRejects().forEach(reject -> lines.add(reject.getLine()));
+        Collections.sort(lines);
+        assertEquals("Rejects point at the line each row starts on.", List.of(3L, 4L, 5L, 7L), lines);
+        assertTrue(report.getRejects().stream().anyMatch(r -> r.getReason().contains("Unknown bill_category 'Fitness'")));
+        assertNotNull(billDAO.getBillById(FIRST_ID + 5));
+    }
+
+    /**
+     * Validates that a record with an unclosed quote and a record that is too long are rejected on
+     * their own, and that the rows after them are still read and stored.
+     */
+    @Test
+    public void testMalformedRecordsAreRejectedAndParsingResumes() throws IOException {
+        StringBuilder longNotes = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            longNotes.append('x');
+        }
+        String csv = "bill_id,bill_name,bill_category,due_date,amount,notes\n"
+                + (FIRST_ID) + ",Milk,Groceries,2026-11-01,4.20,\"unclosed\n"
+                + (FIRST_ID + 1) + ",Rent,Groceries,2026-11-02,900,\n"
+                + (FIRST_ID + 2) + ",Bread,Groceries,2026-11-03,2," + longNotes + "\n"
+                + (FIRST_ID + 3) + ",Gym,Groceries,2026-11-04,25,\n";
+        importer.setMaxRecordLength(200);
+
+        BillImportReport report = importer.importCsv(new StringReader(csv));
+
+        assertEquals(4, report.getRowsRead());
+        assertEquals(2, report.getImportedCount());
+        List<Long> lines = new ArrayList<>();
+        report.getRejects().forEach(reject -> lines.add(reject.getLine()));
+        Collections.sort(lines);
+        assertEquals(List.of(2L, 4L), lines);
+        assertNotNull(billDAO.getBillById(FIRST_ID + 1));
+        assertNotNull(billDAO.getBillById(FIRST_ID + 3));
+    }
+
+    /**
+     * Validates that when a batch cannot be stored at all, here because no IDs can be allocated,
+     * every row of it is rejected with the database error instead of silently going missing.
+     */
+    @Test
+    public void testRowsOfAFailedBatchAreRejected() throws IOException {
+        billDAO.setIdAllocator(() -> { throw new SQLException("Sequence unavailable"); });
+        String csv = "bill_name,bill_category,due_date,amount\n"
+                + "Milk,Groceries,2026-11-01,4.20\n"
+                + "Rent,Groceries,2026-11-02,900\n"
+                + "Gym,Groceries,2026-11-03,25\n";
+
+        BillImportReport report = importer.importCsv(new StringReader(csv));
+
+        assertEquals(0, report.getImportedCount());
+        assertEquals(3, report.getRejectedCount());
+        assertTrue(report.getRejects().stream().allMatch(r -> r.getReason().contains("Sequence unavailable")));
+    }
+
+    /**
+     * Validates that a larger file with CRLF line endings is stored completely.
+     */
+    @Test
+    public void testLargeFileIsStoredCompletely() throws IOException {
+        StringBuilder csv = new StringBuilder("bill_id,bill_name,bill_category,due_date,amount\r\n");
+        for (int i = 0; i < 1001; i++) {
+            csv.append(FIRST_ID + i).append(",Bill ").append(i).append(",Groceries,2026-11-01,").append(i).append("\r\n");
+        }
+        importer.setBatchSize(100);
+
+        BillImportReport report = importer.importCsv(new StringReader(csv.toString()));
+
+        assertEquals(report.getRejects().toString(), 1001, report.getImportedCount());
+        assertEquals("Bill 1000", billDAO.getBillById(FIRST_ID + 1000).getBillName());
+        assertTrue(report.getRowsPerSecond() > 0);
+    }
+
+    /**
+     * Validates that a header without a required column fails the import before any row is read.
+     */
+    @Test
+    public void testMissingRequiredColumnFails() {
+        try {
+            importer.importCsv(new StringReader("bill_name,due_date,amount\nRent,2026-11-01,10\n"));
+            fail("The import should fail without a bill_category column.");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("billcategory"));
+        }
+    }
+
+    private static void cleanUp() throws Exception {
+        try (Connection con = DBConnection.getConnection(); Statement st = con.createStatement()) {
+            st.executeUpdate("DELETE FROM Bills WHERE bill_id BETWEEN " + FIRST_ID + " AND " + LAST_ID);
+        }
+    }
+}
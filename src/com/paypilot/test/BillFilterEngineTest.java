@@ -0,0 +1,104 @@
+/**
+ * Test class for BillFilterEngine.
+ * <p>
+ * This class contains unit tests for the BillFilterEngine class, which applies
+ * category, name and due-date criteria to a list of bills in a single pass.
+ * The tests run entirely in memory and do not need a database.
+ * </p>
+ *
+ * Author: Ayush Madan
+ * Date: 17-10-2026
+ */
+
+package com.paypilot.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.paypilot.model.Bill;
+import com.paypilot.model.BillFilter;
+import com.paypilot.service.BillFilterEngine;
+
+public class BillFilterEngineTest {
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    private BillFilterEngine engine;
+    private List<Bill> bills;
+    private Date today;
+
+    /**
+     * Sets up a small list of bills spread over three categories and three due dates.
+     */
+    @BeforeEach
+    public void setUp() {
+        engine = new BillFilterEngine();
+        today = new Date();
+        bills = new ArrayList<>();
+        bills.add(new Bill(1, "Electricity", "Utilities", today, 100.0, "Monthly", null, "", false, "Pending", 0, null));
+        bills.add(new Bill(2, "Water", "Utilities", new Date(today.getTime() + DAY), 40.0, "Monthly", null, "", false, "Pending", 0, null));
+        bills.add(new Bill(3, "Rent", "HouseRent", new Date(today.getTime() + 2 * DAY), 900.0, "Monthly", null, "", true, "Upcoming", 0, null));
+        bills.add(new Bill(4, "Phone", "CellPhoneCharges", null, 30.0, "Monthly", null, "", false, "Paid", 0, null));
+    }
+
+    /**
+     * Tests that an empty filter returns the input list unchanged.
+     */
+    @Test
+    public void testEmptyFilterReturnsAllBills() {
+        List<Bill> result = engine.filter(bills, new BillFilter());
+        assertSame(bills, result, "An empty filter should return the input list itself.");
+    }
+
+    /**
+     * Tests that category and name are matched without regard to case and combined with AND.
+     */
+    @Test
+    public void testCategoryAndNameIgnoreCase() {
+        List<Bill> result = engine.filter(bills, new BillFilter("utilities", "WATER", null, null));
+        assertEquals(1, result.size(), "Only the water bill should match.");
+        assertEquals(2, result.get(0).getBillId(), "The bill ID should match.");
+    }
+
+    /**
+     * Tests that the due-date range is inclusive on both ends and skips bills without a due date.
+     */
+    @Test
+    public void testDateRangeIsInclusive() {
+        Date to = new Date(today.getTime() + DAY);
+        List<Bill> result = engine.filter(bills, new BillFilter(null, null, today, to));
+        assertEquals(2, result.size(), "Bills due on either bound should be included.");
+        assertEquals(1, result.get(0).getBillId(), "Results should keep the input order.");
+        assertEquals(2, result.get(1).getBillId(), "Results should keep the input order.");
+    }
+
+    /**
+     * Tests that a date range with only one bound set is not applied.
+     */
+    @Test
+    public void testHalfOpenDateRangeIsIgnored() {
+        List<Bill> result = engine.filter(bills, new BillFilter("Utilities", null, today, null));
+        assertEquals(2, result.size(), "Only the category criterion should be applied.");
+    }
+
+    /**
+     * Tests that the parallel path returns the same bills, in the same order, as the sequential path.
+     */
+    @Test
+    public void testParallelPathKeepsOrder() {
+        List<Bill> many = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            many.addAll(bills);
+        }
+        BillFilter filter = new BillFilter("Utilities", null, null, null);
+        List<Bill> sequential = new BillFilterEngine(Integer.MAX_VALUE).filter(many, filter);
+        List<Bill> parallel = new BillFilterEngine(1).filter(many, filter);
+        assertEquals(10_000, sequential.size(), "Two utilities bills per copy should match.");
+        assertEquals(sequential, parallel, "The parallel result should equal the sequential result.");
+    }
+}
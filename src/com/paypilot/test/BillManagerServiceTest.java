@@ -18,11 +18,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
 import com.paypilot.model.Bill;
+import com.paypilot.model.ReminderSettings;
 import com.paypilot.repo.BillManagerRepo;
 import com.paypilot.service.BillManagerService;
 
@@ -102,6 +110,30 @@ public class BillManagerServiceTest {
                 bill.setPaymentStatus("Paid");
             }
 
+            @Override
+            public boolean snoozeBill(int billId, Date snoozeDate) {
+                // Updates the due date of the bill with the given ID
+                for (Bill b : bills) {
+                    if (b.getBillId() == billId) {
+                        snoozeBill(b, snoozeDate);
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public boolean markBillAsPaid(int billId) {
+                // Marks the bill with the given ID as paid
+                for (Bill b : bills) {
+                    if (b.getBillId() == billId) {
+                        markBillAsPaid(b);
+                        return true;
+                    }
+                }
+                return false;
+            }
+
             @Override
             public Bill createNewBill(int billId, String name, String category, Date dueDate, double amount, String reminderFrequency, File attachment, String note, boolean isRecurring, String paymentStatus, int overDueDays, ReminderSettings rs) {
                 // Creates a new Bill object with the provided parameters
@@ -288,4 +320,32 @@ public class BillManagerServiceTest {
         assertEquals(1, result.size(), "There should be one bill in the result.");
         assertEquals("Test Bill", result.get(0).getBillName(), "The bill name should match.");
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that an operation that fails still emits its Flight Recorder event, with the error recorded,
+     * and that the exception reaches the caller.
+     */
+    @Test
+    public void testFailedOperationEmitsEventWithError() throws Exception {
+        billManagerService.br = new BillManagerRepo() {
+            @Override
+            public boolean markBillAsPaid(int billId) {
+                throw new IllegalStateException("Database unavailable");
+            }
+        };
+        Path file = Files.createTempFile("service-operation", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.paypilot.ServiceOperation").withThreshold(Duration.ZERO);
+            recording.start();
+            assertThrows(IllegalStateException.class, () -> billManagerService.markBillAsPaidService(42));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+        assertEquals(1, events.size(), "The failed operation should still be recorded.");
+        assertEquals("markBillAsPaidService", events.get(0).getString("operation"));
+        assertEquals(IllegalStateException.class.getName(), events.get(0).getString("error"));
+    }
+}
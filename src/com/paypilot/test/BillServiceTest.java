@@ -10,6 +10,7 @@ package com.paypilot.test;
 
 import com.paypilot.model.Bill;
 import com.paypilot.repo.BillDAO;
+import com.paypilot.repo.BillPage;
 import com.paypilot.repo.BillRepository;
 import com.paypilot.service.BillService;
 import org.junit.Before;
@@ -17,8 +18,11 @@ import org.junit.Ignore;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Unit test class for BillService.
@@ -245,4 +249,48 @@ public class BillServiceTest {
         assertNotNull("Bill should be found by ID", bill);
         assertEquals("Bill name does not match", "Internet Bill", bill.getBillName());
     }
+
+    
+    /**
+     * Validates keyset pagination using the {@code getBillsService} method.
+     * 
+     * <p>This test adds bills that share a due date and bills without a due date, then walks through
+     * every page with a small page size. Each bill must appear exactly once, in (due date, ID) order with
+     * bills without a due date last, and the pages together must contain every bill.</p>
+     */
+    @Test
+    public void testGetBillsInPages() {
+        Date sameDay = new Date(2024 - 1900, 8, 1);
+        int[] ids = {20, 21, 22, 23, 24};
+        billService.addBillService(new Bill(20, "Gas", "Utilities", sameDay, 30.0, "Monthly", null, "N/A", false, "Upcoming", 0, null));
+        billService.addBillService(new Bill(21, "Gym", "Health", sameDay, 25.0, "Monthly", null, "N/A", false, "Upcoming", 0, null));
+        billService.addBillService(new Bill(22, "Loan", "DebtPayments", sameDay, 300.0, "Monthly", null, "N/A", false, "Upcoming", 0, null));
+        billService.addBillService(new Bill(23, "Paid A", "Utilities", null, 10.0, "Monthly", null, "N/A", false, "Paid", 0, null));
+        billService.addBillService(new Bill(24, "Paid B", "Utilities", null, 10.0, "Monthly", null, "N/A", false, "Paid", 0, null));
+
+        try {
+            List<Bill> paged = new ArrayList<>();
+            BillPage page = billService.getBillsService(null, 0, 2, null);
+            paged.addAll(page.getBills());
+            while (page.hasMore()) {
+                assertTrue("A page should never exceed the limit", page.getBills().size() <= 2);
+                page = billService.getBillsService(page.getLastDueDate(), page.getLastBillId(), 2, null);
+                paged.addAll(page.getBills());
+            }
+
+            Set<Integer> seen = new HashSet<>();
+            for (Bill bill : paged) {
+                assertTrue("Bill " + bill.getBillId() + " appeared on two pages", seen.add(bill.getBillId()));
+            }
+            assertEquals("Pages should contain every bill", billService.getAllBillsService().size(), paged.size());
+
+            Bill last = paged.get(paged.size() - 1);
+            assertNull("Bills without a due date should come last", last.getDueDate());
+            assertEquals("Ties should be ordered by ID", 24, last.getBillId());
+        } finally {
+            for (int id : ids) {
+                billService.deleteBillService(id);
+            }
+        }
+    }
 }
@@ -0,0 +1,263 @@
+/**
+ * Test class for CachingBillDAO.
+ * <p>
+ * This class contains unit tests for the CachingBillDAO class, which caches bills by ID
+ * and by category in front of another BillDAOInterface. The wrapped DAO is an in-memory
+ * implementation that counts its reads, so the tests do not need a database.
+ * </p>
+ *
+ * Author: Ayush Madan
+ * Date: 17-10-2026
+ */
+
+package com.paypilot.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.paypilot.model.Bill;
+import com.paypilot.model.BillFilter;
+import com.paypilot.repo.BatchInsertResult;
+import com.paypilot.repo.BillChangeNotifier;
+import com.paypilot.repo.BillDAOInterface;
+import com.paypilot.repo.BillPage;
+import com.paypilot.repo.CacheStats;
+import com.paypilot.repo.CachingBillDAO;
+
+public class CachingBillDAOTest {
+
+    private InMemoryBillDAO database;
+    private CachingBillDAO cache;
+
+    /**
+     * Sets up an in-memory DAO with three bills and a cache that holds at most two bills.
+     */
+    @BeforeEach
+    public void setUp() {
+        database = new InMemoryBillDAO();
+        database.addBill(bill(1, "Electricity", "Utilities"));
+        database.addBill(bill(2, "Water", "Utilities"));
+        database.addBill(bill(3, "Rent", "HouseRent"));
+        cache = new CachingBillDAO(database, 2, 2, 60_000);
+    }
+
+    /**
+     * Tests that a repeated read by ID is answered from the cache.
+     */
+    @Test
+    public void testRepeatedReadIsCached() {
+        cache.getBillById(1);
+        cache.getBillById(1);
+        assertEquals(1, database.reads, "Only the first read should reach the database.");
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getHitCount(), "The second read should be a hit.");
+        assertEquals(1, stats.getMissCount(), "The first read should be a miss.");
+    }
+
+    /**
+     * Tests that changing a returned bill does not change the cached copy.
+     */
+    @Test
+    public void testReturnedBillsAreCopies() {
+        cache.getBillById(1).setBillName("Changed");
+        assertEquals("Electricity", cache.getBillById(1).getBillName(), "The cached bill should be unchanged.");
+    }
+
+    /**
+     * Tests that the least recently used bill is evicted when the cache is full.
+     */
+    @Test
+    public void testLeastRecentlyUsedBillIsEvicted() {
+        cache.getBillById(1);
+        cache.getBillById(2);
+        cache.getBillById(1);
+        cache.getBillById(3);
+        assertEquals(1, cache.getStats().getEvictionCount(), "Adding a third bill should evict one.");
+        cache.getBillById(1);
+        assertEquals(3, database.reads, "Bill 1 was used recently and should still be cached.");
+        cache.getBillById(2);
+        assertEquals(4, database.reads, "Bill 2 was least recently used and should have been evicted.");
+    }
+
+    /**
+     * Tests that updates invalidate both the bill entry and the category results.
+     */
+    @Test
+    public void testUpdateInvalidatesBillAndCategories() {
+        cache.getBillById(1);
+        assertEquals(2, cache.getBillsByCategory("Utilities").size(), "Two utilities bills should be found.");
+
+        Bill moved = bill(1, "Electricity", "HouseRent");
+        cache.updateBill(moved);
+
+        assertEquals("HouseRent", cache.getBillById(1).getBillCategory(), "The updated bill should be reloaded.");
+        assertEquals(1, cache.getBillsByCategory("Utilities").size(), "The category results should be reloaded.");
+    }
+
+    /**
+     * Tests that a write made around the cache, reported through the notifier, invalidates it.
+     */
+    @Test
+    public void testWriteReportedByNotifierInvalidatesBillAndCategories() {
+        cache.getBillById(1);
+        cache.getBillsByCategory("Utilities");
+
+        database.updateBill(bill(1, "Electricity", "HouseRent"));
+        BillChangeNotifier.getDefault().billsChanged(1);
+
+        assertEquals("HouseRent", cache.getBillById(1).getBillCategory(), "The written bill should be reloaded.");
+        assertEquals(1, cache.getBillsByCategory("Utilities").size(), "The category results should be reloaded.");
+    }
+
+    /**
+     * Tests that entries are reloaded after their time-to-live has passed.
+     */
+    @Test
+    public void testEntriesExpire() throws InterruptedException {
+        CachingBillDAO shortLived = new CachingBillDAO(database, 10, 10, 20);
+        shortLived.getBillById(1);
+        Thread.sleep(50);
+        shortLived.getBillById(1);
+        assertEquals(2, database.reads, "The expired entry should be reloaded.");
+        assertEquals(1, shortLived.getStats().getExpirationCount(), "One entry should have expired.");
+    }
+
+    /**
+     * Tests that a user-scoped read is served from the cache but only returns the user's own bill.
+     */
+    @Test
+    public void testUserScopedReadChecksOwner() {
+        Bill owned = bill(4, "Phone", "Communications");
+        owned.setUserId(7);
+        database.addBill(owned);
+
+        assertNotNull(cache.getBillById(7, 4), "The owner should see the bill.");
+        assertEquals(7, cache.getBillById(7, 4).getUserId(), "The owner should be kept on the cached copy.");
+        assertNull(cache.getBillById(8, 4), "Another user should not see the bill.");
+        assertNull(cache.getBillById(7, 1), "A bill without an owner should not be returned.");
+        assertEquals(2, database.reads, "Bills 4 and 1 should each be read from the database once.");
+    }
+
+    private static Bill bill(int id, String name, String category) {
+        return new Bill(id, name, category, new Date(), 10.0, "Monthly", null, "", false, "Pending", 0, null);
+    }
+
+    /**
+     * A map-backed BillDAOInterface that counts how often it is read.
+     */
+    private static class InMemoryBillDAO implements BillDAOInterface {
+        private final Map<Integer, Bill> bills = new LinkedHashMap<>();
+        private int reads;
+
+        @Override
+        public void addBill(Bill bill) {
+            bills.put(bill.getBillId(), bill);
+        }
+
+        @Override
+        public BatchInsertResult addBills(Collection<Bill> toAdd) {
+            for (Bill bill : toAdd) {
+                addBill(bill);
+            }
+            return new BatchInsertResult();
+        }
+
+        @Override
+        public void updateBill(Bill bill) {
+            bills.put(bill.getBillId(), bill);
+        }
+
+        @Override
+        public void deleteBill(int billId) {
+            bills.remove(billId);
+        }
+
+        @Override
+        public Bill getBillById(int billId) {
+            reads++;
+            return bills.get(billId);
+        }
+
+        @Override
+        public List<Bill> getAllBills() {
+            reads++;
+            return new ArrayList<>(bills.values());
+        }
+
+        @Override
+        public Stream<Bill> streamAllBills() {
+            return getAllBills().stream();
+        }
+
+        @Override
+        public Stream<Bill> streamRecurringBills() {
+            return getAllBills().stream().filter(b -> b.isRecurring() && b.getDueDate() != null);
+        }
+
+        @Override
+        public BillPage getBills(Date afterDueDate, int afterBillId, int limit, BillFilter filter) {
+            List<Bill> all = new ArrayList<>(bills.values());
+            return new BillPage(all.subList(0, Math.min(limit, all.size())), all.size() > limit, null, 0);
+        }
+
+        @Override
+        public Bill getBillById(int userId, int billId) {
+            Bill bill = getBillById(billId);
+            return bill != null && Integer.valueOf(userId).equals(bill.getUserId()) ? bill : null;
+        }
+
+        @Override
+        public List<Bill> getAllBills(int userId) {
+            List<Bill> result = new ArrayList<>();
+            for (Bill bill : getAllBills()) {
+                if (Integer.valueOf(userId).equals(bill.getUserId())) {
+                    result.add(bill);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public Stream<Bill> streamAllBills(int userId) {
+            return getAllBills(userId).stream();
+        }
+
+        @Override
+        public List<Bill> getBillsByCategory(int userId, String category) {
+            List<Bill> result = new ArrayList<>();
+            for (Bill bill : getAllBills(userId)) {
+                if (bill.getBillCategory().equals(category)) {
+                    result.add(bill);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public BillPage getBills(int userId, Date afterDueDate, int afterBillId, int limit, BillFilter filter) {
+            List<Bill> all = getAllBills(userId);
+            return new BillPage(all.subList(0, Math.min(limit, all.size())), all.size() > limit, null, 0);
+        }
+
+        @Override
+        public List<Bill> getBillsByCategory(String category) {
+            reads++;
+            List<Bill> result = new ArrayList<>();
+            for (Bill bill : bills.values()) {
+                if (bill.getBillCategory().equals(category)) {
+                    result.add(bill);
+                }
+            }
+            return result;
+        }
+    }
+}
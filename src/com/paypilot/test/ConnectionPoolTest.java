@@ -0,0 +1,264 @@
+/*
+ *  The ConnectionPoolTest class contains tests for the ConnectionPool class,
+ *  which lends a bounded set of physical connections out to the DAO layer.
+ *
+ *  Author: Ayush Madan
+ *  Date: 17-10-2026
+ */
+
+package com.paypilot.test;
+
+import com.paypilot.repo.ConnectionPool;
+import com.paypilot.repo.ConnectionPoolConfig;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * Test class for ConnectionPool.
+ * The tests run against an in-memory database of their own. A small driver in front of it lets a
+ * test make the database report a lost connection (SQL state 08) for one statement.
+ */
+public class ConnectionPoolTest {
+
+    private static final String DB_URL = "jdbc:h2:mem:connectionpooltest;MODE=Oracle;DB_CLOSE_DELAY=-1";
+    private static final String FLAKY_URL = "jdbc:paypilot-flaky:";
+    private static final String BROKEN_SQL = "SELECT 'connection reset' FROM DUAL";
+
+    private static final Driver FLAKY_DRIVER = new FlakyDriver();
+
+    private ConnectionPool pool;
+
+    @BeforeClass
+    public static void registerDriver() throws SQLException {
+        DriverManager.registerDriver(FLAKY_DRIVER);
+    }
+
+    @AfterClass
+    public static void deregisterDriver() throws SQLException {
+        DriverManager.deregisterDriver(FLAKY_DRIVER);
+    }
+
+    /**
+     * Creates an empty table for the tests to write to.
+     */
+    @Before
+    public void setUp() throws Exception {
+        try (Connection con = DriverManager.getConnection(DB_URL, "sa", "");
+             Statement st = con.createStatement()) {
+            st.execute("CREATE TABLE IF NOT EXISTS Payees (payee_id NUMBER, payee_name VARCHAR2(50))");
+            st.execute("DELETE FROM Payees");
+        }
+    }
+
+    @After
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    /**
+     * Validates that a caller waits at most the acquire timeout once every connection is borrowed,
+     * and gets a connection again as soon as one is returned.
+     */
+    @Test
+    public void testTimesOutWhenExhausted() throws Exception {
+        pool = new ConnectionPool(config(2, 0));
+        Connection first = pool.getConnection();
+        Connection second = pool.getConnection();
+
+        long start = System.nanoTime();
+        try {
+            pool.getConnection();
+            fail("The pool has no free connection.");
+        } catch (SQLTransientConnectionException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().contains("Timed out after 200 ms"));
+        }
+        assertTrue("Waited for the acquire timeout.", System.nanoTime() - start >= 150_000_000L);
+        assertEquals(1, pool.getStats().getAcquireTimeouts());
+        assertEquals(2, pool.getStats().getActiveConnections());
+
+        first.close();
+        try (Connection third = pool.getConnection()) {
+            assertFalse(third.isClosed());
+        }
+        second.close();
+        assertEquals(2, pool.getStats().getTotalConnections());
+        assertEquals(0, pool.getStats().getActiveConnections());
+    }
+
+    /**
+     * Validates that a connection held longer than the leak detection threshold is reported once,
+     * with the stack trace of the code that borrowed it.
+     */
+    @Test
+    public void testReportsLeakedConnection() throws Exception {
+        ConnectionPoolConfig config = config(1, 0);
+        config.setLeakDetectionThresholdMillis(50);
+        config.setHousekeepingIntervalMillis(20);
+        pool = new ConnectionPool(config);
+
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        PrintStream originalErr = System.err;
+        System.setErr(new PrintStream(err, true, "UTF-8"));
+        try (Connection held = pool.getConnection()) {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (pool.getStats().getLeaksDetected() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(100);
+            assertFalse("The leaked connection is still lent out.", held.isClosed());
+        } finally {
+            System.setErr(originalErr);
+        }
+
+        assertEquals("A leak is reported once per borrow.", 1, pool.getStats().getLeaksDetected());
+        String report = new String(err.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(report, report.contains("Possible connection leak"));
+        assertTrue(report, report.contains("ConnectionPoolTest.testReportsLeakedConnection"));
+    }
+
+    /**
+     * Validates that work left uncommitted by a borrower is rolled back and that the next borrower
+     * gets the same physical connection back in auto-commit mode.
+     */
+    @Test
+    public void testResetsConnectionOnRelease() throws Exception {
+        pool = new ConnectionPool(config(1, 1));
+        try (Connection con = pool.getConnection();
+             Statement st = con.createStatement()) {
+            con.setAutoCommit(false);
+            st.executeUpdate("INSERT INTO Payees VALUES (1, 'Landlord')");
+        }
+
+        try (Connection con = pool.getConnection();
+             Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM Payees")) {
+            assertTrue(con.getAutoCommit());
+            assertTrue(rs.next());
+            assertEquals("The uncommitted insert was rolled back.", 0, rs.getInt(1));
+        }
+        assertEquals(1, pool.getStats().getConnectionsCreated());
+        assertEquals(0, pool.getStats().getConnectionsDestroyed());
+    }
+
+    /**
+     * Validates that a connection whose driver reports SQL state 08 is closed when it is returned,
+     * both for cached prepared statements and for other statements, instead of being lent out again.
+     */
+    @Test
+    public void testEvictsBrokenConnection() throws Exception {
+        ConnectionPoolConfig config = config(1, 0);
+        config.setUrl(FLAKY_URL);
+        pool = new ConnectionPool(config);
+
+        try (Connection con = pool.getConnection()) {
+            con.prepareStatement(BROKEN_SQL);
+            fail("The driver reports a lost connection.");
+        } catch (SQLException expected) {
+            assertEquals("08S01", expected.getSQLState());
+        }
+        assertEquals(1, pool.getStats().getConnectionsDestroyed());
+
+        try (Connection con = pool.getConnection()) {
+            con.prepareStatement(BROKEN_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, ResultSet.HOLD_CURSORS_OVER_COMMIT);
+            fail("The driver reports a lost connection.");
+        } catch (SQLException expected) {
+            assertEquals("08S01", expected.getSQLState());
+        }
+        assertEquals(2, pool.getStats().getConnectionsDestroyed());
+
+        try (Connection con = pool.getConnection();
+             PreparedStatement ps = con.prepareStatement("SELECT COUNT(*) FROM Payees");
+             ResultSet rs = ps.executeQuery()) {
+            assertTrue(rs.next());
+        }
+        assertEquals(3, pool.getStats().getConnectionsCreated());
+        assertEquals(1, pool.getStats().getTotalConnections());
+    }
+
+    private static ConnectionPoolConfig config(int maxSize, int minSize) {
+        ConnectionPoolConfig config = new ConnectionPoolConfig();
+        config.setDriverClassName("org.h2.Driver");
+        config.setUrl(DB_URL);
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaxSize(maxSize);
+        config.setMinSize(minSize);
+        config.setAcquireTimeoutMillis(200);
+        config.setValidationIntervalMillis(60_000);
+        return config;
+    }
+
+    /**
+     * A driver that opens connections to the test database, except that preparing
+     * {@link #BROKEN_SQL} fails as if the network connection had been lost.
+     */
+    private static class FlakyDriver implements Driver {
+
+        @Override
+        public Connection connect(String url, Properties info) throws SQLException {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            Connection physical = DriverManager.getConnection(DB_URL, "sa", "");
+            return (Connection) Proxy.newProxyInstance(FlakyDriver.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare") && BROKEN_SQL.equals(args[0])) {
+                            throw new SQLException("Connection reset", "08S01");
+                        }
+                        try {
+                            return method.invoke(physical, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url != null && url.startsWith(FLAKY_URL);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() { return 1; }
+
+        @Override
+        public int getMinorVersion() { return 0; }
+
+        @Override
+        public boolean jdbcCompliant() { return false; }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
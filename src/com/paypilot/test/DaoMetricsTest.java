@@ -0,0 +1,197 @@
+/**
+ * Test class for DaoMetrics.
+ * <p>
+ * This class contains unit tests for DaoMetrics, which measures DAO calls through a dynamic proxy,
+ * and for the LatencyHistogram it records latencies into. The DAO is a stub, so no database is needed.
+ * </p>
+ *
+ * Author: Ayush Madan
+ * Date: 17-10-2026
+ */
+
+package com.paypilot.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import javax.management.ObjectName;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import com.paypilot.model.ReminderSettings;
+import com.paypilot.repo.DaoMetrics;
+import com.paypilot.repo.LatencyHistogram;
+import com.paypilot.repo.OperationMetrics;
+import com.paypilot.repo.ReminderSettingsDAOInterface;
+
+public class DaoMetricsTest {
+
+    private DaoMetrics metrics;
+    private ReminderSettingsDAOInterface dao;
+
+    /**
+     * Instruments a stub DAO in a registry of its own.
+     */
+    @BeforeEach
+    public void setUp() {
+        metrics = new DaoMetrics();
+        dao = metrics.instrument(ReminderSettingsDAOInterface.class, new StubReminderSettingsDAO(), "StubDAO");
+    }
+
+    /**
+     * Validates that calls, rows and errors are counted per operation, including errors the DAO
+     * only logs and exceptions it throws.
+     */
+    @Test
+    public void testCountsCallsRowsAndErrors() {
+        dao.getAllReminders();
+        dao.getAllReminders();
+        dao.getReminderById(1);
+        dao.getReminderById(2);
+        dao.deleteReminder(1);
+        assertThrows(IllegalStateException.class, () -> dao.updateReminder(null));
+
+        OperationMetrics all = metrics.getOperation("StubDAO.getAllReminders");
+        assertEquals(2, all.getCallCount());
+        assertEquals(6, all.getRowCount());
+        OperationMetrics byId = metrics.getOperation("StubDAO.getReminderById");
+        assertEquals(2, byId.getCallCount());
+        assertEquals(1, byId.getRowCount(), "Only the reminder that was found is a row.");
+        assertEquals(1, metrics.getOperation("StubDAO.deleteReminder").getErrorCount());
+        assertEquals(1, metrics.getOperation("StubDAO.updateReminder").getErrorCount());
+        assertEquals(0, all.getErrorCount());
+    }
+
+    /**
+     * Validates that the text dump lists the operations that were called, and that reset clears them.
+     */
+    @Test
+    public void testDumpAndReset() {
+        dao.getActiveReminders();
+
+        String dump = metrics.dump();
+        assertTrue(dump.startsWith("operation"));
+        assertTrue(dump.contains("StubDAO.getActiveReminders"));
+        assertFalse(dump.contains("StubDAO.addReminder"), "Operations never called are left out.");
+        assertTrue(Arrays.asList(metrics.getOperationNames()).contains("StubDAO.addReminder"));
+
+        metrics.reset();
+        assertEquals(0, metrics.getOperation("StubDAO.getActiveReminders").getCallCount());
+    }
+
+    /**
+     * Validates that the operations of the shared registry are published over JMX.
+     */
+    @Test
+    public void testSharedRegistryIsPublishedOverJmx() throws Exception {
+        DaoMetrics.getDefault().getOperation("DaoMetricsTest.probe");
+
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(DaoMetrics.OBJECT_NAME)));
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(
+                new ObjectName(DaoMetrics.OBJECT_NAME + ",operation=" + ObjectName.quote("DaoMetricsTest.probe"))));
+    }
+
+    /**
+     * Validates that each call emits a Flight Recorder event with its rows, statements and SQL hash.
+     */
+    @Test
+    public void testEmitsFlightRecorderEvents() throws Exception {
+        Path file = Files.createTempFile("dao-metrics", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.paypilot.DaoOperation").withThreshold(Duration.ZERO);
+            recording.start();
+            dao.getReminderByBillId(7);
+            dao.getAllReminders();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+        assertEquals(2, events.size());
+        RecordedEvent byBill = events.get(0);
+        assertEquals("StubDAO.getReminderByBillId", byBill.getString("operation"));
+        assertEquals(1, byBill.getInt("statementCount"));
+        assertEquals(StubReminderSettingsDAO.SQL.hashCode(), byBill.getInt("sqlHash"));
+        assertEquals(3, events.get(1).getLong("rowCount"));
+        assertEquals(0, events.get(1).getInt("statementCount"));
+    }
+
+    /**
+     * Validates that percentiles are within the 1/32 relative error of the histogram buckets.
+     */
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros * 1_000);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(5_000_000, histogram.getPercentile(50), 5_000_000 / 32.0);
+        assertEquals(9_900_000, histogram.getPercentile(99), 9_900_000 / 32.0);
+        assertEquals(9_990_000, histogram.getPercentile(99.9), 9_990_000 / 32.0);
+        assertEquals(10_000_000, histogram.getPercentile(100));
+        assertEquals(10_000_000, histogram.getMax());
+        assertEquals(5_000_500, histogram.getMean(), 0.001);
+
+        histogram.reset();
+        assertEquals(0, histogram.getPercentile(99));
+    }
+
+    /**
+     * A DAO that holds three reminders, logs an error on delete, throws on update and prepares
+     * one statement to look a reminder up by bill.
+     */
+    private static class StubReminderSettingsDAO implements ReminderSettingsDAOInterface {
+
+        private static final String SQL = "SELECT * FROM ReminderSettings WHERE bill_id = ?";
+
+        private final List<ReminderSettings> reminders = new ArrayList<>(Arrays.asList(
+                new ReminderSettings(1, "Monthly", null, "one", "Email", null),
+                new ReminderSettings(2, "Weekly", null, "two", "Email", null),
+                new ReminderSettings(3, "Daily", null, "three", "SMS", null)));
+
+        @Override
+        public void addReminder(ReminderSettings reminderSettings) { reminders.add(reminderSettings); }
+
+        @Override
+        public void updateReminder(ReminderSettings reminderSettings) {
+            throw new IllegalStateException("update failed");
+        }
+
+        @Override
+        public void deleteReminder(int reminderId) {
+            // What the real DAOs do after logging a caught SQLException
+            DaoMetrics.recordError();
+        }
+
+        @Override
+        public Optional<ReminderSettings> getReminderById(int reminderId) {
+            return reminderId == 1 ? Optional.of(reminders.get(0)) : Optional.empty();
+        }
+
+        @Override
+        public List<ReminderSettings> getAllReminders() { return new ArrayList<>(reminders); }
+
+        @Override
+        public List<ReminderSettings> getActiveReminders() { return new ArrayList<>(reminders); }
+
+        @Override
+        public Optional<ReminderSettings> getReminderByBillId(int billId) {
+            // What a pooled connection reports when the real DAO prepares its query
+            DaoMetrics.recordStatement(SQL);
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *  The EmbeddedDatabaseTest class contains tests for the EmbeddedDatabase class, which creates the
+ *  schema of an embedded H2 database from database_setup.sql.
+ *
+ *  Author: Ayush Madan
+ *  Date: 17-10-2026
+ */
+
+package com.paypilot.test;
+
+import com.paypilot.repo.ConnectionPoolConfig;
+import com.paypilot.repo.EmbeddedDatabase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Test class for EmbeddedDatabase.
+ * The tests run against an in-memory database of their own, which is dropped after each test.
+ */
+public class EmbeddedDatabaseTest {
+
+    private static final ConnectionPoolConfig CONFIG = EmbeddedDatabase.memory("embeddeddatabasetest");
+
+    private Connection con;
+
+    /**
+     * Opens a connection to an empty database.
+     */
+    @Before
+    public void setUp() throws Exception {
+        con = DriverManager.getConnection(CONFIG.getUrl(), CONFIG.getUsername(), CONFIG.getPassword());
+    }
+
+    /**
+     * Drops the database so that the next test starts empty.
+     */
+    @After
+    public void tearDown() throws Exception {
+        try (Statement st = con.createStatement()) {
+            st.execute("DROP ALL OBJECTS");
+        }
+        con.close();
+    }
+
+    /**
+     * Validates that a new database gets the whole schema and the sample rows, and that a second
+     * bootstrap finds nothing left to create.
+     */
+    @Test
+    public void testCreatesSchemaOnce() throws Exception {
+        assertTrue(EmbeddedDatabase.bootstrap(con));
+        assertEquals(3, count("SELECT COUNT(*) FROM Bills"));
+        assertEquals(3, count("SELECT COUNT(*) FROM ReminderSettings"));
+
+        assertFalse(EmbeddedDatabase.bootstrap(con));
+        assertEquals(3, count("SELECT COUNT(*) FROM Bills"));
+    }
+
+    /**
+     * Validates that a database created by an older script gains the tables, sequences and indexes
+     * added since, and that no sample rows are added to it.
+     */
+    @Test
+    public void testAddsMissingObjectsToOlderDatabase() throws Exception {
+        try (Statement st = con.createStatement()) {
+            st.execute("CREATE TABLE Bills (bill_id NUMBER PRIMARY KEY, bill_name VARCHAR2(100), bill_category VARCHAR2(100), "
+                    + "due_date DATE, amount NUMBER(10, 2), reminder_frequency VARCHAR2(50), attachment BLOB, notes VARCHAR2(4000), "
+                    + "is_recurring VARCHAR2(10), payment_status VARCHAR2(50), overdue_days NUMBER, user_id NUMBER)");
+            st.execute("CREATE SEQUENCE bill_id_seq START WITH 1001 INCREMENT BY 50");
+            st.execute("INSERT INTO Bills (bill_id, bill_name) VALUES (500, 'Existing')");
+        }
+
+        assertTrue(EmbeddedDatabase.bootstrap(con));
+
+        assertEquals("The existing table should keep only its own rows.", 1, count("SELECT COUNT(*) FROM Bills"));
+        assertEquals(0, count("SELECT COUNT(*) FROM ReminderSettings"));
+        assertEquals(0, count("SELECT COUNT(*) FROM BillJobCheckpoints"));
+        assertEquals(0, count("SELECT COUNT(*) FROM RecurringBillSeries"));
+        assertEquals(1, count("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'REMINDER_ID_SEQ'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = 'IDX_BILLS_USER_DUE'"));
+    }
+
+    private long count(String sql) throws Exception {
+        try (PreparedStatement ps = con.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
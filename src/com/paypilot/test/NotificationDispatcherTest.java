@@ -0,0 +1,207 @@
+/**
+ * Test class for NotificationDispatcher.
+ * <p>
+ * This class contains unit tests for the NotificationDispatcher class, which delivers due reminders
+ * over pluggable channels with a per-channel concurrency limit and retries. The channels are stubs
+ * or write to a temporary file, so the tests need neither a database nor a real provider.
+ * </p>
+ *
+ * Author: Ayush Madan
+ * Date: 17-10-2026
+ */
+
+package com.paypilot.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.paypilot.model.ReminderSettings;
+import com.paypilot.service.FileNotificationChannel;
+import com.paypilot.service.NotificationChannel;
+import com.paypilot.service.NotificationDispatcher;
+import com.paypilot.service.NotificationStats;
+import com.paypilot.service.StubNotificationChannel;
+
+public class NotificationDispatcherTest {
+
+    /**
+     * Tests that reminders are routed by notification preference, and to the default channel otherwise.
+     */
+    @Test
+    public void testRoutesByPreferenceAndDefault() throws InterruptedException {
+        NotificationDispatcher dispatcher = new NotificationDispatcher(1, 0, 4);
+        StubNotificationChannel email = new StubNotificationChannel("Email");
+        StubNotificationChannel sms = new StubNotificationChannel("SMS");
+        dispatcher.registerChannel(email, 10);
+        dispatcher.registerChannel(sms, 10);
+
+        assertTrue(dispatcher.dispatch(reminder(1, "email"), new Date()), "The preference should match ignoring case.");
+        assertTrue(dispatcher.dispatch(reminder(2, "SMS"), new Date()), "The SMS channel should be used.");
+        assertFalse(dispatcher.dispatch(reminder(3, "Yes"), new Date()), "Without a default channel the reminder is dropped.");
+        dispatcher.setDefaultChannel("Email");
+        assertTrue(dispatcher.dispatch(reminder(4, "Yes"), new Date()), "The default channel should be used.");
+        assertTrue(dispatcher.shutdown(5, TimeUnit.SECONDS), "All sends should finish.");
+
+        assertEquals(2, email.getSent().size(), "Reminders 1 and 4 should go to Email.");
+        assertEquals(1, sms.getSent().size(), "Reminder 2 should go to SMS.");
+        assertEquals(1, dispatcher.getUnroutedCount(), "Reminder 3 should be counted as unrouted.");
+    }
+
+    /**
+     * Tests that failed sends are retried, and given up on after the last attempt.
+     */
+    @Test
+    public void testRetriesThenGivesUp() throws InterruptedException {
+        NotificationDispatcher dispatcher = new NotificationDispatcher(3, 1, 4);
+        dispatcher.registerChannel(new StubNotificationChannel("Email", 0, 2), 10);
+        dispatcher.registerChannel(new StubNotificationChannel("SMS", 0, 5), 10);
+
+        dispatcher.dispatch(reminder(1, "Email"), new Date());
+        dispatcher.dispatch(reminder(2, "SMS"), new Date());
+        assertTrue(dispatcher.shutdown(5, TimeUnit.SECONDS), "All sends should finish.");
+
+        NotificationStats email = dispatcher.getStats("Email");
+        assertEquals(1, email.getDeliveredCount(), "The third attempt should succeed.");
+        assertEquals(2, email.getRetryCount(), "Two attempts should have been retried.");
+        NotificationStats sms = dispatcher.getStats("SMS");
+        assertEquals(0, sms.getDeliveredCount(), "Every attempt should fail.");
+        assertEquals(1, sms.getFailedCount(), "The reminder should be given up on after three attempts.");
+        assertEquals(0, sms.getInFlight(), "Nothing should remain in flight.");
+    }
+
+    /**
+     * Tests that no more sends than the channel's limit are in progress at once.
+     */
+    @Test
+    public void testConcurrencyIsCappedPerChannel() throws InterruptedException {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        NotificationChannel slow = new NotificationChannel() {
+            @Override
+            public String getName() {
+                return "Email";
+            }
+
+            @Override
+            public void send(ReminderSettings reminder, Date fireTime) throws IOException {
+                peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    active.decrementAndGet();
+                }
+            }
+        };
+        NotificationDispatcher dispatcher = new NotificationDispatcher(1, 0, 16);
+        dispatcher.registerChannel(slow, 3);
+
+        for (int i = 1; i <= 60; i++) {
+            dispatcher.dispatch(reminder(i, "Email"), new Date());
+        }
+        assertTrue(dispatcher.shutdown(10, TimeUnit.SECONDS), "All sends should finish.");
+
+        assertEquals(60, dispatcher.getStats("Email").getDeliveredCount(), "Every reminder should be delivered.");
+        assertTrue(peak.get() <= 3, "At most three sends should run at once but " + peak.get() + " did.");
+    }
+
+    /**
+     * Tests that a channel whose sends block holds no more workers than its limit, so another channel
+     * still delivers, and that dispatching never runs a send on the calling thread.
+     */
+    @Test
+    public void testBlockedChannelDoesNotStarveOthers() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        Thread caller = Thread.currentThread();
+        AtomicInteger sentByCaller = new AtomicInteger();
+        NotificationChannel blocked = new NotificationChannel() {
+            @Override
+            public String getName() {
+                return "Email";
+            }
+
+            @Override
+            public void send(ReminderSettings reminder, Date fireTime) throws IOException {
+                if (Thread.currentThread() == caller) {
+                    sentByCaller.incrementAndGet();
+                }
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        StubNotificationChannel sms = new StubNotificationChannel("SMS");
+        NotificationDispatcher dispatcher = new NotificationDispatcher(1, 0, 2);
+        dispatcher.registerChannel(blocked, 1);
+        dispatcher.registerChannel(sms, 1);
+
+        for (int i = 1; i <= 20; i++) {
+            assertTrue(dispatcher.dispatch(reminder(i, "Email"), new Date()), "The reminder should be queued.");
+        }
+        dispatcher.dispatch(reminder(21, "SMS"), new Date());
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (sms.getSent().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, sms.getSent().size(), "SMS should deliver while Email is blocked.");
+        assertEquals(20, dispatcher.getStats("Email").getInFlight(), "Email reminders should wait for their channel.");
+
+        release.countDown();
+        assertTrue(dispatcher.shutdown(5, TimeUnit.SECONDS), "All sends should finish.");
+        assertEquals(20, dispatcher.getStats("Email").getDeliveredCount(), "Every Email reminder should be delivered.");
+        assertEquals(0, sentByCaller.get(), "No send should run on the dispatching thread.");
+    }
+
+    /**
+     * Tests that a reminder dispatched after shutdown is refused and counted as failed, not lost.
+     */
+    @Test
+    public void testDispatchAfterShutdownIsCountedAsFailed() throws InterruptedException {
+        NotificationDispatcher dispatcher = new NotificationDispatcher(1, 0, 4);
+        StubNotificationChannel email = new StubNotificationChannel("Email");
+        dispatcher.registerChannel(email, 4);
+        assertTrue(dispatcher.shutdown(5, TimeUnit.SECONDS), "Nothing was in flight.");
+
+        assertFalse(dispatcher.dispatch(reminder(1, "Email"), new Date()), "The reminder should be refused.");
+        NotificationStats stats = dispatcher.getStats("Email");
+        assertEquals(1, stats.getFailedCount(), "The refused reminder should be counted as failed.");
+        assertEquals(0, stats.getInFlight(), "Nothing should remain in flight.");
+        assertTrue(email.getSent().isEmpty(), "Nothing should be sent.");
+    }
+
+    /**
+     * Tests that the file channel appends one line per notification.
+     */
+    @Test
+    public void testFileChannelAppendsLines(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("notifications.log");
+        NotificationDispatcher dispatcher = new NotificationDispatcher(1, 0, 4);
+        try (FileNotificationChannel channel = new FileNotificationChannel("Email", file)) {
+            dispatcher.registerChannel(channel, 4);
+            dispatcher.dispatch(reminder(1, "Email"), new Date());
+            dispatcher.dispatch(reminder(2, "Email"), new Date());
+            assertTrue(dispatcher.shutdown(5, TimeUnit.SECONDS), "All sends should finish.");
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size(), "One line should be written per notification.");
+        assertTrue(lines.get(0).endsWith("Reminder 1") || lines.get(1).endsWith("Reminder 1"), "The message should be written.");
+    }
+
+    private static ReminderSettings reminder(int id, String pref) {
+        return new ReminderSettings(id, "Monthly", new Date(), "Reminder " + id, pref, null);
+    }
+}
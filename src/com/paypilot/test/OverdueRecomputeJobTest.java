@@ -0,0 +1,151 @@
+/*
+ *  The OverdueRecomputeJobTest class contains tests for the OverdueRecomputeJob class,
+ *  which recomputes overdue days and payment statuses in parallel chunks.
+ *
+ *  Author: Ayush Madan
+ *  Date: 17-10-2026
+ */
+
+package com.paypilot.test;
+
+import com.paypilot.model.Bill;
+import com.paypilot.repo.BillDAO;
+import com.paypilot.repo.DBConnection;
+import com.paypilot.repo.OverdueRecomputeJob;
+import com.paypilot.repo.OverdueRecomputeResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Test class for OverdueRecomputeJob.
+ * The bills used here live in their own ID range, which is the only range the job is run on,
+ * so the rows of other tests are never touched.
+ */
+public class OverdueRecomputeJobTest {
+
+    private static final int FIRST_ID = 700_001;
+    private static final int LAST_ID = 700_999;
+    private static final LocalDate AS_OF = LocalDate.of(2026, 10, 17);
+
+    private BillDAO billDAO;
+    private OverdueRecomputeJob job;
+
+    /**
+     * Prepares the test environment with 25 unpaid bills and one paid bill.
+     *
+     * <p>Bill {@code FIRST_ID + i} is due {@code i - 10} days from {@code AS_OF}, so the first ten are
+     * past due, the eleventh is due on {@code AS_OF} and the rest are still to come. All of them start
+     * as "Upcoming" with zero overdue days. The job is set up with chunks of ten IDs, batches of four
+     * updates and a grace period of two days, so every code path runs on a handful of rows.</p>
+     */
+    @Before
+    public void setUp() throws Exception {
+        cleanUp();
+        billDAO = new BillDAO();
+        List<Bill> bills = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            bills.add(bill(FIRST_ID + i, AS_OF.plusDays(i - 10), "Upcoming"));
+        }
+        bills.add(bill(FIRST_ID + 25, AS_OF.minusDays(30), "Paid"));
+        assertEquals(26, billDAO.addBills(bills).getInsertedCount());
+
+        job = new OverdueRecomputeJob();
+        job.setChunkSize(10);
+        job.setBatchSize(4);
+        job.setGraceDays(2);
+        job.setParallelism(3);
+    }
+
+    /**
+     * Removes the bills and checkpoints created by the test.
+     */
+    @After
+    public void tearDown() throws Exception {
+        cleanUp();
+    }
+
+    /**
+     * Validates that unpaid bills move to Pending within the grace period and to Overdue after it,
+     * that overdue days are counted from the due date, and that paid bills are left alone.
+     */
+    @Test
+    public void testRecomputesStatusAndOverdueDays() {
+        OverdueRecomputeResult result = job.run(AS_OF, FIRST_ID, LAST_ID);
+
+        assertTrue(result.toString(), result.isSuccessful());
+        assertEquals("IDs 700001 to 700026 span three chunks of ten.", 3, result.getChunkCount());
+        assertEquals(3, result.getCompletedChunks());
+        assertEquals("The paid bill is not read.", 25, result.getScannedRows());
+        assertEquals("Bills due after AS_OF are already up to date.", 11, result.getUpdatedRows());
+
+        assertBill(FIRST_ID, "Overdue", 10);
+        assertBill(FIRST_ID + 7, "Overdue", 3);
+        assertBill(FIRST_ID + 8, "Pending", 2);
+        assertBill(FIRST_ID + 10, "Pending", 0);
+        assertBill(FIRST_ID + 11, "Upcoming", 0);
+        assertBill(FIRST_ID + 25, "Paid", 0);
+    }
+
+    /**
+     * Validates that a second run for the same date skips every chunk the first run committed,
+     * while a run for a later date processes them again.
+     */
+    @Test
+    public void testResumeSkipsCommittedChunks() {
+        assertTrue(job.run(AS_OF, FIRST_ID, LAST_ID).isSuccessful());
+
+        OverdueRecomputeResult resumed = job.run(AS_OF, FIRST_ID, LAST_ID);
+        assertEquals(3, resumed.getSkippedChunks());
+        assertEquals(0, resumed.getCompletedChunks());
+
+        OverdueRecomputeResult nextDay = job.run(AS_OF.plusDays(1), FIRST_ID, LAST_ID);
+        assertEquals(0, nextDay.getSkippedChunks());
+        assertEquals(3, nextDay.getCompletedChunks());
+        assertBill(FIRST_ID + 10, "Pending", 1);
+        assertBill(FIRST_ID + 11, "Pending", 0);
+    }
+
+    /**
+     * Validates the status rules on their own.
+     */
+    @Test
+    public void testStatusFor() {
+        assertEquals("Upcoming", OverdueRecomputeJob.statusFor(AS_OF.plusDays(1), AS_OF, 0));
+        assertEquals("Pending", OverdueRecomputeJob.statusFor(AS_OF, AS_OF, 0));
+        assertEquals("Overdue", OverdueRecomputeJob.statusFor(AS_OF.minusDays(1), AS_OF, 0));
+        assertEquals("Pending", OverdueRecomputeJob.statusFor(AS_OF.minusDays(3), AS_OF, 3));
+        assertEquals(0, OverdueRecomputeJob.overdueDaysFor(AS_OF.plusDays(5), AS_OF));
+    }
+
+    private void assertBill(int billId, String status, int overdueDays) {
+        Bill bill = billDAO.getBillById(billId);
+        assertEquals("Status of bill " + billId, status, bill.getPaymentStatus());
+        assertEquals("Overdue days of bill " + billId, overdueDays, bill.getOverdueDays());
+    }
+
+    private static Bill bill(int id, LocalDate dueDate, String status) {
+        Date due = Date.from(dueDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        return new Bill(id, "Bill " + id, "Utilities", due, 10.0, "Monthly", null, null, false, status, 0, null);
+    }
+
+    private static void cleanUp() throws Exception {
+        try (Connection con = DBConnection.getConnection(); Statement st = con.createStatement()) {
+            st.executeUpdate("DELETE FROM Bills WHERE bill_id BETWEEN " + FIRST_ID + " AND " + LAST_ID);
+            try (PreparedStatement ps = con.prepareStatement("DELETE FROM BillJobCheckpoints WHERE job_name = ?")) {
+                ps.setString(1, OverdueRecomputeJob.JOB_NAME);
+                ps.executeUpdate();
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * Test class for RecurringBillGenerator.
+ * <p>
+ * This class contains unit tests for the planning step of the RecurringBillGenerator class, which works
+ * out the future instances of recurring bills. The existing bills are passed in directly, so the tests
+ * need no database.
+ * </p>
+ *
+ * Author: Ayush Madan
+ * Date: 17-10-2026
+ */
+
+package com.paypilot.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.paypilot.model.Bill;
+import com.paypilot.repo.RecurringSeries;
+import com.paypilot.service.RecurringBillGenerator;
+
+public class RecurringBillGeneratorTest {
+
+    private static final ZoneId UTC = ZoneOffset.UTC;
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 15);
+
+    private final RecurringBillGenerator generator = new RecurringBillGenerator(null, UTC);
+
+    /**
+     * Tests that monthly instances follow the series' first due date, including on short months.
+     */
+    @Test
+    public void testMonthlySeriesKeepsItsDayOfMonth() {
+        List<Bill> planned = generator.plan(Stream.of(bill(1, "Rent", "Monthly", "2026-01-31", true)), TODAY, 120);
+
+        assertEquals(List.of(LocalDate.of(2026, 2, 28), LocalDate.of(2026, 3, 31), LocalDate.of(2026, 4, 30)), dueDates(planned));
+        Bill first = planned.get(0);
+        assertEquals(0, first.getBillId(), "The DAO should assign the ID.");
+        assertEquals("Upcoming", first.getPaymentStatus());
+        assertEquals(Integer.valueOf(7), first.getUserId(), "The instance should belong to the same user.");
+        assertEquals(1200.0, first.getAmount(), 0.001);
+    }
+
+    /**
+     * Tests that planning again after the instances exist creates nothing, which makes the generator idempotent.
+     */
+    @Test
+    public void testPlanningIsIdempotent() {
+        List<Bill> existing = new ArrayList<>();
+        existing.add(bill(1, "Rent", "Monthly", "2026-01-31", true));
+        existing.addAll(generator.plan(existing.stream(), TODAY, 120));
+
+        assertTrue(generator.plan(existing.stream(), TODAY, 120).isEmpty(), "Nothing is left to create.");
+        assertEquals(List.of(LocalDate.of(2026, 5, 31)), dueDates(generator.plan(existing.stream(), TODAY, 150)),
+                "A longer window only adds the instances beyond the existing ones.");
+    }
+
+    /**
+     * Tests that missed occurrences are not back-filled and that other series are grouped separately.
+     */
+    @Test
+    public void testSkipsPastOccurrencesAndNonRecurringBills() {
+        List<Bill> planned = generator.plan(Stream.of(
+                bill(1, "Phone", "Weekly", "2025-12-01", true),
+                bill(2, "Gym", "Yearly", "2025-06-01", true),
+                bill(3, "Loan", "Monthly", "2026-01-20", false),
+                bill(4, "Water", "Once", "2026-01-20", true)), TODAY, 14);
+
+        assertEquals(List.of(LocalDate.of(2026, 1, 19), LocalDate.of(2026, 1, 26)), dueDates(planned),
+                "Only the weekly series has occurrences in the next two weeks.");
+    }
+
+    /**
+     * Tests that instances paid ahead of time, which lose their due date, are not planned again once the
+     * series has recorded how far it was generated, and that a paid bill serves as the template.
+     */
+    @Test
+    public void testPaidAheadInstancesAreNotPlannedAgain() {
+        Map<String, RecurringSeries> state = new HashMap<>();
+        List<Bill> existing = new ArrayList<>();
+        existing.add(bill(1, "Rent", "Monthly", "2026-01-31", true));
+        existing.addAll(generator.plan(existing.stream(), state, TODAY, 120));
+        assertEquals(1, state.size(), "The new series should be recorded.");
+        RecurringSeries series = state.values().iterator().next();
+        assertEquals(LocalDate.of(2026, 1, 31), series.getAnchorDate());
+        series.setGeneratedThrough(LocalDate.of(2026, 4, 30));
+
+        for (Bill bill : existing) {
+            bill.setDueDate(null);
+            bill.setPaymentStatus("Paid");
+        }
+        assertTrue(generator.plan(existing.stream(), state, TODAY, 120).isEmpty(), "Paid instances must not be created again.");
+        List<Bill> next = generator.plan(existing.stream(), state, TODAY, 150);
+        assertEquals(List.of(LocalDate.of(2026, 5, 31)), dueDates(next), "The series continues after the paid instances.");
+        assertEquals("Upcoming", next.get(0).getPaymentStatus());
+    }
+
+    /**
+     * Tests that paying the first bill of a series does not move the day the series falls on.
+     */
+    @Test
+    public void testPayingFirstBillKeepsAnchor() {
+        Map<String, RecurringSeries> state = new HashMap<>();
+        Bill first = bill(1, "Rent", "Monthly", "2026-01-31", true);
+        Bill second = bill(2, "Rent", "Monthly", "2026-02-28", true);
+        assertTrue(generator.plan(Stream.of(first, second), state, TODAY, 30).isEmpty());
+
+        first.setDueDate(null);
+        first.setPaymentStatus("Paid");
+        assertEquals(List.of(LocalDate.of(2026, 3, 31)), dueDates(generator.plan(Stream.of(first, second), state, TODAY, 75)),
+                "March should fall on the 31st, not on the 28th of the bill that is now the earliest.");
+    }
+
+    private static List<LocalDate> dueDates(List<Bill> bills) {
+        return bills.stream()
+                .map(b -> b.getDueDate().toInstant().atZone(UTC).toLocalDate())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static Bill bill(int id, String name, String frequency, String dueDate, boolean recurring) {
+        Date due = Date.from(LocalDate.parse(dueDate).atStartOfDay(UTC).toInstant());
+        Bill bill = new Bill(id, name, "Utilities", due, 1200.0, frequency, null, null, recurring, "Pending", 0, null);
+        bill.setUserId(7);
+        return bill;
+    }
+}
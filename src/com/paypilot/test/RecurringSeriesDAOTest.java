@@ -0,0 +1,75 @@
+/*
+ *  The RecurringSeriesDAOTest class contains tests for the RecurringSeriesDAO class,
+ *  which stores how far each recurring bill series has been generated.
+ *
+ *  Author: Ayush Madan
+ *  Date: 17-10-2026
+ */
+
+package com.paypilot.test;
+
+import com.paypilot.repo.DBConnection;
+import com.paypilot.repo.RecurringSeries;
+import com.paypilot.repo.RecurringSeriesDAO;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test class for RecurringSeriesDAO.
+ * The series used here have keys starting with a prefix no real series key can have, and only those
+ * rows are removed afterwards.
+ */
+public class RecurringSeriesDAOTest {
+
+    private static final String PREFIX = "RecurringSeriesDAOTest:";
+
+    private RecurringSeriesDAO dao;
+
+    @Before
+    public void setUp() throws Exception {
+        cleanUp();
+        dao = new RecurringSeriesDAO();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        cleanUp();
+    }
+
+    /**
+     * Validates that new series are inserted, that existing ones are updated, and that both read back.
+     */
+    @Test
+    public void testSaveInsertsThenUpdates() throws Exception {
+        RecurringSeries rent = new RecurringSeries(PREFIX + "rent", LocalDate.of(2026, 1, 31), LocalDate.of(2026, 4, 30));
+        RecurringSeries phone = new RecurringSeries(PREFIX + "phone", LocalDate.of(2026, 1, 5), null);
+        dao.saveSeries(List.of(rent, phone));
+
+        Map<String, RecurringSeries> stored = dao.getAllSeries();
+        assertEquals(LocalDate.of(2026, 1, 31), stored.get(PREFIX + "rent").getAnchorDate());
+        assertEquals(LocalDate.of(2026, 4, 30), stored.get(PREFIX + "rent").getGeneratedThrough());
+        assertNull(stored.get(PREFIX + "phone").getGeneratedThrough());
+
+        rent.setGeneratedThrough(LocalDate.of(2026, 5, 31));
+        dao.saveSeries(List.of(rent));
+        stored = dao.getAllSeries();
+        assertEquals(LocalDate.of(2026, 5, 31), stored.get(PREFIX + "rent").getGeneratedThrough());
+        assertEquals("The anchor must not move.", LocalDate.of(2026, 1, 31), stored.get(PREFIX + "rent").getAnchorDate());
+    }
+
+    private static void cleanUp() throws Exception {
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement("DELETE FROM RecurringBillSeries WHERE series_key LIKE ?")) {
+            ps.setString(1, PREFIX + "%");
+            ps.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * Test class for ReminderScheduler.
+ * <p>
+ * This class contains unit tests for the ReminderScheduler class, which fires reminders from a
+ * hierarchical timing wheel. The scheduler is driven by a manual clock, so the tests advance time
+ * explicitly and do not start the background thread or touch the database.
+ * </p>
+ *
+ * Author: Ayush Madan
+ * Date: 17-10-2026
+ */
+
+package com.paypilot.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.paypilot.model.ReminderSettings;
+import com.paypilot.service.ReminderScheduler;
+
+public class ReminderSchedulerTest {
+
+    private static final ZoneId UTC = ZoneOffset.UTC;
+    private static final long START = ZonedDateTime.of(2026, 1, 1, 0, 0, 0, 0, UTC).toInstant().toEpochMilli();
+    private static final long MINUTE = 60_000;
+
+    private long now;
+    private List<Long> fired;
+
+    /**
+     * Resets the manual clock to 1 January 2026 and clears the fired reminders.
+     */
+    @BeforeEach
+    public void setUp() {
+        now = START;
+        fired = new ArrayList<>();
+    }
+
+    /**
+     * Tests that a one-off reminder fires once, on the first tick that ends after its due time.
+     */
+    @Test
+    public void testReminderFiresOnTimeAndNotEarly() {
+        ReminderScheduler scheduler = scheduler(1_000, 8);
+        scheduler.schedule(reminder(1, "Once", START + 5_500, "Email"));
+
+        assertEquals(0, scheduler.advanceTo(START + 5_999), "The reminder should not fire before its tick has passed.");
+        assertEquals(1, scheduler.advanceTo(START + 6_000), "The reminder should fire once its tick has passed.");
+        assertEquals(START + 5_500, fired.get(0), "The listener should receive the scheduled time.");
+        assertEquals(0, scheduler.getPendingCount(), "A one-off reminder should not be re-armed.");
+    }
+
+    /**
+     * Tests that reminders far beyond the lowest level cascade down and still fire in the right tick.
+     */
+    @Test
+    public void testDistantReminderCascadesDown() {
+        ReminderScheduler scheduler = scheduler(10, 4);
+        long due = START + 123_456;
+        scheduler.schedule(reminder(1, "Once", due, "Email"));
+
+        assertEquals(0, scheduler.advanceTo(due), "The reminder should not fire within its own tick.");
+        assertEquals(1, scheduler.advanceTo(due + 10), "The reminder should fire in the tick after it is due.");
+        assertEquals(due, fired.get(0), "The reminder should fire exactly once.");
+    }
+
+    /**
+     * Tests that a monthly reminder is re-armed from its start date, so it returns to the 31st after short months.
+     */
+    @Test
+    public void testMonthlyReminderIsReArmedFromItsStartDate() {
+        ReminderScheduler scheduler = scheduler(MINUTE, 64);
+        long jan31 = ZonedDateTime.of(2026, 1, 31, 9, 0, 0, 0, UTC).toInstant().toEpochMilli();
+        scheduler.schedule(reminder(1, "Monthly", jan31, "Email"));
+
+        scheduler.advanceTo(ZonedDateTime.of(2026, 4, 1, 0, 0, 0, 0, UTC).toInstant().toEpochMilli());
+
+        assertEquals(3, fired.size(), "January, February and March should have fired.");
+        assertEquals(ZonedDateTime.of(2026, 2, 28, 9, 0, 0, 0, UTC), time(fired.get(1)), "February should fire on its last day.");
+        assertEquals(ZonedDateTime.of(2026, 3, 31, 9, 0, 0, 0, UTC), time(fired.get(2)), "March should fire on the 31st again.");
+        assertEquals(1, scheduler.getPendingCount(), "The reminder should still be scheduled.");
+    }
+
+    /**
+     * Tests that rescheduling replaces the previous entry, cancelling removes it and inactive reminders are skipped.
+     */
+    @Test
+    public void testRescheduleCancelAndInactive() {
+        ReminderScheduler scheduler = scheduler(1_000, 8);
+        scheduler.schedule(reminder(1, "Once", START + 2_000, "Email"));
+        scheduler.schedule(reminder(1, "Once", START + 9_000, "Email"));
+        scheduler.schedule(reminder(2, "Daily", START + 3_000, "SMS"));
+        assertFalse(scheduler.schedule(reminder(3, "Daily", START + 3_000, "No")), "Inactive reminders should not be scheduled.");
+        assertTrue(scheduler.cancel(2), "A scheduled reminder should be cancellable.");
+
+        scheduler.advanceTo(START + 5_000);
+        assertTrue(fired.isEmpty(), "The replaced and the cancelled reminders should not fire.");
+        scheduler.advanceTo(START + 10_000);
+        assertEquals(List.of(START + 9_000), fired, "Only the rescheduled reminder should fire.");
+    }
+
+    /**
+     * Tests that recurring occurrences missed before the reminder was scheduled are skipped.
+     */
+    @Test
+    public void testMissedOccurrencesAreSkipped() {
+        now = START + 10 * 24 * 60 * MINUTE + 30 * MINUTE;
+        ReminderScheduler scheduler = scheduler(MINUTE, 64);
+        scheduler.schedule(reminder(1, "Daily", START + 12 * 60 * MINUTE, "Email"));
+
+        scheduler.advanceTo(now + 24 * 60 * MINUTE);
+
+        assertEquals(List.of(START + 10 * 24 * 60 * MINUTE + 12 * 60 * MINUTE), fired, "Only the next daily occurrence should fire.");
+    }
+
+    private ReminderScheduler scheduler(long tickMillis, int wheelSize) {
+        return new ReminderScheduler((reminder, fireTime) -> fired.add(fireTime.getTime()), tickMillis, wheelSize, () -> now, UTC);
+    }
+
+    private static ReminderSettings reminder(int id, String frequency, long start, String pref) {
+        return new ReminderSettings(id, frequency, new Date(start), "Reminder " + id, pref, null);
+    }
+
+    private static ZonedDateTime time(long millis) {
+        return new Date(millis).toInstant().atZone(UTC);
+    }
+}
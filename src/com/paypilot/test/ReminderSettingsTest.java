@@ -10,6 +10,8 @@ package com.paypilot.test;
 
 import com.paypilot.model.Bill;
 import com.paypilot.model.ReminderSettings;
+import com.paypilot.repo.DaoMetrics;
+import com.paypilot.repo.OperationMetrics;
 import com.paypilot.repo.ReminderSettingsDAO;
 import com.paypilot.repo.ReminderSettingsRepository;
 import com.paypilot.service.ReminderSettingsService;
@@ -285,4 +287,17 @@ public class ReminderSettingsTest {
         //Remove the added ReminderSettings
         reminderSettingsService.deleteReminderService(reminderSettings.getReminderId());
     }
+
+    /**
+     * Validates that a repository built with its default constructor measures the DAO calls it makes.
+     */
+    @Test
+    public void testDefaultRepositoryIsInstrumented() {
+        OperationMetrics metrics = DaoMetrics.getDefault().getOperation("ReminderSettingsDAO.getAllReminders");
+        long calls = metrics.getCallCount();
+
+        new ReminderSettingsRepository().getAllReminders();
+
+        assertEquals("The call should be measured.", calls + 1, metrics.getCallCount());
+    }
 }
@@ -0,0 +1,102 @@
+/*
+ *  The SequenceIdAllocatorTest class contains tests for the SequenceIdAllocator class,
+ *  which hands out IDs in blocks reserved from a database sequence.
+ *
+ *  Author: Ayush Madan
+ *  Date: 17-10-2026
+ */
+
+package com.paypilot.test;
+
+import com.paypilot.repo.DBConnection;
+import com.paypilot.repo.SequenceIdAllocator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Test class for SequenceIdAllocator.
+ * The tests use sequences of their own, so the IDs of the application tables are not consumed.
+ */
+public class SequenceIdAllocatorTest {
+
+    private static final String POOLED_SEQUENCE = "allocator_test_pooled_seq";
+    private static final String UNPOOLED_SEQUENCE = "allocator_test_unpooled_seq";
+
+    /**
+     * Creates one sequence that increments by the block size and one that increments by 1,
+     * as on a database that has not been migrated.
+     */
+    @Before
+    public void setUp() throws Exception {
+        tearDown();
+        try (Connection con = DBConnection.getConnection();
+             Statement st = con.createStatement()) {
+            st.execute("CREATE SEQUENCE " + POOLED_SEQUENCE + " START WITH 1001 INCREMENT BY 50");
+            st.execute("CREATE SEQUENCE " + UNPOOLED_SEQUENCE + " START WITH 1001 INCREMENT BY 1");
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Connection con = DBConnection.getConnection();
+             Statement st = con.createStatement()) {
+            for (String sequence : new String[] { POOLED_SEQUENCE, UNPOOLED_SEQUENCE }) {
+                try {
+                    st.execute("DROP SEQUENCE " + sequence);
+                } catch (SQLException e) {
+                    // Not created yet
+                }
+            }
+        }
+    }
+
+    /**
+     * Validates that IDs are handed out consecutively within a block and that two allocators on the
+     * same sequence never hand out the same ID.
+     */
+    @Test
+    public void testAllocatesDistinctIdsInBlocks() throws Exception {
+        SequenceIdAllocator first = new SequenceIdAllocator(POOLED_SEQUENCE, 50);
+        SequenceIdAllocator second = new SequenceIdAllocator(POOLED_SEQUENCE, 50);
+        assertEquals(1001, first.nextId());
+        assertEquals("The second allocator reserves the next block.", 1051, second.nextId());
+        assertEquals(1002, first.nextId());
+
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < 120; i++) {
+            assertTrue(ids.add(first.nextId()));
+            assertTrue(ids.add(second.nextId()));
+        }
+    }
+
+    /**
+     * Validates that a sequence whose increment does not match the block size is refused before
+     * any ID is handed out, and that the error points to the migration script.
+     */
+    @Test
+    public void testRejectsSequenceWithOtherIncrement() throws Exception {
+        SequenceIdAllocator allocator = new SequenceIdAllocator(UNPOOLED_SEQUENCE, 50);
+        try {
+            allocator.nextId();
+            fail("A sequence incrementing by 1 would produce overlapping blocks.");
+        } catch (SQLException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().contains("increments by 1"));
+            assertTrue(expected.getMessage(), expected.getMessage().contains(SequenceIdAllocator.MIGRATION_SCRIPT));
+        }
+
+        try {
+            new SequenceIdAllocator("allocator_test_missing_seq", 50).nextId();
+            fail("The sequence does not exist.");
+        } catch (SQLException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().contains("does not exist"));
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ *  The SlowQueryLogTest class contains tests for the SlowQueryLog class,
+ *  which logs slow statement executions through a bounded asynchronous buffer.
+ *
+ *  Author: Ayush Madan
+ *  Date: 17-10-2026
+ */
+
+package com.paypilot.test;
+
+import com.paypilot.repo.ConnectionPool;
+import com.paypilot.repo.ConnectionPoolConfig;
+import com.paypilot.repo.EmbeddedDatabase;
+import com.paypilot.repo.SlowQueryLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for SlowQueryLog.
+ * The tests run against an in-memory database of their own, where the SLEEP_MS function makes a
+ * statement as slow as needed, so they neither depend on timing luck nor touch the shared tables.
+ */
+public class SlowQueryLogTest {
+
+    private static final ConnectionPoolConfig CONFIG = EmbeddedDatabase.memory("slowquerylogtest");
+
+    private Connection con;
+    private final List<String> lines = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a small table and the SLEEP_MS function.
+     */
+    @Before
+    public void setUp() throws Exception {
+        con = DriverManager.getConnection(CONFIG.getUrl(), CONFIG.getUsername(), CONFIG.getPassword());
+        try (Statement st = con.createStatement()) {
+            st.execute("CREATE ALIAS IF NOT EXISTS SLEEP_MS FOR 'java.lang.Thread.sleep(long)'");
+            st.execute("CREATE TABLE IF NOT EXISTS Payees (payee_id NUMBER, payee_name VARCHAR2(50))");
+            st.execute("DELETE FROM Payees");
+            st.execute("INSERT INTO Payees VALUES (1, 'Landlord'), (2, 'Power Co'), (3, 'Gym')");
+        }
+    }
+
+    /**
+     * Closes the connection. The database stays open for the next test, which empties the table first.
+     */
+    @After
+    public void tearDown() throws Exception {
+        con.close();
+    }
+
+    /**
+     * Validates that a slow query is logged once its rows are read, with the row count, the caller
+     * and its bind values, text values redacted.
+     */
+    @Test
+    public void testLogsSlowQueryWithRedactedBinds() throws Exception {
+        SlowQueryLog log = new SlowQueryLog(20, 16, SlowQueryLog.Redaction.TEXT, lines::add);
+        String sql = "SELECT payee_id FROM Payees WHERE payee_id >= ? AND payee_name <> ? AND SLEEP_MS(30) IS NULL";
+        PreparedStatement ps = (PreparedStatement) log.wrap(con.prepareStatement(sql), PreparedStatement.class, sql);
+        ps.setInt(1, 2);
+        ps.setString(2, "Bob's account");
+        int read = 0;
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                read++;
+            }
+        }
+        log.close();
+
+        assertEquals(2, read);
+        assertEquals(1, log.getLoggedCount());
+        String line = lines.get(0);
+        assertTrue(line, line.contains(" 2 rows, SlowQueryLogTest.testLogsSlowQueryWithRedactedBinds:"));
+        assertTrue(line, line.endsWith(sql + " | binds [1=2, 2='***']"));
+        assertFalse(line.contains("Bob"));
+    }
+
+    /**
+     * Validates that a query whose rows are slow to fetch is logged even though it executes quickly,
+     * and that time the caller spends between rows is not counted.
+     */
+    @Test
+    public void testCountsFetchTimeButNotCallerTime() throws Exception {
+        try (Statement st = con.createStatement()) {
+            // Evaluate rows as they are fetched rather than all at once in executeQuery
+            st.execute("SET LAZY_QUERY_EXECUTION TRUE");
+        }
+        SlowQueryLog log = new SlowQueryLog(30, 16, SlowQueryLog.Redaction.TEXT, lines::add);
+        String slowFetch = "SELECT payee_id FROM Payees WHERE SLEEP_MS(15) IS NULL";
+        PreparedStatement ps = (PreparedStatement) log.wrap(con.prepareStatement(slowFetch), PreparedStatement.class, slowFetch);
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                // Rows are read as fast as the database returns them
+            }
+        }
+        String fast = "SELECT payee_id FROM Payees";
+        PreparedStatement fastPs = (PreparedStatement) log.wrap(con.prepareStatement(fast), PreparedStatement.class, fast);
+        try (ResultSet rs = fastPs.executeQuery()) {
+            while (rs.next()) {
+                Thread.sleep(20);
+            }
+        }
+        log.close();
+
+        assertEquals(lines.toString(), 1, lines.size());
+        assertTrue(lines.get(0), lines.get(0).contains(" 3 rows, "));
+        assertTrue(lines.get(0), lines.get(0).endsWith(slowFetch));
+    }
+
+    /**
+     * Validates that fast executions are not logged, that updates report the rows they changed and
+     * that ALL redaction hides numbers too.
+     */
+    @Test
+    public void testLogsOnlySlowUpdates() throws Exception {
+        SlowQueryLog log = new SlowQueryLog(20, 16, SlowQueryLog.Redaction.ALL, lines::add);
+        String fast = "UPDATE Payees SET payee_name = payee_name WHERE payee_id = ?";
+        PreparedStatement ps = (PreparedStatement) log.wrap(con.prepareStatement(fast), PreparedStatement.class, fast);
+        ps.setInt(1, 1);
+        ps.executeUpdate();
+        String slow = "UPDATE Payees SET payee_name = ? WHERE payee_id > ? AND SLEEP_MS(25) IS NULL";
+        PreparedStatement slowPs = (PreparedStatement) log.wrap(con.prepareStatement(slow), PreparedStatement.class, slow);
+        slowPs.setString(1, "Renamed");
+        slowPs.setNull(2, Types.INTEGER);
+        slowPs.setInt(2, 1);
+        slowPs.executeUpdate();
+        log.close();
+
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0), lines.get(0).contains(" 2 rows, "));
+        assertTrue(lines.get(0), lines.get(0).endsWith(slow + " | binds [1='***', 2='***']"));
+    }
+
+    /**
+     * Validates that a slow execution that fails is logged with the class of its exception.
+     */
+    @Test
+    public void testLogsSlowFailedExecution() throws Exception {
+        SlowQueryLog log = new SlowQueryLog(20, 16, SlowQueryLog.Redaction.TEXT, lines::add);
+        // The WHERE clause sleeps before the SET expression fails on the first matching row
+        String sql = "UPDATE Payees SET payee_id = payee_id / 0 WHERE SLEEP_MS(25) IS NULL";
+        PreparedStatement ps = (PreparedStatement) log.wrap(con.prepareStatement(sql), PreparedStatement.class, sql);
+        SQLException failure = assertThrows(SQLException.class, ps::executeUpdate);
+        log.close();
+
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0), lines.get(0).contains(" ? rows, failed with " + failure.getClass().getName() + ", "));
+        assertTrue(lines.get(0), lines.get(0).endsWith(sql));
+    }
+
+    /**
+     * Validates that the request thread does not wait on a stuck writer: once the buffer is full,
+     * further slow executions are dropped and counted.
+     */
+    @Test
+    public void testDropsWhenBufferIsFull() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SlowQueryLog log = new SlowQueryLog(1, 1, SlowQueryLog.Redaction.TEXT, line -> {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            lines.add(line);
+        });
+        String sql = "UPDATE Payees SET payee_name = payee_name WHERE SLEEP_MS(5) IS NULL";
+        PreparedStatement ps = (PreparedStatement) log.wrap(con.prepareStatement(sql), PreparedStatement.class, sql);
+
+        ps.executeUpdate();
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        ps.executeUpdate();
+        ps.executeUpdate();
+        assertEquals("The writer holds one entry and the buffer one more.", 1, log.getDroppedCount());
+
+        release.countDown();
+        log.close();
+        assertEquals(2, log.getLoggedCount());
+    }
+
+    /**
+     * Validates that the connection pool times the statements it hands out when a threshold is set.
+     */
+    @Test
+    public void testPoolWrapsStatements() throws Exception {
+        ConnectionPoolConfig config = EmbeddedDatabase.memory("slowquerylogtest");
+        config.setMinSize(1);
+        config.setSlowQueryThresholdMillis(5);
+        ConnectionPool pool = new ConnectionPool(config);
+        try (Connection pooled = pool.getConnection();
+             PreparedStatement ps = pooled.prepareStatement("SELECT COUNT(*) FROM Payees WHERE SLEEP_MS(?) IS NULL")) {
+            ps.setInt(1, 10);
+            try (ResultSet rs = ps.executeQuery()) {
+                assertTrue(rs.next());
+            }
+        }
+        pool.close();
+
+        assertEquals(1, pool.getSlowQueryLog().getLoggedCount());
+    }
+}
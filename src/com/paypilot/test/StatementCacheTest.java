@@ -0,0 +1,155 @@
+/*
+ *  The StatementCacheTest class contains tests for the statement cache of pooled connections,
+ *  which keeps prepared statements open between borrows.
+ *
+ *  Author: Ayush Madan
+ *  Date: 17-10-2026
+ */
+
+package com.paypilot.test;
+
+import com.paypilot.repo.ConnectionPool;
+import com.paypilot.repo.ConnectionPoolConfig;
+import com.paypilot.repo.EmbeddedDatabase;
+import com.paypilot.repo.PoolStats;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Test class for the statement cache.
+ * The cache is package-private, so it is tested through a pool of one connection on an in-memory
+ * database of its own, and observed through the pool's hit, miss and eviction counters.
+ */
+public class StatementCacheTest {
+
+    private static final String SQL_A = "SELECT 'a' FROM DUAL";
+    private static final String SQL_B = "SELECT 'b' FROM DUAL";
+    private static final String SQL_C = "SELECT 'c' FROM DUAL";
+
+    private ConnectionPool pool;
+
+    /**
+     * Creates a pool of one connection whose cache holds two statements.
+     */
+    @Before
+    public void setUp() throws Exception {
+        ConnectionPoolConfig config = EmbeddedDatabase.memory("statementcachetest");
+        config.setMaxSize(1);
+        config.setMinSize(1);
+        config.setStatementCacheSize(2);
+        pool = new ConnectionPool(config);
+    }
+
+    @After
+    public void tearDown() {
+        pool.close();
+    }
+
+    /**
+     * Validates that the least recently used statement is closed when the cache is full.
+     */
+    @Test
+    public void testEvictsLeastRecentlyUsed() throws Exception {
+        prepareAndClose(SQL_A);
+        prepareAndClose(SQL_B);
+        prepareAndClose(SQL_A);
+        prepareAndClose(SQL_C);
+        assertStats(1, 3, 1);
+
+        prepareAndClose(SQL_A);
+        assertStats(2, 3, 1);
+        prepareAndClose(SQL_B);
+        assertStats(2, 4, 2);
+    }
+
+    /**
+     * Validates that a statement comes back from the cache without the parameters of its last use,
+     * even when the connection it was prepared on is returned and borrowed again.
+     */
+    @Test
+    public void testClearsParametersOnClose() throws Exception {
+        String sql = "SELECT CAST(? AS INT) FROM DUAL";
+        try (Connection con = pool.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setInt(1, 5);
+            ps.setMaxRows(1);
+            try (ResultSet rs = ps.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(5, rs.getInt(1));
+            }
+        }
+
+        try (Connection con = pool.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            assertEquals("The row limit is restored.", 0, ps.getMaxRows());
+            try {
+                ps.executeQuery();
+                fail("The parameter of the previous use must not be kept.");
+            } catch (SQLException expected) {
+                // Parameter #1 is not set
+            }
+        }
+        assertStats(1, 1, 0);
+    }
+
+    /**
+     * Validates that the same SQL prepared with another result set type gets its own cache entry.
+     */
+    @Test
+    public void testKeysByResultSetType() throws Exception {
+        try (Connection con = pool.getConnection()) {
+            try (PreparedStatement ps = con.prepareStatement(SQL_A)) {
+                assertEquals(ResultSet.TYPE_FORWARD_ONLY, ps.getResultSetType());
+            }
+            try (PreparedStatement ps = con.prepareStatement(SQL_A, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)) {
+                assertEquals(ResultSet.TYPE_SCROLL_INSENSITIVE, ps.getResultSetType());
+            }
+            assertStats(0, 2, 0);
+
+            try (PreparedStatement ps = con.prepareStatement(SQL_A, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)) {
+                assertEquals(ResultSet.TYPE_SCROLL_INSENSITIVE, ps.getResultSetType());
+            }
+            try (PreparedStatement ps = con.prepareStatement(SQL_A)) {
+                assertEquals(ResultSet.TYPE_FORWARD_ONLY, ps.getResultSetType());
+            }
+            assertStats(2, 2, 0);
+        }
+    }
+
+    /**
+     * Validates that the same SQL prepared twice on one borrow gets a second statement that is not
+     * cached, so the two never share parameters.
+     */
+    @Test
+    public void testSameSqlInUseIsNotShared() throws Exception {
+        try (Connection con = pool.getConnection();
+             PreparedStatement first = con.prepareStatement(SQL_A);
+             PreparedStatement second = con.prepareStatement(SQL_A)) {
+            assertNotSame(first, second);
+        }
+        prepareAndClose(SQL_A);
+        assertStats(1, 2, 0);
+    }
+
+    private void prepareAndClose(String sql) throws SQLException {
+        try (Connection con = pool.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            assertTrue(rs.next());
+        }
+    }
+
+    private void assertStats(long hits, long misses, long evictions) {
+        PoolStats stats = pool.getStats();
+        assertEquals("hits", hits, stats.getStatementCacheHits());
+        assertEquals("misses", misses, stats.getStatementCacheMisses());
+        assertEquals("evictions", evictions, stats.getStatementCacheEvictions());
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ *  The TableExporterTest class contains tests for the TableExporter class,
+ *  which streams the Bills and ReminderSettings tables to CSV or JSON Lines.
+ *
+ *  Author: Ayush Madan
+ *  Date: 17-10-2026
+ */
+
+package com.paypilot.test;
+
+import com.paypilot.repo.DBConnection;
+import com.paypilot.repo.ExportFormat;
+import com.paypilot.repo.TableExporter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Test class for TableExporter.
+ * The exported tables are shared with other tests, so the checks look for the rows inserted here,
+ * under bill IDs from a range reserved for this test, and compare the row count with the table.
+ */
+public class TableExporterTest {
+
+    private static final int FIRST_ID = 810_001;
+    private static final int LAST_ID = 810_999;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TableExporter exporter;
+
+    /**
+     * Inserts two bills: one whose notes need quoting and escaping, and one with NULL columns.
+     */
+    @Before
+    public void setUp() throws Exception {
+        cleanUp();
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement("INSERT INTO Bills (bill_id, bill_name, bill_category, due_date, amount, notes, is_recurring, payment_status, overdue_days, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            ps.setInt(1, FIRST_ID);
+            ps.setString(2, "Rent");
+            ps.setString(3, "HOUSE_RENT");
+            ps.setDate(4, java.sql.Date.valueOf("2026-11-01"));
+            ps.setBigDecimal(5, new java.math.BigDecimal("1200.50"));
+            ps.setString(6, "Flat 4, \"top\" floor\nback door");
+            ps.setString(7, "Yes");
+            ps.setString(8, "Upcoming");
+            ps.setInt(9, 0);
+            ps.setInt(10, 7);
+            ps.executeUpdate();
+
+            ps.setInt(1, FIRST_ID + 1);
+            ps.setString(2, "Gym");
+            ps.setString(3, "MISCELLANEOUS");
+            ps.setNull(4, java.sql.Types.DATE);
+            ps.setBigDecimal(5, new java.math.BigDecimal("25"));
+            ps.setNull(6, java.sql.Types.VARCHAR);
+            ps.setString(7, "No");
+            ps.setString(8, "Paid");
+            ps.setNull(9, java.sql.Types.INTEGER);
+            ps.setNull(10, java.sql.Types.INTEGER);
+            ps.executeUpdate();
+        }
+        exporter = new TableExporter();
+        exporter.setFetchSize(1);
+    }
+
+    /**
+     * Removes the bills inserted by the test.
+     */
+    @After
+    public void tearDown() throws Exception {
+        cleanUp();
+    }
+
+    /**
+     * Validates the gzip CSV export: the header, quoting of commas, quotes and line breaks,
+     * empty fields for NULLs, and one line per row.
+     */
+    @Test
+    public void testCsvExportIsQuotedAndComplete() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exporter.exportBills(out, ExportFormat.CSV, true);
+
+        String csv = gunzip(out.toByteArray());
+        assertEquals(countBills(), rows);
+        assertTrue(csv.startsWith("bill_id,bill_name,bill_category,due_date,amount,reminder_frequency,notes,is_recurring,payment_status,overdue_days,user_id\n"));
+        assertTrue(csv, csv.contains(FIRST_ID + ",Rent,HOUSE_RENT,2026-11-01,1200.5,,\"Flat 4, \"\"top\"\" floor\nback door\",true,Upcoming,0,7\n"));
+        assertTrue(csv, csv.contains((FIRST_ID + 1) + ",Gym,MISCELLANEOUS,,25,,,false,Paid,,\n"));
+        assertEquals("The header, one line per row and one line break inside the quoted notes.",
+                rows + 2, csv.chars().filter(c -> c == '\n').count());
+    }
+
+    /**
+     * Validates the JSON Lines export: escaped strings, unquoted numbers and booleans, and nulls.
+     */
+    @Test
+    public void testJsonLinesExport() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exporter.exportBills(out, ExportFormat.JSONL, false);
+
+        String json = out.toString(StandardCharsets.UTF_8);
+        assertTrue(json, json.contains("{\"bill_id\":" + FIRST_ID + ",\"bill_name\":\"Rent\",\"bill_category\":\"HOUSE_RENT\",\"due_date\":\"2026-11-01\",\"amount\":1200.5,\"reminder_frequency\":null,\"notes\":\"Flat 4, \\\"top\\\" floor\\nback door\",\"is_recurring\":true,\"payment_status\":\"Upcoming\",\"overdue_days\":0,\"user_id\":7}\n"));
+        assertTrue(json, json.contains("\"due_date\":null,\"amount\":25,"));
+        assertEquals(rows, json.chars().filter(c -> c == '\n').count());
+    }
+
+    /**
+     * Validates that a file export replaces the previous file and leaves no temporary file behind.
+     */
+    @Test
+    public void testFileExportReplacesPreviousFile() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("bills.csv");
+        Files.writeString(file, "previous export");
+
+        long rows = exporter.exportBills(file, ExportFormat.CSV, false);
+
+        String csv = Files.readString(file);
+        assertTrue(csv.startsWith("bill_id,bill_name,"));
+        assertEquals(rows + 2, csv.chars().filter(c -> c == '\n').count());
+        assertArrayEquals(new String[] {"bills.csv"}, folder.getRoot().list());
+    }
+
+    /**
+     * Validates that a file export that cannot be completed removes its temporary file.
+     * The target is a non-empty directory, so the export is written but cannot be moved into place.
+     */
+    @Test
+    public void testFailedFileExportLeavesNoPartialFile() throws Exception {
+        Path target = folder.newFolder("bills.csv").toPath();
+        Files.writeString(target.resolve("keep.txt"), "kept");
+
+        try {
+            exporter.exportBills(target, ExportFormat.CSV, true);
+            fail("Moving the export over a non-empty directory should fail.");
+        } catch (IOException expected) {
+            // expected
+        }
+
+        assertArrayEquals(new String[] {"bills.csv"}, folder.getRoot().list());
+        assertEquals("kept", Files.readString(target.resolve("keep.txt")));
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static long countBills() throws Exception {
+        try (Connection con = DBConnection.getConnection(); Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM Bills")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void cleanUp() throws Exception {
+        try (Connection con = DBConnection.getConnection(); Statement st = con.createStatement()) {
+            st.executeUpdate("DELETE FROM Bills WHERE bill_id BETWEEN " + FIRST_ID + " AND " + LAST_ID);
+        }
+    }
+}
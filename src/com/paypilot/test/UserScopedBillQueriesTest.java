@@ -0,0 +1,172 @@
+/*
+ *  The UserScopedBillQueriesTest class contains tests for the user-scoped queries of the
+ *  BillDAO and BillManagerDAO classes, which must only ever read one user's bills.
+ *
+ *  Author: Ayush Madan
+ *  Date: 17-10-2026
+ */
+
+package com.paypilot.test;
+
+import com.paypilot.model.Bill;
+import com.paypilot.model.BillFilter;
+import com.paypilot.repo.BillDAO;
+import com.paypilot.repo.BillManagerDAO;
+import com.paypilot.repo.BillPage;
+import com.paypilot.repo.DBConnection;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Test class for the user-scoped bill queries.
+ * The bills used here live in an ID range reserved for this test and belong to user IDs no other
+ * test uses, so a user-scoped query only ever sees the rows inserted here.
+ */
+public class UserScopedBillQueriesTest {
+
+    private static final int FIRST_ID = 820_001;
+    private static final int LAST_ID = 820_999;
+    private static final int ALICE = 820_001;
+    private static final int BOB = 820_002;
+
+    private BillDAO billDAO;
+    private BillManagerDAO billManagerDAO;
+
+    /**
+     * Inserts three bills of Alice, one of them without a due date, two bills of Bob and one bill
+     * without a user, all in the same category.
+     */
+    @Before
+    public void setUp() throws Exception {
+        cleanUp();
+        billDAO = new BillDAO();
+        billManagerDAO = new BillManagerDAO();
+        billDAO.addBill(bill(820_001, ALICE, new Date(2026 - 1900, 2, 1), "Pending"));
+        billDAO.addBill(bill(820_002, ALICE, new Date(2026 - 1900, 2, 1), "Upcoming"));
+        billDAO.addBill(bill(820_003, ALICE, null, "Paid"));
+        billDAO.addBill(bill(820_004, BOB, new Date(2026 - 1900, 2, 1), "Pending"));
+        billDAO.addBill(bill(820_005, BOB, new Date(2026 - 1900, 3, 1), "Upcoming"));
+        billDAO.addBill(bill(820_006, null, new Date(2026 - 1900, 2, 1), "Pending"));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        cleanUp();
+    }
+
+    /**
+     * Validates that the BillDAO user-scoped reads return exactly the user's bills, and that a
+     * bill of another user cannot be read by ID.
+     */
+    @Test
+    public void testBillDaoReadsOnlyTheUsersBills() {
+        assertEquals(List.of(820_001, 820_002, 820_003), ids(billDAO.getAllBills(ALICE)));
+        assertEquals(List.of(820_004, 820_005), ids(billDAO.getAllBills(BOB)));
+        assertEquals(List.of(820_001, 820_002, 820_003), ids(billDAO.getBillsByCategory(ALICE, "UserScopeTest")));
+        try (Stream<Bill> bills = billDAO.streamAllBills(BOB)) {
+            assertEquals(List.of(820_004, 820_005), ids(bills.collect(Collectors.toList())));
+        }
+
+        assertNotNull(billDAO.getBillById(BOB, 820_004));
+        assertNull("Alice must not read Bob's bill.", billDAO.getBillById(ALICE, 820_004));
+        assertNull("A bill without a user belongs to nobody.", billDAO.getBillById(ALICE, 820_006));
+    }
+
+    /**
+     * Validates that walking every keyset page of one user, through the bills with and without a
+     * due date, returns each of the user's bills once and nothing else.
+     */
+    @Test
+    public void testKeysetPagesStayWithinTheUser() {
+        List<Bill> paged = new ArrayList<>();
+        BillPage page = billDAO.getBills(ALICE, null, 0, 1, null);
+        paged.addAll(page.getBills());
+        while (page.hasMore()) {
+            page = billDAO.getBills(ALICE, page.getLastDueDate(), page.getLastBillId(), 1, null);
+            paged.addAll(page.getBills());
+        }
+
+        assertEquals(List.of(820_001, 820_002, 820_003), ids(paged));
+        for (Bill bill : paged) {
+            assertEquals(Integer.valueOf(ALICE), bill.getUserId());
+        }
+    }
+
+    /**
+     * Validates that a page filtered by category and name ignores case, like BillFilterEngine does.
+     */
+    @Test
+    public void testPageFilterIgnoresCase() {
+        BillPage page = billDAO.getBills(ALICE, null, 0, 10, new BillFilter("userscopetest", "BILL 820002", null, null));
+        assertEquals(List.of(820_002), ids(page.getBills()));
+        assertEquals(List.of(820_004, 820_005),
+                ids(billDAO.getBills(BOB, null, 0, 10, new BillFilter("USERSCOPETEST", null, null, null)).getBills()));
+    }
+
+    /**
+     * Validates that the BillManagerDAO user-scoped reads return only the user's bills.
+     */
+    @Test
+    public void testBillManagerDaoReadsOnlyTheUsersBills() {
+        Date asOf = new Date(2026 - 1900, 2, 15);
+        assertEquals(List.of(820_001, 820_002, 820_003), ids(billManagerDAO.getAllBills(ALICE)));
+        assertEquals(List.of(820_004), ids(billManagerDAO.getOverdueBills(BOB, asOf)));
+        assertEquals(List.of(820_002), ids(billManagerDAO.getUpcomingBills(ALICE)));
+        assertEquals(List.of(820_001),
+                ids(billManagerDAO.getBillsOverview(ALICE, "UserScopeTest", new Date(2026 - 1900, 1, 1), asOf, "Pending")));
+        assertNull("Bob must not read Alice's bill.", billManagerDAO.getBillById(BOB, 820_001));
+        assertNotNull(billManagerDAO.getBillById(ALICE, 820_001));
+    }
+
+    /**
+     * Validates that user_id is stored on insert, including by BillManagerDAO and when it is null,
+     * and that an update can move a bill to another user.
+     */
+    @Test
+    public void testUserIdRoundTrips() {
+        billManagerDAO.addBill(bill(820_007, BOB, new Date(2026 - 1900, 4, 1), "Upcoming"));
+        assertEquals(Integer.valueOf(BOB), billDAO.getBillById(820_007).getUserId());
+        assertEquals(Integer.valueOf(ALICE), billDAO.getBillById(820_001).getUserId());
+        assertNull(billDAO.getBillById(820_006).getUserId());
+
+        Bill moved = billDAO.getBillById(820_001);
+        moved.setUserId(BOB);
+        billDAO.updateBill(moved);
+        assertNull(billDAO.getBillById(ALICE, 820_001));
+        assertEquals(Integer.valueOf(BOB), billDAO.getBillById(BOB, 820_001).getUserId());
+
+        moved.setUserId(null);
+        billDAO.updateBill(moved);
+        assertNull(billDAO.getBillById(820_001).getUserId());
+        assertEquals(List.of(820_004, 820_005, 820_007), ids(billDAO.getAllBills(BOB)));
+    }
+
+    private static Bill bill(int id, Integer userId, Date dueDate, String status) {
+        Bill bill = new Bill(id, "Bill " + id, "UserScopeTest", dueDate, 10.0, "Monthly", null, "N/A", false, status, 0, null);
+        bill.setUserId(userId);
+        return bill;
+    }
+
+    private static List<Integer> ids(List<Bill> bills) {
+        return bills.stream().map(Bill::getBillId).sorted().collect(Collectors.toList());
+    }
+
+    private static void cleanUp() throws Exception {
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement("DELETE FROM Bills WHERE bill_id BETWEEN ? AND ?")) {
+            ps.setInt(1, FIRST_ID);
+            ps.setInt(2, LAST_ID);
+            ps.executeUpdate();
+        }
+    }
+}